@@ -0,0 +1,45 @@
+package backpressure;
+
+import io.reactivex.rxjava3.core.BackpressureStrategy;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flowable.observeOn() with the prefetch and request sizes of a BackpressureConfig.
+ * Compare with ConcurrencyBenchmark.observeOnIo, the un-backpressured Observable version.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BackpressureBenchmark {
+    @Param({"100000"})
+    public int size;
+
+    @Param({"16", "128", "1024"})
+    public int prefetch;
+
+    @Param({"BUFFER", "DROP", "LATEST"})
+    public BackpressureStrategy strategy;
+
+    private BackpressureConfig config;
+
+    @Setup
+    public void setup() {
+        config = new BackpressureConfig(strategy, 1024, prefetch, prefetch);
+    }
+
+    @Benchmark
+    public void flowableObserveOn(Blackhole bh) {
+        var source = FlowablePipelines.onBackpressure(Flowable.range(0, size), config, () -> {
+        });
+        FlowablePipelines.observeOn(source, Schedulers.io(), config)
+                .blockingSubscribe(bh::consume, prefetch);
+    }
+}
@@ -0,0 +1,88 @@
+package backpressure;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * size items through RateLimit.flowable() at permitsPerSecond: an operation of the limited
+ * benchmarks should last size / permitsPerSecond (100 ms by default), the achieved rate of
+ * every iteration is printed. unlimited() uses a limiter that never delays, its difference with
+ * passThrough() is the overhead per item of the operator and the limiter. sharedLimiter() splits
+ * the items over 4 pipelines sharing one limiter, the total rate should not change.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimitBenchmark {
+    @Param({"100000"})
+    public int size;
+
+    @Param({"1000000"})
+    public double permitsPerSecond;
+
+    @Param({"100", "1000"})
+    public int burst;
+
+    private RateLimiter limiter;
+    private RateLimiter unlimitedLimiter;
+    private long items;
+    private long start;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        limiter = RateLimiter.create(permitsPerSecond, burst);
+        // 1 ns per permit and a burst of a millisecond
+        unlimitedLimiter = RateLimiter.create(1e9, 1_000_000);
+    }
+
+    @Setup(Level.Iteration)
+    public void startIteration() {
+        items = 0;
+        start = System.nanoTime();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printRate() {
+        var seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%nachieved %.0f items/s, target %.0f%n", items / seconds, permitsPerSecond);
+    }
+
+    @Benchmark
+    public void passThrough(Blackhole bh) {
+        Flowable.range(0, size).blockingSubscribe(bh::consume);
+        items += size;
+    }
+
+    @Benchmark
+    public void unlimited(Blackhole bh) {
+        RateLimit.flowable(Flowable.range(0, size), unlimitedLimiter, Schedulers.computation())
+                .blockingSubscribe(bh::consume);
+        items += size;
+    }
+
+    @Benchmark
+    public void limited(Blackhole bh) {
+        RateLimit.flowable(Flowable.range(0, size), limiter, Schedulers.computation())
+                .blockingSubscribe(bh::consume);
+        items += size;
+    }
+
+    @Benchmark
+    public void sharedLimiter(Blackhole bh) {
+        var pipelines = new ArrayList<Flowable<Integer>>();
+        for (int i = 0; i < 4; i++) {
+            pipelines.add(RateLimit.flowable(Flowable.range(0, size / 4).subscribeOn(Schedulers.computation()),
+                    limiter, Schedulers.computation()));
+        }
+        Flowable.merge(pipelines).blockingSubscribe(bh::consume);
+        items += size / 4 * 4;
+    }
+}
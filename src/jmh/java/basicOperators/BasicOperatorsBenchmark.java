@@ -0,0 +1,111 @@
+package basicOperators;
+
+import io.reactivex.rxjava3.core.Observable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import pipelines.BasicOperatorPipelines;
+import pipelines.BlackholeSink;
+import pipelines.Sinks;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the operator chains of the basicOperators lab classes:
+ * transforming, suppressing, reducing and collection operators.
+ * <p>
+ * Every chain is synchronous, so one benchmark invocation is one full
+ * subscription over {@code size} items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BasicOperatorsBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    private Observable<Integer> numericSource;
+    private Observable<String> stringSource;
+    private BlackholeSink sink;
+
+    @Setup
+    public void setup(Blackhole bh) {
+        numericSource = Observable.range(0, size);
+        stringSource = numericSource.map(i -> (char) ('A' + i % 26) + "tem" + (i % 1000));
+        sink = new BlackholeSink(bh);
+    }
+
+    // TransformingOperators.map()
+    @Benchmark
+    public void map() {
+        Sinks.subscribe(BasicOperatorPipelines.lengths(stringSource), sink);
+    }
+
+    // SuppressingOperators.filter()
+    @Benchmark
+    public void filter() {
+        Sinks.subscribe(numericSource.filter(item -> item % 2 == 0), sink);
+    }
+
+    // SuppressingOperators.distinct()
+    @Benchmark
+    public void distinct() {
+        Sinks.subscribe(BasicOperatorPipelines.distinct(stringSource), sink);
+    }
+
+    // TransformingOperators.scan()
+    @Benchmark
+    public void scan() {
+        Sinks.subscribe(BasicOperatorPipelines.rollingSum(numericSource), sink);
+    }
+
+    // TransformingOperators.sorted()
+    @Benchmark
+    public void sortedReverse() {
+        Sinks.subscribe(BasicOperatorPipelines.sortedReverse(numericSource), sink);
+    }
+
+    // ReducingOperators.reduce()
+    @Benchmark
+    public void reduce() {
+        Sinks.subscribe(BasicOperatorPipelines.sum(numericSource).toSingle(), sink);
+    }
+
+    // ReducingOperators.count()
+    @Benchmark
+    public void count() {
+        Sinks.subscribe(BasicOperatorPipelines.count(numericSource), sink);
+    }
+
+    // CollectionOperators.toList()
+    @Benchmark
+    public void toList() {
+        Sinks.subscribe(BasicOperatorPipelines.toList(numericSource), sink);
+    }
+
+    // CollectionOperators.toSortedList()
+    @Benchmark
+    public void toSortedList() {
+        Sinks.subscribe(BasicOperatorPipelines.toSortedList(numericSource), sink);
+    }
+
+    // CollectionOperators.toMap()
+    @Benchmark
+    public void toMap() {
+        Sinks.subscribe(BasicOperatorPipelines.toMapByFirstChar(stringSource), sink);
+    }
+
+    // CollectionOperators.toMultiMap()
+    @Benchmark
+    public void toMultimap() {
+        Sinks.subscribe(BasicOperatorPipelines.toMultimapByFirstChar(stringSource), sink);
+    }
+
+    // CollectionOperators.collect()
+    @Benchmark
+    public void collectToSet() {
+        Sinks.subscribe(BasicOperatorPipelines.toSet(stringSource), sink);
+    }
+}
@@ -0,0 +1,79 @@
+package basicOperators;
+
+import io.reactivex.rxjava3.core.Observable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The top k of size random ints, and the whole source sorted, against toSortedList() and
+ * sorted(). Run with -prof gc: topK() allocates the heap of k items, toSortedList() a list of
+ * size items. sortedSpilling() trades the heap for maxInMemory items and a pass over the disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoundedSortingBenchmark {
+    @Param({"1000000"})
+    public int size;
+
+    @Param({"100"})
+    public int k;
+
+    @Param({"100000"})
+    public int maxInMemory;
+
+    private Observable<Integer> source;
+    private Path spillDir;
+
+    @Setup
+    public void setup() throws IOException {
+        List<Integer> items = new Random(42).ints(size).boxed().collect(Collectors.toList());
+        source = Observable.fromIterable(items);
+        spillDir = Files.createTempDirectory("bounded-sorting-benchmark");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(spillDir);
+    }
+
+    // CollectionOperators.toSortedList()
+    @Benchmark
+    public List<Integer> toSortedListTopK() {
+        return source.toSortedList(Comparator.reverseOrder())
+                .map(list -> list.subList(0, k))
+                .blockingGet();
+    }
+
+    // CollectionOperators.topK()
+    @Benchmark
+    public List<Integer> topK() {
+        return BoundedSorting.topK(source, k, Comparator.reverseOrder()).blockingGet();
+    }
+
+    // TransformingOperators.sorted()
+    @Benchmark
+    public void sorted(Blackhole bh) {
+        source.sorted(Comparator.reverseOrder())
+                .subscribe(bh::consume);
+    }
+
+    // TransformingOperators.sortedSpilling()
+    @Benchmark
+    public void sortedSpilling(Blackhole bh) {
+        BoundedSorting.sortedSpilling(source, Comparator.reverseOrder(), maxInMemory, spillDir, BoundedSorting.SpillCodec.ints())
+                .subscribe(bh::consume);
+    }
+}
@@ -0,0 +1,63 @@
+package basicOperators;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * distinct() and count() of distinct() over size long keys, half of them repeated. distinct()
+ * holds a HashSet of size / 2 boxed keys: at 100M keys that is several GB, and it fails with
+ * the default heap, which is what DistinctApprox is for. bloom() holds 1.2 bytes per expected
+ * key at 1% (60 MB at 100M), expiring() at most maxKeys entries, countDistinct() 16 KB.
+ * <p>
+ * One invocation is a full pass, so the 100M rows take seconds per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DistinctApproxBenchmark {
+    @Param({"10000000", "100000000"})
+    public long size;
+
+    @Param({"1000000"})
+    public int maxKeys;
+
+    private Observable<Long> source;
+
+    @Setup
+    public void setup() {
+        var distinctKeys = size / 2;
+        source = Observable.rangeLong(0, size).map(i -> i % distinctKeys);
+    }
+
+    // SuppressingOperators.distinct()
+    @Benchmark
+    public long distinct() {
+        return source.distinct().count().blockingGet();
+    }
+
+    // SuppressingOperators.distinctApprox() 1)
+    @Benchmark
+    public long bloom() {
+        return DistinctApprox.bloom(source, Long::longValue, size / 2, 0.01).count().blockingGet();
+    }
+
+    // SuppressingOperators.distinctApprox() 2)
+    @Benchmark
+    public long expiring() {
+        return DistinctApprox.expiring(source, key -> key, 1, TimeUnit.MINUTES, maxKeys, Schedulers.single())
+                .count()
+                .blockingGet();
+    }
+
+    // SuppressingOperators.distinctApprox() 3)
+    @Benchmark
+    public long countDistinct() {
+        return DistinctApprox.countDistinct(source, Long::longValue, HyperLogLog.DEFAULT_PRECISION).blockingGet();
+    }
+}
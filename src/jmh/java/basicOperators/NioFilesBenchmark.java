@@ -0,0 +1,111 @@
+package basicOperators;
+
+import io.reactivex.rxjava3.core.Flowable;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A log file of lines lines read line by line through BufferedReader.lines() against the
+ * NioFiles sources, and copied through a BufferedWriter against the gathering writes. Run with
+ * -prof gc: the reader allocates a String and its bytes per line, records() a slice.
+ * The gathering copy pays per buffer in writev(): with lines of about 60 bytes it is on par
+ * with the BufferedWriter, without decoding a line. The file is in the page cache after the
+ * first iteration, so this measures the CPU side.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NioFilesBenchmark {
+    @Param({"1000000"})
+    public int lines;
+
+    // records per gathering write, the JDK passes at most 1024 buffers to one writev()
+    @Param({"512"})
+    public int batchSize;
+
+    private Path file;
+    private Path copy;
+
+    @Setup
+    public void setup() throws IOException {
+        file = Files.createTempFile("nio-files-benchmark", ".log");
+        copy = Files.createTempFile("nio-files-benchmark", ".copy");
+        try (var writer = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < lines; i++) {
+                writer.write("2024-01-01T00:00:00.000 INFO request " + i + " served in " + i % 97 + " ms\n");
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(file);
+        Files.delete(copy);
+    }
+
+    private Flowable<String> readerLines() {
+        return Flowable.using(() -> Files.newBufferedReader(file),
+                reader -> Flowable.fromIterable(() -> reader.lines().iterator()),
+                BufferedReader::close);
+    }
+
+    @Benchmark
+    public long bufferedReaderLines() {
+        return readerLines().count().blockingGet();
+    }
+
+    // FactoryMethods.fromFileRecords()
+    @Benchmark
+    public long records() {
+        return NioFiles.records(file, (byte) '\n').count().blockingGet();
+    }
+
+    // the records decoded, what lines() gives
+    @Benchmark
+    public long recordsAsStrings() {
+        return NioFiles.records(file, (byte) '\n')
+                .map(record -> {
+                    var bytes = new byte[record.remaining()];
+                    record.get(bytes);
+                    return new String(bytes, StandardCharsets.UTF_8);
+                })
+                .count()
+                .blockingGet();
+    }
+
+    @Benchmark
+    public long chunks() {
+        return NioFiles.chunks(file, 64 * 1024).count().blockingGet();
+    }
+
+    // FactoryMethods.fromFile()
+    @Benchmark
+    public long mappedChunks() {
+        return NioFiles.mappedChunks(file, 64 * 1024).count().blockingGet();
+    }
+
+    @Benchmark
+    public void bufferedWriterCopy() throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(copy)) {
+            readerLines().blockingForEach(line -> {
+                writer.write(line);
+                writer.write('\n');
+            });
+        }
+    }
+
+    @Benchmark
+    public long gatheringCopy() {
+        return NioFiles.writeRecords(NioFiles.records(file, (byte) '\n'), copy, (byte) '\n', batchSize).blockingGet();
+    }
+}
@@ -0,0 +1,76 @@
+package basicOperators;
+
+import io.reactivex.rxjava3.core.Observable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 10M-item reductions: the sequential Observable operators against ParallelReduce on a
+ * ForkJoinPool of parallelism workers. The Observable benchmarks do not depend on parallelism,
+ * they are the baseline of every row. Both sides box the ints of the range.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelReduceBenchmark {
+    @Param({"10000000"})
+    public int size;
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    private ForkJoinPool pool;
+    private ParallelReduce parallel;
+    private List<Integer> range;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        pool = new ForkJoinPool(parallelism);
+        parallel = ParallelReduce.on(pool);
+        range = ParallelReduce.range(0, size);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    // ReducingOperators.reduce()
+    @Benchmark
+    public long observableReduce() {
+        return Observable.range(0, size).reduce(0L, (total, item) -> total + item).blockingGet();
+    }
+
+    // ReducingOperators.parallelReduce()
+    @Benchmark
+    public long parallelReduce() {
+        return parallel.reduce(range, 0L, (total, item) -> total + item, Long::sum).blockingGet();
+    }
+
+    @Benchmark
+    public long observableCount() {
+        return Observable.range(0, size).filter(item -> item % 3 == 0).count().blockingGet();
+    }
+
+    @Benchmark
+    public long parallelCount() {
+        return parallel.count(range, item -> item % 3 == 0).blockingGet();
+    }
+
+    // ReducingOperators.all()
+    @Benchmark
+    public boolean observableAll() {
+        return Observable.range(0, size).all(item -> item >= 0).blockingGet();
+    }
+
+    @Benchmark
+    public boolean parallelAll() {
+        return parallel.all(range, item -> item >= 0).blockingGet();
+    }
+}
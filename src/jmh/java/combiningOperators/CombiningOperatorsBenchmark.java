@@ -0,0 +1,88 @@
+package combiningOperators;
+
+import io.reactivex.rxjava3.core.Observable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import pipelines.BlackholeSink;
+import pipelines.CombiningPipelines;
+import pipelines.Sinks;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the operator chains of the combiningOperators lab classes:
+ * merging, concatenating, grouping and zipping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CombiningOperatorsBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    private Observable<Integer> numericSource1;
+    private Observable<Integer> numericSource2;
+    private Observable<String> stringSource;
+    private Observable<String> pathSource;
+    private BlackholeSink sink;
+
+    @Setup
+    public void setup(Blackhole bh) {
+        numericSource1 = Observable.range(0, size);
+        numericSource2 = Observable.range(size, size);
+        stringSource = numericSource1.map(i -> "Item" + (i % 1000));
+        pathSource = numericSource1.map(i -> i + "/item/" + (i % 1000));
+        sink = new BlackholeSink(bh);
+    }
+
+    // MergingFactoriesAndOperators.merge()
+    @Benchmark
+    public void merge() {
+        Sinks.subscribe(CombiningPipelines.merge(numericSource1, numericSource2), sink);
+    }
+
+    // MergingFactoriesAndOperators.flatMap()
+    @Benchmark
+    public void flatMap() {
+        Sinks.subscribe(CombiningPipelines.flatMap(stringSource), sink);
+    }
+
+    // MergingFactoriesAndOperators.flatMap() example 2
+    @Benchmark
+    public void flatMapNumbers() {
+        Sinks.subscribe(CombiningPipelines.flatMapNumbers(pathSource), sink);
+    }
+
+    // ConcatenatingFactoriesAndOperators.concat()
+    @Benchmark
+    public void concat() {
+        Sinks.subscribe(CombiningPipelines.concat(numericSource1, numericSource2), sink);
+    }
+
+    // ConcatenatingFactoriesAndOperators.concatMap()
+    @Benchmark
+    public void concatMap() {
+        Sinks.subscribe(CombiningPipelines.concatMap(stringSource), sink);
+    }
+
+    // GroupingOperators.groupBy()
+    @Benchmark
+    public void groupBy() {
+        Sinks.subscribe(CombiningPipelines.groupByLength(stringSource), sink);
+    }
+
+    // ZippingOperators.zip()
+    @Benchmark
+    public void zip() {
+        Sinks.subscribe(CombiningPipelines.zip(stringSource, numericSource2), sink);
+    }
+
+    // CombiningTheLatestOperators.combineLatest()
+    @Benchmark
+    public void combineLatest() {
+        Sinks.subscribe(CombiningPipelines.combineLatest(numericSource1, numericSource2), sink);
+    }
+}
@@ -0,0 +1,86 @@
+package combiningOperators;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A CPU-bound map() of size items on parallelism threads (a fixed pool, so 4 and 16 mean as many
+ * threads whatever the machine; the speed-up needs as many cores). parallelMapOrdered() and
+ * concatMapEager() emit in the upstream order, parallel().runOn().map().sequential() emits in
+ * completion order and is the unordered baseline. concatMap() on one thread is the serial one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelMapBenchmark {
+    @Param({"10000"})
+    public int size;
+
+    // Blackhole.consumeCPU() tokens per item
+    @Param({"1000"})
+    public int work;
+
+    @Param({"1", "4", "16"})
+    public int parallelism;
+
+    private ExecutorService executor;
+    private Scheduler scheduler;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        executor = Executors.newFixedThreadPool(parallelism);
+        scheduler = Schedulers.from(executor);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    private Integer compute(Integer item) {
+        Blackhole.consumeCPU(work);
+        return item;
+    }
+
+    // ConcatenatingFactoriesAndOperators.concatMap()
+    @Benchmark
+    public Integer concatMap() {
+        return Flowable.range(0, size)
+                .concatMap(i -> Flowable.fromCallable(() -> compute(i)))
+                .blockingLast();
+    }
+
+    @Benchmark
+    public Integer concatMapEager() {
+        return Flowable.range(0, size)
+                .concatMapEager(i -> Flowable.fromCallable(() -> compute(i)).subscribeOn(scheduler), parallelism, 128)
+                .blockingLast();
+    }
+
+    @Benchmark
+    public Integer parallelSequential() {
+        return Flowable.range(0, size)
+                .parallel(parallelism)
+                .runOn(scheduler)
+                .map(this::compute)
+                .sequential()
+                .blockingLast();
+    }
+
+    // ConcatenatingFactoriesAndOperators.parallelMapOrdered(maxConcurrency)
+    @Benchmark
+    public Integer parallelMapOrdered() {
+        return ParallelMapOrdered.flowable(Flowable.range(0, size), parallelism, scheduler, this::compute)
+                .blockingLast();
+    }
+}
@@ -0,0 +1,57 @@
+package combiningOperators;
+
+import io.reactivex.rxjava3.core.Observable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyed aggregation: size items spread over keys groups, every item costs work CPU tokens and
+ * each group is summed. groupBy() does everything on the emitting thread, the sharded groupBy
+ * runs the groups on one computation() worker per core.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShardedGroupByBenchmark {
+    @Param({"1000000"})
+    public int size;
+
+    @Param({"1000", "100000"})
+    public int keys;
+
+    @Param({"0", "50"})
+    public int work;
+
+    private Observable<Integer> source;
+
+    @Setup
+    public void setup() {
+        source = Observable.range(0, size);
+    }
+
+    // GroupingOperators.groupBy()
+    @Benchmark
+    public void groupBy(Blackhole bh) {
+        source.groupBy(i -> i % keys)
+                .flatMapSingle(group -> group.map(this::process).reduce(0L, Long::sum))
+                .blockingSubscribe(bh::consume);
+    }
+
+    // GroupingOperators.shardedGroupBy()
+    @Benchmark
+    public void shardedGroupBy(Blackhole bh) {
+        ShardedGroupBy.groupBy(source, i -> i % keys, ShardingConfig.defaults().withMaxGroupsPerShard(keys))
+                .flatMapSingle(group -> group.map(this::process).reduce(0L, Long::sum))
+                .blockingSubscribe(bh::consume);
+    }
+
+    private long process(int item) {
+        Blackhole.consumeCPU(work);
+        return item;
+    }
+}
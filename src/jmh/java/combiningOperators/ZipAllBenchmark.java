@@ -0,0 +1,78 @@
+package combiningOperators;
+
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A fan-out of sources backend calls, each blocking its thread for latencyMicros, joined into one
+ * list in the order of the sources. Every call runs on Schedulers.io(), all of them at once.
+ * chainedZipWith() is Riddle6 at scale: one zipWith() per source, a new list per step.
+ * Single.zip(Iterable) is the one-operator baseline, ZipAll writes into a pre-sized array.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ZipAllBenchmark {
+    @Param({"2", "20", "200"})
+    public int sources;
+
+    @Param({"100"})
+    public int latencyMicros;
+
+    // the calls, subscribed to on the caller's thread
+    private List<Single<Integer>> calls;
+    // the same calls already on io(), as Riddle6 assumes
+    private List<Single<Integer>> scheduledCalls;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        calls = new ArrayList<>();
+        scheduledCalls = new ArrayList<>();
+        for (int i = 0; i < sources; i++) {
+            var value = i;
+            var call = Single.fromCallable(() -> {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(latencyMicros));
+                return value;
+            });
+            calls.add(call);
+            scheduledCalls.add(call.subscribeOn(Schedulers.io()));
+        }
+    }
+
+    // Riddle6.solve() chained over every source
+    @Benchmark
+    public List<Integer> chainedZipWith() {
+        Single<List<Integer>> zipped = Single.just(List.of());
+        for (var call : scheduledCalls) {
+            zipped = zipped.zipWith(call, (list, value) -> {
+                var next = new ArrayList<Integer>(list.size() + 1);
+                next.addAll(list);
+                next.add(value);
+                return next;
+            });
+        }
+        return zipped.blockingGet();
+    }
+
+    @Benchmark
+    public List<Integer> singleZip() {
+        return Single.zip(scheduledCalls, values -> Arrays.asList(Arrays.copyOf(values, values.length, Integer[].class)))
+                .blockingGet();
+    }
+
+    // ZippingOperators.zipAll()
+    @Benchmark
+    public List<Integer> zipAll() {
+        return ZipAll.zipAll(calls, sources, Schedulers.io()).blockingGet();
+    }
+}
@@ -0,0 +1,62 @@
+package concurrency;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import pipelines.ConcurrencyPipelines;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the ConcurrencyOperators chains. Every invocation waits for the
+ * asynchronous chain to complete with blockingSubscribe(), so the numbers include
+ * the thread hand-off cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrencyBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    private Observable<Long> longSource;
+    private Observable<String> stringSource;
+
+    @Setup
+    public void setup() {
+        longSource = Observable.rangeLong(0, size);
+        stringSource = Observable.range(0, size).map(i -> "Item" + (i % 1000));
+    }
+
+    // ConcurrencyOperators.subscribeOn()
+    @Benchmark
+    public void subscribeOnComputation(Blackhole bh) {
+        ConcurrencyPipelines.subscribeOn(stringSource, Schedulers.computation())
+                .blockingSubscribe(bh::consume);
+    }
+
+    // ConcurrencyOperators.observeOn()
+    @Benchmark
+    public void observeOnIo(Blackhole bh) {
+        ConcurrencyPipelines.observeOn(longSource, Schedulers.io())
+                .blockingSubscribe(bh::consume);
+    }
+
+    // ConcurrencyOperators.observeOn() with the hop from computation() to io()
+    @Benchmark
+    public void subscribeOnComputationObserveOnIo(Blackhole bh) {
+        ConcurrencyPipelines.observeOn(longSource.subscribeOn(Schedulers.computation()), Schedulers.io())
+                .blockingSubscribe(bh::consume);
+    }
+
+    // ConcurrencyOperators.unsubscribeOn()
+    @Benchmark
+    public void unsubscribeOnComputation(Blackhole bh) {
+        ConcurrencyPipelines.unsubscribeOn(longSource, Schedulers.io(), Schedulers.computation())
+                .blockingSubscribe(bh::consume);
+    }
+}
@@ -0,0 +1,103 @@
+package concurrency;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.CompositeDisposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * futures in flight at once, all done delayMillis after they are created, each bridged to Rx and
+ * subscribed to. One operation waits for all of them. The results are not merged with
+ * flatMap(): its copy-on-write array of inner observers costs O(futures^2) at this width and
+ * would hide the bridges.
+ * <ul>
+ *     <li>blocking - FactoryMethods.fromFuture(), Observable.fromFuture() on Schedulers.io(): a
+ *     thread blocked in Future.get() per future.</li>
+ *     <li>poller - FutureBridge.fromFuture() of the same ScheduledFutures, one poller thread.</li>
+ *     <li>completionStage - FutureBridge.fromCompletionStage() of CompletableFutures completed by
+ *     the same executor, no thread waits.</li>
+ * </ul>
+ * SampleTime reports the latency of a whole batch; the peak number of threads and the mean delay
+ * between a future being done and its result being emitted are printed at the end of every trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FutureBridgeBenchmark {
+    @Param({"10000"})
+    public int futures;
+
+    @Param({"10"})
+    public int delayMillis;
+
+    @Param({"blocking", "poller", "completionStage"})
+    public String bridge;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final LongAdder lateness = new LongAdder();
+    private final LongAdder results = new LongAdder();
+    private ScheduledExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        threads.resetPeakThreadCount();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.println("\nPeak threads (" + bridge + ", " + futures + "): " + threads.getPeakThreadCount()
+                + ", mean lateness: " + lateness.sum() / Math.max(1, results.sum()) / 1_000 + " us");
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void bridgeFutures() throws InterruptedException {
+        var done = new CountDownLatch(futures);
+        var subscriptions = new CompositeDisposable();
+        for (int i = 0; i < futures; i++) {
+            subscriptions.add(bridged().subscribe(doneAt -> done.countDown()));
+        }
+        done.await();
+        subscriptions.dispose();
+    }
+
+    private Single<Long> bridged() {
+        switch (bridge) {
+            case "blocking": {
+                // FactoryMethods.fromFuture(future) with the subscribeOn(io()) it needs not to block
+                var future = executor.schedule(System::nanoTime, delayMillis, TimeUnit.MILLISECONDS);
+                return Observable.fromFuture(future).subscribeOn(Schedulers.io()).singleOrError().map(this::record);
+            }
+            case "poller": {
+                var future = executor.schedule(System::nanoTime, delayMillis, TimeUnit.MILLISECONDS);
+                return FutureBridge.fromFuture(future).map(this::record);
+            }
+            default: {
+                var future = new CompletableFuture<Long>();
+                executor.schedule(() -> future.complete(System.nanoTime()), delayMillis, TimeUnit.MILLISECONDS);
+                return FutureBridge.fromCompletionStage(future).map(this::record);
+            }
+        }
+    }
+
+    // the future returns the time it was done at
+    private long record(long doneAt) {
+        lateness.add(System.nanoTime() - doneAt);
+        results.increment();
+        return doneAt;
+    }
+}
@@ -0,0 +1,61 @@
+package concurrency;
+
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.CompositeDisposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * keys debounced streams, each with its own pending timer: one operation pushes an item into
+ * every stream, so every debounce() cancels its timer and schedules a new one while the others
+ * stay pending. The timeout is long enough for no timer to fire during the measurement.
+ * computation() pays O(log keys) per schedule and cancel in its executor heaps, the wheel O(1);
+ * the gc profiler shows the allocations of both.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashedWheelBenchmark {
+    @Param({"100000"})
+    public int keys;
+
+    @Param({"computation", "wheel"})
+    public String scheduler;
+
+    private Scheduler timers;
+    private PublishSubject<Integer>[] subjects;
+    private final CompositeDisposable subscriptions = new CompositeDisposable();
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        timers = scheduler.equals("wheel") ? HashedWheelScheduler.create() : Schedulers.computation();
+        subjects = (PublishSubject<Integer>[]) new PublishSubject<?>[keys];
+        for (int i = 0; i < keys; i++) {
+            subjects[i] = PublishSubject.create();
+            // Throttling.throttleWithTimeout(time, unit) per key
+            subscriptions.add(subjects[i].throttleWithTimeout(1, TimeUnit.MINUTES, timers).subscribe());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        subscriptions.clear();
+        if (timers instanceof HashedWheelScheduler) {
+            timers.shutdown();
+        }
+    }
+
+    @Benchmark
+    public void rearmAllTimers() {
+        for (int i = 0; i < keys; i++) {
+            subjects[i].onNext(i);
+        }
+    }
+}
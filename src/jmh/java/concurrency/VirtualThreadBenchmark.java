@@ -0,0 +1,86 @@
+package concurrency;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Blocking-I/O-heavy flatMap() fan-out: every inner source sleeps blockingMillis on the
+ * benchmarked Scheduler and all of them run at once.
+ * <ul>
+ *     <li>latency - SampleTime mode reports the p99 (and other percentiles) of a whole fan-out.</li>
+ *     <li>memory - run with the gc profiler (the jmh task does) for the allocation rate.</li>
+ *     <li>thread count - the peak number of platform threads is printed at the end of every trial.
+ *     Virtual threads are not counted by ThreadMXBean, only their carrier threads are.</li>
+ * </ul>
+ * The "virtual" parameter needs Java 21+: ./gradlew jmh -Pjmh.jvm=/path/to/jdk-21/bin/java. On an
+ * older JVM it is skipped, the benchmark returns at once and a notice is printed instead of the
+ * thread count, so the default run does not fail.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VirtualThreadBenchmark {
+    @Param({"1000", "10000"})
+    public int concurrency;
+
+    @Param({"10"})
+    public int blockingMillis;
+
+    @Param({"io", "virtual"})
+    public String scheduler;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private Scheduler benchmarkedScheduler;
+    // "virtual" on a JVM older than 21
+    private boolean skipped;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        if (scheduler.equals("virtual") && !VirtualThreadScheduler.isSupported()) {
+            skipped = true;
+            return;
+        }
+        benchmarkedScheduler = scheduler.equals("virtual") ? VirtualThreadScheduler.create() : Schedulers.io();
+        threads.resetPeakThreadCount();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (skipped) {
+            System.out.println("\nSkipped (" + scheduler + "): virtual threads need Java 21+, running on "
+                    + System.getProperty("java.version") + ". The scores of this trial mean nothing.");
+            return;
+        }
+        System.out.println("\nPeak platform threads (" + scheduler + ", " + concurrency + "): "
+                + threads.getPeakThreadCount());
+        if (benchmarkedScheduler instanceof VirtualThreadScheduler) {
+            benchmarkedScheduler.shutdown();
+        }
+    }
+
+    @Benchmark
+    public long flatMapFanOut() {
+        if (skipped) {
+            return 0;
+        }
+        return Observable.range(0, concurrency)
+                .flatMap(i -> Observable.fromCallable(() -> blockingIo(i)).subscribeOn(benchmarkedScheduler),
+                        concurrency)
+                .count()
+                .blockingGet();
+    }
+
+    private int blockingIo(int request) throws InterruptedException {
+        Thread.sleep(blockingMillis);
+        return request;
+    }
+}
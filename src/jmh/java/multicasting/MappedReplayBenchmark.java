@@ -0,0 +1,75 @@
+package multicasting;
+
+import io.reactivex.rxjava3.subjects.ReplaySubject;
+import io.reactivex.rxjava3.subjects.Subject;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MappedReplaySubject against the stock ReplaySubject, both holding size Longs.
+ * <ul>
+ *     <li>catch-up throughput - catchUp() replays the whole history to a late Observer.</li>
+ *     <li>heap footprint - the heap used by the filled subject is printed at the start of every trial.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappedReplayBenchmark {
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    @Param({"heap", "mapped"})
+    public String subject;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private Subject<Long> replaySubject;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        var before = usedHeap();
+        if (subject.equals("mapped")) {
+            file = Files.createTempFile("mapped-replay", ".ring");
+            // 12 bytes per record
+            replaySubject = MappedReplaySubject.open(file, 12L * size, Codec.longs());
+        } else {
+            replaySubject = ReplaySubject.create();
+        }
+        for (long i = 0; i < size; i++) {
+            replaySubject.onNext(i);
+        }
+        replaySubject.onComplete();
+        System.out.println("\nHeap used by " + subject + " (" + size + " items): "
+                + (usedHeap() - before) / 1024 + " KiB");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (replaySubject instanceof MappedReplaySubject) {
+            ((MappedReplaySubject<Long>) replaySubject).close();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // Subjects.replaySubject(), a late Observer catches up with the whole history
+    @Benchmark
+    public void catchUp(Blackhole bh) {
+        replaySubject.subscribe(bh::consume);
+    }
+
+    private long usedHeap() {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,65 @@
+package multicasting;
+
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import io.reactivex.rxjava3.subjects.Subject;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contention benchmark: producers threads call onNext() on one Subject at the same time, each
+ * one itemsPerProducer times, and a single Observer consumes the items. One operation is one
+ * round of all producers, compare the "serialized" and "mpsc" rows of the same producer count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MpscSubjectBenchmark {
+    @Param({"1", "4", "16", "64"})
+    public int producers;
+
+    @Param({"10000"})
+    public int itemsPerProducer;
+
+    @Param({"serialized", "mpsc"})
+    public String subject;
+
+    private ExecutorService executor;
+    private Subject<Integer> concurrentSubject;
+
+    @Setup(Level.Trial)
+    public void setup(Blackhole bh) {
+        executor = Executors.newFixedThreadPool(producers);
+        // Subjects.publishSubject() example 2 with many sources
+        concurrentSubject = subject.equals("mpsc")
+                ? MpscSubject.create()
+                : PublishSubject.<Integer>create().toSerialized();
+        concurrentSubject.subscribe(bh::consume);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void concurrentOnNext() throws InterruptedException {
+        var done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            executor.execute(() -> {
+                for (int i = 0; i < itemsPerProducer; i++) {
+                    concurrentSubject.onNext(i);
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+    }
+}
@@ -0,0 +1,112 @@
+package multicasting;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import io.reactivex.rxjava3.subjects.Subject;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import pipelines.BlackholeSink;
+import pipelines.MulticastingPipelines;
+import pipelines.Sinks;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the Multicasting and Subjects lab chains, each one with two observers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MulticastingBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    private Observable<Integer> intSource;
+    private BlackholeSink sink;
+
+    @Setup
+    public void setup(Blackhole bh) {
+        intSource = Observable.range(0, size);
+        sink = new BlackholeSink(bh);
+    }
+
+    // Multicasting.publish()
+    @Benchmark
+    public void publish() {
+        var obs = MulticastingPipelines.publish(intSource.map(i -> i * 3));
+        Sinks.subscribe(obs, sink);
+        Sinks.subscribe(obs, sink);
+        obs.connect();
+    }
+
+    // Multicasting.autoConnect()
+    @Benchmark
+    public void autoConnect() {
+        var obs = MulticastingPipelines.autoConnect(intSource.map(i -> i * 3), 2);
+        Sinks.subscribe(obs, sink);
+        Sinks.subscribe(obs, sink);
+    }
+
+    // Multicasting.replay(), the second observer replays the whole history
+    @Benchmark
+    public void replay() {
+        var obs = MulticastingPipelines.replay(intSource);
+        Sinks.subscribe(obs, sink);
+        Sinks.subscribe(obs, sink);
+    }
+
+    // Multicasting.boundedReplay() limited to the last 1000 items
+    @Benchmark
+    public void boundedReplay() {
+        var obs = BoundedReplay.cache(intSource, ReplayLimits.unbounded().withMaxItems(1000), Schedulers.trampoline());
+        Sinks.subscribe(obs, sink);
+        Sinks.subscribe(obs, sink);
+    }
+
+    // Multicasting.replay(1000)
+    @Benchmark
+    public void replayWithSize() {
+        var obs = intSource.replay(1000).autoConnect();
+        Sinks.subscribe(obs, sink);
+        Sinks.subscribe(obs, sink);
+    }
+
+    // Multicasting.cache()
+    @Benchmark
+    public void cache() {
+        var obs = MulticastingPipelines.cacheRollingTotals(intSource);
+        Sinks.subscribe(obs, sink);
+        Sinks.subscribe(obs, sink);
+    }
+
+    // Subjects.publishSubject()
+    @Benchmark
+    public void publishSubject() {
+        Subject<Integer> subject = PublishSubject.create();
+        Sinks.subscribe(subject, sink);
+        Sinks.subscribe(subject, sink);
+        intSource.subscribe(subject);
+    }
+
+    // Subjects.publishSubject() with toSerialized()
+    @Benchmark
+    public void serializedPublishSubject() {
+        Subject<Integer> subject = MulticastingPipelines.publishSubject();
+        Sinks.subscribe(subject, sink);
+        Sinks.subscribe(subject, sink);
+        intSource.subscribe(subject);
+    }
+
+    // Subjects.replaySubject()
+    @Benchmark
+    public void replaySubject() {
+        Subject<Integer> subject = MulticastingPipelines.replaySubject();
+        Sinks.subscribe(subject, sink);
+        intSource.subscribe(subject);
+        Sinks.subscribe(subject, sink);
+    }
+}
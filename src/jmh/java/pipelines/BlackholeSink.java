@@ -0,0 +1,24 @@
+package pipelines;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * A Sink that hands every item to the JMH Blackhole, so the JIT cannot eliminate the pipeline.
+ */
+public final class BlackholeSink implements Sink<Object> {
+    private final Blackhole blackhole;
+
+    public BlackholeSink(Blackhole blackhole) {
+        this.blackhole = blackhole;
+    }
+
+    @Override
+    public void onNext(Object item) {
+        blackhole.consume(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        throw new IllegalStateException("The benchmarked pipeline failed", throwable);
+    }
+}
@@ -0,0 +1,79 @@
+package primitiveStreams;
+
+import io.reactivex.rxjava3.core.Observable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * toMap() and toMultimap() into boxed HashMaps against PrimitiveCollectors. Run with -prof gc:
+ * gc.alloc.rate.norm divided by size is the bytes per entry, the garbage of the source included
+ * (the same on both sides). The presized variants show what the capacity hint saves on resizing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveCollectorsBenchmark {
+    @Param({"1000000"})
+    public int size;
+
+    // keys of the multimaps
+    @Param({"1000"})
+    public int keys;
+
+    private Observable<Integer> source;
+
+    @Setup
+    public void setup() {
+        source = Observable.range(1000, size);
+    }
+
+    // CollectionOperators.toMap()
+    @Benchmark
+    public Map<Integer, Integer> boxedToMap() {
+        return source.toMap(item -> item).blockingGet();
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> boxedToMapPresized() {
+        return source.toMap(item -> item, item -> item, () -> new HashMap<>(size * 4 / 3 + 1)).blockingGet();
+    }
+
+    // CollectionOperators.primitiveToMap()
+    @Benchmark
+    public IntObjectMap<Integer> intToMap() {
+        return PrimitiveCollectors.toIntMap(source, item -> item, item -> item, 16).blockingGet();
+    }
+
+    @Benchmark
+    public IntObjectMap<Integer> intToMapPresized() {
+        return PrimitiveCollectors.toIntMap(source, item -> item, item -> item, size).blockingGet();
+    }
+
+    @Benchmark
+    public Map<Long, Long> boxedLongToLong() {
+        return source.toMap(item -> (long) item, item -> item * 31L).blockingGet();
+    }
+
+    @Benchmark
+    public LongLongMap longLongMap() {
+        return PrimitiveCollectors.toLongLongMap(source, item -> item, item -> item * 31L, size).blockingGet();
+    }
+
+    // CollectionOperators.toMultiMap()
+    @Benchmark
+    public Map<Integer, Collection<Integer>> boxedToMultimap() {
+        return source.toMultimap(item -> item % keys).blockingGet();
+    }
+
+    @Benchmark
+    public IntObjectMap<IntList> intToMultimap() {
+        return PrimitiveCollectors.toIntMultimap(source, item -> item % keys, item -> item, keys).blockingGet();
+    }
+}
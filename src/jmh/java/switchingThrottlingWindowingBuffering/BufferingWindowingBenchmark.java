@@ -0,0 +1,132 @@
+package switchingThrottlingWindowingBuffering;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import pipelines.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the Buffering, Windowing, Throttling and Switching lab chains.
+ * The sources are finite ranges instead of intervals and the time-based operators run
+ * on a TestScheduler, so the numbers show the per-item cost of the operator and not the
+ * timer period or a thread hand-off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BufferingWindowingBenchmark {
+    @Param({"100000"})
+    public int size;
+
+    @Param({"16", "512"})
+    public int count;
+
+    private Observable<Integer> intSource;
+    private TestScheduler scheduler;
+    private BlackholeSink sink;
+
+    @Setup
+    public void setup(Blackhole bh) {
+        intSource = Observable.range(0, size);
+        scheduler = new TestScheduler();
+        sink = new BlackholeSink(bh);
+    }
+
+    // Buffering.buffer(count)
+    @Benchmark
+    public void buffer() {
+        Sinks.subscribe(BufferingPipelines.buffer(intSource, count), sink);
+    }
+
+    // Buffering.bufferWithSupplier(count)
+    @Benchmark
+    public void bufferWithSupplier() {
+        Sinks.subscribe(BufferingPipelines.bufferWithSupplier(intSource, count), sink);
+    }
+
+    // Buffering.bufferWithSkip(count, skip)
+    @Benchmark
+    public void bufferWithSkip() {
+        Sinks.subscribe(BufferingPipelines.bufferWithSkip(intSource, count, count / 2), sink);
+    }
+
+    // Buffering.bufferWithTimeSpanAndBufferSize(timespan, unit, count)
+    @Benchmark
+    public void bufferWithTimeSpanAndBufferSize() {
+        Sinks.subscribe(BufferingPipelines.bufferWithTimeSpanAndBufferSize(intSource, 1, TimeUnit.SECONDS, count,
+                scheduler), sink);
+    }
+
+    // Buffering.bufferAdaptive(maxLatency, unit, maxBatchSize)
+    @Benchmark
+    public void bufferAdaptive() {
+        Sinks.subscribe(BufferingPipelines.bufferAdaptive(intSource, 1, TimeUnit.SECONDS, count, scheduler), sink);
+    }
+
+    // Windowing.windowWithCount(count)
+    @Benchmark
+    public void windowWithCount() {
+        Sinks.subscribe(WindowingPipelines.windowWithCount(intSource, count), sink);
+    }
+
+    // Windowing.windowWithCountAndSkip(count, skip)
+    @Benchmark
+    public void windowWithCountAndSkip() {
+        Sinks.subscribe(WindowingPipelines.windowWithCountAndSkip(intSource, count, count / 2), sink);
+    }
+
+    // Windowing.aggregateWithCount(count, skip), the Strings of windowWithCount() built by the fused operator
+    @Benchmark
+    public void aggregateJoinedWithCount() {
+        Sinks.subscribe(WindowingPipelines.joinedWithCountAndSkip(intSource, count, count), sink);
+    }
+
+    // Windowing.aggregateWithCount(count, skip), the Strings of windowWithCountAndSkip() built by the fused operator
+    @Benchmark
+    public void aggregateJoinedWithCountAndSkip() {
+        Sinks.subscribe(WindowingPipelines.joinedWithCountAndSkip(intSource, count, count / 2), sink);
+    }
+
+    // window(count, skip) reduced to a sum, the baseline of aggregateSumWithCountAndSkip()
+    @Benchmark
+    public void windowSumWithCountAndSkip() {
+        Sinks.subscribe(intSource.window(count, count / 2)
+                .flatMapSingle(window -> window.reduce(0L, (total, next) -> total + next)), sink);
+    }
+
+    // Windowing.aggregateWithCount(count, skip)
+    @Benchmark
+    public void aggregateSumWithCountAndSkip() {
+        Sinks.subscribe(WindowingPipelines.sumWithCountAndSkip(intSource, count, count / 2), sink);
+    }
+
+    // Windowing.windowWithTimespan(timespan, unit), the whole source falls in one window
+    @Benchmark
+    public void windowWithTimespan() {
+        Sinks.subscribe(WindowingPipelines.windowWithTimespan(intSource, 1, TimeUnit.SECONDS, scheduler), sink);
+    }
+
+    // Windowing.aggregateWithTimespan(timespan, unit)
+    @Benchmark
+    public void aggregateWithTimespan() {
+        Sinks.subscribe(WindowingPipelines.averageWithTimespan(intSource, 1, TimeUnit.SECONDS, scheduler), sink);
+    }
+
+    // Switching.switchMap() with synchronous inner sources
+    @Benchmark
+    public void switchMap() {
+        Sinks.subscribe(intSource.switchMap(i -> Observable.just(i, i + 1)), sink);
+    }
+
+    // Throttling.throttleFirst(time, unit)
+    @Benchmark
+    public void throttleFirst() {
+        Sinks.subscribe(ThrottlingPipelines.throttleFirst(intSource, 1, TimeUnit.MILLISECONDS, scheduler), sink);
+    }
+}
@@ -0,0 +1,65 @@
+package switchingThrottlingWindowingBuffering;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import pipelines.BlackholeSink;
+import pipelines.Sinks;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-key debouncing of one stream of size items over keys keys. groupBy() creates a sub-stream,
+ * a debounce() and a Worker per key and schedules a timer per item; debounceByKey() updates one
+ * map entry per item and keeps a single timer. The timeout is longer than an operation, so the
+ * pending items are emitted on completion and the numbers show the per-item cost (and, with the
+ * gc profiler, the allocations) of both. The timers run on computation(): a TestScheduler keeps
+ * its cancelled tasks queued and would dominate the groupBy() numbers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyedThrottleBenchmark {
+    @Param({"1000000"})
+    public int size;
+
+    @Param({"1000", "10000"})
+    public int keys;
+
+    private Observable<Integer> intSource;
+    private Scheduler scheduler;
+    private BlackholeSink sink;
+
+    @Setup
+    public void setup(Blackhole bh) {
+        intSource = Observable.range(0, size);
+        scheduler = Schedulers.computation();
+        sink = new BlackholeSink(bh);
+    }
+
+    // Throttling.throttleWithTimeout(time, unit) on every group
+    @Benchmark
+    public void groupByDebounce() {
+        Sinks.subscribe(intSource.groupBy(i -> i % keys)
+                .flatMap(group -> group.throttleWithTimeout(1, TimeUnit.MINUTES, scheduler), keys), sink);
+    }
+
+    // Throttling.debounceByKey(time, unit)
+    @Benchmark
+    public void debounceByKey() {
+        Sinks.subscribe(KeyedThrottle.debounceByKey(intSource, i -> i % keys, 1, TimeUnit.MINUTES, keys, scheduler),
+                sink);
+    }
+
+    // Throttling.throttleByKey(windowDuration, unit)
+    @Benchmark
+    public void throttleByKey() {
+        Sinks.subscribe(KeyedThrottle.throttleByKey(intSource, i -> i % keys, 1, TimeUnit.MINUTES, keys, scheduler),
+                sink);
+    }
+}
@@ -0,0 +1,91 @@
+package switchingThrottlingWindowingBuffering;
+
+import io.reactivex.rxjava3.core.Observable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * buffer(count, supplier) against PooledBuffer on the batch-to-DB shape: every batch is
+ * consumed right away and then dropped (stock) or released (pooled).
+ * gc.alloc.rate.norm shows the per-batch garbage that PooledBuffer removes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PooledBufferBenchmark {
+    @Param({"100000"})
+    public int size;
+
+    @Param({"16", "512"})
+    public int count;
+
+    @Param({"false", "true"})
+    public boolean debug;
+
+    private Observable<Integer> intSource;
+    private BatchPool<Integer> pool;
+
+    @Setup
+    public void setup() {
+        // pre-boxed values, so only the buffers allocate
+        var items = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            items[i] = i;
+        }
+        intSource = Observable.fromArray(items);
+        pool = new BatchPool<>(count, 2, debug);
+    }
+
+    // Buffering.buffer(count)
+    @Benchmark
+    public void stockBuffer(Blackhole bh) {
+        intSource.buffer(count)
+                .subscribe(batch -> bh.consume(batch.get(batch.size() - 1)));
+    }
+
+    // buffer(count, supplier) with a pre-sized ArrayList
+    @Benchmark
+    public void stockBufferPresized(Blackhole bh) {
+        intSource.buffer(count, () -> new ArrayList<>(count))
+                .subscribe(batch -> bh.consume(batch.get(batch.size() - 1)));
+    }
+
+    // Buffering.bufferWithSupplier(count)
+    @Benchmark
+    public void stockBufferHashSet(Blackhole bh) {
+        intSource.buffer(count, HashSet::new)
+                .subscribe(batch -> bh.consume(batch.size()));
+    }
+
+    @Benchmark
+    public void pooledBuffer(Blackhole bh) {
+        PooledBuffer.buffer(intSource, pool)
+                .subscribe(batch -> {
+                    bh.consume(batch.get(batch.size() - 1));
+                    batch.release();
+                });
+    }
+
+    // Buffering.bufferWithSkip(count, skip)
+    @Benchmark
+    public void stockBufferWithSkip(Blackhole bh) {
+        intSource.buffer(count, count / 2)
+                .subscribe(batch -> bh.consume(batch.get(batch.size() - 1)));
+    }
+
+    @Benchmark
+    public void pooledBufferWithSkip(Blackhole bh) {
+        PooledBuffer.buffer(intSource, pool, count / 2)
+                .subscribe(batch -> {
+                    bh.consume(batch.get(batch.size() - 1));
+                    batch.release();
+                });
+    }
+}
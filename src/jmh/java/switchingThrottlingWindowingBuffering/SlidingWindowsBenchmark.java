@@ -0,0 +1,70 @@
+package switchingThrottlingWindowingBuffering;
+
+import io.reactivex.rxjava3.core.Observable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import pipelines.BlackholeSink;
+import pipelines.BufferingPipelines;
+import pipelines.Sinks;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overlapping windows of overlap * skip items sliding by skip items, summed. The window() and
+ * buffer() chains store every item in overlap windows, WindowedAggregate adds it to overlap
+ * accumulators, SlidingWindows adds it to one pane and combines overlap panes per window.
+ * The gc profiler shows the allocations per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlidingWindowsBenchmark {
+    @Param({"100000"})
+    public int size;
+
+    @Param({"16"})
+    public int skip;
+
+    @Param({"4", "60"})
+    public int overlap;
+
+    private Observable<Integer> intSource;
+    private BlackholeSink sink;
+
+    @Setup
+    public void setup(Blackhole bh) {
+        intSource = Observable.range(0, size);
+        sink = new BlackholeSink(bh);
+    }
+
+    // Windowing.windowWithCountAndSkip(count, skip) reduced to a sum
+    @Benchmark
+    public void windowWithCountAndSkip() {
+        Sinks.subscribe(intSource.window(overlap * skip, skip)
+                .flatMapSingle(window -> window.reduce(0L, (total, next) -> total + next)), sink);
+    }
+
+    // Buffering.bufferWithSkip(count, skip) reduced to a sum
+    @Benchmark
+    public void bufferWithSkip() {
+        Sinks.subscribe(BufferingPipelines.bufferWithSkip(intSource, overlap * skip, skip)
+                .map(buffer -> buffer.stream().mapToLong(Integer::longValue).sum()), sink);
+    }
+
+    // Windowing.aggregateWithCount(count, skip)
+    @Benchmark
+    public void windowedAggregate() {
+        Sinks.subscribe(WindowedAggregate.sliding(intSource, overlap * skip, skip,
+                WindowAggregator.sumLong(Integer::longValue)), sink);
+    }
+
+    // Windowing.rollingAggregate() with count-based panes
+    @Benchmark
+    public void slidingWindows() {
+        Sinks.subscribe(SlidingWindows.count(intSource, overlap * skip, skip,
+                SlidingAggregator.sumLong(Integer::longValue)), sink);
+    }
+}
@@ -0,0 +1,58 @@
+package switchingThrottlingWindowingBuffering;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import pipelines.BlackholeSink;
+import pipelines.Sinks;
+import pipelines.SwitchingPipelines;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A burst of size outer items, each switching to an inner source that takes 10 ms (a timer on a
+ * TestScheduler, the time is advanced by a second at the end of the operation). switchMap()
+ * subscribes to size inner sources and cancels all but one, the coalescing variant maps the
+ * last item of the burst only. With the gc profiler the difference shows in the allocations too.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SwitchMapBenchmark {
+    @Param({"100", "10000"})
+    public int size;
+
+    private Observable<Integer> intSource;
+    private BlackholeSink sink;
+
+    @Setup
+    public void setup(Blackhole bh) {
+        intSource = Observable.range(0, size);
+        sink = new BlackholeSink(bh);
+    }
+
+    // Switching.switchMap()
+    @Benchmark
+    public void switchMap() {
+        var scheduler = new TestScheduler();
+        Sinks.subscribe(SwitchingPipelines.switchMap(intSource, Observable.timer(10, TimeUnit.MILLISECONDS, scheduler)),
+                sink);
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+    }
+
+    // Switching.coalescingSwitchMap()
+    @Benchmark
+    public void coalescingSwitchMap() {
+        var scheduler = new TestScheduler();
+        var config = SwitchConfig.defaults()
+                .withCoalesce(50, TimeUnit.MILLISECONDS)
+                .withGrace(20, TimeUnit.MILLISECONDS);
+        Sinks.subscribe(SwitchingPipelines.coalescingSwitchMap(intSource,
+                Observable.timer(10, TimeUnit.MILLISECONDS, scheduler), config, scheduler), sink);
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,88 @@
+package backpressure;
+
+import io.reactivex.rxjava3.core.BackpressureStrategy;
+import io.reactivex.rxjava3.core.Flowable;
+
+/**
+ * Describes how a Flowable pipeline deals with a subscriber that is slower than the source.
+ * <ul>
+ *     <li>strategy - what happens to the items the subscriber has not requested yet:
+ *     BUFFER keeps the last bufferCapacity of them (dropping the oldest), ERROR signals
+ *     MissingBackpressureException once bufferCapacity is exceeded, DROP and LATEST
+ *     behave like onBackpressureDrop() and onBackpressureLatest(), MISSING does nothing.</li>
+ *     <li>bufferCapacity - the bound of the BUFFER and ERROR strategies.</li>
+ *     <li>prefetch - how many items observeOn() requests upstream and queues.</li>
+ *     <li>requestSize - how many items the final subscriber requests at once.</li>
+ * </ul>
+ * Every value is bounded, so with BUFFER, ERROR, DROP or LATEST a pipeline built with a config
+ * holds at most bufferCapacity + prefetch items no matter how slow the subscriber is. MISSING is
+ * the exception: it leaves the source as it is, buffers nothing and bounds nothing, and
+ * bufferCapacity is ignored. A source that does not honour the requests then overflows the
+ * first bounded queue downstream, such as the prefetch queue of observeOn(), with a
+ * MissingBackpressureException.
+ */
+public final class BackpressureConfig {
+    private final BackpressureStrategy strategy;
+    private final int bufferCapacity;
+    private final int prefetch;
+    private final int requestSize;
+
+    public BackpressureConfig(BackpressureStrategy strategy, int bufferCapacity, int prefetch, int requestSize) {
+        if (strategy == null) {
+            throw new NullPointerException("strategy is null");
+        }
+        if (bufferCapacity <= 0 || prefetch <= 0 || requestSize <= 0) {
+            throw new IllegalArgumentException("bufferCapacity, prefetch and requestSize must be positive");
+        }
+        this.strategy = strategy;
+        this.bufferCapacity = bufferCapacity;
+        this.prefetch = prefetch;
+        this.requestSize = requestSize;
+    }
+
+    /**
+     * Bounded buffer of Flowable.bufferSize() items, RxJava's default prefetch and request size.
+     */
+    public static BackpressureConfig defaults() {
+        return new BackpressureConfig(BackpressureStrategy.BUFFER, Flowable.bufferSize(), Flowable.bufferSize(),
+                Flowable.bufferSize());
+    }
+
+    public BackpressureConfig withStrategy(BackpressureStrategy strategy) {
+        return new BackpressureConfig(strategy, bufferCapacity, prefetch, requestSize);
+    }
+
+    public BackpressureConfig withBufferCapacity(int bufferCapacity) {
+        return new BackpressureConfig(strategy, bufferCapacity, prefetch, requestSize);
+    }
+
+    public BackpressureConfig withPrefetch(int prefetch) {
+        return new BackpressureConfig(strategy, bufferCapacity, prefetch, requestSize);
+    }
+
+    public BackpressureConfig withRequestSize(int requestSize) {
+        return new BackpressureConfig(strategy, bufferCapacity, prefetch, requestSize);
+    }
+
+    public BackpressureStrategy strategy() {
+        return strategy;
+    }
+
+    public int bufferCapacity() {
+        return bufferCapacity;
+    }
+
+    public int prefetch() {
+        return prefetch;
+    }
+
+    public int requestSize() {
+        return requestSize;
+    }
+
+    @Override
+    public String toString() {
+        return "BackpressureConfig{strategy=" + strategy + ", bufferCapacity=" + bufferCapacity
+                + ", prefetch=" + prefetch + ", requestSize=" + requestSize + '}';
+    }
+}
@@ -0,0 +1,52 @@
+package backpressure;
+
+import io.reactivex.rxjava3.subscribers.DisposableSubscriber;
+import pipelines.Sink;
+
+/**
+ * A Subscriber that requests items in batches instead of Long.MAX_VALUE.
+ * It requests requestSize items on start and replenishes once three quarters of
+ * them have been consumed, the same way RxJava's operators replenish their prefetch.
+ * So the upstream never runs more than requestSize items ahead of the Sink.
+ *
+ * @param <T> the type of the received items
+ */
+public class BatchedSubscriber<T> extends DisposableSubscriber<T> {
+    private final Sink<? super T> sink;
+    private final int requestSize;
+    private final int limit;
+    private int consumed;
+
+    public BatchedSubscriber(Sink<? super T> sink, int requestSize) {
+        if (requestSize <= 0) {
+            throw new IllegalArgumentException("requestSize must be positive");
+        }
+        this.sink = sink;
+        this.requestSize = requestSize;
+        this.limit = requestSize - (requestSize >> 2);
+    }
+
+    @Override
+    protected void onStart() {
+        request(requestSize);
+    }
+
+    @Override
+    public void onNext(T item) {
+        sink.onNext(item);
+        if (++consumed == limit) {
+            consumed = 0;
+            request(limit);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        sink.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        sink.onComplete();
+    }
+}
@@ -0,0 +1,149 @@
+package backpressure;
+
+import io.reactivex.rxjava3.core.BackpressureOverflowStrategy;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.flowables.ConnectableFlowable;
+import io.reactivex.rxjava3.functions.Action;
+import io.reactivex.rxjava3.processors.FlowableProcessor;
+import io.reactivex.rxjava3.processors.PublishProcessor;
+import pipelines.Sink;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flowable counterparts of the examples built on the infinite interval sources of
+ * Buffering, Windowing, Throttling, Multicasting, Subjects and ConcurrencyOperators.
+ * <p>
+ * Flowable.interval() cannot slow down, it signals MissingBackpressureException as soon as
+ * the subscriber has not requested the next tick. That is why every source here goes through
+ * {@link #onBackpressure(Flowable, BackpressureConfig, Action)} first and every asynchronous
+ * boundary uses the prefetch of the config.
+ */
+public final class FlowablePipelines {
+    private static final Action NO_OP = () -> {
+    };
+
+    private FlowablePipelines() {
+    }
+
+    /**
+     * The infiniteSource of the lab classes with a backpressure strategy applied.
+     */
+    public static Flowable<Long> interval(long period, TimeUnit unit, Scheduler scheduler, BackpressureConfig config) {
+        return onBackpressure(Flowable.interval(period, unit, scheduler), config, NO_OP);
+    }
+
+    /**
+     * Applies the strategy of the config, onDrop is called for every item that is dropped
+     * by the BUFFER and DROP strategies.
+     */
+    public static <T> Flowable<T> onBackpressure(Flowable<T> source, BackpressureConfig config, Action onDrop) {
+        switch (config.strategy()) {
+            case BUFFER:
+                return source.onBackpressureBuffer(config.bufferCapacity(), onDrop,
+                        BackpressureOverflowStrategy.DROP_OLDEST);
+            case ERROR:
+                return source.onBackpressureBuffer(config.bufferCapacity());
+            case DROP:
+                return source.onBackpressureDrop(item -> onDrop.run());
+            case LATEST:
+                return source.onBackpressureLatest();
+            default:
+                return source;
+        }
+    }
+
+    /**
+     * ConcurrencyOperators.observeOn(): switches to the scheduler with a bounded prefetch queue.
+     */
+    public static <T> Flowable<T> observeOn(Flowable<T> source, Scheduler scheduler, BackpressureConfig config) {
+        return source.observeOn(scheduler, false, config.prefetch());
+    }
+
+    /**
+     * Buffering.bufferWithTimeSpan()
+     */
+    public static <T> Flowable<List<T>> bufferWithTimeSpan(Flowable<T> source, long timespan, TimeUnit unit,
+                                                           Scheduler scheduler, BackpressureConfig config) {
+        return onBackpressure(source.buffer(timespan, unit, scheduler), config, NO_OP);
+    }
+
+    /**
+     * Buffering.bufferWithBoundary()
+     */
+    public static <T, B> Flowable<List<T>> bufferWithBoundary(Flowable<T> source, Flowable<B> boundary) {
+        return source.buffer(boundary);
+    }
+
+    /**
+     * Windowing.windowWithTimespan(), every window is reduced to one String like in the lab class.
+     */
+    public static <T> Flowable<String> windowWithTimespan(Flowable<T> source, long timespan, TimeUnit unit,
+                                                          Scheduler scheduler, BackpressureConfig config) {
+        return onBackpressure(source.window(timespan, unit, scheduler), config, NO_OP)
+                .flatMapSingle(window -> window.reduce("", (total, next) -> total + (total.equals("") ? "" : "|") + next),
+                        false, config.prefetch());
+    }
+
+    /**
+     * Throttling.throttleLast()
+     */
+    public static <T> Flowable<T> throttleLast(Flowable<T> source, long time, TimeUnit unit, Scheduler scheduler,
+                                               BackpressureConfig config) {
+        return onBackpressure(source.throttleLast(time, unit, scheduler), config, NO_OP);
+    }
+
+    /**
+     * Throttling.throttleFirst()
+     */
+    public static <T> Flowable<T> throttleFirst(Flowable<T> source, long time, TimeUnit unit, Scheduler scheduler,
+                                                BackpressureConfig config) {
+        return onBackpressure(source.throttleFirst(time, unit, scheduler), config, NO_OP);
+    }
+
+    /**
+     * Throttling.throttleWithTimeout()
+     */
+    public static <T> Flowable<T> throttleWithTimeout(Flowable<T> source, long time, TimeUnit unit,
+                                                      Scheduler scheduler, BackpressureConfig config) {
+        return onBackpressure(source.throttleWithTimeout(time, unit, scheduler), config, NO_OP);
+    }
+
+    /**
+     * Multicasting.publish(): the slowest subscriber paces the source through the prefetch.
+     */
+    public static <T> ConnectableFlowable<T> publish(Flowable<T> source, BackpressureConfig config) {
+        return source.publish(config.prefetch());
+    }
+
+    /**
+     * Multicasting.replay() limited to the last bufferSize items.
+     */
+    public static <T> Flowable<T> replay(Flowable<T> source, int bufferSize) {
+        return source.replay(bufferSize).autoConnect();
+    }
+
+    /**
+     * Subjects.publishSubject() example 2 with a PublishProcessor. A PublishProcessor signals
+     * MissingBackpressureException to a subscriber that has not requested, so the returned
+     * Flowable applies the strategy of the config for each subscriber.
+     */
+    @SafeVarargs
+    public static <T> Flowable<T> publishProcessor(BackpressureConfig config, Flowable<? extends T>... sources) {
+        FlowableProcessor<T> processor = PublishProcessor.<T>create().toSerialized();
+        for (var source : sources) {
+            source.subscribe(processor::onNext, processor::onError);
+        }
+        return onBackpressure(processor, config, NO_OP);
+    }
+
+    /**
+     * Subscribes the sink with a {@link BatchedSubscriber} that requests config.requestSize() items at once.
+     */
+    public static <T> Disposable subscribe(Flowable<T> source, Sink<? super T> sink, BackpressureConfig config) {
+        return source.subscribeWith(new BatchedSubscriber<>(sink, config.requestSize()));
+    }
+}
@@ -0,0 +1,401 @@
+package backpressure;
+
+import concurrency.MpscQueue;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.FlowableSubscriber;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Traffic shaping with a {@link RateLimiter}: every item takes a permit and waits for it, none
+ * is dropped. Compare with throttleFirst() and throttleLast() in Throttling, which keep the rate
+ * by dropping items.
+ * <p>
+ * The items go through a queue and a drain loop. The permit of an item is reserved when the
+ * downstream is ready for it; if the limiter says to wait, the drain loop stops and a timer on
+ * the scheduler resumes it when the permit is due. Items granted right away are emitted on the
+ * thread that calls onNext() or request(), the delayed ones on the scheduler.
+ * <p>
+ * The Flowable version requests prefetch items from upstream and replenishes three quarters of
+ * them at a time as the items leave, like observeOn() does: a slow rate slows the upstream down
+ * through request(n) and the queue never holds more than prefetch items. The Observable version
+ * cannot slow its upstream down, its queue grows as long as the source is faster than the rate.
+ * <p>
+ * A delayed item waits for a timer, and timers are late by tens of microseconds or more. A
+ * limiter with a burst of 1 cannot make up for that lateness, so a high rate needs a burst that
+ * covers it: at a million permits per second, a burst of 100 to 1000 keeps the achieved rate on
+ * target.
+ * <p>
+ * Errors are signalled right away, the queued items are dropped.
+ */
+public final class RateLimit {
+    private RateLimit() {
+    }
+
+    /**
+     * With a prefetch of Flowable.bufferSize().
+     */
+    public static <T> Flowable<T> flowable(Flowable<T> source, RateLimiter limiter, Scheduler scheduler) {
+        return flowable(source, limiter, scheduler, Flowable.bufferSize());
+    }
+
+    /**
+     * @param scheduler runs the timers of the delayed items
+     * @param prefetch  the items requested from upstream ahead of the permits
+     */
+    public static <T> Flowable<T> flowable(Flowable<T> source, RateLimiter limiter, Scheduler scheduler, int prefetch) {
+        Objects.requireNonNull(source, "source is null");
+        Objects.requireNonNull(limiter, "limiter is null");
+        Objects.requireNonNull(scheduler, "scheduler is null");
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        return source.lift(subscriber -> new RateLimitSubscriber<>(subscriber, limiter, scheduler.createWorker(), prefetch));
+    }
+
+    /**
+     * @param scheduler runs the timers of the delayed items
+     */
+    public static <T> Observable<T> observable(Observable<T> source, RateLimiter limiter, Scheduler scheduler) {
+        Objects.requireNonNull(source, "source is null");
+        Objects.requireNonNull(limiter, "limiter is null");
+        Objects.requireNonNull(scheduler, "scheduler is null");
+        return source.lift(observer -> new RateLimitObserver<>(observer, limiter, scheduler.createWorker()));
+    }
+
+    static final class RateLimitSubscriber<T> extends AtomicInteger implements FlowableSubscriber<T>, Subscription, Runnable {
+        private static final long serialVersionUID = -1642410143192296453L;
+
+        private final Subscriber<? super T> downstream;
+        private final RateLimiter limiter;
+        private final Scheduler.Worker worker;
+        private final int prefetch;
+        private final int limit;
+        private final MpscQueue<T> queue = new MpscQueue<>();
+        private final AtomicLong requested = new AtomicLong();
+        private Subscription upstream;
+        private volatile boolean done;
+        private Throwable error;
+        private volatile boolean cancelled;
+        // a timer resumes the drain loop when the permit of next is due
+        private volatile boolean waiting;
+        // touched by the drain loop only
+        private T next;
+        private boolean reserved;
+        private int consumed;
+
+        RateLimitSubscriber(Subscriber<? super T> downstream, RateLimiter limiter, Scheduler.Worker worker, int prefetch) {
+            this.downstream = downstream;
+            this.limiter = limiter;
+            this.worker = worker;
+            this.prefetch = prefetch;
+            limit = prefetch - (prefetch >> 2);
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            upstream = s;
+            downstream.onSubscribe(this);
+            s.request(prefetch);
+        }
+
+        @Override
+        public void onNext(T item) {
+            queue.offer(item);
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            error = e;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                upstream.cancel();
+                onError(new IllegalArgumentException("n > 0 required but it was " + n));
+                return;
+            }
+            for (;;) {
+                var current = requested.get();
+                var updated = current + n < 0 ? Long.MAX_VALUE : current + n;
+                if (requested.compareAndSet(current, updated)) {
+                    break;
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            upstream.cancel();
+            worker.dispose();
+            if (getAndIncrement() == 0) {
+                clear();
+            }
+        }
+
+        @Override
+        public void run() {
+            waiting = false;
+            drain();
+        }
+
+        private void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            var missed = 1;
+            for (;;) {
+                if (cancelled) {
+                    clear();
+                    return;
+                }
+                // even while waiting for a permit
+                if (done && error != null) {
+                    terminate(error);
+                    return;
+                }
+                var r = requested.get();
+                var emitted = 0L;
+                while (emitted != r && !waiting) {
+                    if (cancelled) {
+                        clear();
+                        return;
+                    }
+                    var d = done;
+                    if (d && error != null) {
+                        terminate(error);
+                        return;
+                    }
+                    if (next == null) {
+                        next = queue.poll();
+                    }
+                    if (next == null) {
+                        if (d) {
+                            terminate(null);
+                            return;
+                        }
+                        break;
+                    }
+                    if (!reserved) {
+                        reserved = true;
+                        var delay = limiter.reserve();
+                        if (delay > 0) {
+                            waiting = true;
+                            worker.schedule(this, delay, TimeUnit.NANOSECONDS);
+                            break;
+                        }
+                    }
+                    var item = next;
+                    next = null;
+                    reserved = false;
+                    downstream.onNext(item);
+                    emitted++;
+                    if (++consumed == limit) {
+                        consumed = 0;
+                        upstream.request(limit);
+                    }
+                }
+                if (emitted == r && !waiting) {
+                    if (cancelled) {
+                        clear();
+                        return;
+                    }
+                    var d = done;
+                    if (d && (error != null || next == null && queue.isEmpty())) {
+                        terminate(error);
+                        return;
+                    }
+                }
+                if (emitted != 0 && r != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void terminate(Throwable e) {
+            clear();
+            worker.dispose();
+            if (e != null) {
+                downstream.onError(e);
+            } else {
+                downstream.onComplete();
+            }
+        }
+
+        private void clear() {
+            next = null;
+            while (queue.poll() != null) {
+                // drop
+            }
+        }
+    }
+
+    static final class RateLimitObserver<T> extends AtomicInteger implements Observer<T>, Disposable, Runnable {
+        private static final long serialVersionUID = 1382215793813644462L;
+
+        private final Observer<? super T> downstream;
+        private final RateLimiter limiter;
+        private final Scheduler.Worker worker;
+        private final MpscQueue<T> queue = new MpscQueue<>();
+        private Disposable upstream;
+        private volatile boolean done;
+        private Throwable error;
+        private volatile boolean disposed;
+        // a timer resumes the drain loop when the permit of next is due
+        private volatile boolean waiting;
+        // touched by the drain loop only
+        private T next;
+        private boolean reserved;
+
+        RateLimitObserver(Observer<? super T> downstream, RateLimiter limiter, Scheduler.Worker worker) {
+            this.downstream = downstream;
+            this.limiter = limiter;
+            this.worker = worker;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            queue.offer(item);
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            error = e;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+            upstream.dispose();
+            worker.dispose();
+            if (getAndIncrement() == 0) {
+                clear();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+
+        @Override
+        public void run() {
+            waiting = false;
+            drain();
+        }
+
+        private void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            var missed = 1;
+            for (;;) {
+                if (disposed) {
+                    clear();
+                    return;
+                }
+                // even while waiting for a permit
+                if (done && error != null) {
+                    terminate(error);
+                    return;
+                }
+                while (!waiting) {
+                    if (disposed) {
+                        clear();
+                        return;
+                    }
+                    var d = done;
+                    if (d && error != null) {
+                        terminate(error);
+                        return;
+                    }
+                    if (next == null) {
+                        next = queue.poll();
+                    }
+                    if (next == null) {
+                        if (d) {
+                            terminate(null);
+                            return;
+                        }
+                        break;
+                    }
+                    if (!reserved) {
+                        reserved = true;
+                        var delay = limiter.reserve();
+                        if (delay > 0) {
+                            waiting = true;
+                            worker.schedule(this, delay, TimeUnit.NANOSECONDS);
+                            break;
+                        }
+                    }
+                    var item = next;
+                    next = null;
+                    reserved = false;
+                    downstream.onNext(item);
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void terminate(Throwable e) {
+            clear();
+            worker.dispose();
+            disposed = true;
+            if (e != null) {
+                downstream.onError(e);
+            } else {
+                downstream.onComplete();
+            }
+        }
+
+        private void clear() {
+            next = null;
+            while (queue.poll() != null) {
+                // drop
+            }
+        }
+    }
+}
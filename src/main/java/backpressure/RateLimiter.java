@@ -0,0 +1,106 @@
+package backpressure;
+
+import io.reactivex.rxjava3.core.Scheduler;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * A rate limiter with the generic cell rate algorithm (GCRA), the token bucket written as a
+ * single timestamp: the theoretical arrival time (TAT) of the next permit. A permit is
+ * granted at max(TAT, now - tolerance) and pushes TAT one interval further, so permits are
+ * spaced by 1 / rate and up to burst of them are granted at once after an idle period.
+ * <p>
+ * {@link #reserve()} never refuses, it returns how long the caller has to wait for its
+ * permit: that is what {@link RateLimit} delays the items by. Reserving is one compareAndSet()
+ * on the TAT, so one limiter can be shared by any number of pipelines and threads without a
+ * lock.
+ * <p>
+ * The clock is System.nanoTime(). Scheduler.now() of the RxJava Schedulers has a millisecond
+ * resolution: at a million permits per second, most permits would look like they are due in the
+ * future and get a timer each. A limiter on the clock of a Scheduler is for TestScheduler tests.
+ */
+public final class RateLimiter {
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final int burst;
+    private final LongSupplier clock;
+    private final AtomicLong theoreticalArrivalTime = new AtomicLong(Long.MIN_VALUE);
+
+    private RateLimiter(long intervalNanos, int burst, LongSupplier clock) {
+        this.intervalNanos = intervalNanos;
+        this.burst = burst;
+        this.clock = clock;
+        toleranceNanos = intervalNanos * (burst - 1);
+    }
+
+    /**
+     * @param permitsPerSecond the sustained rate
+     * @param burst            the permits granted at once after an idle period, 1 spaces every
+     *                         permit by 1 / permitsPerSecond
+     */
+    public static RateLimiter create(double permitsPerSecond, int burst) {
+        return create(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    /**
+     * A limiter that reads the clock of the scheduler.
+     */
+    public static RateLimiter create(double permitsPerSecond, int burst, Scheduler clock) {
+        Objects.requireNonNull(clock, "clock is null");
+        return create(permitsPerSecond, burst, () -> clock.now(TimeUnit.NANOSECONDS));
+    }
+
+    private static RateLimiter create(double permitsPerSecond, int burst, LongSupplier clock) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("permitsPerSecond > 0 required but it was " + permitsPerSecond);
+        }
+        if (burst <= 0) {
+            throw new IllegalArgumentException("burst > 0 required but it was " + burst);
+        }
+        var intervalNanos = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        if (intervalNanos > Long.MAX_VALUE / 4 / burst) {
+            throw new IllegalArgumentException("The burst covers too long a period: " + burst + " / " + permitsPerSecond);
+        }
+        return new RateLimiter(intervalNanos, burst, clock);
+    }
+
+    /**
+     * Takes one permit now.
+     *
+     * @return the nanoseconds to wait before using the permit, 0 if it can be used right away
+     */
+    public long reserve() {
+        return reserve(clock.getAsLong());
+    }
+
+    /**
+     * Takes one permit at the given time.
+     *
+     * @param nowNanos the current time of the clock of the limiter
+     * @return the nanoseconds to wait before using the permit, 0 if it can be used right away
+     */
+    public long reserve(long nowNanos) {
+        for (;;) {
+            var current = theoreticalArrivalTime.get();
+            var granted = Math.max(current, nowNanos - toleranceNanos);
+            if (theoreticalArrivalTime.compareAndSet(current, granted + intervalNanos)) {
+                return Math.max(0, granted - nowNanos);
+            }
+        }
+    }
+
+    public double permitsPerSecond() {
+        return (double) TimeUnit.SECONDS.toNanos(1) / intervalNanos;
+    }
+
+    public long intervalNanos() {
+        return intervalNanos;
+    }
+
+    public int burst() {
+        return burst;
+    }
+}
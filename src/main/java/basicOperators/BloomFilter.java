@@ -0,0 +1,122 @@
+package basicOperators;
+
+/**
+ * A Bloom filter over 64-bit hashes: a bit array and k bit positions per key. A key whose k
+ * bits are all set was probably seen, a key with a clear bit was certainly not.
+ * <p>
+ * The filter is blocked: the hash picks a block of 512 bits, a cache line, and the k positions
+ * are taken in that block from a second hash mixed from the first (Kirsch and Mitzenmacher). A
+ * key costs one cache miss instead of k, and once the filter outgrows the CPU caches that is
+ * the cost of a lookup. The blocks fill unevenly, which raises the false-positive rate over the
+ * rate the filter is sized for: 1.2% instead of 1%, 0.23% instead of 0.1%.
+ * <p>
+ * The size is fixed when it is created: -n ln(p) / ln(2)^2 bits for n keys at the rate p, about
+ * 9.6 bits per key at 1%, 14.4 at 0.1%. 10 million keys at 1% take 12 MB, 100 million 120 MB.
+ * Past n keys the memory stays the same and the false-positive rate goes up. Not thread-safe.
+ */
+public final class BloomFilter {
+    // a 64-byte cache line
+    private static final int BLOCK_BITS = 512;
+
+    private final long[] bits;
+    private final long bitSize;
+    private final int hashes;
+
+    private BloomFilter(long bitSize, int hashes) {
+        this.bits = new long[(int) ((bitSize + BLOCK_BITS - 1) / BLOCK_BITS * 8)];
+        this.bitSize = bits.length * 64L;
+        this.hashes = hashes;
+    }
+
+    /**
+     * @param expectedKeys      the keys the filter is sized for
+     * @param falsePositiveRate the probability that a new key looks seen, between 0 and 1
+     */
+    public static BloomFilter create(long expectedKeys, double falsePositiveRate) {
+        var bitSize = bitsFor(expectedKeys, falsePositiveRate);
+        var hashes = Math.max(1, (int) Math.round((double) bitSize / expectedKeys * Math.log(2)));
+        return new BloomFilter(bitSize, hashes);
+    }
+
+    /**
+     * @return the bits of a filter for expectedKeys at falsePositiveRate, bitSize() / 8 bytes
+     */
+    public static long bitsFor(long expectedKeys, double falsePositiveRate) {
+        if (expectedKeys <= 0) {
+            throw new IllegalArgumentException("expectedKeys > 0 required but it was " + expectedKeys);
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("0 < falsePositiveRate < 1 required but it was " + falsePositiveRate);
+        }
+        var bitSize = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        if (bitSize > (Integer.MAX_VALUE - 8) * 64L) {
+            throw new IllegalArgumentException("Too many bits: " + bitSize);
+        }
+        return bitSize;
+    }
+
+    /**
+     * Sets the bits of the hash.
+     *
+     * @return true if a bit was clear: the key was certainly not seen before
+     */
+    public boolean put(long hash) {
+        var block = blockOf(hash);
+        var bitHash = mix(hash);
+        var step = Long.rotateLeft(bitHash, 32) | 1;
+        var changed = false;
+        for (int i = 0; i < hashes; i++) {
+            var bit = (int) ((bitHash + i * step) >>> 55);
+            var word = block + (bit >>> 6);
+            var mask = 1L << bit;
+            if ((bits[word] & mask) == 0) {
+                bits[word] |= mask;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * @return false if the key was certainly not seen, true if it probably was
+     */
+    public boolean mightContain(long hash) {
+        var block = blockOf(hash);
+        var bitHash = mix(hash);
+        var step = Long.rotateLeft(bitHash, 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            var bit = (int) ((bitHash + i * step) >>> 55);
+            if ((bits[block + (bit >>> 6)] & 1L << bit) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // the first word of the block of the hash, a multiplication maps the hash to [0, blocks)
+    private int blockOf(long hash) {
+        var blocks = bits.length >>> 3;
+        return (int) (Math.multiplyHigh(hash, blocks) + (hash >> 63 & blocks)) << 3;
+    }
+
+    public long bitSize() {
+        return bitSize;
+    }
+
+    public int hashes() {
+        return hashes;
+    }
+
+    /**
+     * The finalizer of MurmurHash3: every bit of the input flips about half the bits of the
+     * output. Spreads a hashCode() or a sequential id over the 64 bits the filter uses.
+     */
+    static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
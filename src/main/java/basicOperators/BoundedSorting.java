@@ -0,0 +1,404 @@
+package basicOperators;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.exceptions.Exceptions;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * sorted() and toSortedList() with a bounded heap. Both RxJava operators keep every item of the
+ * source until it completes and sort them all: "the top 100 of 50 million" holds 50 million
+ * items.
+ * <ul>
+ *     <li>{@link #topK} keeps the k best items seen so far in a heap whose head is the worst of
+ *     them. An item that beats the head replaces it: O(k) memory and O(n log k) time.</li>
+ *     <li>{@link #sortedSpilling} is an external merge sort. Every maxInMemory items are sorted and
+ *     written to a temporary file of spillDir as a run. Once the source completes, the runs are
+ *     merged with a heap of one cursor per run and the items are emitted in order. The heap holds
+ *     maxInMemory items while the source is collected, then one item and one read buffer per
+ *     run.</li>
+ * </ul>
+ * Like sorted(), nothing is emitted before the source completes and the items that compare equal
+ * keep their order. The items are written with a {@link SpillCodec}; the runs are deleted once
+ * merged, or when the sequence fails or is disposed.
+ */
+public final class BoundedSorting {
+    private BoundedSorting() {
+    }
+
+    /**
+     * The k first items of sorted(), in the natural order.
+     */
+    public static <T extends Comparable<? super T>> Single<List<T>> topK(Observable<T> source, int k) {
+        return topK(source, k, Comparator.naturalOrder());
+    }
+
+    /**
+     * The k first items of sorted(comparator): with Comparator.reverseOrder(), the k largest
+     * items, largest first. Fewer if the source emits fewer than k items. Every item is numbered
+     * as it arrives so that equal items keep their order, the same ones as sorted().take(k).
+     */
+    public static <T> Single<List<T>> topK(Observable<T> source, int k, Comparator<? super T> comparator) {
+        Objects.requireNonNull(source, "source is null");
+        Objects.requireNonNull(comparator, "comparator is null");
+        if (k <= 0) {
+            throw new IllegalArgumentException("k > 0 required but it was " + k);
+        }
+        // ties go to the earlier item, the later of equal items is the worse and the first evicted
+        Comparator<Ranked<T>> bestFirst = (left, right) -> {
+            var order = comparator.compare(left.item, right.item);
+            return order != 0 ? order : Long.compare(left.sequence, right.sequence);
+        };
+        return source.collect(() -> new TopK<>(k, bestFirst.reversed()), (top, item) -> {
+                    var heap = top.heap;
+                    if (heap.size() < k) {
+                        heap.offer(new Ranked<>(item, top.sequence++));
+                    } else if (comparator.compare(item, heap.peek().item) < 0) {
+                        heap.poll();
+                        heap.offer(new Ranked<>(item, top.sequence++));
+                    } else {
+                        top.sequence++;
+                    }
+                })
+                .map(top -> {
+                    var ranked = new ArrayList<>(top.heap);
+                    ranked.sort(bestFirst);
+                    var list = new ArrayList<T>(ranked.size());
+                    for (var entry : ranked) {
+                        list.add(entry.item);
+                    }
+                    return list;
+                });
+    }
+
+    /**
+     * The heap of topK() and the arrival number of the next item.
+     */
+    private static final class TopK<T> {
+        final PriorityQueue<Ranked<T>> heap;
+        long sequence;
+
+        TopK(int k, Comparator<Ranked<T>> worstFirst) {
+            heap = new PriorityQueue<>(Math.min(k, 1 << 16) + 1, worstFirst);
+        }
+    }
+
+    private static final class Ranked<T> {
+        final T item;
+        final long sequence;
+
+        Ranked(T item, long sequence) {
+            this.item = item;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Same as sorted(comparator) with at most maxInMemory items on the heap.
+     *
+     * @param maxInMemory the items sorted in memory before a run is spilled
+     * @param spillDir    the directory of the temporary run files
+     * @param codec       writes an item to a run and reads it back
+     */
+    public static <T> Observable<T> sortedSpilling(Observable<T> source, Comparator<? super T> comparator,
+                                                   int maxInMemory, Path spillDir, SpillCodec<T> codec) {
+        Objects.requireNonNull(source, "source is null");
+        Objects.requireNonNull(comparator, "comparator is null");
+        Objects.requireNonNull(spillDir, "spillDir is null");
+        Objects.requireNonNull(codec, "codec is null");
+        if (maxInMemory <= 0) {
+            throw new IllegalArgumentException("maxInMemory > 0 required but it was " + maxInMemory);
+        }
+        return source.lift(observer -> new SpillingSortObserver<>(observer, comparator, maxInMemory, spillDir, codec));
+    }
+
+    /**
+     * Writes the items of a run and reads them back, in the same order.
+     */
+    public interface SpillCodec<T> {
+        void write(DataOutput out, T item) throws IOException;
+
+        T read(DataInput in) throws IOException;
+
+        static SpillCodec<Integer> ints() {
+            return new SpillCodec<>() {
+                @Override
+                public void write(DataOutput out, Integer item) throws IOException {
+                    out.writeInt(item);
+                }
+
+                @Override
+                public Integer read(DataInput in) throws IOException {
+                    return in.readInt();
+                }
+            };
+        }
+
+        static SpillCodec<Long> longs() {
+            return new SpillCodec<>() {
+                @Override
+                public void write(DataOutput out, Long item) throws IOException {
+                    out.writeLong(item);
+                }
+
+                @Override
+                public Long read(DataInput in) throws IOException {
+                    return in.readLong();
+                }
+            };
+        }
+
+        /**
+         * Modified UTF-8, up to 65535 bytes per string.
+         */
+        static SpillCodec<String> strings() {
+            return new SpillCodec<>() {
+                @Override
+                public void write(DataOutput out, String item) throws IOException {
+                    out.writeUTF(item);
+                }
+
+                @Override
+                public String read(DataInput in) throws IOException {
+                    return in.readUTF();
+                }
+            };
+        }
+    }
+
+    static final class SpillingSortObserver<T> implements Observer<T>, Disposable {
+        private final Observer<? super T> downstream;
+        private final Comparator<? super T> comparator;
+        private final int maxInMemory;
+        private final Path spillDir;
+        private final SpillCodec<T> codec;
+        // guarded by this, a dispose() from another thread deletes them
+        private final List<Run<T>> runs = new ArrayList<>();
+        private boolean merging;
+        private List<T> buffer = new ArrayList<>();
+        private Disposable upstream;
+        private boolean done;
+        private volatile boolean disposed;
+
+        SpillingSortObserver(Observer<? super T> downstream, Comparator<? super T> comparator, int maxInMemory,
+                             Path spillDir, SpillCodec<T> codec) {
+            this.downstream = downstream;
+            this.comparator = comparator;
+            this.maxInMemory = maxInMemory;
+            this.spillDir = spillDir;
+            this.codec = codec;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            buffer.add(item);
+            if (buffer.size() == maxInMemory) {
+                try {
+                    spill();
+                } catch (Throwable e) {
+                    Exceptions.throwIfFatal(e);
+                    upstream.dispose();
+                    onError(e);
+                }
+            }
+        }
+
+        // sorts the buffer and writes it to a new run
+        private synchronized void spill() throws IOException {
+            if (disposed) {
+                return;
+            }
+            buffer.sort(comparator);
+            var file = Files.createTempFile(spillDir, "sorted-run-", ".bin");
+            var run = new Run<T>(file, buffer.size());
+            runs.add(run);
+            try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+                for (var item : buffer) {
+                    codec.write(out, item);
+                }
+            }
+            buffer = new ArrayList<>();
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            if (done) {
+                RxJavaPlugins.onError(e);
+                return;
+            }
+            done = true;
+            buffer = null;
+            deleteRuns();
+            downstream.onError(e);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            synchronized (this) {
+                if (disposed) {
+                    deleteRuns();
+                    return;
+                }
+                merging = true;
+            }
+            try {
+                if (runs.isEmpty()) {
+                    emitBuffer();
+                } else {
+                    if (!buffer.isEmpty()) {
+                        spill();
+                    }
+                    buffer = null;
+                    merge();
+                }
+            } catch (Throwable e) {
+                Exceptions.throwIfFatal(e);
+                deleteRuns();
+                if (!disposed) {
+                    downstream.onError(e);
+                }
+                return;
+            }
+            deleteRuns();
+            if (!disposed) {
+                downstream.onComplete();
+            }
+        }
+
+        // nothing was spilled, sorted() in memory
+        private void emitBuffer() {
+            var items = buffer;
+            buffer = null;
+            items.sort(comparator);
+            for (var item : items) {
+                if (disposed) {
+                    return;
+                }
+                downstream.onNext(item);
+            }
+        }
+
+        // a k-way merge, ties go to the earlier run so that the sort is stable
+        private void merge() throws IOException {
+            var heap = new PriorityQueue<Run<T>>(runs.size(), (left, right) -> {
+                var order = comparator.compare(left.head, right.head);
+                return order != 0 ? order : Integer.compare(left.index, right.index);
+            });
+            for (int i = 0; i < runs.size(); i++) {
+                var run = runs.get(i);
+                run.open(i, 1 << 16);
+                if (run.advance(codec)) {
+                    heap.offer(run);
+                }
+            }
+            while (!heap.isEmpty()) {
+                if (disposed) {
+                    return;
+                }
+                var run = heap.poll();
+                var item = run.head;
+                if (run.advance(codec)) {
+                    heap.offer(run);
+                }
+                downstream.onNext(item);
+            }
+        }
+
+        private synchronized void deleteRuns() {
+            for (var run : runs) {
+                run.delete();
+            }
+            runs.clear();
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+            upstream.dispose();
+            synchronized (this) {
+                // onComplete() deletes them once the merge has stopped
+                if (!merging) {
+                    deleteRuns();
+                }
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+
+    /**
+     * A sorted run on disk and, while merging, its next item.
+     */
+    private static final class Run<T> {
+        private final Path file;
+        private int remaining;
+        private DataInputStream in;
+        int index;
+        T head;
+
+        Run(Path file, int count) {
+            this.file = file;
+            this.remaining = count;
+        }
+
+        void open(int index, int bufferSize) throws IOException {
+            this.index = index;
+            in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), bufferSize));
+        }
+
+        // reads the next item into head, false at the end of the run
+        boolean advance(SpillCodec<T> codec) throws IOException {
+            if (remaining == 0) {
+                head = null;
+                return false;
+            }
+            remaining--;
+            head = codec.read(in);
+            return true;
+        }
+
+        void delete() {
+            try {
+                if (in != null) {
+                    in.close();
+                }
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                RxJavaPlugins.onError(e);
+            }
+        }
+    }
+}
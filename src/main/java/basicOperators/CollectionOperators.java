@@ -2,9 +2,11 @@ package basicOperators;
 
 import com.google.common.collect.ImmutableList;
 import io.reactivex.rxjava3.core.Observable;
+import primitiveStreams.PrimitiveCollectors;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -61,6 +63,16 @@ public class CollectionOperators {
                 .subscribe(System.out::println);
     }
 
+    /**
+     * toSortedList() keeps every item to sort them all. When only the first k items of the sorted
+     * list are needed, topK() keeps the k best items seen so far in a heap: the 3 largest numbers
+     * without holding the others.
+     */
+    public final void topK() {
+        BoundedSorting.topK(numericSource, 3, Comparator.reverseOrder())
+                .subscribe(System.out::println);
+    }
+
     /**
      * Collects received values into Map<K,T>, where K is the key type.
      * The key is generated by the Function<T,K> function provided as
@@ -107,4 +119,29 @@ public class CollectionOperators {
                 .map(ImmutableList.Builder::build)
                 .subscribe(System.out::println);
     }
+
+    /**
+     * toMultimap() on the parts of a list in parallel: every part builds a map of its own and the
+     * maps are merged in the order of the list, so the values of a key keep their order.
+     */
+    public final void parallelToMultimap() {
+        var words = stringSource.toList().blockingGet();
+        ParallelReduce.commonPool()
+                .toMultimap(words, str -> str.charAt(0), String::length)
+                .subscribe(System.out::println);
+    }
+
+    /**
+     * toMap() and toMultiMap() box the keys into a HashMap. When the key is an int, like a length,
+     * PrimitiveCollectors builds an open-addressing map with the keys in an int array, presized
+     * for the expected number of keys.
+     */
+    public final void primitiveToMap() {
+//        1) IntObjectMap<String>, the last string of each length
+        PrimitiveCollectors.toIntMap(stringSource, String::length)
+                .subscribe(System.out::println);
+//        2) IntObjectMap<IntList>, the numbers keyed off their number of digits
+        PrimitiveCollectors.toIntMultimap(numericSource, item -> String.valueOf(item).length(), item -> item, 4)
+                .subscribe(System.out::println);
+    }
 }
@@ -0,0 +1,125 @@
+package basicOperators;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.functions.Function;
+
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * distinct() with bounded memory. distinct() keeps every key it has seen in a HashSet until the
+ * source terminates: on an infinite source like interval() the set grows forever, around 50
+ * bytes per key plus the key itself.
+ * <ul>
+ *     <li>{@link #bloom} drops the items whose key a {@link BloomFilter} has probably seen. A new
+ *     key is dropped with about the false-positive rate, a repeated key is never emitted twice.
+ *     Fixed memory, 1.2 bytes per expected key at 1%.</li>
+ *     <li>{@link #expiring} is exact but forgets a key ttl after it was emitted, or when maxKeys
+ *     newer keys have been emitted, whichever comes first: a key can come back once forgotten.
+ *     At most maxKeys entries, around 80 bytes each plus the key.</li>
+ *     <li>{@link #countDistinct} is count() of distinct() with a {@link HyperLogLog}: 2^precision
+ *     bytes, 16 KB by default, for an estimate within 1% or so.</li>
+ * </ul>
+ * The approximate modes work on 64-bit hashes of the keys. The overloads without a hasher use
+ * hashCode(): its 32 bits collide once the keys reach the tens of millions (about one in 40
+ * keys at 100 million), which reads as false positives for bloom() and an underestimate for
+ * countDistinct(). Pass a 64-bit hasher for such streams, the identity for long ids.
+ */
+public final class DistinctApprox {
+    private DistinctApprox() {
+    }
+
+    /**
+     * distinct() with a Bloom filter on hashCode().
+     */
+    public static <T> Observable<T> bloom(Observable<T> source, long expectedKeys, double falsePositiveRate) {
+        return bloom(source, Object::hashCode, expectedKeys, falsePositiveRate);
+    }
+
+    /**
+     * distinct() with a Bloom filter, one per subscription.
+     *
+     * @param hasher            a 64-bit hash of the key of an item, it is mixed before use
+     * @param expectedKeys      the distinct keys the filter is sized for
+     * @param falsePositiveRate the probability that the item of a new key is dropped
+     */
+    public static <T> Observable<T> bloom(Observable<T> source, ToLongFunction<? super T> hasher, long expectedKeys,
+                                          double falsePositiveRate) {
+        Objects.requireNonNull(source, "source is null");
+        Objects.requireNonNull(hasher, "hasher is null");
+        BloomFilter.bitsFor(expectedKeys, falsePositiveRate);
+        return Observable.defer(() -> {
+            var filter = BloomFilter.create(expectedKeys, falsePositiveRate);
+            return source.filter(item -> filter.put(BloomFilter.mix(hasher.applyAsLong(item))));
+        });
+    }
+
+    /**
+     * distinct(keySelector) that forgets a key ttl after it was emitted, or once maxKeys newer
+     * keys have been emitted. The expired keys are removed as items arrive, no timer runs.
+     *
+     * @param scheduler the clock of the ttl
+     */
+    public static <T, K> Observable<T> expiring(Observable<T> source, Function<? super T, ? extends K> keySelector,
+                                                long ttl, TimeUnit unit, int maxKeys, Scheduler scheduler) {
+        Objects.requireNonNull(source, "source is null");
+        Objects.requireNonNull(keySelector, "keySelector is null");
+        Objects.requireNonNull(unit, "unit is null");
+        Objects.requireNonNull(scheduler, "scheduler is null");
+        if (ttl <= 0) {
+            throw new IllegalArgumentException("ttl > 0 required but it was " + ttl);
+        }
+        if (maxKeys <= 0) {
+            throw new IllegalArgumentException("maxKeys > 0 required but it was " + maxKeys);
+        }
+        var ttlNanos = unit.toNanos(ttl);
+        return Observable.defer(() -> {
+            // in the order the keys were emitted, so the oldest are at the head
+            var emittedAt = new LinkedHashMap<K, Long>();
+            return source.filter(item -> {
+                var now = scheduler.now(TimeUnit.NANOSECONDS);
+                var head = emittedAt.values().iterator();
+                while (head.hasNext() && now - head.next() >= ttlNanos) {
+                    head.remove();
+                }
+                K key = Objects.requireNonNull(keySelector.apply(item), "The keySelector returned a null key");
+                if (emittedAt.containsKey(key)) {
+                    return false;
+                }
+                emittedAt.put(key, now);
+                if (emittedAt.size() > maxKeys) {
+                    var oldest = emittedAt.values().iterator();
+                    oldest.next();
+                    oldest.remove();
+                }
+                return true;
+            });
+        });
+    }
+
+    /**
+     * distinct().count() estimated on hashCode() at the default precision.
+     */
+    public static <T> Single<Long> countDistinct(Observable<T> source) {
+        return countDistinct(source, Object::hashCode, HyperLogLog.DEFAULT_PRECISION);
+    }
+
+    /**
+     * distinct().count() estimated with a HyperLogLog.
+     *
+     * @param hasher    a 64-bit hash of an item, it is mixed before use
+     * @param precision 2^precision bytes of registers, the standard error is 1.04 / sqrt(2^precision)
+     */
+    public static <T> Single<Long> countDistinct(Observable<T> source, ToLongFunction<? super T> hasher, int precision) {
+        Objects.requireNonNull(source, "source is null");
+        Objects.requireNonNull(hasher, "hasher is null");
+        HyperLogLog.checkPrecision(precision);
+        return source.collect(() -> new HyperLogLog(precision),
+                        (counter, item) -> counter.add(BloomFilter.mix(hasher.applyAsLong(item))))
+                .map(HyperLogLog::estimate);
+    }
+}
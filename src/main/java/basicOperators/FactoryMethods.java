@@ -1,11 +1,16 @@
 package basicOperators;
 
+import concurrency.FutureBridge;
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.ObservableSource;
 import io.reactivex.rxjava3.functions.Supplier;
 
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
@@ -85,7 +90,8 @@ public class FactoryMethods<T> {
     }
 
     /**
-     * Creates Observable<T> from Future<T>.
+     * Creates Observable<T> from Future<T>. The subscribing thread blocks in Future.get() until
+     * the future is done, see {@link #fromFutureNonBlocking(Future)}.
      *
      * @param future is Future<T> type.
      * @return Observable<T>
@@ -94,6 +100,27 @@ public class FactoryMethods<T> {
         return Observable.fromFuture(future);
     }
 
+    /**
+     * Creates Observable<T> from Future<T> without blocking a thread: a CompletableFuture through
+     * its completion callback, any other Future through the shared poller thread.
+     *
+     * @param future is Future<T> type.
+     * @return Observable<T>
+     */
+    public final Observable<T> fromFutureNonBlocking(Future<T> future) {
+        return FutureBridge.fromFuture(future).toObservable();
+    }
+
+    /**
+     * Creates Observable<T> from CompletionStage<T>, emits its value once it completes.
+     *
+     * @param stage is CompletionStage<T> type.
+     * @return Observable<T>
+     */
+    public final Observable<T> fromCompletionStage(CompletionStage<T> stage) {
+        return FutureBridge.fromCompletionStage(stage).toObservable();
+    }
+
     /**
      * Creates empty Observable emits nothing and calls onComplete Observer's method.
      *
@@ -140,4 +167,29 @@ public class FactoryMethods<T> {
         return Observable.fromCallable(callable);
     }
 
+    /**
+     * Streams a file as read-only slices of a memory mapping, chunkSize bytes each. A Flowable: the
+     * next chunk is sliced only when the subscriber requests it.
+     *
+     * @param file      is the file to read
+     * @param chunkSize is the size of a chunk, the last one may be shorter
+     * @return Flowable<ByteBuffer>
+     * NioFiles.chunks() reads into a new buffer per chunk instead.
+     */
+    public final Flowable<ByteBuffer> fromFile(Path file, int chunkSize) {
+        return NioFiles.mappedChunks(file, chunkSize);
+    }
+
+    /**
+     * Streams the records of a file separated by the delimiter, like the lines of a text file with
+     * '\n', as read-only slices of a memory mapping: no String and no copy per record.
+     *
+     * @param file      is the file to read
+     * @param delimiter ends every record, it is not part of it
+     * @return Flowable<ByteBuffer>
+     * NioFiles.writeRecords() writes them back with gathering writes.
+     */
+    public final Flowable<ByteBuffer> fromFileRecords(Path file, byte delimiter) {
+        return NioFiles.records(file, delimiter);
+    }
 }
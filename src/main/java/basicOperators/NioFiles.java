@@ -0,0 +1,249 @@
+package basicOperators;
+
+import io.reactivex.rxjava3.core.Emitter;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Single;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Files as Flowables of ByteBuffers, for bulk data that Observable.fromIterable() over
+ * BufferedReader.lines() would turn into a String and its char[] per line.
+ * <ul>
+ *     <li>{@link #chunks} reads the file in chunks with FileChannel.read(), a new buffer per
+ *     chunk.</li>
+ *     <li>{@link #mappedChunks} and {@link #records} memory-map the file a window at a time and
+ *     emit read-only slices of the mapping: the bytes are never copied, the page cache is read
+ *     in place. A record is the bytes between two delimiters, without the delimiter.</li>
+ *     <li>{@link #write} and {@link #writeRecords} are the sinks: the buffers are written by
+ *     batches with one gathering FileChannel.write(ByteBuffer[]) per batch.</li>
+ * </ul>
+ * The sources are Flowable.generate(): a chunk or a record is read only when the downstream
+ * requests it, so a slow consumer holds the reads back instead of buffering the file. The
+ * channel is opened on subscription and closed on completion, error or cancellation; a slice
+ * stays valid after that, the mapping lives as long as a buffer refers to it.
+ */
+public final class NioFiles {
+    /**
+     * The size of a mapped window, the longest record {@link #records(Path, byte)} accepts.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private NioFiles() {
+    }
+
+    /**
+     * The content of the file in buffers of chunkSize bytes, the last one may be shorter. Every
+     * buffer is new and flipped, ready to be read.
+     */
+    public static Flowable<ByteBuffer> chunks(Path file, int chunkSize) {
+        Objects.requireNonNull(file, "file is null");
+        checkPositive(chunkSize, "chunkSize");
+        return Flowable.generate(() -> FileChannel.open(file, StandardOpenOption.READ), (channel, emitter) -> {
+            var buffer = ByteBuffer.allocate(chunkSize);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+            if (buffer.position() == 0) {
+                emitter.onComplete();
+            } else {
+                emitter.onNext(buffer.flip());
+            }
+        }, FileChannel::close);
+    }
+
+    /**
+     * The content of the file in read-only slices of chunkSize bytes of a mapping, the last one
+     * may be shorter. The file is mapped by windows of about {@link #DEFAULT_WINDOW_SIZE} bytes.
+     */
+    public static Flowable<ByteBuffer> mappedChunks(Path file, int chunkSize) {
+        Objects.requireNonNull(file, "file is null");
+        checkPositive(chunkSize, "chunkSize");
+        var windowSize = Math.max(chunkSize, DEFAULT_WINDOW_SIZE / chunkSize * chunkSize);
+        return Flowable.generate(() -> new MappedCursor(file, windowSize), (cursor, emitter) -> {
+            if (cursor.position == cursor.window.limit()) {
+                if (cursor.windowEnd() == cursor.size) {
+                    emitter.onComplete();
+                    return;
+                }
+                cursor.map(cursor.windowEnd());
+            }
+            var length = Math.min(chunkSize, cursor.window.limit() - cursor.position);
+            emitter.onNext(cursor.window.slice(cursor.position, length));
+            cursor.position += length;
+        }, MappedCursor::close);
+    }
+
+    /**
+     * The records of the file separated by the delimiter, like the lines of a text file with
+     * '\n', in windows of {@link #DEFAULT_WINDOW_SIZE} bytes.
+     */
+    public static Flowable<ByteBuffer> records(Path file, byte delimiter) {
+        return records(file, delimiter, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * The records of the file separated by the delimiter, as read-only slices of a mapping. The
+     * delimiter is not part of a record, a delimiter at the end of the file ends the last record.
+     * A record longer than windowSize ends the sequence with an IOException.
+     *
+     * @param windowSize the bytes mapped at a time, a window starts at the beginning of a record
+     */
+    public static Flowable<ByteBuffer> records(Path file, byte delimiter, int windowSize) {
+        Objects.requireNonNull(file, "file is null");
+        checkPositive(windowSize, "windowSize");
+        return Flowable.generate(() -> new MappedCursor(file, windowSize), (cursor, emitter) -> {
+            for (;;) {
+                var window = cursor.window;
+                var start = cursor.position;
+                var limit = window.limit();
+                for (int i = start; i < limit; i++) {
+                    if (window.get(i) == delimiter) {
+                        emitter.onNext(window.slice(start, i - start));
+                        cursor.position = i + 1;
+                        return;
+                    }
+                }
+                if (cursor.windowEnd() == cursor.size) {
+                    lastRecord(cursor, emitter);
+                    return;
+                }
+                if (start == 0) {
+                    emitter.onError(new IOException("A record of " + file + " is longer than the window of "
+                            + windowSize + " bytes"));
+                    return;
+                }
+                // the record goes on in the next window, which starts with it
+                cursor.map(cursor.windowStart + start);
+            }
+        }, MappedCursor::close);
+    }
+
+    private static void lastRecord(MappedCursor cursor, Emitter<ByteBuffer> emitter) {
+        var limit = cursor.window.limit();
+        if (cursor.position < limit) {
+            emitter.onNext(cursor.window.slice(cursor.position, limit - cursor.position));
+            cursor.position = limit;
+        } else {
+            emitter.onComplete();
+        }
+    }
+
+    /**
+     * Writes the remaining bytes of every buffer to the file, batchSize buffers per gathering
+     * write. The file is created or truncated.
+     *
+     * @return the number of bytes written
+     */
+    public static Single<Long> write(Flowable<? extends ByteBuffer> source, Path file, int batchSize) {
+        Objects.requireNonNull(source, "source is null");
+        Objects.requireNonNull(file, "file is null");
+        checkPositive(batchSize, "batchSize");
+        return Single.using(() -> FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING),
+                channel -> source.buffer(batchSize)
+                        .reduce(0L, (total, batch) -> total + writeFully(channel, batch.toArray(new ByteBuffer[0]))),
+                FileChannel::close);
+    }
+
+    /**
+     * Writes every record followed by the delimiter, batchSize records per gathering write: the
+     * delimiter is a buffer of its own next to the record, neither is copied.
+     *
+     * @return the number of bytes written, delimiters included
+     */
+    public static Single<Long> writeRecords(Flowable<? extends ByteBuffer> records, Path file, byte delimiter,
+                                            int batchSize) {
+        Objects.requireNonNull(records, "records is null");
+        Objects.requireNonNull(file, "file is null");
+        checkPositive(batchSize, "batchSize");
+        // direct like the mapped slices: FileChannel copies a heap buffer into a direct one first
+        var delimiterBuffer = ByteBuffer.allocateDirect(1).put(delimiter).flip().asReadOnlyBuffer();
+        return Single.using(() -> FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING),
+                channel -> records.buffer(batchSize)
+                        .reduce(0L, (total, batch) -> total + writeFully(channel, interleave(batch, delimiterBuffer))),
+                FileChannel::close);
+    }
+
+    private static ByteBuffer[] interleave(List<? extends ByteBuffer> batch, ByteBuffer delimiter) {
+        var buffers = new ByteBuffer[batch.size() * 2];
+        for (int i = 0; i < batch.size(); i++) {
+            buffers[2 * i] = batch.get(i);
+            // a view per record, they all share the delimiter byte
+            buffers[2 * i + 1] = delimiter.duplicate();
+        }
+        return buffers;
+    }
+
+    // FileChannel.write() may write part of the buffers
+    private static long writeFully(FileChannel channel, ByteBuffer[] buffers) throws IOException {
+        var written = 0L;
+        var first = 0;
+        while (first < buffers.length) {
+            written += channel.write(buffers, first, buffers.length - first);
+            while (first < buffers.length && !buffers[first].hasRemaining()) {
+                first++;
+            }
+        }
+        return written;
+    }
+
+    private static void checkPositive(int value, String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " > 0 required but it was " + value);
+        }
+    }
+
+    /**
+     * The channel, the mapped window and the position of the next byte in the window.
+     */
+    private static final class MappedCursor {
+        private final FileChannel channel;
+        private final int windowSize;
+        final long size;
+        MappedByteBuffer window;
+        long windowStart;
+        int position;
+
+        MappedCursor(Path file, int windowSize) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            this.windowSize = windowSize;
+            try {
+                this.size = channel.size();
+                map(0);
+            } catch (IOException | RuntimeException | Error e) {
+                // generate() never receives this state, its disposer cannot close the channel
+                try {
+                    channel.close();
+                } catch (IOException closeError) {
+                    e.addSuppressed(closeError);
+                }
+                throw e;
+            }
+        }
+
+        void map(long start) throws IOException {
+            window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, size - start));
+            windowStart = start;
+            position = 0;
+        }
+
+        long windowEnd() {
+            return windowStart + window.limit();
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,456 @@
+package basicOperators;
+
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.core.SingleEmitter;
+import io.reactivex.rxjava3.exceptions.Exceptions;
+import io.reactivex.rxjava3.functions.BiConsumer;
+import io.reactivex.rxjava3.functions.BiFunction;
+import io.reactivex.rxjava3.functions.Function;
+import io.reactivex.rxjava3.functions.Predicate;
+import io.reactivex.rxjava3.functions.Supplier;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * reduce(), count(), all(), any(), toList(), toMap(), toMultimap() and collect() of
+ * ReducingOperators and CollectionOperators, split across a ForkJoinPool. The Observable
+ * operators fold the items one at a time on the emitting thread, an Observable cannot be split.
+ * A finite source already in memory can: a List, what fromIterable() would emit, or a
+ * {@link #range(int, int)}, the counterpart of Observable.range().
+ * <p>
+ * The list is halved until the parts are small enough, every part is folded sequentially by a
+ * worker of the pool and the partial results are merged with the combiner as the parts complete.
+ * The merge is a CountedCompleter: no worker blocks in join(). The combiner must be associative
+ * and the identity or the supplier must be neutral for it. The parts are merged left with right,
+ * so the order of the items is kept, but in a tree rather than from left to right.
+ * <p>
+ * A list of at most sequentialThreshold items is folded on the subscribing thread, splitting it
+ * would cost more than it saves. Otherwise the result is emitted on the worker that merges the
+ * last part. all() and any() stop the other parts as soon as the result is known, and an error
+ * or a dispose stops them too. The list must not change while it is folded; a list without
+ * RandomAccess, a LinkedList, is copied into an ArrayList on subscription.
+ */
+public final class ParallelReduce {
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 8192;
+
+    private final ForkJoinPool pool;
+    private final int sequentialThreshold;
+
+    private ParallelReduce(ForkJoinPool pool, int sequentialThreshold) {
+        this.pool = pool;
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+    /**
+     * On ForkJoinPool.commonPool() with the default threshold.
+     */
+    public static ParallelReduce commonPool() {
+        return on(ForkJoinPool.commonPool());
+    }
+
+    public static ParallelReduce on(ForkJoinPool pool) {
+        Objects.requireNonNull(pool, "pool is null");
+        return new ParallelReduce(pool, DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    /**
+     * @param sequentialThreshold the lists up to that size are folded sequentially, it is also
+     *                            the smallest part of a split list
+     */
+    public ParallelReduce withSequentialThreshold(int sequentialThreshold) {
+        if (sequentialThreshold <= 0) {
+            throw new IllegalArgumentException("sequentialThreshold > 0 required but it was " + sequentialThreshold);
+        }
+        return new ParallelReduce(pool, sequentialThreshold);
+    }
+
+    /**
+     * The ints start, start + 1... start + count - 1 as a list that computes its items, the
+     * items Observable.range(start, count) emits.
+     */
+    public static List<Integer> range(int start, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        if (start + (long) count - 1 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Integer overflow");
+        }
+        return new Range(start, count);
+    }
+
+    /**
+     * Same as Observable.reduce(seed, reducer), the partial results are merged with the combiner.
+     *
+     * @param identity the seed of every part
+     */
+    public <T, R> Single<R> reduce(List<? extends T> source, R identity, BiFunction<R, ? super T, R> accumulator,
+                                   BiFunction<R, R, R> combiner) {
+        Objects.requireNonNull(identity, "identity is null");
+        Objects.requireNonNull(accumulator, "accumulator is null");
+        Objects.requireNonNull(combiner, "combiner is null");
+        return fold(source, (items, from, to, run) -> {
+            var result = identity;
+            for (int i = from; i < to; i++) {
+                if (run.stopped(i)) {
+                    return null;
+                }
+                result = Objects.requireNonNull(accumulator.apply(result, items.get(i)), "The accumulator returned a null value");
+            }
+            return result;
+        }, combiner);
+    }
+
+    /**
+     * Same as Observable.filter(predicate).count().
+     */
+    public <T> Single<Long> count(List<? extends T> source, Predicate<? super T> predicate) {
+        Objects.requireNonNull(predicate, "predicate is null");
+        return this.<T, Long>fold(source, (items, from, to, run) -> {
+            var count = 0L;
+            for (int i = from; i < to; i++) {
+                if (run.stopped(i)) {
+                    return null;
+                }
+                if (predicate.test(items.get(i))) {
+                    count++;
+                }
+            }
+            return count;
+        }, Long::sum);
+    }
+
+    /**
+     * Same as Observable.all(predicate), the first item that fails stops all the parts.
+     */
+    public <T> Single<Boolean> all(List<? extends T> source, Predicate<? super T> predicate) {
+        Objects.requireNonNull(predicate, "predicate is null");
+        return this.<T, Boolean>fold(source, (items, from, to, run) -> {
+            for (int i = from; i < to; i++) {
+                if (run.stopped(i)) {
+                    return null;
+                }
+                if (!predicate.test(items.get(i))) {
+                    run.shortCircuit(false);
+                    return false;
+                }
+            }
+            return true;
+        }, (left, right) -> left && right);
+    }
+
+    /**
+     * Same as Observable.any(predicate), the first item that passes stops all the parts.
+     */
+    public <T> Single<Boolean> any(List<? extends T> source, Predicate<? super T> predicate) {
+        Objects.requireNonNull(predicate, "predicate is null");
+        return this.<T, Boolean>fold(source, (items, from, to, run) -> {
+            for (int i = from; i < to; i++) {
+                if (run.stopped(i)) {
+                    return null;
+                }
+                if (predicate.test(items.get(i))) {
+                    run.shortCircuit(true);
+                    return true;
+                }
+            }
+            return false;
+        }, (left, right) -> left || right);
+    }
+
+    /**
+     * Same as Observable.map(mapper).toList(), in the order of the source. Every merge copies the
+     * right list into the left one.
+     */
+    public <T, R> Single<List<R>> toList(List<? extends T> source, Function<? super T, ? extends R> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        return this.<T, List<R>>fold(source, (items, from, to, run) -> {
+            var list = new ArrayList<R>(to - from);
+            for (int i = from; i < to; i++) {
+                if (run.stopped(i)) {
+                    return null;
+                }
+                list.add(Objects.requireNonNull(mapper.apply(items.get(i)), "The mapper returned a null value"));
+            }
+            return list;
+        }, (left, right) -> {
+            left.addAll(right);
+            return left;
+        });
+    }
+
+    /**
+     * Same as Observable.toMap(keySelector), the last item of a key wins.
+     */
+    public <T, K> Single<Map<K, T>> toMap(List<? extends T> source, Function<? super T, ? extends K> keySelector) {
+        return toMap(source, keySelector, item -> item);
+    }
+
+    /**
+     * Same as Observable.toMap(keySelector, valueSelector), the last item of a key wins.
+     */
+    public <T, K, V> Single<Map<K, V>> toMap(List<? extends T> source, Function<? super T, ? extends K> keySelector,
+                                             Function<? super T, ? extends V> valueSelector) {
+        Objects.requireNonNull(keySelector, "keySelector is null");
+        Objects.requireNonNull(valueSelector, "valueSelector is null");
+        return this.<T, Map<K, V>>fold(source, (items, from, to, run) -> {
+            var map = new HashMap<K, V>();
+            for (int i = from; i < to; i++) {
+                if (run.stopped(i)) {
+                    return null;
+                }
+                T item = items.get(i);
+                map.put(keySelector.apply(item), valueSelector.apply(item));
+            }
+            return map;
+        }, (left, right) -> {
+            left.putAll(right);
+            return left;
+        });
+    }
+
+    /**
+     * Same as Observable.toMultimap(keySelector, valueSelector), the values of a key are in the
+     * order of the source.
+     */
+    public <T, K, V> Single<Map<K, Collection<V>>> toMultimap(List<? extends T> source,
+                                                              Function<? super T, ? extends K> keySelector,
+                                                              Function<? super T, ? extends V> valueSelector) {
+        Objects.requireNonNull(keySelector, "keySelector is null");
+        Objects.requireNonNull(valueSelector, "valueSelector is null");
+        return this.<T, Map<K, Collection<V>>>fold(source, (items, from, to, run) -> {
+            var map = new HashMap<K, Collection<V>>();
+            for (int i = from; i < to; i++) {
+                if (run.stopped(i)) {
+                    return null;
+                }
+                T item = items.get(i);
+                map.computeIfAbsent(keySelector.apply(item), key -> new ArrayList<>()).add(valueSelector.apply(item));
+            }
+            return map;
+        }, (left, right) -> {
+            right.forEach((key, values) -> left.merge(key, values, (first, second) -> {
+                first.addAll(second);
+                return first;
+            }));
+            return left;
+        });
+    }
+
+    /**
+     * Same as Observable.collect(initialItemSupplier, collector): every part collects into a
+     * container of its own and the combiner merges the right container into the left one.
+     */
+    public <T, C> Single<C> collect(List<? extends T> source, Supplier<? extends C> initialItemSupplier,
+                                    BiConsumer<? super C, ? super T> collector, BiConsumer<? super C, ? super C> combiner) {
+        Objects.requireNonNull(initialItemSupplier, "initialItemSupplier is null");
+        Objects.requireNonNull(collector, "collector is null");
+        Objects.requireNonNull(combiner, "combiner is null");
+        return this.<T, C>fold(source, (items, from, to, run) -> {
+            C container = Objects.requireNonNull(initialItemSupplier.get(), "The initialItemSupplier returned a null value");
+            for (int i = from; i < to; i++) {
+                if (run.stopped(i)) {
+                    return null;
+                }
+                collector.accept(container, items.get(i));
+            }
+            return container;
+        }, (left, right) -> {
+            combiner.accept(left, right);
+            return left;
+        });
+    }
+
+    private <T, A> Single<A> fold(List<? extends T> source, Leaf<T, A> leaf, BiFunction<A, A, A> combiner) {
+        Objects.requireNonNull(source, "source is null");
+        return Single.create(emitter -> {
+            var run = new Run<>(emitter);
+            emitter.setCancellable(run::stop);
+            // the parts index the list: a LinkedList would walk its nodes from the start for every item
+            List<? extends T> items = source instanceof RandomAccess ? source : new ArrayList<>(source);
+            var size = items.size();
+            if (size <= sequentialThreshold) {
+                run.finish(run.fold(leaf, items, 0, size));
+                return;
+            }
+            // about four parts per worker, but none below the threshold
+            var leafSize = Math.max(sequentialThreshold, size / (pool.getParallelism() << 2));
+            pool.execute(new FoldTask<>(null, run, items, 0, size, leafSize, leaf, combiner));
+        });
+    }
+
+    @FunctionalInterface
+    private interface Leaf<T, A> {
+        /**
+         * @return the result of the items from to to, null once the run is stopped
+         */
+        A fold(List<? extends T> items, int from, int to, Run<A> run) throws Throwable;
+    }
+
+    /**
+     * The state shared by the parts of one subscription.
+     */
+    private static final class Run<A> {
+        private final SingleEmitter<A> emitter;
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        // the result of all() or any() once it is known
+        private volatile A shortCircuit;
+        private volatile boolean stopped;
+
+        Run(SingleEmitter<A> emitter) {
+            this.emitter = emitter;
+        }
+
+        // the parts look at the flag every 1024 items
+        boolean stopped(int index) {
+            return (index & 1023) == 0 && stopped;
+        }
+
+        void stop() {
+            stopped = true;
+        }
+
+        void shortCircuit(A result) {
+            shortCircuit = result;
+            stopped = true;
+        }
+
+        A fold(Leaf<?, A> leaf, List<?> items, int from, int to) {
+            try {
+                @SuppressWarnings("unchecked")
+                var typed = (Leaf<Object, A>) leaf;
+                return typed.fold(items, from, to, this);
+            } catch (Throwable e) {
+                fail(e);
+                return null;
+            }
+        }
+
+        A combine(BiFunction<A, A, A> combiner, A left, A right) {
+            if (stopped) {
+                return null;
+            }
+            try {
+                return Objects.requireNonNull(combiner.apply(left, right), "The combiner returned a null value");
+            } catch (Throwable e) {
+                fail(e);
+                return null;
+            }
+        }
+
+        private void fail(Throwable e) {
+            Exceptions.throwIfFatal(e);
+            if (error.compareAndSet(null, e)) {
+                stopped = true;
+            }
+        }
+
+        // an error wins over a short circuit, which wins over a dispose
+        void finish(A result) {
+            var e = error.get();
+            if (e != null) {
+                emitter.onError(e);
+                return;
+            }
+            var known = shortCircuit;
+            if (known != null) {
+                emitter.onSuccess(known);
+            } else if (!stopped) {
+                emitter.onSuccess(result);
+            }
+        }
+    }
+
+    /**
+     * Forks the right halves and folds the leftmost part itself. A task completes once both its
+     * halves have, merges their results in onCompletion() and completes its parent in turn.
+     */
+    private static final class FoldTask<T, A> extends CountedCompleter<Void> {
+        private static final long serialVersionUID = -836752794559545784L;
+
+        private final Run<A> run;
+        private final List<? extends T> source;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+        private final Leaf<T, A> leaf;
+        private final BiFunction<A, A, A> combiner;
+        private FoldTask<T, A> left;
+        private FoldTask<T, A> right;
+        private A result;
+
+        FoldTask(FoldTask<T, A> parent, Run<A> run, List<? extends T> source, int from, int to, int leafSize,
+                 Leaf<T, A> leaf, BiFunction<A, A, A> combiner) {
+            super(parent);
+            this.run = run;
+            this.source = source;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+            this.leaf = leaf;
+            this.combiner = combiner;
+        }
+
+        @Override
+        public void compute() {
+            var task = this;
+            var start = from;
+            var end = to;
+            while (end - start > leafSize && !run.stopped) {
+                var middle = (start + end) >>> 1;
+                task.left = new FoldTask<>(task, run, source, start, middle, leafSize, leaf, combiner);
+                task.right = new FoldTask<>(task, run, source, middle, end, leafSize, leaf, combiner);
+                task.setPendingCount(1);
+                task.right.fork();
+                task = task.left;
+                end = middle;
+            }
+            if (!run.stopped) {
+                task.result = run.fold(leaf, source, start, end);
+            }
+            task.tryComplete();
+        }
+
+        @Override
+        public void onCompletion(CountedCompleter<?> caller) {
+            if (left != null) {
+                result = run.combine(combiner, left.result, right.result);
+                left = null;
+                right = null;
+            }
+            if (getCompleter() == null) {
+                run.finish(result);
+            }
+        }
+    }
+
+    private static final class Range extends AbstractList<Integer> implements RandomAccess {
+        private final int start;
+        private final int count;
+
+        Range(int start, int count) {
+            this.start = start;
+            this.count = count;
+        }
+
+        @Override
+        public Integer get(int index) {
+            Objects.checkIndex(index, count);
+            return start + index;
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+}
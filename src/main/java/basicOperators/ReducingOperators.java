@@ -103,4 +103,14 @@ public class ReducingOperators {
                 .subscribe(System.out::println);
     }
 
+    /**
+     * reduce() folds the items one at a time on the emitting thread. A finite source already in
+     * memory can be split instead: ParallelReduce folds the parts on the ForkJoin common pool and
+     * merges the partial sums with the associative combiner.
+     */
+    public final void parallelReduce() {
+        ParallelReduce.commonPool()
+                .reduce(ParallelReduce.range(1, 10_000_000), 0L, (total, item) -> total + item, Long::sum)
+                .subscribe(System.out::println);
+    }
 }
@@ -1,6 +1,7 @@
 package basicOperators;
 
 import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 
 import java.util.concurrent.TimeUnit;
 
@@ -71,6 +72,25 @@ public class SuppressingOperators {
                 .subscribe(System.out::println);
     }
 
+    /**
+     * distinct() remembers every key until the source terminates, on interval() it never does.
+     * DistinctApprox bounds the memory: a Bloom filter sized for the expected keys that may drop
+     * a new key at the false-positive rate, an exact set that forgets a key after a TTL, or a
+     * HyperLogLog that only counts the distinct keys.
+     */
+    public void distinctApprox() {
+//        1) 1% of the new keys may be dropped, about 1.2 KB for 1000 keys
+        DistinctApprox.bloom(Observable.interval(10, TimeUnit.MILLISECONDS).map(i -> i % 50), 1000, 0.01)
+                .subscribe(System.out::println);
+//        2) a key is emitted again once it was last emitted a second ago
+        DistinctApprox.expiring(Observable.interval(10, TimeUnit.MILLISECONDS).map(i -> i % 50), key -> key,
+                        1, TimeUnit.SECONDS, 1000, Schedulers.computation())
+                .subscribe(System.out::println);
+//        3) 16 KB of registers whatever the number of keys
+        DistinctApprox.countDistinct(source)
+                .subscribe(System.out::println);
+    }
+
     /**
      * The distinctUntilChanged() function ignores consecutive duplicate emissions. If
      * the same value is being emitted repeatedly, all the duplicates are ignored until a new value is emitted.
@@ -2,6 +2,7 @@ package basicOperators;
 
 import io.reactivex.rxjava3.core.Observable;
 
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Comparator;
@@ -64,6 +65,17 @@ public class TransformingOperators {
                 .subscribe(System.out::println);
     }
 
+    /**
+     * sorted() holds every item of the source in memory. sortedSpilling() sorts maxInMemory items
+     * at a time, writes every sorted run to a temporary file and merges the runs once the source
+     * completes: here, runs of 2 items in the temporary directory.
+     */
+    public void sortedSpilling() {
+        BoundedSorting.sortedSpilling(numericSource, Comparator.reverseOrder(), 2,
+                        Path.of(System.getProperty("java.io.tmpdir")), BoundedSorting.SpillCodec.ints())
+                .subscribe(System.out::println);
+    }
+
     /**
      * It adds every emitted item to the provided accumulator and emits each incremental
      * accumulated value.
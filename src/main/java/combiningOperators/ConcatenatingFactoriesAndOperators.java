@@ -1,6 +1,7 @@
 package combiningOperators;
 
 import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 
 import java.util.concurrent.TimeUnit;
 
@@ -60,4 +61,15 @@ public class ConcatenatingFactoriesAndOperators {
         stringSource.concatMap(str -> Observable.fromArray(str.split("")))
                 .subscribe(System.out::println);
     }
+
+    /**
+     * concatMap() keeps the order but maps one item at a time, flatMap() maps in parallel but
+     * emits in completion order. parallelMapOrdered() maps on maxConcurrency workers and puts the
+     * results back in the upstream order with a bounded reorder buffer.
+     */
+    public final void parallelMapOrdered(int maxConcurrency) {
+        ParallelMapOrdered.observable(stringSource, maxConcurrency, Schedulers.computation(),
+                        str -> str + " mapped on " + Thread.currentThread().getName())
+                .subscribe(System.out::println);
+    }
 }
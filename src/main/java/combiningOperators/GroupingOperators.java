@@ -2,6 +2,7 @@ package combiningOperators;
 
 import io.reactivex.rxjava3.core.Observable;
 
+import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -27,4 +28,17 @@ public class GroupingOperators {
         byLength.flatMapSingle(item -> item.toList())
                 .subscribe(System.out::println);
     }
+
+    /**
+     * ShardedGroupBy hashes every key onto one of the computation() workers, so the groups are
+     * collected in parallel while the items of a key keep their order. Unlike groupBy(), the
+     * toList() calls below run on the shard threads.
+     */
+    public final void shardedGroupBy() {
+        var byLength = ShardedGroupBy.groupBy(stringSource, String::length, ShardingConfig.defaults());
+        byLength.flatMapSingle(group -> group.toList()
+                        .doOnSuccess(list -> System.out.println(Thread.currentThread().getName() + ": " + list)))
+                .blockingSubscribe();
+        System.out.println("Queue depths: " + Arrays.toString(byLength.queueDepths()));
+    }
 }
@@ -0,0 +1,324 @@
+package combiningOperators;
+
+import io.reactivex.rxjava3.core.BackpressureStrategy;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.FlowableSubscriber;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.exceptions.Exceptions;
+import io.reactivex.rxjava3.functions.Function;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * map() on maxConcurrency workers with the items emitted in their upstream order. flatMap() runs
+ * the inner sources in parallel but emits in completion order, concatMap() keeps the order but
+ * runs one inner source at a time, and parallel().runOn().map().sequential() emits in
+ * completion order too. concatMapEager() keeps the order but creates an inner source, and
+ * schedules a task, per item.
+ * <p>
+ * Here the items are numbered as they arrive and stored in a ring of bufferSize slots. Item n is
+ * mapped by rail n % maxConcurrency: every rail is a Worker of the scheduler that maps its items
+ * in a loop, no task is scheduled per item. The results are written back into the slots of their
+ * items and emitted in order as soon as the oldest one is ready, so the ring is also the reorder
+ * buffer.
+ * <p>
+ * The ring is bounded: bufferSize items are requested from upstream and a slot is requested
+ * again only once its result has been emitted. A slow item holds up the emission of the items
+ * after it, and the mapping stops once the ring is full. The Observable version buffers the
+ * upstream items that do not fit in the ring (toFlowable(BUFFER)).
+ * <p>
+ * An error of the mapper cancels the upstream and is signalled right away.
+ */
+public final class ParallelMapOrdered {
+    private ParallelMapOrdered() {
+    }
+
+    /**
+     * With a ring of 4 slots per rail, and at least Flowable.bufferSize() slots.
+     */
+    public static <T, R> Flowable<R> flowable(Flowable<T> source, int maxConcurrency, Scheduler scheduler,
+                                              Function<? super T, ? extends R> mapper) {
+        return flowable(source, maxConcurrency, scheduler, mapper, Math.max(Flowable.bufferSize(), maxConcurrency * 4));
+    }
+
+    /**
+     * @param maxConcurrency the number of rails, each is a Worker of the scheduler
+     * @param bufferSize     the items mapped or waiting for their turn to be emitted, at least
+     *                       maxConcurrency
+     */
+    public static <T, R> Flowable<R> flowable(Flowable<T> source, int maxConcurrency, Scheduler scheduler,
+                                              Function<? super T, ? extends R> mapper, int bufferSize) {
+        Objects.requireNonNull(source, "source is null");
+        Objects.requireNonNull(scheduler, "scheduler is null");
+        Objects.requireNonNull(mapper, "mapper is null");
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency > 0 required but it was " + maxConcurrency);
+        }
+        if (bufferSize < maxConcurrency) {
+            throw new IllegalArgumentException("bufferSize >= maxConcurrency required but it was " + bufferSize);
+        }
+        return source.lift(subscriber -> new OrderedSubscriber<>(subscriber, maxConcurrency, scheduler, mapper, bufferSize));
+    }
+
+    public static <T, R> Observable<R> observable(Observable<T> source, int maxConcurrency, Scheduler scheduler,
+                                                  Function<? super T, ? extends R> mapper) {
+        Objects.requireNonNull(source, "source is null");
+        return ParallelMapOrdered.<T, R>flowable(source.toFlowable(BackpressureStrategy.BUFFER), maxConcurrency, scheduler, mapper)
+                .toObservable();
+    }
+
+    static final class OrderedSubscriber<T, R> extends AtomicInteger implements FlowableSubscriber<T>, Subscription {
+        private static final long serialVersionUID = 4264560941951858472L;
+
+        private final Subscriber<? super R> downstream;
+        private final Function<? super T, ? extends R> mapper;
+        private final int bufferSize;
+        private final int limit;
+        private final List<Rail> rails;
+        // the items waiting to be mapped, written by the upstream thread only
+        private final Object[] items;
+        private final AtomicReferenceArray<Object> results;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private Subscription upstream;
+        // the number of items received, the rails map the ones below it
+        private volatile long received;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        // touched by the drain loop only
+        private long emitted;
+        private int consumed;
+
+        OrderedSubscriber(Subscriber<? super R> downstream, int maxConcurrency, Scheduler scheduler,
+                          Function<? super T, ? extends R> mapper, int bufferSize) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+            this.bufferSize = bufferSize;
+            limit = bufferSize - (bufferSize >> 2);
+            items = new Object[bufferSize];
+            results = new AtomicReferenceArray<>(bufferSize);
+            rails = new ArrayList<>(maxConcurrency);
+            for (int i = 0; i < maxConcurrency; i++) {
+                rails.add(new Rail(scheduler.createWorker(), i));
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            upstream = s;
+            downstream.onSubscribe(this);
+            s.request(bufferSize);
+        }
+
+        @Override
+        public void onNext(T item) {
+            var index = received;
+            items[slot(index)] = item;
+            received = index + 1;
+            rails.get((int) (index % rails.size())).schedule();
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            if (error.compareAndSet(null, e)) {
+                done = true;
+                drain();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                upstream.cancel();
+                onError(new IllegalArgumentException("n > 0 required but it was " + n));
+                return;
+            }
+            for (;;) {
+                var current = requested.get();
+                var updated = current + n < 0 ? Long.MAX_VALUE : current + n;
+                if (requested.compareAndSet(current, updated)) {
+                    break;
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            upstream.cancel();
+            disposeRails();
+            if (getAndIncrement() == 0) {
+                clear();
+            }
+        }
+
+        private int slot(long index) {
+            return (int) (index % bufferSize);
+        }
+
+        // called by a rail
+        private void map(long index) {
+            var slot = slot(index);
+            @SuppressWarnings("unchecked")
+            var item = (T) items[slot];
+            try {
+                results.lazySet(slot, Objects.requireNonNull(mapper.apply(item), "The mapper returned a null value"));
+            } catch (Throwable e) {
+                Exceptions.throwIfFatal(e);
+                if (error.compareAndSet(null, e)) {
+                    upstream.cancel();
+                    done = true;
+                }
+            }
+            drain();
+        }
+
+        private void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            var missed = 1;
+            for (;;) {
+                var r = requested.get();
+                var e = 0L;
+                var index = emitted;
+                while (e != r) {
+                    if (cancelled) {
+                        clear();
+                        return;
+                    }
+                    if (terminated(index)) {
+                        return;
+                    }
+                    var slot = slot(index);
+                    var result = results.get(slot);
+                    if (result == null) {
+                        break;
+                    }
+                    items[slot] = null;
+                    results.lazySet(slot, null);
+                    @SuppressWarnings("unchecked")
+                    var value = (R) result;
+                    downstream.onNext(value);
+                    index++;
+                    e++;
+                    if (++consumed == limit) {
+                        consumed = 0;
+                        upstream.request(limit);
+                    }
+                }
+                if (e == r) {
+                    if (cancelled) {
+                        clear();
+                        return;
+                    }
+                    if (terminated(index)) {
+                        return;
+                    }
+                }
+                emitted = index;
+                if (e != 0 && r != Long.MAX_VALUE) {
+                    requested.addAndGet(-e);
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        // an error ends the sequence right away, a completion once every item is emitted
+        private boolean terminated(long index) {
+            if (!done) {
+                return false;
+            }
+            var failure = error.get();
+            if (failure != null) {
+                cancelled = true;
+                disposeRails();
+                clear();
+                downstream.onError(failure);
+                return true;
+            }
+            if (index == received) {
+                disposeRails();
+                downstream.onComplete();
+                return true;
+            }
+            return false;
+        }
+
+        private void disposeRails() {
+            for (var rail : rails) {
+                rail.worker.dispose();
+            }
+        }
+
+        private void clear() {
+            for (int i = 0; i < bufferSize; i++) {
+                items[i] = null;
+                results.lazySet(i, null);
+            }
+        }
+
+        /**
+         * Maps the items index, index + rails, index + 2 * rails... in a loop on its worker, the
+         * loop is scheduled when an item arrives and the rail is idle.
+         */
+        final class Rail extends AtomicInteger implements Runnable {
+            private static final long serialVersionUID = -4600804341586028731L;
+
+            private final Scheduler.Worker worker;
+            // the next item of the rail, touched by the rail loop only
+            private long next;
+
+            Rail(Scheduler.Worker worker, int index) {
+                this.worker = worker;
+                next = index;
+            }
+
+            void schedule() {
+                if (getAndIncrement() == 0) {
+                    worker.schedule(this);
+                }
+            }
+
+            @Override
+            public void run() {
+                var missed = 1;
+                for (;;) {
+                    while (next < received) {
+                        if (cancelled) {
+                            return;
+                        }
+                        map(next);
+                        next += rails.size();
+                    }
+                    missed = addAndGet(-missed);
+                    if (missed == 0) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package combiningOperators;
+
+import concurrency.MpscQueue;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.functions.Function;
+import io.reactivex.rxjava3.observables.GroupedObservable;
+import io.reactivex.rxjava3.observers.SerializedObserver;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.subjects.UnicastSubject;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A groupBy() whose groups run in parallel. Every key is hashed onto one of a fixed number of
+ * shards, and every shard has its own Scheduler.Worker (with computation(), a single event loop
+ * thread). The upstream thread only computes the key and queues the item on its shard. The
+ * shard's worker then creates the group if needed and emits the item. A key always lands on the
+ * same shard and a shard handles its items in order, so the items of a key keep their order
+ * while different keys are processed on all the cores.
+ * <p>
+ * The groups are emitted from the shard threads and their items too: the work done on a group
+ * (flatMap(group -> group.reduce(...)) for instance) runs on its shard. The queues are unbounded,
+ * queueDepth() tells how far behind a shard is.
+ * <p>
+ * The number of live groups is bounded by the {@link ShardingConfig}. When a shard exceeds
+ * maxGroupsPerShard it completes its least recently used group, and a group idle for longer than
+ * idleTimeout is completed too. An item whose group was completed opens a new group with the same
+ * key, so an aggregation that runs per group sees partial results of an evicted key.
+ * <p>
+ * Disposing the Observable of groups stops the whole operator: the upstream and the shards.
+ *
+ * @param <K> the type of the keys
+ * @param <T> the type of the items
+ */
+public final class ShardedGroupBy<K, T> extends Observable<GroupedObservable<K, T>> {
+    private final Observable<T> source;
+    private final Function<? super T, ? extends K> keySelector;
+    private final ShardingConfig config;
+    private final Scheduler scheduler;
+
+    private final AtomicLongArray queueDepths;
+    private final AtomicLong liveGroups = new AtomicLong();
+    private final LongAdder evictedIdle = new LongAdder();
+    private final LongAdder evictedOverflow = new LongAdder();
+
+    private ShardedGroupBy(Observable<T> source, Function<? super T, ? extends K> keySelector, ShardingConfig config,
+                           Scheduler scheduler) {
+        this.source = source;
+        this.keySelector = keySelector;
+        this.config = config;
+        this.scheduler = scheduler;
+        queueDepths = new AtomicLongArray(config.shards());
+    }
+
+    /**
+     * Shards on Schedulers.computation().
+     */
+    public static <T, K> ShardedGroupBy<K, T> groupBy(Observable<T> source, Function<? super T, ? extends K> keySelector,
+                                                      ShardingConfig config) {
+        return groupBy(source, keySelector, config, Schedulers.computation());
+    }
+
+    /**
+     * @param scheduler every shard gets a worker of it, the clock of the idle timeout too
+     */
+    public static <T, K> ShardedGroupBy<K, T> groupBy(Observable<T> source, Function<? super T, ? extends K> keySelector,
+                                                      ShardingConfig config, Scheduler scheduler) {
+        Objects.requireNonNull(source, "source is null");
+        Objects.requireNonNull(keySelector, "keySelector is null");
+        Objects.requireNonNull(config, "config is null");
+        Objects.requireNonNull(scheduler, "scheduler is null");
+        return new ShardedGroupBy<>(source, keySelector, config, scheduler);
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super GroupedObservable<K, T>> observer) {
+        source.subscribe(new ShardingObserver(observer));
+    }
+
+    public int shards() {
+        return config.shards();
+    }
+
+    /**
+     * @return the number of items queued on the shard and not emitted yet
+     */
+    public long queueDepth(int shard) {
+        return queueDepths.get(shard);
+    }
+
+    public long[] queueDepths() {
+        var depths = new long[queueDepths.length()];
+        for (int i = 0; i < depths.length; i++) {
+            depths[i] = queueDepths.get(i);
+        }
+        return depths;
+    }
+
+    /**
+     * @return the number of groups open on all the shards
+     */
+    public long liveGroups() {
+        return liveGroups.get();
+    }
+
+    public long evictions() {
+        return evictedIdle.sum() + evictedOverflow.sum();
+    }
+
+    public long evictedIdle() {
+        return evictedIdle.sum();
+    }
+
+    /**
+     * @return the number of groups completed because their shard exceeded maxGroupsPerShard
+     */
+    public long evictedOverflow() {
+        return evictedOverflow.sum();
+    }
+
+    /**
+     * Same spreading as HashMap, the low bits of poor hash codes are mixed with the high ones.
+     */
+    private int shardOf(Object key) {
+        var h = key.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), config.shards());
+    }
+
+    private final class ShardingObserver implements Observer<T>, Disposable {
+        // the shards emit the groups concurrently
+        private final Observer<GroupedObservable<K, T>> downstream;
+        private final AtomicInteger activeShards = new AtomicInteger(config.shards());
+        private final List<Shard> shards = new ArrayList<>();
+        private Disposable upstream;
+        private boolean done;
+        private volatile boolean disposed;
+
+        ShardingObserver(Observer<? super GroupedObservable<K, T>> downstream) {
+            this.downstream = new SerializedObserver<>(downstream);
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            for (int i = 0; i < config.shards(); i++) {
+                shards.add(new Shard(i, scheduler.createWorker()));
+            }
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            K key;
+            try {
+                key = Objects.requireNonNull(keySelector.apply(item), "The keySelector returned a null key");
+            } catch (Throwable e) {
+                upstream.dispose();
+                onError(e);
+                return;
+            }
+            shards.get(shardOf(key)).offer(new Entry<>(key, item));
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            if (done) {
+                return;
+            }
+            done = true;
+            for (var shard : shards) {
+                shard.offer(new Terminal(e));
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            for (var shard : shards) {
+                shard.offer(new Terminal(null));
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (!disposed) {
+                disposed = true;
+                upstream.dispose();
+                for (var shard : shards) {
+                    shard.worker.dispose();
+                }
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+
+        /**
+         * The groups of the keys hashed onto one worker. Only the worker touches the groups.
+         */
+        private final class Shard implements Runnable {
+            private final int index;
+            private final Scheduler.Worker worker;
+            private final MpscQueue<Object> queue = new MpscQueue<>();
+            private final AtomicInteger wip = new AtomicInteger();
+            // access order: the eldest entry is the least recently used group
+            private final LinkedHashMap<K, Group<K, T>> groups = new LinkedHashMap<>(16, 0.75f, true);
+            private final boolean evictsIdle = config.idleTimeoutMillis() != Long.MAX_VALUE;
+
+            Shard(int index, Scheduler.Worker worker) {
+                this.index = index;
+                this.worker = worker;
+                if (evictsIdle) {
+                    // a silent key is evicted even if its shard receives nothing anymore
+                    worker.schedulePeriodically(this::evictIdle, config.idleTimeoutMillis(), config.idleTimeoutMillis(),
+                            TimeUnit.MILLISECONDS);
+                }
+            }
+
+            void offer(Object signal) {
+                queue.offer(signal);
+                queueDepths.incrementAndGet(index);
+                if (wip.getAndIncrement() == 0) {
+                    worker.schedule(this);
+                }
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public void run() {
+                var missed = 1;
+                for (; ; ) {
+                    for (; ; ) {
+                        var signal = queue.poll();
+                        if (signal == null) {
+                            break;
+                        }
+                        queueDepths.decrementAndGet(index);
+                        if (disposed) {
+                            continue;
+                        }
+                        if (signal instanceof Terminal) {
+                            terminate(((Terminal) signal).error);
+                        } else {
+                            emit((Entry<K, T>) signal);
+                        }
+                    }
+                    missed = wip.addAndGet(-missed);
+                    if (missed == 0) {
+                        break;
+                    }
+                }
+            }
+
+            private void emit(Entry<K, T> entry) {
+                var group = groups.get(entry.key);
+                if (group == null) {
+                    group = new Group<>(entry.key);
+                    groups.put(entry.key, group);
+                    liveGroups.incrementAndGet();
+                    if (groups.size() > config.maxGroupsPerShard()) {
+                        var eldest = groups.values().iterator();
+                        eldest.next().subject.onComplete();
+                        eldest.remove();
+                        liveGroups.decrementAndGet();
+                        evictedOverflow.increment();
+                    }
+                    downstream.onNext(group);
+                }
+                if (evictsIdle) {
+                    group.lastSeen = worker.now(TimeUnit.MILLISECONDS);
+                }
+                group.subject.onNext(entry.item);
+            }
+
+            private void evictIdle() {
+                var oldest = worker.now(TimeUnit.MILLISECONDS) - config.idleTimeoutMillis();
+                for (var it = groups.values().iterator(); it.hasNext(); ) {
+                    var group = it.next();
+                    if (group.lastSeen > oldest) {
+                        break;
+                    }
+                    it.remove();
+                    liveGroups.decrementAndGet();
+                    evictedIdle.increment();
+                    group.subject.onComplete();
+                }
+            }
+
+            private void terminate(Throwable error) {
+                for (var group : groups.values()) {
+                    if (error != null) {
+                        group.subject.onError(error);
+                    } else {
+                        group.subject.onComplete();
+                    }
+                }
+                liveGroups.addAndGet(-groups.size());
+                groups.clear();
+                worker.dispose();
+                if (activeShards.decrementAndGet() == 0) {
+                    if (error != null) {
+                        downstream.onError(error);
+                    } else {
+                        downstream.onComplete();
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Group<K, T> extends GroupedObservable<K, T> {
+        final UnicastSubject<T> subject = UnicastSubject.create();
+        long lastSeen;
+
+        Group(K key) {
+            super(key);
+        }
+
+        @Override
+        protected void subscribeActual(Observer<? super T> observer) {
+            subject.subscribe(observer);
+        }
+    }
+
+    private static final class Entry<K, T> {
+        final K key;
+        final T item;
+
+        Entry(K key, T item) {
+            this.key = key;
+            this.item = item;
+        }
+    }
+
+    private static final class Terminal {
+        final Throwable error;
+
+        Terminal(Throwable error) {
+            this.error = error;
+        }
+    }
+}
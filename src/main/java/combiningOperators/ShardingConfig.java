@@ -0,0 +1,65 @@
+package combiningOperators;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How {@link ShardedGroupBy} spreads the keys and bounds the groups:
+ * <ul>
+ *     <li>shards - the number of workers the keys are hashed onto, one per core by default.</li>
+ *     <li>maxGroupsPerShard - the live groups a shard keeps, the least recently used group is
+ *     completed when a new key would exceed it.</li>
+ *     <li>idleTimeout - a group that has not received an item for that long is completed. A later
+ *     item with the same key opens a new group.</li>
+ * </ul>
+ */
+public final class ShardingConfig {
+    private final int shards;
+    private final int maxGroupsPerShard;
+    private final long idleTimeoutMillis;
+
+    private ShardingConfig(int shards, int maxGroupsPerShard, long idleTimeoutMillis) {
+        this.shards = shards;
+        this.maxGroupsPerShard = maxGroupsPerShard;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * One shard per available processor, 10 000 live groups per shard and no idle timeout.
+     */
+    public static ShardingConfig defaults() {
+        return new ShardingConfig(Runtime.getRuntime().availableProcessors(), 10_000, Long.MAX_VALUE);
+    }
+
+    public ShardingConfig withShards(int shards) {
+        if (shards <= 0) {
+            throw new IllegalArgumentException("shards > 0 required but it was " + shards);
+        }
+        return new ShardingConfig(shards, maxGroupsPerShard, idleTimeoutMillis);
+    }
+
+    public ShardingConfig withMaxGroupsPerShard(int maxGroupsPerShard) {
+        if (maxGroupsPerShard <= 0) {
+            throw new IllegalArgumentException("maxGroupsPerShard > 0 required but it was " + maxGroupsPerShard);
+        }
+        return new ShardingConfig(shards, maxGroupsPerShard, idleTimeoutMillis);
+    }
+
+    public ShardingConfig withIdleTimeout(long idleTimeout, TimeUnit unit) {
+        if (idleTimeout <= 0) {
+            throw new IllegalArgumentException("idleTimeout > 0 required but it was " + idleTimeout);
+        }
+        return new ShardingConfig(shards, maxGroupsPerShard, unit.toMillis(idleTimeout));
+    }
+
+    public int shards() {
+        return shards;
+    }
+
+    public int maxGroupsPerShard() {
+        return maxGroupsPerShard;
+    }
+
+    public long idleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+}
@@ -0,0 +1,274 @@
+package combiningOperators;
+
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.core.SingleEmitter;
+import io.reactivex.rxjava3.core.SingleObserver;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Waits for the success of all the Singles of a fan-out, Riddle6 for 2 to a few hundred
+ * sources. Chaining zipWith() nests one zip per source, and the list it builds is copied or grown
+ * along the chain; Single.zip(Iterable) subscribes to every source at once on the calling thread.
+ * <p>
+ * Here at most maxConcurrency sources run at a time, each subscribed on the scheduler, and the
+ * next one is subscribed as soon as one succeeds. A value is written into a pre-sized array at
+ * the index of its source, the list emitted is a view of that array. The first error, or the
+ * timeout, disposes the running sources, the ones not subscribed yet never are.
+ * <p>
+ * {@link #zipAllTimed} also reports the latency of every source, from the moment it was handed to
+ * the scheduler to its success, to find the backend that holds a fan-out up.
+ */
+public final class ZipAll {
+    private ZipAll() {
+    }
+
+    public static <T> Single<List<T>> zipAll(Iterable<? extends Single<? extends T>> sources, int maxConcurrency,
+                                             Scheduler scheduler) {
+        return zipAllTimed(sources, maxConcurrency, scheduler, 0, TimeUnit.NANOSECONDS).map(Zipped::values);
+    }
+
+    /**
+     * @param timeout the time all the sources have to succeed, the Single fails with a
+     *                TimeoutException after that
+     */
+    public static <T> Single<List<T>> zipAll(Iterable<? extends Single<? extends T>> sources, int maxConcurrency,
+                                             Scheduler scheduler, long timeout, TimeUnit unit) {
+        checkTimeout(timeout);
+        return zipAllTimed(sources, maxConcurrency, scheduler, timeout, unit).map(Zipped::values);
+    }
+
+    /**
+     * Same as {@link #zipAll(Iterable, int, Scheduler, long, TimeUnit)} with the latency of every
+     * source. A timeout of 0 waits forever.
+     */
+    public static <T> Single<Zipped<T>> zipAllTimed(Iterable<? extends Single<? extends T>> sources, int maxConcurrency,
+                                                    Scheduler scheduler, long timeout, TimeUnit unit) {
+        Objects.requireNonNull(sources, "sources is null");
+        Objects.requireNonNull(scheduler, "scheduler is null");
+        Objects.requireNonNull(unit, "unit is null");
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency > 0 required but it was " + maxConcurrency);
+        }
+        if (timeout < 0) {
+            throw new IllegalArgumentException("timeout >= 0 required but it was " + timeout);
+        }
+        return Single.create(emitter -> {
+            var coordinator = new Coordinator<T>(emitter, toArray(sources), scheduler);
+            emitter.setDisposable(coordinator);
+            coordinator.start(maxConcurrency, timeout, unit);
+        });
+    }
+
+    private static void checkTimeout(long timeout) {
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("timeout > 0 required but it was " + timeout);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Single<? extends T>[] toArray(Iterable<? extends Single<? extends T>> sources) {
+        Object[] array;
+        if (sources instanceof Collection) {
+            array = ((Collection<?>) sources).toArray();
+        } else {
+            var list = new ArrayList<Object>();
+            sources.forEach(list::add);
+            array = list.toArray();
+        }
+        for (int i = 0; i < array.length; i++) {
+            Objects.requireNonNull(array[i], "The source at index " + i + " is null");
+        }
+        return (Single<? extends T>[]) Arrays.copyOf(array, array.length, Single[].class);
+    }
+
+    /**
+     * The values of a zipAllTimed() in the order of the sources, and how long each source took.
+     */
+    public static final class Zipped<T> {
+        private final List<T> values;
+        private final long[] latencies;
+
+        Zipped(List<T> values, long[] latencies) {
+            this.values = values;
+            this.latencies = latencies;
+        }
+
+        /**
+         * A fixed-size view of the array the values were written into.
+         */
+        public List<T> values() {
+            return values;
+        }
+
+        public int size() {
+            return latencies.length;
+        }
+
+        public long latency(int index, TimeUnit unit) {
+            return unit.convert(latencies[index], TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * @return the index of the source that took the longest, -1 without sources
+         */
+        public int slowest() {
+            var slowest = -1;
+            for (int i = 0; i < latencies.length; i++) {
+                if (slowest < 0 || latencies[i] > latencies[slowest]) {
+                    slowest = i;
+                }
+            }
+            return slowest;
+        }
+    }
+
+    /**
+     * Counts down the sources still running or waiting, the count reaches 0 with the last success.
+     */
+    static final class Coordinator<T> extends AtomicInteger implements Disposable {
+        private static final long serialVersionUID = -3012493988586247577L;
+
+        private final SingleEmitter<Zipped<T>> emitter;
+        private final Single<? extends T>[] sources;
+        private final Scheduler scheduler;
+        private final ZipInner<T>[] inners;
+        private final T[] values;
+        private final long[] latencies;
+        // the index of the next source to subscribe to
+        private final AtomicInteger next = new AtomicInteger();
+        private volatile Disposable timer;
+        private volatile boolean disposed;
+
+        @SuppressWarnings("unchecked")
+        Coordinator(SingleEmitter<Zipped<T>> emitter, Single<? extends T>[] sources, Scheduler scheduler) {
+            super(sources.length);
+            this.emitter = emitter;
+            this.sources = sources;
+            this.scheduler = scheduler;
+            inners = (ZipInner<T>[]) new ZipInner<?>[sources.length];
+            for (int i = 0; i < sources.length; i++) {
+                inners[i] = new ZipInner<>(this, i);
+            }
+            values = (T[]) new Object[sources.length];
+            latencies = new long[sources.length];
+        }
+
+        void start(int maxConcurrency, long timeout, TimeUnit unit) {
+            if (sources.length == 0) {
+                emitter.onSuccess(new Zipped<>(Arrays.asList(values), latencies));
+                return;
+            }
+            if (timeout > 0) {
+                timer = scheduler.scheduleDirect(() -> emitter.onError(new TimeoutException(
+                        "zipAll timed out after " + timeout + " " + unit.toString().toLowerCase() + ", "
+                                + get() + " of " + sources.length + " sources pending")), timeout, unit);
+                // a dispose() before the timer was set has not seen it
+                if (disposed) {
+                    timer.dispose();
+                }
+            }
+            for (int i = 0; i < Math.min(maxConcurrency, sources.length); i++) {
+                subscribeNext();
+            }
+        }
+
+        private void subscribeNext() {
+            var index = next.getAndIncrement();
+            if (index < sources.length && !disposed) {
+                var inner = inners[index];
+                inner.startedAt = System.nanoTime();
+                sources[index].subscribeOn(scheduler).subscribe(inner);
+            }
+        }
+
+        void innerSuccess(int index, T value, long latency) {
+            values[index] = value;
+            latencies[index] = latency;
+            // the decrements order the writes of every source before the emission
+            if (decrementAndGet() == 0) {
+                emitter.onSuccess(new Zipped<>(Arrays.asList(values), latencies));
+            } else {
+                subscribeNext();
+            }
+        }
+
+        void innerError(Throwable e) {
+            // disposes the coordinator once the error is signalled, a second error goes to the plugins
+            emitter.onError(e);
+        }
+
+        @Override
+        public void dispose() {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            var timer = this.timer;
+            if (timer != null) {
+                timer.dispose();
+            }
+            for (var inner : inners) {
+                inner.dispose();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+
+    static final class ZipInner<T> extends AtomicReference<Disposable> implements SingleObserver<T> {
+        private static final long serialVersionUID = -2277860339904290611L;
+        private static final Disposable DISPOSED = Disposable.disposed();
+
+        private final Coordinator<T> parent;
+        private final int index;
+        long startedAt;
+
+        ZipInner(Coordinator<T> parent, int index) {
+            this.parent = parent;
+            this.index = index;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            if (!compareAndSet(null, d)) {
+                d.dispose();
+            }
+        }
+
+        @Override
+        public void onSuccess(T value) {
+            parent.innerSuccess(index, value, System.nanoTime() - startedAt);
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            if (get() == DISPOSED) {
+                RxJavaPlugins.onError(e);
+                return;
+            }
+            parent.innerError(e);
+        }
+
+        void dispose() {
+            var upstream = getAndSet(DISPOSED);
+            if (upstream != null && upstream != DISPOSED) {
+                upstream.dispose();
+            }
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package combiningOperators;
 
 import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Allows you to take an emitted value from each Observable source and combine them into a single
@@ -24,4 +29,22 @@ public class ZippingOperators {
         Observable.zip(dateSource2, numericSource, (d, i) -> d + " - " + i)
                 .subscribe(System.out::println);
     }
+
+    /**
+     * Riddle6 for a fan-out of many Singles: chaining zipWith() once per source nests the zips.
+     * ZipAll subscribes to at most maxConcurrency of them at a time on a Scheduler, writes the
+     * values by index, fails fast on the first error or the timeout and reports how long every
+     * source took.
+     */
+    public final void zipAll() {
+        var backends = new ArrayList<Single<String>>();
+        for (int i = 0; i < 20; i++) {
+            var backend = i;
+            backends.add(Single.timer(10 + backend, TimeUnit.MILLISECONDS).map(tick -> "backend-" + backend));
+        }
+        var zipped = ZipAll.zipAllTimed(backends, 8, Schedulers.io(), 1, TimeUnit.SECONDS).blockingGet();
+        System.out.println(zipped.values());
+        System.out.println("Slowest: " + zipped.slowest() + " in "
+                + zipped.latency(zipped.slowest(), TimeUnit.MILLISECONDS) + " ms");
+    }
 }
@@ -0,0 +1,62 @@
+package concurrency;
+
+import io.reactivex.rxjava3.core.Single;
+
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+
+/**
+ * Futures as Singles without a thread blocked per future, the way out of
+ * Observable.fromFuture(future).subscribeOn(Schedulers.io()): with 10k futures in flight that is
+ * 10k io() threads parked in Future.get().
+ * <ul>
+ *     <li>{@link #fromCompletionStage} registers a completion callback: no thread at all, the
+ *     result is emitted by the thread that completes the stage.</li>
+ *     <li>{@link #fromFuture} takes that path for a Future that is a CompletionStage too (a
+ *     CompletableFuture), any other Future is watched by a {@link FuturePoller}: one thread for
+ *     all of them, a result up to one poll interval late.</li>
+ * </ul>
+ * A CompletionException or an ExecutionException is unwrapped to its cause. A dispose stops the
+ * emission and leaves the future alone, it is not cancelled.
+ */
+public final class FutureBridge {
+    private FutureBridge() {
+    }
+
+    /**
+     * Emits the value the stage completes with, or its error.
+     */
+    public static <T> Single<T> fromCompletionStage(CompletionStage<T> stage) {
+        Objects.requireNonNull(stage, "stage is null");
+        return unwrap(Single.fromCompletionStage(stage));
+    }
+
+    /**
+     * Same as {@link #fromFuture(Future, FuturePoller)} with {@link FuturePoller#shared()}.
+     */
+    public static <T> Single<T> fromFuture(Future<T> future) {
+        return fromFuture(future, FuturePoller.shared());
+    }
+
+    /**
+     * Emits the result of the future, through a callback if it is a CompletionStage, through the
+     * poller otherwise.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Single<T> fromFuture(Future<T> future, FuturePoller poller) {
+        Objects.requireNonNull(future, "future is null");
+        Objects.requireNonNull(poller, "poller is null");
+        if (future instanceof CompletionStage) {
+            return unwrap(Single.fromCompletionStage((CompletionStage<T>) future));
+        }
+        return poller.watch(future);
+    }
+
+    // a stage completed by a dependent action fails with its error wrapped in a CompletionException
+    private static <T> Single<T> unwrap(Single<T> single) {
+        return single.onErrorResumeNext(e -> Single.error(
+                e instanceof CompletionException && e.getCause() != null ? e.getCause() : e));
+    }
+}
@@ -0,0 +1,195 @@
+package concurrency;
+
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.core.SingleEmitter;
+import io.reactivex.rxjava3.exceptions.Exceptions;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Turns plain Futures into Singles with one thread for all of them. A Future has no completion
+ * callback: Observable.fromFuture() blocks in Future.get(), so every future in flight pins a
+ * thread, with subscribeOn(Schedulers.io()) thousands of them.
+ * <p>
+ * Here a single daemon thread checks isDone() of every watched future once per interval and
+ * emits the result of the done ones, so a result is up to one interval late. The thread parks
+ * without a timeout while nothing is watched. A watch is an offer to a lock-free queue, a dispose
+ * a volatile write: the future is dropped at the next check and it is not cancelled, like with
+ * Single.fromCompletionStage().
+ * <p>
+ * The results are emitted on the poller thread, one at a time: the work downstream must be short
+ * or move elsewhere with observeOn(). A downstream that throws goes to RxJavaPlugins.onError(),
+ * the poller goes on. A CompletionStage needs no poller, see {@link FutureBridge}.
+ */
+public final class FuturePoller {
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+    private final long intervalNanos;
+    private final MpscQueue<Watch<?>> added = new MpscQueue<>();
+    private final LongAdder watching = new LongAdder();
+    private final Thread thread;
+    // the thread parks until a future is added
+    private volatile boolean idle;
+    private volatile boolean shutdown;
+
+    private FuturePoller(long intervalNanos) {
+        this.intervalNanos = intervalNanos;
+        thread = new Thread(this::work, "RxFuturePoller-" + THREAD_NUMBER.incrementAndGet());
+        thread.setDaemon(true);
+    }
+
+    /**
+     * The poller of {@link FutureBridge#fromFuture(Future)}, 1 ms interval, started on first use.
+     */
+    public static FuturePoller shared() {
+        return Shared.INSTANCE;
+    }
+
+    /**
+     * @param interval the time between two checks of a future, the most a result is late
+     */
+    public static FuturePoller create(long interval, TimeUnit unit) {
+        Objects.requireNonNull(unit, "unit is null");
+        if (interval <= 0) {
+            throw new IllegalArgumentException("interval > 0 required but it was " + interval);
+        }
+        var poller = new FuturePoller(unit.toNanos(interval));
+        poller.thread.start();
+        return poller;
+    }
+
+    /**
+     * Emits the result of the future once it is done, the cause of an ExecutionException as the
+     * error, a CancellationException if the future was cancelled.
+     */
+    public <T> Single<T> watch(Future<T> future) {
+        Objects.requireNonNull(future, "future is null");
+        return Single.create(emitter -> {
+            var watch = new Watch<>(future, emitter);
+            emitter.setCancellable(watch::dispose);
+            if (shutdown) {
+                emitter.onError(new IllegalStateException("The poller is shut down"));
+                return;
+            }
+            watching.increment();
+            added.offer(watch);
+            if (idle) {
+                LockSupport.unpark(thread);
+            }
+        });
+    }
+
+    /**
+     * @return the futures watched and neither done nor disposed yet
+     */
+    public long watching() {
+        return watching.sum();
+    }
+
+    /**
+     * Stops the thread, the watched futures never emit.
+     */
+    public void shutdown() {
+        shutdown = true;
+        LockSupport.unpark(thread);
+    }
+
+    private void work() {
+        var active = new ArrayList<Watch<?>>();
+        while (!shutdown) {
+            Watch<?> watch;
+            while ((watch = added.poll()) != null) {
+                active.add(watch);
+            }
+            // swap-remove, the order of the checks does not matter
+            for (int i = active.size() - 1; i >= 0; i--) {
+                if (active.get(i).check()) {
+                    var last = active.remove(active.size() - 1);
+                    if (i < active.size()) {
+                        active.set(i, last);
+                    }
+                }
+            }
+            if (active.isEmpty()) {
+                idle = true;
+                // a watch offered before idle was set is seen here, one offered after unparks
+                if (added.isEmpty() && !shutdown) {
+                    LockSupport.park(this);
+                }
+                idle = false;
+            } else {
+                LockSupport.parkNanos(this, intervalNanos);
+            }
+        }
+    }
+
+    private final class Watch<T> {
+        private final Future<T> future;
+        private final SingleEmitter<T> emitter;
+        private volatile boolean disposed;
+
+        Watch(Future<T> future, SingleEmitter<T> emitter) {
+            this.future = future;
+            this.emitter = emitter;
+        }
+
+        void dispose() {
+            disposed = true;
+        }
+
+        // called by the poller thread, true once the watch is over
+        boolean check() {
+            if (!disposed && !future.isDone()) {
+                return false;
+            }
+            // before the emission, a downstream that sees the result sees the count without it
+            watching.decrement();
+            if (disposed) {
+                return true;
+            }
+            T value;
+            try {
+                value = future.get();
+            } catch (ExecutionException e) {
+                emitError(e.getCause() != null ? e.getCause() : e);
+                return true;
+            } catch (Throwable e) {
+                Exceptions.throwIfFatal(e);
+                emitError(e);
+                return true;
+            }
+            try {
+                emitter.onSuccess(value);
+            } catch (Throwable e) {
+                crashed(e);
+            }
+            return true;
+        }
+
+        private void emitError(Throwable error) {
+            try {
+                emitter.onError(error);
+            } catch (Throwable e) {
+                crashed(e);
+            }
+        }
+
+        // a downstream that throws must not kill the thread every other future waits on
+        private void crashed(Throwable e) {
+            Exceptions.throwIfFatal(e);
+            RxJavaPlugins.onError(e);
+        }
+    }
+
+    private static final class Shared {
+        static final FuturePoller INSTANCE = create(1, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,333 @@
+package concurrency;
+
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.CompositeDisposable;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.disposables.DisposableContainer;
+import io.reactivex.rxjava3.exceptions.Exceptions;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A Scheduler for timers, backed by a hashed timing wheel (Varghese and Lauck, the timer of
+ * Netty and Kafka). Schedulers.computation() keeps the delayed tasks in the heap of a
+ * ScheduledThreadPoolExecutor: schedule and cancel are O(log n) and a cancelled task stays in
+ * the heap. debounce() or throttleWithTimeout() over 100k keys cancel and schedule a timer for
+ * nearly every item.
+ * <p>
+ * Here time is cut into ticks and the wheel is an array of ticksPerWheel buckets, a task is
+ * linked into the bucket of its deadline tick (with the number of rounds left for deadlines
+ * beyond one turn). A single timer thread wakes up every tick and runs the tasks of one bucket.
+ * Scheduling is an offer to a lock-free queue and cancelling a CAS plus an offer, both O(1);
+ * the timer thread moves them into the buckets and unlinks the cancelled ones.
+ * <p>
+ * The price is the resolution: a task runs at the end of its deadline tick, up to one tick late,
+ * and a task without delay waits for the next tick too. The tasks run on the timer thread,
+ * one at a time, tick after tick and in scheduling order within a tick, so a Worker never runs
+ * two tasks at once. They must be short: emitting a debounced item is fine, blocking work
+ * should move elsewhere with observeOn().
+ * <p>
+ * {@link #create()} starts the timer thread, {@link #shutdown()} stops it and drops the pending
+ * tasks.
+ */
+public final class HashedWheelScheduler extends Scheduler {
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+    // the tasks moved into the buckets per tick, so a burst of schedules cannot stall the wheel
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long startTime;
+    private final MpscQueue<Timeout> scheduled = new MpscQueue<>();
+    private final MpscQueue<Timeout> cancelled = new MpscQueue<>();
+    private final LongAdder pending = new LongAdder();
+    private final Thread thread;
+    private volatile boolean shutdown;
+
+    private HashedWheelScheduler(long tickNanos, int ticksPerWheel) {
+        this.tickNanos = tickNanos;
+        wheel = new Bucket[ticksPerWheel];
+        for (int i = 0; i < ticksPerWheel; i++) {
+            wheel[i] = new Bucket();
+        }
+        mask = ticksPerWheel - 1;
+        startTime = System.nanoTime();
+        thread = new Thread(this::work, "RxHashedWheelTimer-" + THREAD_NUMBER.incrementAndGet());
+        thread.setDaemon(true);
+    }
+
+    /**
+     * A wheel of 512 ticks of 1 ms: one turn is 512 ms, longer delays wait for several rounds.
+     */
+    public static HashedWheelScheduler create() {
+        return create(1, TimeUnit.MILLISECONDS, 512);
+    }
+
+    /**
+     * @param tick          the resolution of the timers
+     * @param ticksPerWheel the number of buckets, rounded up to a power of 2. A turn of the
+     *                      wheel should cover the usual delays, the tasks beyond are visited
+     *                      once per turn.
+     */
+    public static HashedWheelScheduler create(long tick, TimeUnit unit, int ticksPerWheel) {
+        Objects.requireNonNull(unit, "unit is null");
+        if (tick <= 0) {
+            throw new IllegalArgumentException("tick > 0 required but it was " + tick);
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > 1 << 30) {
+            throw new IllegalArgumentException("ticksPerWheel in (0, 2^30] required but it was " + ticksPerWheel);
+        }
+        var scheduler = new HashedWheelScheduler(unit.toNanos(tick), roundToPowerOfTwo(ticksPerWheel));
+        scheduler.thread.start();
+        return scheduler;
+    }
+
+    private static int roundToPowerOfTwo(int value) {
+        return value == 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    @Override
+    public @NonNull Worker createWorker() {
+        return new WheelWorker();
+    }
+
+    @Override
+    public @NonNull Disposable scheduleDirect(@NonNull Runnable run, long delay, @NonNull TimeUnit unit) {
+        Objects.requireNonNull(run, "run is null");
+        Objects.requireNonNull(unit, "unit is null");
+        if (shutdown) {
+            return Disposable.disposed();
+        }
+        var timeout = new Timeout(RxJavaPlugins.onSchedule(run), deadline(delay, unit), null);
+        pending.increment();
+        scheduled.offer(timeout);
+        return timeout;
+    }
+
+    /**
+     * Stops the timer thread, the tasks that have not run yet never will.
+     */
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * @return the tasks scheduled and neither run nor cancelled yet
+     */
+    public long pendingTasks() {
+        return pending.sum();
+    }
+
+    public long tickNanos() {
+        return tickNanos;
+    }
+
+    public int ticksPerWheel() {
+        return wheel.length;
+    }
+
+    // relative to startTime, the tick numbers of the timer thread count from there
+    private long deadline(long delay, TimeUnit unit) {
+        var deadline = System.nanoTime() - startTime + Math.max(0, unit.toNanos(delay));
+        // nanoTime() - startTime is positive, an overflow means a delay of ~292 years
+        return deadline < 0 ? Long.MAX_VALUE : deadline;
+    }
+
+    private void work() {
+        long tick = 0;
+        while (!shutdown) {
+            var tickDeadline = (tick + 1) * tickNanos;
+            var sleep = tickDeadline - (System.nanoTime() - startTime);
+            if (sleep > 0) {
+                LockSupport.parkNanos(this, sleep);
+                continue;
+            }
+            removeCancelled();
+            transferScheduled(tick);
+            wheel[(int) (tick & mask)].expire();
+            tick++;
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferScheduled(long tick) {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            var timeout = scheduled.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.isDisposed()) {
+                continue;
+            }
+            var deadlineTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (deadlineTick - tick) / wheel.length;
+            // a deadline already past goes to the current tick
+            wheel[(int) (Math.max(deadlineTick, tick) & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * The tasks of one slot of the wheel, a doubly linked list touched by the timer thread only.
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expire() {
+            var timeout = head;
+            while (timeout != null) {
+                var next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.isDisposed()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            var next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+
+    private static final int WAITING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    /**
+     * A scheduled task, its state moves once from WAITING to CANCELLED or EXPIRED.
+     */
+    private final class Timeout extends AtomicInteger implements Disposable {
+        private static final long serialVersionUID = -3852139758926262341L;
+
+        private final Runnable run;
+        private final long deadline;
+        // the tasks of the Worker, null for scheduleDirect()
+        private final DisposableContainer parent;
+        // touched by the timer thread only
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        Timeout(Runnable run, long deadline, DisposableContainer parent) {
+            this.run = run;
+            this.deadline = deadline;
+            this.parent = parent;
+        }
+
+        void expire() {
+            if (!compareAndSet(WAITING, EXPIRED)) {
+                return;
+            }
+            pending.decrement();
+            if (parent != null) {
+                parent.delete(this);
+            }
+            try {
+                run.run();
+            } catch (Throwable e) {
+                Exceptions.throwIfFatal(e);
+                RxJavaPlugins.onError(e);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (compareAndSet(WAITING, CANCELLED)) {
+                pending.decrement();
+                if (parent != null) {
+                    parent.delete(this);
+                }
+                cancelled.offer(this);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return get() != WAITING;
+        }
+    }
+
+    /**
+     * Keeps its tasks in a CompositeDisposable so dispose() cancels them all. The timer thread
+     * runs the tasks one at a time, like the Worker contract requires.
+     */
+    private final class WheelWorker extends Worker {
+        private final CompositeDisposable tasks = new CompositeDisposable();
+
+        @Override
+        public @NonNull Disposable schedule(@NonNull Runnable run, long delay, @NonNull TimeUnit unit) {
+            Objects.requireNonNull(run, "run is null");
+            Objects.requireNonNull(unit, "unit is null");
+            if (shutdown) {
+                return Disposable.disposed();
+            }
+            var timeout = new Timeout(RxJavaPlugins.onSchedule(run), deadline(delay, unit), tasks);
+            pending.increment();
+            // a disposed Worker disposes the task right away
+            if (!tasks.add(timeout)) {
+                return Disposable.disposed();
+            }
+            scheduled.offer(timeout);
+            return timeout;
+        }
+
+        @Override
+        public void dispose() {
+            tasks.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return tasks.isDisposed();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package concurrency;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An unbounded lock-free queue for many producers and a single consumer (the intrusive MPSC
+ * queue of Dmitry Vyukov, the one behind the linked queues of JCTools).
+ * <p>
+ * offer() is wait-free: one getAndSet() on the tail and one ordered store, producers never
+ * retry against each other. poll() must only be called by one thread at a time, typically the
+ * thread that owns a drain loop.
+ * <p>
+ * A producer that has swapped the tail but not linked its node yet is invisible to the
+ * consumer for a moment: poll() returns null although isEmpty() is false. Drain loops count
+ * their offers (a "missed" counter) so they come back for the item.
+ *
+ * @param <E> the type of the elements
+ */
+public final class MpscQueue<E> {
+    private final AtomicReference<Node<E>> tail;
+    // touched by the consumer only
+    private Node<E> head;
+
+    public MpscQueue() {
+        head = new Node<>(null);
+        tail = new AtomicReference<>(head);
+    }
+
+    /**
+     * Adds the element, safe to call from any number of threads.
+     */
+    public void offer(E element) {
+        Objects.requireNonNull(element, "element is null");
+        var node = new Node<>(element);
+        tail.getAndSet(node).lazySet(node);
+    }
+
+    /**
+     * @return the oldest element, or null if there is none, or the next one is not linked yet
+     */
+    public E poll() {
+        var next = head.get();
+        if (next == null) {
+            return null;
+        }
+        var element = next.value;
+        next.value = null;
+        head = next;
+        return element;
+    }
+
+    /**
+     * Consumer side only.
+     */
+    public boolean isEmpty() {
+        return head == tail.get();
+    }
+
+    private static final class Node<E> extends AtomicReference<Node<E>> {
+        private static final long serialVersionUID = 688095821420682412L;
+
+        E value;
+
+        Node(E value) {
+            this.value = value;
+        }
+    }
+}
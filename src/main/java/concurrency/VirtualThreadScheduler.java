@@ -0,0 +1,98 @@
+package concurrency;
+
+import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A Scheduler that runs every task on a new virtual thread (Java 21+).
+ * It is Executors.newVirtualThreadPerTaskExecutor() wrapped with Schedulers.from(), so it can
+ * replace Schedulers.io() in subscribeOn()/observeOn()/unsubscribeOn() for blocking work:
+ * a blocked virtual thread only parks, it does not pin a platform thread.
+ * <p>
+ * Worker ordering: every Worker of Schedulers.from() keeps its own queue and drains it
+ * one task at a time, so the tasks of one Worker never overlap and run in the order they
+ * were scheduled, even though each of them may run on a different virtual thread.
+ * The Worker is created as fair (one task per executor submission, so a long chain does not
+ * hog a carrier thread) and interruptible (dispose() interrupts blocking I/O).
+ * <p>
+ * The project compiles for older JDKs, so the executor is looked up reflectively.
+ * Check {@link #isSupported()} before calling {@link #create()}.
+ */
+public final class VirtualThreadScheduler extends Scheduler {
+    private static final MethodHandle NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findFactory();
+
+    private final ExecutorService executor;
+    private final Scheduler scheduler;
+
+    private VirtualThreadScheduler(ExecutorService executor) {
+        this.executor = executor;
+        this.scheduler = Schedulers.from(executor, true, true);
+    }
+
+    /**
+     * @return true if the running JVM has virtual threads.
+     */
+    public static boolean isSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Creates a Scheduler with its own virtual-thread-per-task executor.
+     * Call {@link #shutdown()} to release it.
+     *
+     * @throws UnsupportedOperationException if the JVM is older than Java 21
+     */
+    public static VirtualThreadScheduler create() {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21+, running on "
+                    + System.getProperty("java.version"));
+        }
+        try {
+            return new VirtualThreadScheduler((ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke());
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot create a virtual thread executor", e);
+        }
+    }
+
+    @Override
+    public @NonNull Worker createWorker() {
+        return scheduler.createWorker();
+    }
+
+    @Override
+    public @NonNull Disposable scheduleDirect(@NonNull Runnable run) {
+        return scheduler.scheduleDirect(run);
+    }
+
+    @Override
+    public @NonNull Disposable scheduleDirect(@NonNull Runnable run, long delay, @NonNull TimeUnit unit) {
+        return scheduler.scheduleDirect(run, delay, unit);
+    }
+
+    /**
+     * Shuts down the executor. Running tasks complete, new tasks are rejected.
+     */
+    @Override
+    public void shutdown() {
+        scheduler.shutdown();
+        executor.shutdown();
+    }
+
+    private static MethodHandle findFactory() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
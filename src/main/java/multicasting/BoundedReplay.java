@@ -0,0 +1,298 @@
+package multicasting;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A cache() that cannot exhaust the memory. Like cache(), it subscribes to the source on the
+ * first Observer and replays the cached items to every later Observer before the live ones,
+ * but it only keeps the items allowed by its {@link ReplayLimits}: max items, max age and
+ * max total weight combined. When a limit is exceeded the oldest items are evicted first
+ * (FIFO; every cached item is replayed to every late Observer in order, so the oldest item is
+ * also the least recently used one).
+ * <p>
+ * Eviction runs on every new item. Items that expire while the source is silent stay in memory
+ * until the next item arrives, but they are not replayed to a late Observer. The last evicted
+ * item stays referenced as the start of the replay until the next eviction, like in RxJava's
+ * bounded replay.
+ * <p>
+ * The counters tell how the cache behaves: hits() is the number of cached items replayed to
+ * late Observers, evictions() the number of evicted items (also split by reason), size() and
+ * weight() the current content.
+ *
+ * @param <T> the type of the cached items
+ */
+public final class BoundedReplay<T> extends Observable<T> {
+    private final Observable<T> source;
+    private final ReplayLimits<? super T> limits;
+    private final Scheduler scheduler;
+    private final AtomicBoolean connected = new AtomicBoolean();
+    private final CopyOnWriteArrayList<ReplayDisposable<T>> observers = new CopyOnWriteArrayList<>();
+
+    // written by the source thread only; nothing else refers to the nodes before the head, so the
+    // evicted ones are collected once no late Observer is replaying them
+    private volatile Node<T> head;
+    private Node<T> tail;
+    private volatile int size;
+    private volatile long weight;
+    private volatile long lastIndex;
+    private volatile boolean done;
+    private Throwable error;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder evictedByCount = new LongAdder();
+    private final LongAdder evictedByAge = new LongAdder();
+    private final LongAdder evictedByWeight = new LongAdder();
+
+    private BoundedReplay(Observable<T> source, ReplayLimits<? super T> limits, Scheduler scheduler) {
+        this.source = source;
+        this.limits = limits;
+        this.scheduler = scheduler;
+        var sentinel = new Node<T>(null, 0, 0, 0);
+        head = sentinel;
+        tail = sentinel;
+    }
+
+    /**
+     * @param scheduler the clock of the max age limit
+     */
+    public static <T> BoundedReplay<T> cache(Observable<T> source, ReplayLimits<? super T> limits, Scheduler scheduler) {
+        Objects.requireNonNull(source, "source is null");
+        Objects.requireNonNull(limits, "limits is null");
+        Objects.requireNonNull(scheduler, "scheduler is null");
+        return new BoundedReplay<>(source, limits, scheduler);
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super T> observer) {
+        var rs = new ReplayDisposable<T>(observer, this, lastIndex);
+        observer.onSubscribe(rs);
+        observers.add(rs);
+        if (rs.disposed) {
+            observers.remove(rs);
+        }
+        if (connected.compareAndSet(false, true)) {
+            source.subscribe(new SourceObserver());
+        }
+        replay(rs);
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long evictions() {
+        return evictedByCount.sum() + evictedByAge.sum() + evictedByWeight.sum();
+    }
+
+    public long evictedByCount() {
+        return evictedByCount.sum();
+    }
+
+    public long evictedByAge() {
+        return evictedByAge.sum();
+    }
+
+    public long evictedByWeight() {
+        return evictedByWeight.sum();
+    }
+
+    /**
+     * @return the number of cached items
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the total weight of the cached items
+     */
+    public long weight() {
+        return weight;
+    }
+
+    private void add(T item) {
+        var w = limits.weigh(item);
+        var node = new Node<>(item, scheduler.now(TimeUnit.MILLISECONDS), w, tail.index + 1);
+        tail.next = node;
+        tail = node;
+        size++;
+        weight += w;
+        lastIndex = node.index;
+        trim(node.time);
+    }
+
+    private void trim(long now) {
+        var h = head;
+        var oldest = now - limits.maxAgeMillis();
+        for (; ; ) {
+            var next = h.next;
+            if (next == null) {
+                break;
+            }
+            if (size > limits.maxItems()) {
+                evictedByCount.increment();
+            } else if (weight > limits.maxWeight()) {
+                evictedByWeight.increment();
+            } else if (limits.maxAgeMillis() != Long.MAX_VALUE && next.time <= oldest) {
+                evictedByAge.increment();
+            } else {
+                break;
+            }
+            size--;
+            weight -= next.weight;
+            h = next;
+        }
+        // the new head stays linked, it may be the tail, and only serves as the starting point. Its
+        // value is kept: a late Observer replaying on its own thread may not have emitted it yet.
+        if (h != head) {
+            head = h;
+        }
+    }
+
+    /**
+     * The node the replay of a new Observer starts after: the head without the expired items.
+     */
+    private Node<T> start() {
+        var h = head;
+        if (limits.maxAgeMillis() == Long.MAX_VALUE) {
+            return h;
+        }
+        var oldest = scheduler.now(TimeUnit.MILLISECONDS) - limits.maxAgeMillis();
+        for (var next = h.next; next != null && next.time <= oldest; next = next.next) {
+            h = next;
+        }
+        return h;
+    }
+
+    private void replay(ReplayDisposable<T> rs) {
+        if (rs.getAndIncrement() != 0) {
+            return;
+        }
+        var missed = 1;
+        var downstream = rs.downstream;
+        for (; ; ) {
+            var node = rs.node;
+            if (node == null) {
+                node = start();
+            }
+            for (; ; ) {
+                if (rs.disposed) {
+                    rs.node = null;
+                    return;
+                }
+                var d = done;
+                var next = node.next;
+                if (next == null) {
+                    if (d) {
+                        rs.node = null;
+                        rs.disposed = true;
+                        observers.remove(rs);
+                        if (error != null) {
+                            downstream.onError(error);
+                        } else {
+                            downstream.onComplete();
+                        }
+                        return;
+                    }
+                    break;
+                }
+                if (next.index <= rs.lastIndexAtSubscribe) {
+                    hits.increment();
+                }
+                downstream.onNext(next.value);
+                node = next;
+            }
+            rs.node = node;
+            missed = rs.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    private final class SourceObserver implements Observer<T> {
+        @Override
+        public void onSubscribe(Disposable d) {
+            // the cache stays connected, like cache()
+        }
+
+        @Override
+        public void onNext(T item) {
+            add(item);
+            for (var rs : observers) {
+                replay(rs);
+            }
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            error = e;
+            done = true;
+            for (var rs : observers) {
+                replay(rs);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            for (var rs : observers) {
+                replay(rs);
+            }
+        }
+    }
+
+    private static final class Node<T> {
+        final T value;
+        final long time;
+        final long weight;
+        final long index;
+        volatile Node<T> next;
+
+        Node(T value, long time, long weight, long index) {
+            this.value = value;
+            this.time = time;
+            this.weight = weight;
+            this.index = index;
+        }
+    }
+
+    private static final class ReplayDisposable<T> extends AtomicInteger implements Disposable {
+        private static final long serialVersionUID = 2416037341181223929L;
+
+        final Observer<? super T> downstream;
+        final BoundedReplay<T> parent;
+        final long lastIndexAtSubscribe;
+        Node<T> node;
+        volatile boolean disposed;
+
+        ReplayDisposable(Observer<? super T> downstream, BoundedReplay<T> parent, long lastIndexAtSubscribe) {
+            this.downstream = downstream;
+            this.parent = parent;
+            this.lastIndexAtSubscribe = lastIndexAtSubscribe;
+        }
+
+        @Override
+        public void dispose() {
+            if (!disposed) {
+                disposed = true;
+                parent.observers.remove(this);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
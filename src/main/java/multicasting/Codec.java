@@ -0,0 +1,152 @@
+package multicasting;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Turns items into bytes and back for {@link MappedReplaySubject}. The methods use absolute
+ * offsets and must not change the position or the limit of the buffer: the subject hands over
+ * its memory-mapped buffer directly, so decoding reads the file without copying it first.
+ *
+ * @param <T> the type of the encoded items
+ */
+public interface Codec<T> {
+    /**
+     * @return the number of bytes encode() writes for the value
+     */
+    int sizeOf(T value);
+
+    void encode(T value, ByteBuffer buffer, int offset);
+
+    T decode(ByteBuffer buffer, int offset, int length);
+
+    static Codec<Long> longs() {
+        return new Codec<>() {
+            @Override
+            public int sizeOf(Long value) {
+                return Long.BYTES;
+            }
+
+            @Override
+            public void encode(Long value, ByteBuffer buffer, int offset) {
+                buffer.putLong(offset, value);
+            }
+
+            @Override
+            public Long decode(ByteBuffer buffer, int offset, int length) {
+                return buffer.getLong(offset);
+            }
+        };
+    }
+
+    static Codec<Integer> ints() {
+        return new Codec<>() {
+            @Override
+            public int sizeOf(Integer value) {
+                return Integer.BYTES;
+            }
+
+            @Override
+            public void encode(Integer value, ByteBuffer buffer, int offset) {
+                buffer.putInt(offset, value);
+            }
+
+            @Override
+            public Integer decode(ByteBuffer buffer, int offset, int length) {
+                return buffer.getInt(offset);
+            }
+        };
+    }
+
+    /**
+     * Strings as UTF-8. ASCII strings are encoded char by char, the others are encoded straight
+     * into the buffer too, an unpaired surrogate as '?' like getBytes() does. Neither sizeOf() nor
+     * encode() allocates.
+     */
+    static Codec<String> utf8() {
+        return new Codec<>() {
+            @Override
+            public int sizeOf(String value) {
+                return utf8Length(value) + 1;
+            }
+
+            @Override
+            public void encode(String value, ByteBuffer buffer, int offset) {
+                if (isAscii(value)) {
+                    buffer.put(offset, (byte) 0);
+                    for (int i = 0; i < value.length(); i++) {
+                        buffer.put(offset + 1 + i, (byte) value.charAt(i));
+                    }
+                } else {
+                    buffer.put(offset, (byte) 1);
+                    var position = offset + 1;
+                    for (int i = 0; i < value.length(); i++) {
+                        var c = value.charAt(i);
+                        if (c < 0x80) {
+                            buffer.put(position++, (byte) c);
+                        } else if (c < 0x800) {
+                            buffer.put(position++, (byte) (0xC0 | c >> 6));
+                            buffer.put(position++, (byte) (0x80 | c & 0x3F));
+                        } else if (isSurrogatePair(value, i)) {
+                            var codePoint = Character.toCodePoint(c, value.charAt(++i));
+                            buffer.put(position++, (byte) (0xF0 | codePoint >> 18));
+                            buffer.put(position++, (byte) (0x80 | codePoint >> 12 & 0x3F));
+                            buffer.put(position++, (byte) (0x80 | codePoint >> 6 & 0x3F));
+                            buffer.put(position++, (byte) (0x80 | codePoint & 0x3F));
+                        } else if (Character.isSurrogate(c)) {
+                            buffer.put(position++, (byte) '?');
+                        } else {
+                            buffer.put(position++, (byte) (0xE0 | c >> 12));
+                            buffer.put(position++, (byte) (0x80 | c >> 6 & 0x3F));
+                            buffer.put(position++, (byte) (0x80 | c & 0x3F));
+                        }
+                    }
+                }
+            }
+
+            @Override
+            public String decode(ByteBuffer buffer, int offset, int length) {
+                var bytes = new byte[length - 1];
+                for (int i = 0; i < bytes.length; i++) {
+                    bytes[i] = buffer.get(offset + 1 + i);
+                }
+                return new String(bytes, buffer.get(offset) == 0 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+            }
+
+            private boolean isAscii(String value) {
+                for (int i = 0; i < value.length(); i++) {
+                    if (value.charAt(i) >= 0x80) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            // the same count as getBytes(UTF_8).length, without the array
+            private int utf8Length(String value) {
+                var length = 0;
+                for (int i = 0; i < value.length(); i++) {
+                    var c = value.charAt(i);
+                    if (c < 0x80) {
+                        length++;
+                    } else if (c < 0x800) {
+                        length += 2;
+                    } else if (isSurrogatePair(value, i)) {
+                        length += 4;
+                        i++;
+                    } else if (Character.isSurrogate(c)) {
+                        length++;
+                    } else {
+                        length += 3;
+                    }
+                }
+                return length;
+            }
+
+            private boolean isSurrogatePair(String value, int index) {
+                return Character.isHighSurrogate(value.charAt(index)) && index + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(index + 1));
+            }
+        };
+    }
+}
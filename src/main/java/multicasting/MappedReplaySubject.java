@@ -0,0 +1,425 @@
+package multicasting;
+
+import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.subjects.Subject;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A ReplaySubject that keeps its history off the heap. Every item goes through a {@link Codec}
+ * into a ring of memory-mapped file segments (FileChannel.map()), late Observers replay it by
+ * decoding straight from the mapping, so the heap only holds the items being delivered.
+ * <p>
+ * The ring holds capacity bytes. When it is full the oldest records are overwritten, like
+ * ReplaySubject.createWithSize() but bounded by bytes instead of items. A record (4 bytes of
+ * length and the encoded item) never spans two segments, so a segment can stay below the 2 GiB
+ * limit of a single mapping while the ring is much bigger than that.
+ * <p>
+ * The start and the end of the history are written into a header at the beginning of the file
+ * after every item, so opening the same file again replays what the previous subject stored.
+ * Terminal events are not stored: a reopened subject is live again.
+ * <p>
+ * Like every Subject, onNext() must not be called concurrently. An Observer so slow that the
+ * writer laps it skips to the oldest record still in the ring, overruns() counts these skips.
+ *
+ * @param <T> the type of the items
+ */
+public final class MappedReplaySubject<T> extends Subject<T> implements Closeable {
+    private static final long MAGIC = 0x5278_5265_706c_6179L; // "RxReplay"
+    private static final int HEADER_SIZE = 64;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int SEGMENT_SIZE_OFFSET = 16;
+    private static final int START_OFFSET = 24;
+    private static final int END_OFFSET = 32;
+    private static final int COUNT_OFFSET = 40;
+    private static final int PADDING = -1;
+    private static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+
+    private final Codec<T> codec;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer[] segments;
+    private final int segmentSize;
+    private final long capacity;
+    private final CopyOnWriteArrayList<ReplayDisposable<T>> observers = new CopyOnWriteArrayList<>();
+    private final LongAdder overruns = new LongAdder();
+
+    // logical positions, they only grow; the physical position is position % capacity
+    private volatile long start;
+    private volatile long end;
+    private volatile long count;
+    private volatile boolean done;
+    private Throwable error;
+
+    private MappedReplaySubject(Codec<T> codec, FileChannel channel, long capacity, int segmentSize) throws IOException {
+        this.codec = codec;
+        this.channel = channel;
+        this.capacity = capacity;
+        this.segmentSize = segmentSize;
+        header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        segments = new MappedByteBuffer[(int) (capacity / segmentSize)];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + (long) i * segmentSize, segmentSize);
+        }
+    }
+
+    /**
+     * Same as {@link #open(Path, long, int, Codec)} with segments of 1 GiB, or a single segment if
+     * the capacity is smaller.
+     */
+    public static <T> MappedReplaySubject<T> open(Path file, long capacity, Codec<T> codec) throws IOException {
+        return open(file, capacity, (int) Math.min(capacity, DEFAULT_SEGMENT_SIZE), codec);
+    }
+
+    /**
+     * Opens the ring stored in file, or creates it if the file is empty or does not exist.
+     *
+     * @param capacity    the size of the ring in bytes, rounded up to a multiple of segmentSize
+     * @param segmentSize the size of a single mapping, the biggest record it can hold is segmentSize - 4 bytes
+     * @throws IOException if the file cannot be mapped, or holds a ring of another capacity
+     */
+    public static <T> MappedReplaySubject<T> open(Path file, long capacity, int segmentSize, Codec<T> codec) throws IOException {
+        Objects.requireNonNull(file, "file is null");
+        Objects.requireNonNull(codec, "codec is null");
+        if (segmentSize < 8) {
+            throw new IllegalArgumentException("segmentSize >= 8 required but it was " + segmentSize);
+        }
+        if (capacity < segmentSize) {
+            throw new IllegalArgumentException("capacity >= segmentSize required but it was " + capacity);
+        }
+        var segmentCount = (capacity + segmentSize - 1) / segmentSize;
+        if (segmentCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many segments: " + segmentCount);
+        }
+        var ringSize = segmentCount * segmentSize;
+        var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            var exists = channel.size() >= HEADER_SIZE;
+            var subject = new MappedReplaySubject<>(codec, channel, ringSize, segmentSize);
+            if (exists && subject.header.getLong(0) == MAGIC) {
+                subject.restore();
+            } else {
+                subject.header.putLong(CAPACITY_OFFSET, ringSize);
+                subject.header.putInt(SEGMENT_SIZE_OFFSET, segmentSize);
+                subject.header.putLong(0, MAGIC);
+            }
+            return subject;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void restore() throws IOException {
+        if (header.getLong(CAPACITY_OFFSET) != capacity || header.getInt(SEGMENT_SIZE_OFFSET) != segmentSize) {
+            throw new IOException("The file holds a ring of " + header.getLong(CAPACITY_OFFSET) + " bytes in segments of "
+                    + header.getInt(SEGMENT_SIZE_OFFSET) + " bytes, not " + capacity + " in segments of " + segmentSize);
+        }
+        start = header.getLong(START_OFFSET);
+        end = header.getLong(END_OFFSET);
+        count = header.getLong(COUNT_OFFSET);
+    }
+
+    /**
+     * @return the number of items in the ring
+     */
+    public long size() {
+        return count;
+    }
+
+    /**
+     * @return the number of bytes of the ring in use, records and padding included
+     */
+    public long usedBytes() {
+        return end - start;
+    }
+
+    public long capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return how many times an Observer was lapped by the writer and skipped the overwritten items
+     */
+    public long overruns() {
+        return overruns.sum();
+    }
+
+    /**
+     * Writes the content of the ring to the storage device, see MappedByteBuffer.force().
+     */
+    public void force() {
+        for (var segment : segments) {
+            segment.force();
+        }
+        header.force();
+    }
+
+    /**
+     * Flushes the ring and closes the file. The mappings stay valid until they are garbage collected,
+     * the subject must not be used anymore.
+     */
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    @Override
+    public void onSubscribe(Disposable d) {
+        if (done) {
+            d.dispose();
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        Objects.requireNonNull(item, "onNext called with a null value.");
+        if (done) {
+            return;
+        }
+        var length = codec.sizeOf(item);
+        var recordSize = Integer.BYTES + length;
+        if (length < 0 || recordSize > segmentSize) {
+            throw new IllegalArgumentException("The encoded item takes " + length + " bytes, the segments hold records up to "
+                    + (segmentSize - Integer.BYTES) + " bytes");
+        }
+        var position = end;
+        var remaining = segmentSize - offset(position);
+        if (remaining < recordSize) {
+            // the record does not fit in the rest of the segment, it starts at the next one
+            reserve(position + remaining);
+            if (remaining >= Integer.BYTES) {
+                segment(position).putInt(offset(position), PADDING);
+            }
+            position += remaining;
+        }
+        reserve(position + recordSize);
+        var segment = segment(position);
+        var offset = offset(position);
+        segment.putInt(offset, length);
+        codec.encode(item, segment, offset + Integer.BYTES);
+        count++;
+        end = position + recordSize;
+        header.putLong(END_OFFSET, end);
+        header.putLong(COUNT_OFFSET, count);
+        for (var rs : observers) {
+            replay(rs);
+        }
+    }
+
+    @Override
+    public void onError(Throwable e) {
+        Objects.requireNonNull(e, "onError called with a null Throwable.");
+        if (done) {
+            return;
+        }
+        error = e;
+        done = true;
+        for (var rs : observers) {
+            replay(rs);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        for (var rs : observers) {
+            replay(rs);
+        }
+    }
+
+    @Override
+    public boolean hasObservers() {
+        return !observers.isEmpty();
+    }
+
+    @Override
+    public boolean hasThrowable() {
+        return done && error != null;
+    }
+
+    @Override
+    public boolean hasComplete() {
+        return done && error == null;
+    }
+
+    @Override
+    public Throwable getThrowable() {
+        return done ? error : null;
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super T> observer) {
+        var rs = new ReplayDisposable<>(observer, this);
+        observer.onSubscribe(rs);
+        observers.add(rs);
+        if (rs.disposed) {
+            observers.remove(rs);
+        }
+        replay(rs);
+    }
+
+    private MappedByteBuffer segment(long position) {
+        return segments[(int) ((position % capacity) / segmentSize)];
+    }
+
+    private int offset(long position) {
+        return (int) (position % segmentSize);
+    }
+
+    /**
+     * The position of the record after the one at position, skipping the padding at the end of a segment.
+     */
+    private long next(long position) {
+        var remaining = segmentSize - offset(position);
+        if (remaining < Integer.BYTES) {
+            return position + remaining;
+        }
+        var length = segment(position).getInt(offset(position));
+        return length == PADDING ? position + remaining : position + Integer.BYTES + length;
+    }
+
+    /**
+     * Evicts the oldest records until the ring can hold everything up to limit.
+     */
+    private void reserve(long limit) {
+        var s = start;
+        if (limit - s <= capacity) {
+            return;
+        }
+        var c = count;
+        while (limit - s > capacity) {
+            var next = next(s);
+            if (isRecord(s)) {
+                c--;
+            }
+            s = next;
+        }
+        count = c;
+        start = s;
+        header.putLong(START_OFFSET, s);
+        // the readers must see the new start before the bytes that overwrite the evicted records
+        VarHandle.fullFence();
+    }
+
+    private boolean isRecord(long position) {
+        var remaining = segmentSize - offset(position);
+        return remaining >= Integer.BYTES && segment(position).getInt(offset(position)) != PADDING;
+    }
+
+    private void replay(ReplayDisposable<T> rs) {
+        if (rs.getAndIncrement() != 0) {
+            return;
+        }
+        var missed = 1;
+        var downstream = rs.downstream;
+        for (; ; ) {
+            var position = rs.position;
+            if (position == Long.MIN_VALUE) {
+                position = start;
+            }
+            for (; ; ) {
+                if (rs.disposed) {
+                    return;
+                }
+                var d = done;
+                var s = start;
+                if (position < s) {
+                    overruns.increment();
+                    position = s;
+                }
+                if (position == end) {
+                    if (d) {
+                        rs.disposed = true;
+                        observers.remove(rs);
+                        if (error != null) {
+                            downstream.onError(error);
+                        } else {
+                            downstream.onComplete();
+                        }
+                        return;
+                    }
+                    break;
+                }
+                var physical = position % capacity;
+                var segment = segments[(int) (physical / segmentSize)];
+                var offset = (int) (physical % segmentSize);
+                var length = segmentSize - offset < Integer.BYTES ? PADDING : segment.getInt(offset);
+                if (length == PADDING) {
+                    VarHandle.loadLoadFence();
+                    if (position >= start) {
+                        position += segmentSize - offset;
+                    }
+                    continue;
+                }
+                T item = null;
+                Throwable failure = null;
+                try {
+                    item = codec.decode(segment, offset + Integer.BYTES, length);
+                } catch (Throwable e) {
+                    failure = e;
+                }
+                // the record was read without a lock, it is only valid if the writer has not lapped us meanwhile
+                VarHandle.loadLoadFence();
+                if (position < start) {
+                    continue;
+                }
+                if (failure != null) {
+                    rs.disposed = true;
+                    observers.remove(rs);
+                    downstream.onError(failure);
+                    return;
+                }
+                position += Integer.BYTES + length;
+                downstream.onNext(item);
+            }
+            rs.position = position;
+            missed = rs.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    private static final class ReplayDisposable<T> extends AtomicInteger implements Disposable {
+        private static final long serialVersionUID = 3074784153629813120L;
+
+        final Observer<? super T> downstream;
+        final MappedReplaySubject<T> parent;
+        long position = Long.MIN_VALUE;
+        volatile boolean disposed;
+
+        ReplayDisposable(Observer<? super T> downstream, MappedReplaySubject<T> parent) {
+            this.downstream = downstream;
+            this.parent = parent;
+        }
+
+        @Override
+        public void dispose() {
+            if (!disposed) {
+                disposed = true;
+                parent.observers.remove(this);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package multicasting;
+
+import concurrency.MpscQueue;
+import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import io.reactivex.rxjava3.subjects.Subject;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A Subject whose onNext(), onError() and onComplete() can be called from any number of threads,
+ * like toSerialized() but without its lock. Every signal goes into a lock-free {@link MpscQueue}
+ * and the producer that finds the drain loop idle becomes the emitter: it delivers the queued
+ * signals one after the other to the wrapped Subject until the queue is empty. The other
+ * producers only enqueue and return, they never wait for a monitor.
+ * <p>
+ * toSerialized() lets one producer emit directly and makes the others queue behind a synchronized
+ * block, which is cheap for a couple of producers but collapses when many threads compete for it.
+ * Here every signal goes through the queue, which costs a node per item in exchange.
+ * <p>
+ * Like Subjects.publishSubject() example 2:
+ * <pre>
+ *     Subject&lt;String&gt; subject = MpscSubject.create();
+ *     subject.subscribe(System.out::println);
+ *     source2.subscribe(subject);
+ *     source1.subscribe(subject);
+ * </pre>
+ *
+ * @param <T> the type of the items
+ */
+public final class MpscSubject<T> extends Subject<T> {
+    private final Subject<T> actual;
+    private final MpscQueue<Object> queue = new MpscQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    // touched by the emitting thread only
+    private boolean done;
+
+    private MpscSubject(Subject<T> actual) {
+        this.actual = actual;
+    }
+
+    /**
+     * A PublishSubject that accepts concurrent signals.
+     */
+    public static <T> MpscSubject<T> create() {
+        return new MpscSubject<>(PublishSubject.create());
+    }
+
+    /**
+     * Makes the signals of any Subject thread-safe, the lock-free counterpart of toSerialized().
+     */
+    public static <T> MpscSubject<T> wrap(Subject<T> actual) {
+        Objects.requireNonNull(actual, "actual is null");
+        return new MpscSubject<>(actual);
+    }
+
+    @Override
+    public void onSubscribe(Disposable d) {
+        Objects.requireNonNull(d, "onSubscribe called with a null Disposable.");
+        queue.offer(new Subscription(d));
+        drain();
+    }
+
+    @Override
+    public void onNext(T item) {
+        Objects.requireNonNull(item, "onNext called with a null value.");
+        queue.offer(item);
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable e) {
+        Objects.requireNonNull(e, "onError called with a null Throwable.");
+        queue.offer(new Error(e));
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        queue.offer(Complete.INSTANCE);
+        drain();
+    }
+
+    @Override
+    public boolean hasObservers() {
+        return actual.hasObservers();
+    }
+
+    @Override
+    public boolean hasThrowable() {
+        return actual.hasThrowable();
+    }
+
+    @Override
+    public boolean hasComplete() {
+        return actual.hasComplete();
+    }
+
+    @Override
+    public Throwable getThrowable() {
+        return actual.getThrowable();
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super T> observer) {
+        actual.subscribe(observer);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        var missed = 1;
+        for (; ; ) {
+            for (; ; ) {
+                var signal = queue.poll();
+                if (signal == null) {
+                    break;
+                }
+                if (done) {
+                    if (signal instanceof Subscription) {
+                        ((Subscription) signal).upstream.dispose();
+                    }
+                } else if (signal instanceof Subscription) {
+                    actual.onSubscribe(((Subscription) signal).upstream);
+                } else if (signal instanceof Error) {
+                    done = true;
+                    actual.onError(((Error) signal).error);
+                } else if (signal == Complete.INSTANCE) {
+                    done = true;
+                    actual.onComplete();
+                } else {
+                    actual.onNext((T) signal);
+                }
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    /*
+        the signals other than onNext(), the items themselves are queued as they are
+     */
+
+    private static final class Subscription {
+        final Disposable upstream;
+
+        Subscription(Disposable upstream) {
+            this.upstream = upstream;
+        }
+    }
+
+    private static final class Error {
+        final Throwable error;
+
+        Error(Throwable error) {
+            this.error = error;
+        }
+    }
+
+    private enum Complete {
+        INSTANCE
+    }
+}
@@ -1,6 +1,7 @@
 package multicasting;
 
 import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
@@ -132,6 +133,28 @@ public class Multicasting {
         cacheRollingTotals2.subscribe(System.out::println);
     }
 
+    /**
+     * replay() and cache() have only a count and a time limit, none of them knows how much memory the
+     * cached items take. BoundedReplay combines the max number of items, the max age and the max total
+     * weight (estimated by a Weigher, bytes for instance) and evicts the oldest items first.
+     * It counts the replayed items (hits) and the evicted ones, so you can see whether the limits fit
+     * the late observers.
+     */
+    public final void boundedReplay() {
+        var source = BoundedReplay.cache(infiniteSource2.map(item -> (item + 1) * 300 + " milliseconds"),
+                ReplayLimits.<String>unbounded()
+                        .withMaxItems(5)
+                        .withMaxAge(1, TimeUnit.SECONDS)
+                        .withMaxWeight(64, String::length),
+                Schedulers.computation());
+        source.subscribe(item -> System.out.println("Observer 1: " + item));
+        sleep(3000);
+        source.subscribe(item -> System.out.println("Observer 2: " + item));
+        sleep(1000);
+        System.out.println("Hits: " + source.hits() + ", evictions: " + source.evictions()
+                + ", cached: " + source.size() + " items, " + source.weight() + " chars");
+    }
+
     /*
      * private utility methods
      */
@@ -0,0 +1,84 @@
+package multicasting;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The limits of a {@link BoundedReplay}: the maximum number of items, the maximum age of an
+ * item and the maximum total weight of the items, measured by a {@link Weigher} (usually an
+ * estimate of the bytes an item retains). Every limit is optional, the ones that are set are
+ * combined: the oldest items are evicted until all of them hold.
+ *
+ * @param <T> the type of the cached items
+ */
+public final class ReplayLimits<T> {
+    private final int maxItems;
+    private final long maxAgeMillis;
+    private final long maxWeight;
+    private final Weigher<? super T> weigher;
+
+    private ReplayLimits(int maxItems, long maxAgeMillis, long maxWeight, Weigher<? super T> weigher) {
+        this.maxItems = maxItems;
+        this.maxAgeMillis = maxAgeMillis;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    /**
+     * No limit at all, the same as cache(). Add at least one limit for infinite sources.
+     */
+    public static <T> ReplayLimits<T> unbounded() {
+        return new ReplayLimits<>(Integer.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, item -> 1);
+    }
+
+    public ReplayLimits<T> withMaxItems(int maxItems) {
+        if (maxItems <= 0) {
+            throw new IllegalArgumentException("maxItems > 0 required but it was " + maxItems);
+        }
+        return new ReplayLimits<>(maxItems, maxAgeMillis, maxWeight, weigher);
+    }
+
+    public ReplayLimits<T> withMaxAge(long maxAge, TimeUnit unit) {
+        if (maxAge <= 0) {
+            throw new IllegalArgumentException("maxAge > 0 required but it was " + maxAge);
+        }
+        return new ReplayLimits<>(maxItems, unit.toMillis(maxAge), maxWeight, weigher);
+    }
+
+    /**
+     * @param maxWeight the maximum total weight of the cached items
+     * @param weigher   the weight of an item, it is called once when the item is cached
+     */
+    public ReplayLimits<T> withMaxWeight(long maxWeight, Weigher<? super T> weigher) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("maxWeight > 0 required but it was " + maxWeight);
+        }
+        return new ReplayLimits<>(maxItems, maxAgeMillis, maxWeight, Objects.requireNonNull(weigher, "weigher is null"));
+    }
+
+    public int maxItems() {
+        return maxItems;
+    }
+
+    public long maxAgeMillis() {
+        return maxAgeMillis;
+    }
+
+    public long maxWeight() {
+        return maxWeight;
+    }
+
+    long weigh(T item) {
+        return weigher.weigh(item);
+    }
+
+    /**
+     * Estimates how much an item weighs, for instance its size in bytes.
+     *
+     * @param <T> the type of the weighed items
+     */
+    @FunctionalInterface
+    public interface Weigher<T> {
+        long weigh(T item);
+    }
+}
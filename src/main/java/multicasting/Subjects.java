@@ -4,6 +4,8 @@ import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.subjects.*;
 import org.w3c.dom.ls.LSOutput;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -58,6 +60,20 @@ public class Subjects {
 
     }
 
+    /**
+     * publishSubject() example 2 with a Subject that accepts onNext() calls from both interval
+     * threads at once, without the lock of toSerialized().
+     */
+    public final void mpscSubject() {
+        var source1 = infiniteSource2.map(i -> ((i + 1) * 300) + " milliseconds");
+        var source2 = infiniteSource1.map(i -> i + " seconds");
+        Subject<String> subject = MpscSubject.create();
+        subject.subscribe(System.out::println);
+        source2.subscribe(subject);
+        source1.subscribe(subject);
+        sleep(3000);
+    }
+
     /**
      * It behaves almost the same way as PublishSubject, but it also replays the last emitted
      * item to each new Observer downstream.
@@ -92,6 +108,27 @@ public class Subjects {
         subject1.onComplete();
     }
 
+    /**
+     * MappedReplaySubject keeps the history of a ReplaySubject in a memory-mapped file instead
+     * of the heap. The second subject opens the same file and replays what the first one stored.
+     */
+    public final void mappedReplaySubject() throws IOException {
+        var file = Files.createTempFile("replay", ".ring");
+        try (var subject1 = MappedReplaySubject.open(file, 1024, Codec.utf8())) {
+            subject1.subscribe(item -> System.out.println("Observer 1: " + item));
+
+            subject1.onNext("Alpha");
+            subject1.onNext("Beta");
+            subject1.onNext("Gamma");
+            subject1.subscribe(item -> System.out.println("Observer 2: " + item));
+        }
+        try (var subject2 = MappedReplaySubject.open(file, 1024, Codec.utf8())) {
+            subject2.subscribe(item -> System.out.println("Observer 3: " + item));
+            subject2.onComplete();
+        }
+        Files.delete(file);
+    }
+
     /**
      * The AsyncSubject class has a highly tailored, finite-specific behavior:
      * it pushes only the last value it receives, followed by an onComplete() event.
@@ -0,0 +1,93 @@
+package pipelines;
+
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
+
+import java.util.*;
+
+/**
+ * The basicOperators examples as pipeline factories: transforming, suppressing,
+ * reducing and collection operators.
+ */
+public final class BasicOperatorPipelines {
+    private BasicOperatorPipelines() {
+    }
+
+    /**
+     * TransformingOperators.map()
+     */
+    public static Observable<Integer> lengths(Observable<String> source) {
+        return source.map(String::length);
+    }
+
+    /**
+     * TransformingOperators.sorted(Comparator.reverseOrder())
+     */
+    public static <T extends Comparable<? super T>> Observable<T> sortedReverse(Observable<T> source) {
+        return source.sorted(Comparator.reverseOrder());
+    }
+
+    /**
+     * TransformingOperators.scan(): rolling sum.
+     */
+    public static Observable<Integer> rollingSum(Observable<Integer> source) {
+        return source.scan(Integer::sum);
+    }
+
+    /**
+     * SuppressingOperators.distinct()
+     */
+    public static <T> Observable<T> distinct(Observable<T> source) {
+        return source.distinct();
+    }
+
+    /**
+     * ReducingOperators.count()
+     */
+    public static <T> Single<Long> count(Observable<T> source) {
+        return source.count();
+    }
+
+    /**
+     * ReducingOperators.reduce() example 1: sum.
+     */
+    public static Maybe<Integer> sum(Observable<Integer> source) {
+        return source.reduce(Integer::sum);
+    }
+
+    /**
+     * CollectionOperators.toList()
+     */
+    public static <T> Single<List<T>> toList(Observable<T> source) {
+        return source.toList();
+    }
+
+    /**
+     * CollectionOperators.toSortedList()
+     */
+    public static <T extends Comparable<? super T>> Single<List<T>> toSortedList(Observable<T> source) {
+        return source.toSortedList();
+    }
+
+    /**
+     * CollectionOperators.toMap(): lengths keyed off the first character.
+     */
+    public static Single<Map<Character, Integer>> toMapByFirstChar(Observable<String> source) {
+        return source.toMap(str -> str.charAt(0), String::length);
+    }
+
+    /**
+     * CollectionOperators.toMultiMap(): lengths keyed off the first character.
+     */
+    public static Single<Map<Character, Collection<Integer>>> toMultimapByFirstChar(Observable<String> source) {
+        return source.toMultimap(str -> str.charAt(0), String::length);
+    }
+
+    /**
+     * CollectionOperators.collect(): implementing toSet.
+     */
+    public static <T> Single<HashSet<T>> toSet(Observable<T> source) {
+        return source.collect(HashSet<T>::new, HashSet::add);
+    }
+}
@@ -0,0 +1,90 @@
+package pipelines;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Scheduler;
+import switchingThrottlingWindowingBuffering.AdaptiveBatching;
+import switchingThrottlingWindowingBuffering.AdaptiveBuffer;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link switchingThrottlingWindowingBuffering.Buffering} examples as pipeline factories.
+ * The source and the Scheduler that cuts the time-based buffers are arguments, so the
+ * pipelines can run on a TestScheduler or at full speed on a finite source.
+ */
+public final class BufferingPipelines {
+    private BufferingPipelines() {
+    }
+
+    /**
+     * Buffering.buffer(count)
+     */
+    public static <T> Observable<List<T>> buffer(Observable<T> source, int count) {
+        return source.buffer(count);
+    }
+
+    /**
+     * Buffering.bufferWithSupplier(count)
+     */
+    public static <T> Observable<HashSet<T>> bufferWithSupplier(Observable<T> source, int count) {
+        return source.buffer(count, HashSet::new);
+    }
+
+    /**
+     * Buffering.bufferWithSkip(count, skip)
+     */
+    public static <T> Observable<List<T>> bufferWithSkip(Observable<T> source, int count, int skip) {
+        return source.buffer(count, skip);
+    }
+
+    /**
+     * Buffering.bufferWithTimeSpan(timespan, unit)
+     */
+    public static <T> Observable<List<T>> bufferWithTimeSpan(Observable<T> source, long timespan, TimeUnit unit,
+                                                             Scheduler scheduler) {
+        return source.buffer(timespan, unit, scheduler);
+    }
+
+    /**
+     * Buffering.bufferWithTimeSpanAndBufferSize(timespan, unit, count)
+     */
+    public static <T> Observable<List<T>> bufferWithTimeSpanAndBufferSize(Observable<T> source, long timespan,
+                                                                          TimeUnit unit, int count,
+                                                                          Scheduler scheduler) {
+        return source.buffer(timespan, unit, scheduler, count);
+    }
+
+    /**
+     * Buffering.bufferAdaptive(maxLatency, unit, maxBatchSize)
+     */
+    public static <T> Observable<List<T>> bufferAdaptive(Observable<T> source, long maxLatency, TimeUnit unit,
+                                                         int maxBatchSize, Scheduler scheduler) {
+        return AdaptiveBuffer.buffer(source, AdaptiveBatching.maxLatency(maxLatency, unit).withMaxBatchSize(maxBatchSize),
+                scheduler);
+    }
+
+    /**
+     * Buffering.bufferWithBoundary()
+     */
+    public static <T, B> Observable<List<T>> bufferWithBoundary(Observable<T> source, Observable<B> boundary) {
+        return source.buffer(boundary);
+    }
+
+    /**
+     * The sources of Buffering: emits (i + 1) * period for every tick of the interval.
+     */
+    public static Observable<Long> elapsedTime(long periodMillis, Scheduler scheduler) {
+        return Observable.interval(periodMillis, TimeUnit.MILLISECONDS, scheduler)
+                .map(i -> (i + 1) * periodMillis);
+    }
+
+    /**
+     * Collection size of every buffer, handy for sinks that must not keep the batches.
+     */
+    public static <C extends Collection<?>> Observable<Integer> sizes(Observable<C> buffers) {
+        return buffers.map(Collection::size);
+    }
+}
@@ -0,0 +1,79 @@
+package pipelines;
+
+import io.reactivex.rxjava3.core.Observable;
+
+import java.util.List;
+
+/**
+ * The combiningOperators examples as pipeline factories.
+ */
+public final class CombiningPipelines {
+    private CombiningPipelines() {
+    }
+
+    /**
+     * MergingFactoriesAndOperators.merge()
+     */
+    public static <T> Observable<T> merge(Observable<T> source1, Observable<T> source2) {
+        return Observable.merge(source1, source2);
+    }
+
+    /**
+     * MergingFactoriesAndOperators.flatMap() example 1: splits every string into its characters.
+     */
+    public static Observable<String> flatMap(Observable<String> source) {
+        return source.flatMap(str -> Observable.fromArray(str.split("")));
+    }
+
+    /**
+     * MergingFactoriesAndOperators.flatMap() example 2: takes the numeric parts of "/"-separated strings.
+     */
+    public static Observable<Integer> flatMapNumbers(Observable<String> source) {
+        return source.flatMap(str -> Observable.fromArray(str.split("/")))
+                .filter(str -> str.matches("[0-9]+"))
+                .map(Integer::valueOf);
+    }
+
+    /**
+     * ConcatenatingFactoriesAndOperators.concat()
+     */
+    public static <T> Observable<T> concat(Observable<T> source1, Observable<T> source2) {
+        return Observable.concat(source1, source2);
+    }
+
+    /**
+     * ConcatenatingFactoriesAndOperators.concatMap()
+     */
+    public static Observable<String> concatMap(Observable<String> source) {
+        return source.concatMap(str -> Observable.fromArray(str.split("")));
+    }
+
+    /**
+     * GroupingOperators.groupBy(): groups strings by their length.
+     */
+    public static Observable<List<String>> groupByLength(Observable<String> source) {
+        return source.groupBy(String::length)
+                .flatMapSingle(Observable::toList);
+    }
+
+    /**
+     * ZippingOperators.zip()
+     */
+    public static <T1, T2> Observable<String> zip(Observable<T1> source1, Observable<T2> source2) {
+        return Observable.zip(source1, source2, (d, i) -> d + " - " + i);
+    }
+
+    /**
+     * CombiningTheLatestOperators.combineLatest()
+     */
+    public static <T1, T2> Observable<String> combineLatest(Observable<T1> source1, Observable<T2> source2) {
+        return Observable.combineLatest(source1, source2, (i1, i2) -> "Source 1 " + i1 + " . Source 2 " + i2);
+    }
+
+    /**
+     * CombiningTheLatestOperators.withLatestFrom()
+     */
+    public static <T1, T2> Observable<String> withLatestFrom(Observable<T1> source1, Observable<T2> source2) {
+        return source1.withLatestFrom(source2, (i1, i2) -> "Source 1 " + i1 + " . Source 2 " + i2);
+    }
+}
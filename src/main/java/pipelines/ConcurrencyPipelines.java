@@ -0,0 +1,39 @@
+package pipelines;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Scheduler;
+
+/**
+ * The {@link concurrency.ConcurrencyOperators} examples as pipeline factories.
+ * The lab methods pass Schedulers.computation(), io() and newThread(), here they are arguments.
+ */
+public final class ConcurrencyPipelines {
+    private ConcurrencyPipelines() {
+    }
+
+    /**
+     * ConcurrencyOperators.subscribeOn()
+     */
+    public static Observable<Integer> subscribeOn(Observable<String> source, Scheduler scheduler) {
+        return source.subscribeOn(scheduler)
+                .map(String::length);
+    }
+
+    /**
+     * ConcurrencyOperators.observeOn()
+     */
+    public static Observable<Long> observeOn(Observable<Long> source, Scheduler scheduler) {
+        return source.map(item -> 100 * item)
+                .observeOn(scheduler);
+    }
+
+    /**
+     * ConcurrencyOperators.unsubscribeOn()
+     */
+    public static Observable<Long> unsubscribeOn(Observable<Long> source, Scheduler observeScheduler,
+                                                 Scheduler disposeScheduler) {
+        return source.map(item -> 100 * item)
+                .observeOn(observeScheduler)
+                .unsubscribeOn(disposeScheduler);
+    }
+}
@@ -0,0 +1,82 @@
+package pipelines;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.observables.ConnectableObservable;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import io.reactivex.rxjava3.subjects.ReplaySubject;
+import io.reactivex.rxjava3.subjects.Subject;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link multicasting.Multicasting} and {@link multicasting.Subjects} examples as pipeline factories.
+ * The caller subscribes its sinks and connects, exactly as the lab methods do.
+ */
+public final class MulticastingPipelines {
+    private MulticastingPipelines() {
+    }
+
+    /**
+     * Multicasting.publish()
+     */
+    public static <T> ConnectableObservable<T> publish(Observable<T> source) {
+        return source.publish();
+    }
+
+    /**
+     * Multicasting.autoConnect()
+     */
+    public static <T> Observable<T> autoConnect(Observable<T> source, int numberOfSubscribers) {
+        return source.publish().autoConnect(numberOfSubscribers);
+    }
+
+    /**
+     * Multicasting.refCount()
+     */
+    public static <T> Observable<T> refCount(Observable<T> source) {
+        return source.publish().refCount();
+    }
+
+    /**
+     * Multicasting.replay(), unbounded.
+     */
+    public static <T> Observable<T> replay(Observable<T> source) {
+        return source.replay().autoConnect();
+    }
+
+    /**
+     * Multicasting.replay() with bufferSize and time limits.
+     */
+    public static <T> Observable<T> replay(Observable<T> source, int bufferSize, long time, TimeUnit unit,
+                                           Scheduler scheduler) {
+        return source.replay(bufferSize, time, unit, scheduler).autoConnect();
+    }
+
+    /**
+     * Multicasting.cache()
+     */
+    public static Observable<Integer> cacheRollingTotals(Observable<Integer> source) {
+        return source.scan(Integer::sum)
+                .cache();
+    }
+
+    /**
+     * Subjects.publishSubject() example 2: several sources consolidated in one serialized subject.
+     */
+    @SafeVarargs
+    public static <T> Subject<T> publishSubject(Observable<? extends T>... sources) {
+        Subject<T> subject = PublishSubject.<T>create().toSerialized();
+        for (var source : sources) {
+            source.subscribe(subject::onNext, subject::onError);
+        }
+        return subject;
+    }
+
+    /**
+     * Subjects.replaySubject()
+     */
+    public static <T> Subject<T> replaySubject() {
+        return ReplaySubject.create();
+    }
+}
@@ -0,0 +1,23 @@
+package pipelines;
+
+/**
+ * The terminal end of a pipeline. The lab classes print every emission to the console,
+ * a Sink lets the same pipeline end in the console, a counter or a JMH Blackhole.
+ * <p>
+ * Only onNext() is abstract, so a method reference such as System.out::println is a Sink.
+ * Use {@link Sinks} to subscribe a Sink to an Observable, a Flowable or a Single.
+ *
+ * @param <T> the type of the received items
+ */
+@FunctionalInterface
+public interface Sink<T> {
+    void onNext(T item);
+
+    default void onError(Throwable throwable) {
+        throwable.printStackTrace();
+    }
+
+    default void onComplete() {
+        // do nothing
+    }
+}
@@ -0,0 +1,98 @@
+package pipelines;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.Disposable;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Factory methods for the common sinks and the glue that subscribes a {@link Sink}
+ * to the reactive types returned by the pipeline factories.
+ */
+public final class Sinks {
+    private Sinks() {
+    }
+
+    /**
+     * The behavior of the lab classes: prints every item with System.out.println().
+     */
+    public static <T> Sink<T> console() {
+        return System.out::println;
+    }
+
+    /**
+     * Drops every item. Useful to measure the pipeline alone.
+     */
+    public static <T> Sink<T> discard() {
+        return item -> {
+        };
+    }
+
+    /**
+     * Counts received items and terminal events, thread-safe.
+     */
+    public static <T> Counting<T> counting() {
+        return new Counting<>();
+    }
+
+    public static <T> Disposable subscribe(Observable<T> source, Sink<? super T> sink) {
+        return source.subscribe(sink::onNext, sink::onError, sink::onComplete);
+    }
+
+    public static <T> Disposable subscribe(Flowable<T> source, Sink<? super T> sink) {
+        return source.subscribe(sink::onNext, sink::onError, sink::onComplete);
+    }
+
+    /**
+     * A Single emits exactly one item, so onComplete() is called right after onNext().
+     */
+    public static <T> Disposable subscribe(Single<T> source, Sink<? super T> sink) {
+        return source.subscribe(item -> {
+            sink.onNext(item);
+            sink.onComplete();
+        }, sink::onError);
+    }
+
+    /**
+     * A Sink that counts what it receives.
+     *
+     * @param <T> the type of the received items
+     */
+    public static final class Counting<T> implements Sink<T> {
+        private final AtomicLong items = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong completions = new AtomicLong();
+
+        private Counting() {
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.incrementAndGet();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            errors.incrementAndGet();
+        }
+
+        @Override
+        public void onComplete() {
+            completions.incrementAndGet();
+        }
+
+        public long items() {
+            return items.get();
+        }
+
+        public long errors() {
+            return errors.get();
+        }
+
+        public long completions() {
+            return completions.get();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package pipelines;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Scheduler;
+import switchingThrottlingWindowingBuffering.CoalescingSwitchMap;
+import switchingThrottlingWindowingBuffering.SwitchConfig;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link switchingThrottlingWindowingBuffering.Switching} examples as pipeline factories.
+ */
+public final class SwitchingPipelines {
+    private SwitchingPipelines() {
+    }
+
+    /**
+     * Switching.switchMap(): every tick of the outer source disposes of the running inner source
+     * and subscribes to it again.
+     */
+    public static <T> Observable<T> switchMap(Observable<?> ticks, Observable<T> inner) {
+        return ticks.switchMap(i -> inner);
+    }
+
+    /**
+     * Switching.coalescingSwitchMap(): switchMap() with the ticks coalesced and a grace time for
+     * the inner source in flight.
+     */
+    public static <T> Observable<T> coalescingSwitchMap(Observable<?> ticks, Observable<T> inner, SwitchConfig config,
+                                                        Scheduler scheduler) {
+        return CoalescingSwitchMap.switchMap(ticks, i -> inner, config, scheduler);
+    }
+
+    /**
+     * Switching.groupingKeystrokes(): debounces the keystrokes, delays the winner and switches to the
+     * rolling concatenation of the suggestions.
+     */
+    public static Observable<String> groupingKeystrokes(Observable<String> keystrokes, Observable<String> suggestions,
+                                                        long timeout, long delay, TimeUnit unit,
+                                                        Scheduler timeScheduler, Scheduler observeScheduler) {
+        return keystrokes.throttleWithTimeout(timeout, unit, timeScheduler)
+                .delay(delay, unit, timeScheduler)
+                .switchMap(s -> suggestions.scan((total, item) -> total + item))
+                .observeOn(observeScheduler);
+    }
+}
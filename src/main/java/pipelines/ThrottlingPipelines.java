@@ -0,0 +1,36 @@
+package pipelines;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link switchingThrottlingWindowingBuffering.Throttling} examples as pipeline factories.
+ */
+public final class ThrottlingPipelines {
+    private ThrottlingPipelines() {
+    }
+
+    /**
+     * Throttling.throttleLast(time, unit)
+     */
+    public static <T> Observable<T> throttleLast(Observable<T> source, long time, TimeUnit unit, Scheduler scheduler) {
+        return source.throttleLast(time, unit, scheduler);
+    }
+
+    /**
+     * Throttling.throttleFirst(time, unit)
+     */
+    public static <T> Observable<T> throttleFirst(Observable<T> source, long time, TimeUnit unit, Scheduler scheduler) {
+        return source.throttleFirst(time, unit, scheduler);
+    }
+
+    /**
+     * Throttling.throttleWithTimeout(time, unit)
+     */
+    public static <T> Observable<T> throttleWithTimeout(Observable<T> source, long time, TimeUnit unit,
+                                                        Scheduler scheduler) {
+        return source.throttleWithTimeout(time, unit, scheduler);
+    }
+}
@@ -0,0 +1,72 @@
+package pipelines;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Scheduler;
+import switchingThrottlingWindowingBuffering.WindowAggregator;
+import switchingThrottlingWindowingBuffering.WindowedAggregate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link switchingThrottlingWindowingBuffering.Windowing} examples as pipeline factories.
+ * Every window is reduced to one String the same way the lab class does it.
+ */
+public final class WindowingPipelines {
+    private WindowingPipelines() {
+    }
+
+    /**
+     * Windowing.windowWithCount(count)
+     */
+    public static <T> Observable<String> windowWithCount(Observable<T> source, int count) {
+        return joined(source.window(count));
+    }
+
+    /**
+     * Windowing.windowWithCountAndSkip(count, skip)
+     */
+    public static <T> Observable<String> windowWithCountAndSkip(Observable<T> source, int count, int skip) {
+        return joined(source.window(count, skip));
+    }
+
+    /**
+     * Windowing.windowWithTimespan(timespan, unit)
+     */
+    public static <T> Observable<String> windowWithTimespan(Observable<T> source, long timespan, TimeUnit unit,
+                                                            Scheduler scheduler) {
+        return joined(source.window(timespan, unit, scheduler));
+    }
+
+    /**
+     * Windowing.windowWithBoundary()
+     */
+    public static <T, B> Observable<String> windowWithBoundary(Observable<T> source, Observable<B> boundary) {
+        return joined(source.window(boundary));
+    }
+
+    /**
+     * Windowing.aggregateWithCount(count, skip): the same Strings as windowWithCountAndSkip(), fused.
+     */
+    public static <T> Observable<String> joinedWithCountAndSkip(Observable<T> source, int count, int skip) {
+        return WindowedAggregate.sliding(source, count, skip, WindowAggregator.joining("|"));
+    }
+
+    /**
+     * Windowing.aggregateWithCount(count, skip): the sum of every window.
+     */
+    public static Observable<Long> sumWithCountAndSkip(Observable<Integer> source, int count, int skip) {
+        return WindowedAggregate.sliding(source, count, skip, WindowAggregator.sumLong(Integer::longValue));
+    }
+
+    /**
+     * Windowing.aggregateWithTimespan(timespan, unit)
+     */
+    public static Observable<Double> averageWithTimespan(Observable<Integer> source, long timespan, TimeUnit unit,
+                                                         Scheduler scheduler) {
+        return WindowedAggregate.timed(source, timespan, unit, scheduler, WindowAggregator.average(Integer::doubleValue));
+    }
+
+    private static <T> Observable<String> joined(Observable<Observable<T>> windows) {
+        return windows.flatMapSingle(obs -> obs.reduce("", (total, next) -> total + (total.equals("") ? "" : "|") + next));
+    }
+}
@@ -0,0 +1,65 @@
+package primitiveStreams;
+
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.exceptions.Exceptions;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+
+/**
+ * Common part of the intermediate operators: keeps the upstream Disposable, passes the
+ * terminal events downstream once and turns a crashing function into onError().
+ *
+ * @param <D> the downstream observer type
+ */
+abstract class BasicStage<D extends PrimitiveObserver> implements PrimitiveObserver, Disposable {
+    final D downstream;
+    Disposable upstream;
+    boolean done;
+
+    BasicStage(D downstream) {
+        this.downstream = downstream;
+    }
+
+    @Override
+    public final void onSubscribe(Disposable d) {
+        upstream = d;
+        downstream.onSubscribe(this);
+    }
+
+    @Override
+    public void onError(Throwable e) {
+        if (done) {
+            RxJavaPlugins.onError(e);
+            return;
+        }
+        done = true;
+        downstream.onError(e);
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        downstream.onComplete();
+    }
+
+    /**
+     * Called when the function of the operator throws.
+     */
+    final void fail(Throwable e) {
+        Exceptions.throwIfFatal(e);
+        upstream.dispose();
+        onError(e);
+    }
+
+    @Override
+    public final void dispose() {
+        upstream.dispose();
+    }
+
+    @Override
+    public final boolean isDisposed() {
+        return upstream.isDisposed();
+    }
+}
@@ -0,0 +1,85 @@
+package primitiveStreams;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A growable int array, the List&lt;Integer&gt; of {@link PrimitiveCollectors#toIntMultimap}: 4
+ * bytes per value instead of a reference and an Integer, around 20 bytes. It grows by half its
+ * size like ArrayList does. Not thread-safe.
+ */
+public final class IntList {
+    private static final int[] EMPTY = new int[0];
+
+    private int[] values;
+    private int size;
+
+    public IntList() {
+        values = EMPTY;
+    }
+
+    public IntList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity >= 0 required but it was " + initialCapacity);
+        }
+        values = initialCapacity == 0 ? EMPTY : new int[initialCapacity];
+    }
+
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.max(4, size + (size >> 1)));
+        }
+        values[size++] = value;
+    }
+
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void forEach(IntConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            consumer.accept(values[i]);
+        }
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof IntList)) {
+            return false;
+        }
+        var that = (IntList) other;
+        return Arrays.equals(values, 0, size, that.values, 0, that.size);
+    }
+
+    @Override
+    public int hashCode() {
+        var hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + values[i];
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,219 @@
+package primitiveStreams;
+
+import java.util.Objects;
+
+/**
+ * A map from int keys to objects with open addressing: the keys and the values are two arrays
+ * and a key is looked up by linear probing from the slot of its hash. A HashMap&lt;Integer, V&gt;
+ * entry is a node of 32 bytes, an Integer of 16 bytes and a table slot, around 56 bytes. Here an
+ * entry is an int and a reference, 8 bytes per slot, about 11 bytes with the table at most three
+ * quarters full.
+ * <p>
+ * It is the target of {@link PrimitiveCollectors}: keys are added and replaced, never removed, so
+ * the probing needs no tombstone. 0 marks a free slot, the value of the key 0 is kept aside.
+ * Not thread-safe. Null values are not allowed, get() returns null for a missing key.
+ *
+ * @param <V> the type of the values
+ */
+public final class IntObjectMap<V> {
+    private static final int DEFAULT_EXPECTED_SIZE = 16;
+
+    private int[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    private V zeroValue;
+
+    public IntObjectMap() {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * @param expectedSize the number of keys the map holds without resizing
+     */
+    public IntObjectMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize >= 0 required but it was " + expectedSize);
+        }
+        allocate(tableSize(expectedSize));
+    }
+
+    // a power of 2 at least 4/3 of expectedSize
+    static int tableSize(int expectedSize) {
+        var slots = Math.max(4L, expectedSize + expectedSize / 3L + 1);
+        if (slots > 1 << 30) {
+            throw new IllegalArgumentException("expectedSize too large: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) slots - 1) << 1;
+    }
+
+    // the Fibonacci hash spreads consecutive keys over the table
+    static int slot(int key, int mask) {
+        var h = key * 0x9E3779B9;
+        return (h ^ h >>> 16) & mask;
+    }
+
+    private void allocate(int tableSize) {
+        keys = new int[tableSize];
+        values = new Object[tableSize];
+        mask = tableSize - 1;
+        resizeAt = tableSize - (tableSize >> 2);
+    }
+
+    /**
+     * @return the previous value of the key, null if there was none
+     */
+    public V put(int key, V value) {
+        Objects.requireNonNull(value, "value is null");
+        if (key == 0) {
+            var previous = zeroValue;
+            zeroValue = value;
+            if (previous == null) {
+                size++;
+            }
+            return previous;
+        }
+        var index = slot(key, mask);
+        for (;;) {
+            var current = keys[index];
+            if (current == 0) {
+                keys[index] = key;
+                values[index] = value;
+                if (++size > resizeAt) {
+                    resize();
+                }
+                return null;
+            }
+            if (current == key) {
+                @SuppressWarnings("unchecked")
+                var previous = (V) values[index];
+                values[index] = value;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    public V get(int key) {
+        if (key == 0) {
+            return zeroValue;
+        }
+        var index = slot(key, mask);
+        for (;;) {
+            var current = keys[index];
+            if (current == key) {
+                @SuppressWarnings("unchecked")
+                var value = (V) values[index];
+                return value;
+            }
+            if (current == 0) {
+                return null;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the keys, in no particular order
+     */
+    public int[] keys() {
+        var result = new int[size];
+        var n = 0;
+        if (zeroValue != null) {
+            result[n++] = 0;
+        }
+        for (var key : keys) {
+            if (key != 0) {
+                result[n++] = key;
+            }
+        }
+        return result;
+    }
+
+    public void forEach(EntryConsumer<? super V> consumer) {
+        Objects.requireNonNull(consumer, "consumer is null");
+        if (zeroValue != null) {
+            consumer.accept(0, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                @SuppressWarnings("unchecked")
+                var value = (V) values[i];
+                consumer.accept(keys[i], value);
+            }
+        }
+    }
+
+    private void resize() {
+        var oldKeys = keys;
+        var oldValues = values;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            var key = oldKeys[i];
+            if (key != 0) {
+                var index = slot(key, mask);
+                while (keys[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    // for the tests: the slots of the table
+    int capacity() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof IntObjectMap) || ((IntObjectMap<?>) other).size != size) {
+            return false;
+        }
+        var that = (IntObjectMap<?>) other;
+        var equal = new boolean[]{true};
+        forEach((key, value) -> equal[0] &= value.equals(that.get(key)));
+        return equal[0];
+    }
+
+    @Override
+    public int hashCode() {
+        var hash = new int[1];
+        forEach((key, value) -> hash[0] += key ^ value.hashCode());
+        return hash[0];
+    }
+
+    @Override
+    public String toString() {
+        var builder = new StringBuilder("{");
+        forEach((key, value) -> {
+            if (builder.length() > 1) {
+                builder.append(", ");
+            }
+            builder.append(key).append('=').append(value);
+        });
+        return builder.append('}').toString();
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(int key, V value);
+    }
+}
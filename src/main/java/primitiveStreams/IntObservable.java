@@ -0,0 +1,438 @@
+package primitiveStreams;
+
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.Disposable;
+
+import java.util.Objects;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A synchronous Observable of int values. Every Observable&lt;Integer&gt; operator boxes the value
+ * it pushes (Integer.valueOf() only caches -128..127), an IntObservable pushes the int itself,
+ * so a chain of map(), filter() and scan() allocates nothing per element.
+ * <p>
+ * It interoperates with RxJava at the edges: {@link #from(Observable)} unboxes an existing
+ * Observable, {@link #boxed()} goes back, and the reducing operators return a Single or a Maybe,
+ * which box only the final result.
+ * <p>
+ * Like Riddle2 and Riddle3:
+ * <pre>
+ *     IntObservable.range(0, 10)
+ *             .map(item -> item + 1)
+ *             .filter(item -> item % 2 == 0)
+ *             .sum();
+ * </pre>
+ */
+public abstract class IntObservable {
+
+    /**
+     * Subscribes the observer. Implementations must call onSubscribe() first.
+     */
+    public abstract void subscribe(IntObserver observer);
+
+    /*
+               Sources
+     */
+
+    /**
+     * Emits count consecutive ints starting at start, like Observable.range().
+     */
+    public static IntObservable range(int start, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        if ((long) start + count - 1 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Integer overflow");
+        }
+        return new IntObservable() {
+            @Override
+            public void subscribe(IntObserver observer) {
+                var d = Disposable.empty();
+                observer.onSubscribe(d);
+                var end = start + count;
+                for (int i = start; i != end; i++) {
+                    if (d.isDisposed()) {
+                        return;
+                    }
+                    observer.onNext(i);
+                }
+                if (!d.isDisposed()) {
+                    observer.onComplete();
+                }
+            }
+        };
+    }
+
+    /**
+     * Emits the values of the array. The array is not copied.
+     */
+    public static IntObservable fromArray(int... values) {
+        Objects.requireNonNull(values, "values is null");
+        return new IntObservable() {
+            @Override
+            public void subscribe(IntObserver observer) {
+                var d = Disposable.empty();
+                observer.onSubscribe(d);
+                for (int value : values) {
+                    if (d.isDisposed()) {
+                        return;
+                    }
+                    observer.onNext(value);
+                }
+                if (!d.isDisposed()) {
+                    observer.onComplete();
+                }
+            }
+        };
+    }
+
+    /**
+     * Unboxes the items of an Observable&lt;Integer&gt;. The source has already paid for the boxing,
+     * everything downstream of this point is primitive.
+     */
+    public static IntObservable from(Observable<Integer> source) {
+        Objects.requireNonNull(source, "source is null");
+        return new IntObservable() {
+            @Override
+            public void subscribe(IntObserver observer) {
+                source.subscribe(new Observer<Integer>() {
+                    @Override
+                    public void onSubscribe(Disposable d) {
+                        observer.onSubscribe(d);
+                    }
+
+                    @Override
+                    public void onNext(Integer item) {
+                        observer.onNext(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable e) {
+                        observer.onError(e);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        observer.onComplete();
+                    }
+                });
+            }
+        };
+    }
+
+    /*
+               Intermediate operators
+     */
+
+    public final IntObservable map(IntUnaryOperator mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        var source = this;
+        return new IntObservable() {
+            @Override
+            public void subscribe(IntObserver observer) {
+                source.subscribe(new MapStage(observer, mapper));
+            }
+        };
+    }
+
+    public final IntObservable filter(IntPredicate predicate) {
+        Objects.requireNonNull(predicate, "predicate is null");
+        var source = this;
+        return new IntObservable() {
+            @Override
+            public void subscribe(IntObserver observer) {
+                source.subscribe(new FilterStage(observer, predicate));
+            }
+        };
+    }
+
+    /**
+     * Emits the rolling accumulation, the first value is emitted as is. Same as Observable.scan(accumulator).
+     */
+    public final IntObservable scan(IntBinaryOperator accumulator) {
+        Objects.requireNonNull(accumulator, "accumulator is null");
+        var source = this;
+        return new IntObservable() {
+            @Override
+            public void subscribe(IntObserver observer) {
+                source.subscribe(new ScanStage(observer, accumulator));
+            }
+        };
+    }
+
+    public final LongObservable mapToLong(IntToLongFunction mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        var source = this;
+        return new LongObservable() {
+            @Override
+            public void subscribe(LongObserver observer) {
+                source.subscribe(new MapToLongStage(observer, mapper));
+            }
+        };
+    }
+
+    /**
+     * Widens every value, useful before sum() when the int sum may overflow.
+     */
+    public final LongObservable asLongObservable() {
+        return mapToLong(value -> value);
+    }
+
+    /*
+               Reducing operators, the result is boxed once
+     */
+
+    /**
+     * Same as Observable.reduce(seed, reducer).
+     */
+    public final Single<Integer> reduce(int seed, IntBinaryOperator reducer) {
+        Objects.requireNonNull(reducer, "reducer is null");
+        return Single.create(emitter -> subscribe(new IntObserver() {
+            private int accumulator = seed;
+            private boolean done;
+
+            @Override
+            public void onSubscribe(Disposable d) {
+                emitter.setDisposable(d);
+            }
+
+            @Override
+            public void onNext(int value) {
+                if (done) {
+                    return;
+                }
+                try {
+                    accumulator = reducer.applyAsInt(accumulator, value);
+                } catch (Throwable e) {
+                    done = true;
+                    emitter.tryOnError(e);
+                }
+            }
+
+            @Override
+            public void onError(Throwable e) {
+                emitter.tryOnError(e);
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    emitter.onSuccess(accumulator);
+                }
+            }
+        }));
+    }
+
+    /**
+     * Same as Observable.reduce(reducer), empty if the source is empty.
+     */
+    public final Maybe<Integer> reduce(IntBinaryOperator reducer) {
+        Objects.requireNonNull(reducer, "reducer is null");
+        return Maybe.create(emitter -> subscribe(new IntObserver() {
+            private int accumulator;
+            private boolean hasValue;
+            private boolean done;
+
+            @Override
+            public void onSubscribe(Disposable d) {
+                emitter.setDisposable(d);
+            }
+
+            @Override
+            public void onNext(int value) {
+                if (done) {
+                    return;
+                }
+                if (!hasValue) {
+                    hasValue = true;
+                    accumulator = value;
+                    return;
+                }
+                try {
+                    accumulator = reducer.applyAsInt(accumulator, value);
+                } catch (Throwable e) {
+                    done = true;
+                    emitter.tryOnError(e);
+                }
+            }
+
+            @Override
+            public void onError(Throwable e) {
+                emitter.tryOnError(e);
+            }
+
+            @Override
+            public void onComplete() {
+                if (done) {
+                    return;
+                }
+                if (hasValue) {
+                    emitter.onSuccess(accumulator);
+                } else {
+                    emitter.onComplete();
+                }
+            }
+        }));
+    }
+
+    /**
+     * Sum of the values, overflows like int arithmetic does. Use asLongObservable().sum() for a long sum.
+     */
+    public final Single<Integer> sum() {
+        return reduce(0, Integer::sum);
+    }
+
+    /**
+     * Same as Observable.count().
+     */
+    public final Single<Long> count() {
+        return asLongObservable().count();
+    }
+
+    /**
+     * Goes back to RxJava, every value is boxed from this point on.
+     */
+    public final Observable<Integer> boxed() {
+        var source = this;
+        return new Observable<Integer>() {
+            @Override
+            protected void subscribeActual(Observer<? super Integer> observer) {
+                source.subscribe(new IntObserver() {
+                    @Override
+                    public void onSubscribe(Disposable d) {
+                        observer.onSubscribe(d);
+                    }
+
+                    @Override
+                    public void onNext(int value) {
+                        observer.onNext(value);
+                    }
+
+                    @Override
+                    public void onError(Throwable e) {
+                        observer.onError(e);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        observer.onComplete();
+                    }
+                });
+            }
+        };
+    }
+
+    /*
+               Operator stages
+     */
+
+    static final class MapStage extends BasicStage<IntObserver> implements IntObserver {
+        private final IntUnaryOperator mapper;
+
+        MapStage(IntObserver downstream, IntUnaryOperator mapper) {
+            super(downstream);
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onNext(int value) {
+            if (done) {
+                return;
+            }
+            int result;
+            try {
+                result = mapper.applyAsInt(value);
+            } catch (Throwable e) {
+                fail(e);
+                return;
+            }
+            downstream.onNext(result);
+        }
+    }
+
+    static final class FilterStage extends BasicStage<IntObserver> implements IntObserver {
+        private final IntPredicate predicate;
+
+        FilterStage(IntObserver downstream, IntPredicate predicate) {
+            super(downstream);
+            this.predicate = predicate;
+        }
+
+        @Override
+        public void onNext(int value) {
+            if (done) {
+                return;
+            }
+            boolean passes;
+            try {
+                passes = predicate.test(value);
+            } catch (Throwable e) {
+                fail(e);
+                return;
+            }
+            if (passes) {
+                downstream.onNext(value);
+            }
+        }
+    }
+
+    static final class ScanStage extends BasicStage<IntObserver> implements IntObserver {
+        private final IntBinaryOperator accumulator;
+        private int value;
+        private boolean hasValue;
+
+        ScanStage(IntObserver downstream, IntBinaryOperator accumulator) {
+            super(downstream);
+            this.accumulator = accumulator;
+        }
+
+        @Override
+        public void onNext(int next) {
+            if (done) {
+                return;
+            }
+            if (hasValue) {
+                try {
+                    value = accumulator.applyAsInt(value, next);
+                } catch (Throwable e) {
+                    fail(e);
+                    return;
+                }
+            } else {
+                hasValue = true;
+                value = next;
+            }
+            downstream.onNext(value);
+        }
+    }
+
+    static final class MapToLongStage extends BasicStage<LongObserver> implements IntObserver {
+        private final IntToLongFunction mapper;
+
+        MapToLongStage(LongObserver downstream, IntToLongFunction mapper) {
+            super(downstream);
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onNext(int value) {
+            if (done) {
+                return;
+            }
+            long result;
+            try {
+                result = mapper.applyAsLong(value);
+            } catch (Throwable e) {
+                fail(e);
+                return;
+            }
+            downstream.onNext(result);
+        }
+    }
+}
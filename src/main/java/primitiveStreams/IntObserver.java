@@ -0,0 +1,8 @@
+package primitiveStreams;
+
+/**
+ * Receives int values from an {@link IntObservable} without boxing them.
+ */
+public interface IntObserver extends PrimitiveObserver {
+    void onNext(int value);
+}
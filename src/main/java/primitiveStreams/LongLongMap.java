@@ -0,0 +1,205 @@
+package primitiveStreams;
+
+import java.util.Objects;
+
+/**
+ * A map from long keys to long values with open addressing, like {@link IntObjectMap}: two long
+ * arrays and linear probing. A HashMap&lt;Long, Long&gt; entry is a node of 32 bytes, two Longs of
+ * 16 bytes each and a table slot, around 70 bytes. Here an entry is 16 bytes per slot, about 21
+ * bytes with the table at most three quarters full.
+ * <p>
+ * Keys are added and replaced, never removed. 0 marks a free slot, the value of the key 0 is kept
+ * aside. Not thread-safe.
+ */
+public final class LongLongMap {
+    private static final int DEFAULT_EXPECTED_SIZE = 16;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    private boolean hasZeroKey;
+    private long zeroValue;
+
+    public LongLongMap() {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * @param expectedSize the number of keys the map holds without resizing
+     */
+    public LongLongMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize >= 0 required but it was " + expectedSize);
+        }
+        allocate(IntObjectMap.tableSize(expectedSize));
+    }
+
+    private static int slot(long key, int mask) {
+        var h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ h >>> 32) & mask;
+    }
+
+    private void allocate(int tableSize) {
+        keys = new long[tableSize];
+        values = new long[tableSize];
+        mask = tableSize - 1;
+        resizeAt = tableSize - (tableSize >> 2);
+    }
+
+    public void put(long key, long value) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        var index = slot(key, mask);
+        for (;;) {
+            var current = keys[index];
+            if (current == 0) {
+                keys[index] = key;
+                values[index] = value;
+                if (++size > resizeAt) {
+                    resize();
+                }
+                return;
+            }
+            if (current == key) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Adds delta to the value of the key, a missing key starts at 0: a counter per key.
+     *
+     * @return the new value
+     */
+    public long addTo(long key, long delta) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            return zeroValue += delta;
+        }
+        var index = slot(key, mask);
+        for (;;) {
+            var current = keys[index];
+            if (current == 0) {
+                keys[index] = key;
+                values[index] = delta;
+                if (++size > resizeAt) {
+                    resize();
+                }
+                return delta;
+            }
+            if (current == key) {
+                return values[index] += delta;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * @return the value of the key, defaultValue if the key is missing
+     */
+    public long get(long key, long defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        var index = slot(key, mask);
+        for (;;) {
+            var current = keys[index];
+            if (current == key) {
+                return values[index];
+            }
+            if (current == 0) {
+                return defaultValue;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    public boolean containsKey(long key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        var index = slot(key, mask);
+        for (;;) {
+            var current = keys[index];
+            if (current == key) {
+                return true;
+            }
+            if (current == 0) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void forEach(EntryConsumer consumer) {
+        Objects.requireNonNull(consumer, "consumer is null");
+        if (hasZeroKey) {
+            consumer.accept(0, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    private void resize() {
+        var oldKeys = keys;
+        var oldValues = values;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            var key = oldKeys[i];
+            if (key != 0) {
+                var index = slot(key, mask);
+                while (keys[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    // for the tests: the slots of the table
+    int capacity() {
+        return keys.length;
+    }
+
+    @Override
+    public String toString() {
+        var builder = new StringBuilder("{");
+        forEach((key, value) -> {
+            if (builder.length() > 1) {
+                builder.append(", ");
+            }
+            builder.append(key).append('=').append(value);
+        });
+        return builder.append('}').toString();
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, long value);
+    }
+}
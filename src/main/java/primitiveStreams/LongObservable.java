@@ -0,0 +1,378 @@
+package primitiveStreams;
+
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.Disposable;
+
+import java.util.Objects;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * The long lane of {@link IntObservable}: a synchronous Observable of long values that
+ * allocates nothing per element. Counts, sums and the ticks of Observable.interval() are longs.
+ */
+public abstract class LongObservable {
+
+    /**
+     * Subscribes the observer. Implementations must call onSubscribe() first.
+     */
+    public abstract void subscribe(LongObserver observer);
+
+    /*
+               Sources
+     */
+
+    /**
+     * Emits count consecutive longs starting at start, like Observable.rangeLong().
+     */
+    public static LongObservable range(long start, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        if (count > 0 && start > Long.MAX_VALUE - (count - 1)) {
+            throw new IllegalArgumentException("Overflow! start + count is bigger than Long.MAX_VALUE");
+        }
+        return new LongObservable() {
+            @Override
+            public void subscribe(LongObserver observer) {
+                var d = Disposable.empty();
+                observer.onSubscribe(d);
+                var end = start + count;
+                for (long i = start; i != end; i++) {
+                    if (d.isDisposed()) {
+                        return;
+                    }
+                    observer.onNext(i);
+                }
+                if (!d.isDisposed()) {
+                    observer.onComplete();
+                }
+            }
+        };
+    }
+
+    /**
+     * Emits the values of the array. The array is not copied.
+     */
+    public static LongObservable fromArray(long... values) {
+        Objects.requireNonNull(values, "values is null");
+        return new LongObservable() {
+            @Override
+            public void subscribe(LongObserver observer) {
+                var d = Disposable.empty();
+                observer.onSubscribe(d);
+                for (long value : values) {
+                    if (d.isDisposed()) {
+                        return;
+                    }
+                    observer.onNext(value);
+                }
+                if (!d.isDisposed()) {
+                    observer.onComplete();
+                }
+            }
+        };
+    }
+
+    /**
+     * Unboxes the items of an Observable&lt;Long&gt;, for instance the ticks of Observable.interval().
+     */
+    public static LongObservable from(Observable<Long> source) {
+        Objects.requireNonNull(source, "source is null");
+        return new LongObservable() {
+            @Override
+            public void subscribe(LongObserver observer) {
+                source.subscribe(new Observer<Long>() {
+                    @Override
+                    public void onSubscribe(Disposable d) {
+                        observer.onSubscribe(d);
+                    }
+
+                    @Override
+                    public void onNext(Long item) {
+                        observer.onNext(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable e) {
+                        observer.onError(e);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        observer.onComplete();
+                    }
+                });
+            }
+        };
+    }
+
+    /*
+               Intermediate operators
+     */
+
+    public final LongObservable map(LongUnaryOperator mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        var source = this;
+        return new LongObservable() {
+            @Override
+            public void subscribe(LongObserver observer) {
+                source.subscribe(new MapStage(observer, mapper));
+            }
+        };
+    }
+
+    public final LongObservable filter(LongPredicate predicate) {
+        Objects.requireNonNull(predicate, "predicate is null");
+        var source = this;
+        return new LongObservable() {
+            @Override
+            public void subscribe(LongObserver observer) {
+                source.subscribe(new FilterStage(observer, predicate));
+            }
+        };
+    }
+
+    /**
+     * Emits the rolling accumulation, the first value is emitted as is. Same as Observable.scan(accumulator).
+     */
+    public final LongObservable scan(LongBinaryOperator accumulator) {
+        Objects.requireNonNull(accumulator, "accumulator is null");
+        var source = this;
+        return new LongObservable() {
+            @Override
+            public void subscribe(LongObserver observer) {
+                source.subscribe(new ScanStage(observer, accumulator));
+            }
+        };
+    }
+
+    /*
+               Reducing operators, the result is boxed once
+     */
+
+    /**
+     * Same as Observable.reduce(seed, reducer).
+     */
+    public final Single<Long> reduce(long seed, LongBinaryOperator reducer) {
+        Objects.requireNonNull(reducer, "reducer is null");
+        return Single.create(emitter -> subscribe(new LongObserver() {
+            private long accumulator = seed;
+            private boolean done;
+
+            @Override
+            public void onSubscribe(Disposable d) {
+                emitter.setDisposable(d);
+            }
+
+            @Override
+            public void onNext(long value) {
+                if (done) {
+                    return;
+                }
+                try {
+                    accumulator = reducer.applyAsLong(accumulator, value);
+                } catch (Throwable e) {
+                    done = true;
+                    emitter.tryOnError(e);
+                }
+            }
+
+            @Override
+            public void onError(Throwable e) {
+                emitter.tryOnError(e);
+            }
+
+            @Override
+            public void onComplete() {
+                if (!done) {
+                    emitter.onSuccess(accumulator);
+                }
+            }
+        }));
+    }
+
+    /**
+     * Same as Observable.reduce(reducer), empty if the source is empty.
+     */
+    public final Maybe<Long> reduce(LongBinaryOperator reducer) {
+        Objects.requireNonNull(reducer, "reducer is null");
+        return Maybe.create(emitter -> subscribe(new LongObserver() {
+            private long accumulator;
+            private boolean hasValue;
+            private boolean done;
+
+            @Override
+            public void onSubscribe(Disposable d) {
+                emitter.setDisposable(d);
+            }
+
+            @Override
+            public void onNext(long value) {
+                if (done) {
+                    return;
+                }
+                if (!hasValue) {
+                    hasValue = true;
+                    accumulator = value;
+                    return;
+                }
+                try {
+                    accumulator = reducer.applyAsLong(accumulator, value);
+                } catch (Throwable e) {
+                    done = true;
+                    emitter.tryOnError(e);
+                }
+            }
+
+            @Override
+            public void onError(Throwable e) {
+                emitter.tryOnError(e);
+            }
+
+            @Override
+            public void onComplete() {
+                if (done) {
+                    return;
+                }
+                if (hasValue) {
+                    emitter.onSuccess(accumulator);
+                } else {
+                    emitter.onComplete();
+                }
+            }
+        }));
+    }
+
+    public final Single<Long> sum() {
+        return reduce(0L, Long::sum);
+    }
+
+    /**
+     * Same as Observable.count().
+     */
+    public final Single<Long> count() {
+        return reduce(0L, (count, value) -> count + 1);
+    }
+
+    /**
+     * Goes back to RxJava, every value is boxed from this point on.
+     */
+    public final Observable<Long> boxed() {
+        var source = this;
+        return new Observable<Long>() {
+            @Override
+            protected void subscribeActual(Observer<? super Long> observer) {
+                source.subscribe(new LongObserver() {
+                    @Override
+                    public void onSubscribe(Disposable d) {
+                        observer.onSubscribe(d);
+                    }
+
+                    @Override
+                    public void onNext(long value) {
+                        observer.onNext(value);
+                    }
+
+                    @Override
+                    public void onError(Throwable e) {
+                        observer.onError(e);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        observer.onComplete();
+                    }
+                });
+            }
+        };
+    }
+
+    /*
+               Operator stages
+     */
+
+    static final class MapStage extends BasicStage<LongObserver> implements LongObserver {
+        private final LongUnaryOperator mapper;
+
+        MapStage(LongObserver downstream, LongUnaryOperator mapper) {
+            super(downstream);
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onNext(long value) {
+            if (done) {
+                return;
+            }
+            long result;
+            try {
+                result = mapper.applyAsLong(value);
+            } catch (Throwable e) {
+                fail(e);
+                return;
+            }
+            downstream.onNext(result);
+        }
+    }
+
+    static final class FilterStage extends BasicStage<LongObserver> implements LongObserver {
+        private final LongPredicate predicate;
+
+        FilterStage(LongObserver downstream, LongPredicate predicate) {
+            super(downstream);
+            this.predicate = predicate;
+        }
+
+        @Override
+        public void onNext(long value) {
+            if (done) {
+                return;
+            }
+            boolean passes;
+            try {
+                passes = predicate.test(value);
+            } catch (Throwable e) {
+                fail(e);
+                return;
+            }
+            if (passes) {
+                downstream.onNext(value);
+            }
+        }
+    }
+
+    static final class ScanStage extends BasicStage<LongObserver> implements LongObserver {
+        private final LongBinaryOperator accumulator;
+        private long value;
+        private boolean hasValue;
+
+        ScanStage(LongObserver downstream, LongBinaryOperator accumulator) {
+            super(downstream);
+            this.accumulator = accumulator;
+        }
+
+        @Override
+        public void onNext(long next) {
+            if (done) {
+                return;
+            }
+            if (hasValue) {
+                try {
+                    value = accumulator.applyAsLong(value, next);
+                } catch (Throwable e) {
+                    fail(e);
+                    return;
+                }
+            } else {
+                hasValue = true;
+                value = next;
+            }
+            downstream.onNext(value);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package primitiveStreams;
+
+/**
+ * Receives long values from a {@link LongObservable} without boxing them.
+ */
+public interface LongObserver extends PrimitiveObserver {
+    void onNext(long value);
+}
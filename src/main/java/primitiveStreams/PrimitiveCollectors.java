@@ -0,0 +1,109 @@
+package primitiveStreams;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * toMap() and toMultimap() of CollectionOperators into maps with primitive keys. The RxJava
+ * operators build a HashMap with boxed keys: a node, a boxed key and often a boxed value per
+ * entry. With a key that is an int or a long (a length, a char, an id), {@link IntObjectMap},
+ * {@link LongLongMap} and {@link IntList} keep the keys and the values in arrays, a fraction of
+ * the memory for the multi-million entry lookups built from a stream.
+ * <p>
+ * Every collector takes the expected number of keys: the map is allocated at its final size and
+ * never resized while the stream is collected. They are all collect() underneath, so the usual
+ * rules apply: the map is emitted once the source completes and a crashing function ends the
+ * stream with onError().
+ */
+public final class PrimitiveCollectors {
+    private static final int DEFAULT_EXPECTED_SIZE = 16;
+
+    private PrimitiveCollectors() {
+    }
+
+    /**
+     * Same as Observable.toMap(keySelector), the last item of a key wins.
+     */
+    public static <T> Single<IntObjectMap<T>> toIntMap(Observable<T> source, ToIntFunction<? super T> keySelector) {
+        return toIntMap(source, keySelector, item -> item, DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Same as Observable.toMap(keySelector, valueSelector), the last item of a key wins.
+     *
+     * @param expectedKeys the number of keys the map holds without resizing
+     */
+    public static <T, V> Single<IntObjectMap<V>> toIntMap(Observable<T> source, ToIntFunction<? super T> keySelector,
+                                                          Function<? super T, ? extends V> valueSelector, int expectedKeys) {
+        Objects.requireNonNull(source, "source is null");
+        Objects.requireNonNull(keySelector, "keySelector is null");
+        Objects.requireNonNull(valueSelector, "valueSelector is null");
+        checkExpectedKeys(expectedKeys);
+        return source.collect(() -> new IntObjectMap<V>(expectedKeys),
+                (map, item) -> map.put(keySelector.applyAsInt(item), valueSelector.apply(item)));
+    }
+
+    /**
+     * Same as Observable.toMap(keySelector, valueSelector) with long keys and values, the last
+     * item of a key wins.
+     *
+     * @param expectedKeys the number of keys the map holds without resizing
+     */
+    public static <T> Single<LongLongMap> toLongLongMap(Observable<T> source, ToLongFunction<? super T> keySelector,
+                                                        ToLongFunction<? super T> valueSelector, int expectedKeys) {
+        Objects.requireNonNull(source, "source is null");
+        Objects.requireNonNull(keySelector, "keySelector is null");
+        Objects.requireNonNull(valueSelector, "valueSelector is null");
+        checkExpectedKeys(expectedKeys);
+        return source.collect(() -> new LongLongMap(expectedKeys),
+                (map, item) -> map.put(keySelector.applyAsLong(item), valueSelector.applyAsLong(item)));
+    }
+
+    /**
+     * Counts the items of every key, groupBy(keySelector).count() in a single map.
+     *
+     * @param expectedKeys the number of keys the map holds without resizing
+     */
+    public static <T> Single<LongLongMap> countByKey(Observable<T> source, ToLongFunction<? super T> keySelector,
+                                                     int expectedKeys) {
+        Objects.requireNonNull(source, "source is null");
+        Objects.requireNonNull(keySelector, "keySelector is null");
+        checkExpectedKeys(expectedKeys);
+        return source.collect(() -> new LongLongMap(expectedKeys),
+                (map, item) -> map.addTo(keySelector.applyAsLong(item), 1));
+    }
+
+    /**
+     * Same as Observable.toMultimap(keySelector, valueSelector) with int keys and values, the
+     * values of a key are in the order of the source.
+     *
+     * @param expectedKeys the number of keys the map holds without resizing
+     */
+    public static <T> Single<IntObjectMap<IntList>> toIntMultimap(Observable<T> source, ToIntFunction<? super T> keySelector,
+                                                                  ToIntFunction<? super T> valueSelector, int expectedKeys) {
+        Objects.requireNonNull(source, "source is null");
+        Objects.requireNonNull(keySelector, "keySelector is null");
+        Objects.requireNonNull(valueSelector, "valueSelector is null");
+        checkExpectedKeys(expectedKeys);
+        return source.collect(() -> new IntObjectMap<IntList>(expectedKeys), (map, item) -> {
+            var key = keySelector.applyAsInt(item);
+            var values = map.get(key);
+            if (values == null) {
+                values = new IntList();
+                map.put(key, values);
+            }
+            values.add(valueSelector.applyAsInt(item));
+        });
+    }
+
+    private static void checkExpectedKeys(int expectedKeys) {
+        if (expectedKeys < 0) {
+            throw new IllegalArgumentException("expectedKeys >= 0 required but it was " + expectedKeys);
+        }
+    }
+}
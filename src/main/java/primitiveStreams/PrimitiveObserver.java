@@ -0,0 +1,17 @@
+package primitiveStreams;
+
+import io.reactivex.rxjava3.disposables.Disposable;
+
+/**
+ * The part of an Observer that does not depend on the value type.
+ * {@link IntObserver} and {@link LongObserver} add the primitive onNext().
+ * The protocol is the same as the Observer one: onSubscribe() first, then any number
+ * of onNext() and at most one of onError() or onComplete().
+ */
+public interface PrimitiveObserver {
+    void onSubscribe(Disposable d);
+
+    void onError(Throwable e);
+
+    void onComplete();
+}
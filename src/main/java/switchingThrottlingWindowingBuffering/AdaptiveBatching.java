@@ -0,0 +1,55 @@
+package switchingThrottlingWindowingBuffering;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The target of an {@link AdaptiveBuffer}: no item waits longer than maxLatency in a batch, and
+ * the batch size moves between minBatchSize and maxBatchSize to meet it.
+ */
+public final class AdaptiveBatching {
+    private final long maxLatencyMillis;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+
+    private AdaptiveBatching(long maxLatencyMillis, int minBatchSize, int maxBatchSize) {
+        this.maxLatencyMillis = maxLatencyMillis;
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Batches of 1 to 1024 items.
+     */
+    public static AdaptiveBatching maxLatency(long maxLatency, TimeUnit unit) {
+        if (maxLatency <= 0) {
+            throw new IllegalArgumentException("maxLatency > 0 required but it was " + maxLatency);
+        }
+        return new AdaptiveBatching(unit.toMillis(maxLatency), 1, 1024);
+    }
+
+    public AdaptiveBatching withMinBatchSize(int minBatchSize) {
+        if (minBatchSize <= 0 || minBatchSize > maxBatchSize) {
+            throw new IllegalArgumentException("0 < minBatchSize <= " + maxBatchSize + " required but it was " + minBatchSize);
+        }
+        return new AdaptiveBatching(maxLatencyMillis, minBatchSize, maxBatchSize);
+    }
+
+    public AdaptiveBatching withMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize < minBatchSize) {
+            throw new IllegalArgumentException("maxBatchSize >= " + minBatchSize + " required but it was " + maxBatchSize);
+        }
+        return new AdaptiveBatching(maxLatencyMillis, minBatchSize, maxBatchSize);
+    }
+
+    public long maxLatencyMillis() {
+        return maxLatencyMillis;
+    }
+
+    public int minBatchSize() {
+        return minBatchSize;
+    }
+
+    public int maxBatchSize() {
+        return maxBatchSize;
+    }
+}
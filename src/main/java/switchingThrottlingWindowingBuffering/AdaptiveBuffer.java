@@ -0,0 +1,224 @@
+package switchingThrottlingWindowingBuffering;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * buffer(timespan, unit, count) with a count that follows the load. A batch is emitted when it
+ * reaches the current batch size, or when its first item has waited maxLatency, whichever comes
+ * first. The timer starts with the first item of a batch, so an idle source emits nothing:
+ * there are no empty batches.
+ * <p>
+ * The batch size adapts after every batch:
+ * <ul>
+ *     <li>a batch filled in less than half of maxLatency doubles it (up to maxBatchSize): the
+ *     source is fast, bigger batches mean fewer round trips for a bulk-insert sink.</li>
+ *     <li>a batch cut by the timer halves it, down to the size the batch reached (but not below
+ *     minBatchSize): the source is slow, smaller batches are emitted before the deadline.</li>
+ * </ul>
+ * The metrics describe the batches of all the subscriptions: currentBatchSize() is the size the
+ * next batch aims for and the latencies are the waits of the first item of the batches.
+ *
+ * @param <T> the type of the items
+ */
+public final class AdaptiveBuffer<T> extends Observable<List<T>> {
+    private final Observable<T> source;
+    private final AdaptiveBatching batching;
+    private final Scheduler scheduler;
+
+    private volatile int currentBatchSize;
+    private volatile long lastLatencyMillis;
+    private volatile long maxLatencyMillis;
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder items = new LongAdder();
+    private final LongAdder cutByTimer = new LongAdder();
+
+    private AdaptiveBuffer(Observable<T> source, AdaptiveBatching batching, Scheduler scheduler) {
+        this.source = source;
+        this.batching = batching;
+        this.scheduler = scheduler;
+        currentBatchSize = batching.minBatchSize();
+    }
+
+    /**
+     * @param scheduler runs the maxLatency timers
+     */
+    public static <T> AdaptiveBuffer<T> buffer(Observable<T> source, AdaptiveBatching batching, Scheduler scheduler) {
+        Objects.requireNonNull(source, "source is null");
+        Objects.requireNonNull(batching, "batching is null");
+        Objects.requireNonNull(scheduler, "scheduler is null");
+        return new AdaptiveBuffer<>(source, batching, scheduler);
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super List<T>> observer) {
+        source.subscribe(new AdaptiveBufferObserver(observer));
+    }
+
+    /**
+     * @return the size the next batch is emitted at, unless the timer cuts it first
+     */
+    public int currentBatchSize() {
+        return currentBatchSize;
+    }
+
+    /**
+     * @return how long the first item of the last batch waited
+     */
+    public long lastLatencyMillis() {
+        return lastLatencyMillis;
+    }
+
+    /**
+     * @return the longest wait of the first item of a batch
+     */
+    public long maxLatencyMillis() {
+        return maxLatencyMillis;
+    }
+
+    public long batches() {
+        return batches.sum();
+    }
+
+    /**
+     * @return the number of batches emitted by the maxLatency timer instead of their size
+     */
+    public long cutByTimer() {
+        return cutByTimer.sum();
+    }
+
+    public double averageBatchSize() {
+        var count = batches.sum();
+        return count == 0 ? 0 : (double) items.sum() / count;
+    }
+
+    /**
+     * The source thread adds the items, the timer thread cuts the late batches: both hold the
+     * lock, and emit while holding it so the batches stay in order.
+     */
+    private final class AdaptiveBufferObserver implements Observer<T>, Disposable {
+        private final Observer<? super List<T>> downstream;
+        private Disposable upstream;
+        // guarded by this
+        private List<T> batch;
+        private long batchStart;
+        // tells a late timer that its batch is gone
+        private long batchNumber;
+        private int batchSize = currentBatchSize;
+        private Disposable timer = Disposable.disposed();
+        private boolean done;
+
+        AdaptiveBufferObserver(Observer<? super List<T>> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                if (batch == null) {
+                    batch = new ArrayList<>(batchSize);
+                    batchStart = scheduler.now(TimeUnit.MILLISECONDS);
+                    var number = batchNumber;
+                    timer = scheduler.scheduleDirect(() -> cut(number), batching.maxLatencyMillis(), TimeUnit.MILLISECONDS);
+                }
+                batch.add(item);
+                if (batch.size() >= batchSize) {
+                    timer.dispose();
+                    emit(false);
+                }
+            }
+        }
+
+        private void cut(long number) {
+            synchronized (this) {
+                if (!done && batch != null && number == batchNumber) {
+                    emit(true);
+                }
+            }
+        }
+
+        // called with the lock held
+        private void emit(boolean byTimer) {
+            var full = batch;
+            batch = null;
+            batchNumber++;
+            var latency = scheduler.now(TimeUnit.MILLISECONDS) - batchStart;
+            adapt(full.size(), latency, byTimer);
+            downstream.onNext(full);
+        }
+
+        private void adapt(int size, long latency, boolean byTimer) {
+            if (byTimer) {
+                batchSize = Math.max(batching.minBatchSize(), Math.min(batchSize / 2, size));
+                cutByTimer.increment();
+            } else if (size >= batchSize && latency * 2 < batching.maxLatencyMillis()) {
+                batchSize = (int) Math.min(batching.maxBatchSize(), batchSize * 2L);
+            }
+            currentBatchSize = batchSize;
+            lastLatencyMillis = latency;
+            if (latency > maxLatencyMillis) {
+                maxLatencyMillis = latency;
+            }
+            batches.increment();
+            items.add(size);
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                timer.dispose();
+                batch = null;
+                downstream.onError(e);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                timer.dispose();
+                if (batch != null) {
+                    emit(false);
+                }
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            synchronized (this) {
+                timer.dispose();
+            }
+            upstream.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return upstream.isDisposed();
+        }
+    }
+}
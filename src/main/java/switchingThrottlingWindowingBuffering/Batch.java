@@ -0,0 +1,118 @@
+package switchingThrottlingWindowingBuffering;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A fixed-capacity batch emitted by {@link PooledBuffer}. It is borrowed from a {@link BatchPool}
+ * and must be given back with {@link #release()} once the consumer is done with it, after that the
+ * same instance is filled again with later emissions. Do not keep a reference to a released batch.
+ * <p>
+ * In debug mode every access checks that the batch is still leased, so a use after release or a
+ * double release fails with IllegalStateException instead of silently reading newer data.
+ *
+ * @param <T> the type of the buffered items
+ */
+public final class Batch<T> {
+    private final BatchPool<T> pool;
+    private final Object[] items;
+    private int size;
+    private boolean leased;
+
+    Batch(BatchPool<T> pool, int capacity) {
+        this.pool = pool;
+        this.items = new Object[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return items.length;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkLeased();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return (T) items[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        checkLeased();
+        for (int i = 0; i < size; i++) {
+            action.accept((T) items[i]);
+        }
+    }
+
+    /**
+     * Copies the items into a new List, for the consumers that need to keep them.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> toList() {
+        checkLeased();
+        var list = new ArrayList<T>(size);
+        for (int i = 0; i < size; i++) {
+            list.add((T) items[i]);
+        }
+        return list;
+    }
+
+    /**
+     * Gives the batch back to its pool. The batch must not be used afterwards.
+     */
+    public void release() {
+        if (pool.debug() && !leased) {
+            throw new IllegalStateException("The batch has already been released");
+        }
+        leased = false;
+        clear();
+        pool.release(this);
+    }
+
+    boolean isFull() {
+        return size == items.length;
+    }
+
+    void add(T item) {
+        items[size++] = item;
+    }
+
+    void lease() {
+        if (pool.debug() && leased) {
+            throw new IllegalStateException("The batch is leased twice");
+        }
+        leased = true;
+    }
+
+    private void clear() {
+        for (int i = 0; i < size; i++) {
+            items[i] = null;
+        }
+        size = 0;
+    }
+
+    private void checkLeased() {
+        if (pool.debug() && !leased) {
+            throw new IllegalStateException("The batch is used after release()");
+        }
+    }
+
+    @Override
+    public String toString() {
+        var sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            sb.append(i == 0 ? "" : ", ").append(items[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
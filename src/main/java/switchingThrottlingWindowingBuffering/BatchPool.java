@@ -0,0 +1,91 @@
+package switchingThrottlingWindowingBuffering;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A ring of pre-sized {@link Batch} objects shared by {@link PooledBuffer} and its consumer.
+ * acquire() and release() are lock-free and allocate nothing while the pool has a free batch.
+ * When every batch is leased (the consumer holds more batches than poolSize, for instance behind
+ * observeOn()), acquire() allocates a new one and counts a miss, and release() drops the batches
+ * that do not fit back into the ring, so the pool never blocks and never grows.
+ * <p>
+ * Debug mode turns on the use-after-release and double-release checks of Batch. It defaults to
+ * the "pooledBuffer.debug" system property.
+ *
+ * @param <T> the type of the buffered items
+ */
+public final class BatchPool<T> {
+    private final AtomicReferenceArray<Batch<T>> slots;
+    private final int batchCapacity;
+    private final boolean debug;
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong outstanding = new AtomicLong();
+
+    public BatchPool(int batchCapacity, int poolSize) {
+        this(batchCapacity, poolSize, Boolean.getBoolean("pooledBuffer.debug"));
+    }
+
+    public BatchPool(int batchCapacity, int poolSize, boolean debug) {
+        if (batchCapacity <= 0 || poolSize <= 0) {
+            throw new IllegalArgumentException("batchCapacity and poolSize must be positive");
+        }
+        this.batchCapacity = batchCapacity;
+        this.debug = debug;
+        this.slots = new AtomicReferenceArray<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            slots.set(i, new Batch<>(this, batchCapacity));
+        }
+    }
+
+    /**
+     * Takes a free batch from the ring or allocates one if there is none.
+     */
+    public Batch<T> acquire() {
+        Batch<T> batch = null;
+        for (int i = 0; i < slots.length() && batch == null; i++) {
+            var candidate = slots.get(i);
+            if (candidate != null && slots.compareAndSet(i, candidate, null)) {
+                batch = candidate;
+            }
+        }
+        if (batch == null) {
+            misses.incrementAndGet();
+            batch = new Batch<>(this, batchCapacity);
+        }
+        batch.lease();
+        outstanding.incrementAndGet();
+        return batch;
+    }
+
+    void release(Batch<T> batch) {
+        outstanding.decrementAndGet();
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) == null && slots.compareAndSet(i, null, batch)) {
+                return;
+            }
+        }
+    }
+
+    public int batchCapacity() {
+        return batchCapacity;
+    }
+
+    public boolean debug() {
+        return debug;
+    }
+
+    /**
+     * @return how many times acquire() found no free batch and allocated.
+     */
+    public long misses() {
+        return misses.get();
+    }
+
+    /**
+     * @return the batches acquired and not released yet, a growing value means a consumer forgets release().
+     */
+    public long outstanding() {
+        return outstanding.get();
+    }
+}
@@ -1,6 +1,7 @@
 package switchingThrottlingWindowingBuffering;
 
 import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 
 import java.util.HashSet;
 import java.util.concurrent.TimeUnit;
@@ -59,6 +60,21 @@ public class Buffering {
                 .subscribe(System.out::println);
     }
 
+    /**
+     * Each buffer() call above allocates a new collection per batch. If the batches are
+     * consumed right away (written to a DB, for instance) you can recycle them: PooledBuffer
+     * fills Batch objects borrowed from a BatchPool, and the Observer gives each one back with
+     * release() when it is done with it.
+     */
+    public final void bufferWithPool(int count) {
+        var pool = new BatchPool<Integer>(count, 2);
+        PooledBuffer.buffer(intSource1, pool)
+                .subscribe(batch -> {
+                    System.out.println(batch);
+                    batch.release();
+                });
+    }
+
     /*
                2) Time-based buffering
      */
@@ -91,6 +107,17 @@ public class Buffering {
                 .subscribe(System.out::println);
     }
 
+    /**
+     * AdaptiveBuffer replaces the fixed count with one that follows the load: it doubles while
+     * the batches fill up well before maxLatency and halves when the timer has to cut them.
+     * The timer starts with the first item of a batch, so no empty buffer is ever emitted.
+     */
+    public final void bufferAdaptive(long maxLatency, TimeUnit unit, int maxBatchSize) {
+        var buffer = AdaptiveBuffer.buffer(infiniteSource2.map(i -> (i + 1) * 300),
+                AdaptiveBatching.maxLatency(maxLatency, unit).withMaxBatchSize(maxBatchSize), Schedulers.computation());
+        buffer.subscribe(batch -> System.out.println(batch + " next batch size: " + buffer.currentBatchSize()));
+    }
+
     /*
                3) Boundary-based buffering
      */
@@ -0,0 +1,430 @@
+package switchingThrottlingWindowingBuffering;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.ObservableSource;
+import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.exceptions.Exceptions;
+import io.reactivex.rxjava3.functions.Function;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A switchMap() that does not cancel an inner source for every outer item. switchMap() disposes
+ * of the inner source in flight on each outer item: a burst of keystrokes in an autocomplete
+ * box starts and cancels a request per keystroke. Here, with a {@link SwitchConfig}:
+ * <ul>
+ *     <li>the outer items are coalesced: an item is mapped once the outer source has been quiet
+ *     for the coalesce time, the earlier items of the burst are never mapped. One timer per
+ *     burst, re-armed for the remaining time when it fires too early.</li>
+ *     <li>the inner source in flight gets the grace time to complete before it is cancelled. If it
+ *     completes in time, all its items are emitted and the latest outer item is mapped next.</li>
+ * </ul>
+ * Only one inner source emits at a time, the items of a superseded one are dropped like in
+ * switchMap(). The cancelled inner sources are disposed outside of the lock, after the next one
+ * has been subscribed to.
+ * <p>
+ * The counters describe all the subscriptions. The cancel latency goes from the moment an inner
+ * source is superseded (grace included) to the end of its dispose().
+ *
+ * @param <T> the type of the outer items
+ * @param <R> the type of the emitted items
+ */
+public final class CoalescingSwitchMap<T, R> extends Observable<R> {
+    private final Observable<T> source;
+    private final Function<? super T, ? extends ObservableSource<? extends R>> mapper;
+    private final SwitchConfig config;
+    private final Scheduler scheduler;
+
+    private final AtomicLong inFlight = new AtomicLong();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder completedInGrace = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder totalCancelNanos = new LongAdder();
+    private volatile long maxCancelNanos;
+
+    private CoalescingSwitchMap(Observable<T> source, Function<? super T, ? extends ObservableSource<? extends R>> mapper,
+                                SwitchConfig config, Scheduler scheduler) {
+        this.source = source;
+        this.mapper = mapper;
+        this.config = config;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * @param scheduler runs the coalesce and grace timers
+     */
+    public static <T, R> CoalescingSwitchMap<T, R> switchMap(Observable<T> source,
+                                                             Function<? super T, ? extends ObservableSource<? extends R>> mapper,
+                                                             SwitchConfig config, Scheduler scheduler) {
+        Objects.requireNonNull(source, "source is null");
+        Objects.requireNonNull(mapper, "mapper is null");
+        Objects.requireNonNull(config, "config is null");
+        Objects.requireNonNull(scheduler, "scheduler is null");
+        return new CoalescingSwitchMap<>(source, mapper, config, scheduler);
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super R> observer) {
+        source.subscribe(new SwitchObserver(observer, scheduler.createWorker()));
+    }
+
+    /**
+     * @return the inner sources subscribed to and neither terminated nor cancelled
+     */
+    public long inFlight() {
+        return inFlight.get();
+    }
+
+    public long started() {
+        return started.sum();
+    }
+
+    /**
+     * @return the inner sources that completed, including the ones that did during their grace
+     */
+    public long completed() {
+        return completed.sum();
+    }
+
+    public long completedInGrace() {
+        return completedInGrace.sum();
+    }
+
+    public long cancelled() {
+        return cancelled.sum();
+    }
+
+    /**
+     * @return the outer items replaced by a later one before they were mapped
+     */
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    public long maxCancelLatencyNanos() {
+        return maxCancelNanos;
+    }
+
+    public double averageCancelLatencyNanos() {
+        var count = cancelled.sum();
+        return count == 0 ? 0 : (double) totalCancelNanos.sum() / count;
+    }
+
+    private void cancel(InnerObserver inner) {
+        if (inner == null) {
+            return;
+        }
+        inner.dispose();
+        var latency = System.nanoTime() - inner.supersededAt;
+        inFlight.decrementAndGet();
+        cancelled.increment();
+        totalCancelNanos.add(latency);
+        if (latency > maxCancelNanos) {
+            maxCancelNanos = latency;
+        }
+    }
+
+    /**
+     * The outer source, the inner sources and the timers all hold the lock and emit while holding
+     * it, so the items keep their order.
+     */
+    private final class SwitchObserver implements Observer<T>, Disposable {
+        private final Observer<? super R> downstream;
+        private final Scheduler.Worker worker;
+        private Disposable upstream;
+        // guarded by this
+        private T pending;
+        private InnerObserver current;
+        private long lastOuterNanos;
+        private boolean coalescing;
+        private boolean graceRunning;
+        private Disposable graceTimer = Disposable.disposed();
+        private boolean outerDone;
+        private boolean done;
+
+        SwitchObserver(Observer<? super R> downstream, Scheduler.Worker worker) {
+            this.downstream = downstream;
+            this.worker = worker;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            InnerObserver superseded;
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                if (pending != null) {
+                    coalesced.increment();
+                }
+                pending = item;
+                if (config.coalesceNanos() > 0) {
+                    lastOuterNanos = worker.now(TimeUnit.NANOSECONDS);
+                    if (!coalescing) {
+                        coalescing = true;
+                        worker.schedule(this::coalesceElapsed, config.coalesceNanos(), TimeUnit.NANOSECONDS);
+                    }
+                    return;
+                }
+                superseded = switchToPending();
+            }
+            cancel(superseded);
+        }
+
+        private void coalesceElapsed() {
+            InnerObserver superseded;
+            synchronized (this) {
+                if (done || !coalescing) {
+                    return;
+                }
+                var quiet = worker.now(TimeUnit.NANOSECONDS) - lastOuterNanos;
+                if (quiet < config.coalesceNanos()) {
+                    worker.schedule(this::coalesceElapsed, config.coalesceNanos() - quiet, TimeUnit.NANOSECONDS);
+                    return;
+                }
+                coalescing = false;
+                superseded = switchToPending();
+            }
+            cancel(superseded);
+        }
+
+        private void graceElapsed() {
+            InnerObserver superseded;
+            synchronized (this) {
+                graceRunning = false;
+                if (done || current == null) {
+                    return;
+                }
+                superseded = current;
+                current = null;
+                start();
+            }
+            cancel(superseded);
+        }
+
+        /**
+         * Called with the lock held.
+         *
+         * @return the inner source to cancel once the lock is released
+         */
+        private InnerObserver switchToPending() {
+            if (pending == null) {
+                return null;
+            }
+            InnerObserver superseded = null;
+            if (current != null) {
+                if (config.graceNanos() > 0) {
+                    if (!graceRunning) {
+                        graceRunning = true;
+                        current.supersededAt = System.nanoTime();
+                        graceTimer = worker.schedule(this::graceElapsed, config.graceNanos(), TimeUnit.NANOSECONDS);
+                    }
+                    return null;
+                }
+                superseded = current;
+                superseded.supersededAt = System.nanoTime();
+                current = null;
+            }
+            start();
+            return superseded;
+        }
+
+        // called with the lock held, current is null
+        private void start() {
+            var item = pending;
+            pending = null;
+            if (item == null) {
+                completeIfDone();
+                return;
+            }
+            ObservableSource<? extends R> inner;
+            try {
+                inner = Objects.requireNonNull(mapper.apply(item), "The mapper returned a null ObservableSource");
+            } catch (Throwable e) {
+                Exceptions.throwIfFatal(e);
+                upstream.dispose();
+                fail(e);
+                return;
+            }
+            current = new InnerObserver(this);
+            started.increment();
+            inFlight.incrementAndGet();
+            inner.subscribe(current);
+        }
+
+        // called with the lock held
+        private void completeIfDone() {
+            if (outerDone && current == null && pending == null && !done) {
+                done = true;
+                worker.dispose();
+                downstream.onComplete();
+            }
+        }
+
+        // called with the lock held
+        private void fail(Throwable e) {
+            done = true;
+            pending = null;
+            worker.dispose();
+            downstream.onError(e);
+        }
+
+        void innerNext(InnerObserver inner, R item) {
+            synchronized (this) {
+                if (!done && inner == current) {
+                    downstream.onNext(item);
+                }
+            }
+        }
+
+        void innerError(InnerObserver inner, Throwable e) {
+            synchronized (this) {
+                if (done || inner != current) {
+                    return;
+                }
+                current = null;
+                inFlight.decrementAndGet();
+                upstream.dispose();
+                fail(e);
+            }
+        }
+
+        void innerComplete(InnerObserver inner) {
+            synchronized (this) {
+                if (done || inner != current) {
+                    return;
+                }
+                current = null;
+                inFlight.decrementAndGet();
+                completed.increment();
+                if (graceRunning) {
+                    graceRunning = false;
+                    graceTimer.dispose();
+                    completedInGrace.increment();
+                    start();
+                } else if (!coalescing) {
+                    start();
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            InnerObserver superseded;
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                superseded = supersede();
+                fail(e);
+            }
+            cancel(superseded);
+        }
+
+        @Override
+        public void onComplete() {
+            InnerObserver superseded;
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                outerDone = true;
+                // the last outer item does not wait for the end of the coalesce time
+                coalescing = false;
+                superseded = switchToPending();
+                completeIfDone();
+            }
+            cancel(superseded);
+        }
+
+        @Override
+        public void dispose() {
+            upstream.dispose();
+            InnerObserver superseded;
+            synchronized (this) {
+                done = true;
+                pending = null;
+                worker.dispose();
+                superseded = supersede();
+            }
+            cancel(superseded);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return upstream.isDisposed();
+        }
+
+        // called with the lock held
+        private InnerObserver supersede() {
+            var superseded = current;
+            current = null;
+            if (superseded != null && !graceRunning) {
+                superseded.supersededAt = System.nanoTime();
+            }
+            return superseded;
+        }
+    }
+
+    private final class InnerObserver implements Observer<R>, Disposable {
+        private final SwitchObserver parent;
+        private volatile Disposable upstream;
+        private volatile boolean disposed;
+        // set under the lock of the parent, read after it is released
+        long supersededAt;
+
+        InnerObserver(SwitchObserver parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            if (disposed) {
+                d.dispose();
+            }
+        }
+
+        @Override
+        public void onNext(R item) {
+            parent.innerNext(this, item);
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            parent.innerError(this, e);
+        }
+
+        @Override
+        public void onComplete() {
+            parent.innerComplete(this);
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+            var d = upstream;
+            if (d != null) {
+                d.dispose();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
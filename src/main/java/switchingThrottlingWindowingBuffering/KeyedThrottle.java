@@ -0,0 +1,290 @@
+package switchingThrottlingWindowingBuffering;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.exceptions.Exceptions;
+import io.reactivex.rxjava3.functions.Function;
+
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * throttleWithTimeout() and throttleFirst() applied to every key of one stream, without a
+ * groupBy() sub-stream and a timer per key. The state of a key is an entry of one map: the last
+ * item and its deadline for debounceByKey(), the end of the window for throttleByKey().
+ * <p>
+ * All the keys share the same timeout, so a key whose deadline moves is moved to the end of an
+ * insertion-ordered map and the map stays sorted by deadline: the expired keys are always at
+ * its head. One timer per subscription, armed for the deadline of the head, emits (or drops) the
+ * expired keys and re-arms itself for the next one. An item costs a map update, a timer fires
+ * about once per expired key. With a {@link concurrency.HashedWheelScheduler} as the scheduler
+ * the subscriptions share its wheel.
+ * <p>
+ * Memory is one map entry per key seen within the last timeout (around 100 bytes plus the key
+ * and the item), and at most maxKeys of them: a new key over the limit evicts the key closest to
+ * its deadline. debounceByKey() emits the item of an evicted key right away, throttleByKey()
+ * ends its window early.
+ *
+ * @param <T> the type of the items
+ * @param <K> the type of the keys
+ */
+public final class KeyedThrottle<T, K> extends Observable<T> {
+    private final Observable<T> source;
+    private final Function<? super T, ? extends K> keySelector;
+    private final long timeoutNanos;
+    private final int maxKeys;
+    private final Scheduler scheduler;
+    // debounce or throttle first
+    private final boolean debounce;
+
+    private final AtomicLong liveKeys = new AtomicLong();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private KeyedThrottle(Observable<T> source, Function<? super T, ? extends K> keySelector, long timeout,
+                          TimeUnit unit, int maxKeys, Scheduler scheduler, boolean debounce) {
+        Objects.requireNonNull(source, "source is null");
+        Objects.requireNonNull(keySelector, "keySelector is null");
+        Objects.requireNonNull(unit, "unit is null");
+        Objects.requireNonNull(scheduler, "scheduler is null");
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("timeout > 0 required but it was " + timeout);
+        }
+        if (maxKeys <= 0) {
+            throw new IllegalArgumentException("maxKeys > 0 required but it was " + maxKeys);
+        }
+        this.source = source;
+        this.keySelector = keySelector;
+        this.timeoutNanos = unit.toNanos(timeout);
+        this.maxKeys = maxKeys;
+        this.scheduler = scheduler;
+        this.debounce = debounce;
+    }
+
+    /**
+     * throttleWithTimeout(timeout, unit) per key: the last item of a key is emitted once the key
+     * has been quiet for timeout. The pending items are emitted when the source completes.
+     */
+    public static <T, K> KeyedThrottle<T, K> debounceByKey(Observable<T> source, Function<? super T, ? extends K> keySelector,
+                                                           long timeout, TimeUnit unit, int maxKeys, Scheduler scheduler) {
+        return new KeyedThrottle<>(source, keySelector, timeout, unit, maxKeys, scheduler, true);
+    }
+
+    /**
+     * throttleFirst(window, unit) per key: the first item of a key is emitted and the following
+     * ones are dropped until window has elapsed.
+     */
+    public static <T, K> KeyedThrottle<T, K> throttleByKey(Observable<T> source, Function<? super T, ? extends K> keySelector,
+                                                           long window, TimeUnit unit, int maxKeys, Scheduler scheduler) {
+        return new KeyedThrottle<>(source, keySelector, window, unit, maxKeys, scheduler, false);
+    }
+
+    @Override
+    protected void subscribeActual(Observer<? super T> observer) {
+        source.subscribe(new KeyedThrottleObserver(observer, scheduler.createWorker()));
+    }
+
+    /**
+     * @return the keys with a pending item or an open window, in all the subscriptions
+     */
+    public long liveKeys() {
+        return liveKeys.get();
+    }
+
+    /**
+     * @return the keys removed before their deadline because maxKeys was reached
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the items replaced by a later item of their key, or dropped within a window
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    private static final class Entry<T> {
+        T item;
+        long deadline;
+    }
+
+    /**
+     * The source thread updates the map, the timer thread expires its head: both hold the lock
+     * and emit while holding it, like buffer(timespan) does.
+     */
+    private final class KeyedThrottleObserver implements Observer<T>, Disposable, Runnable {
+        private final Observer<? super T> downstream;
+        private final Scheduler.Worker worker;
+        private Disposable upstream;
+        // guarded by this, sorted by deadline
+        private final LinkedHashMap<K, Entry<T>> entries = new LinkedHashMap<>();
+        // a timer is pending, it fires at or before the deadline of the head
+        private boolean armed;
+        private boolean done;
+
+        KeyedThrottleObserver(Observer<? super T> downstream, Scheduler.Worker worker) {
+            this.downstream = downstream;
+            this.worker = worker;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            K key;
+            try {
+                key = Objects.requireNonNull(keySelector.apply(item), "The keySelector returned a null key");
+            } catch (Throwable e) {
+                Exceptions.throwIfFatal(e);
+                upstream.dispose();
+                onError(e);
+                return;
+            }
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                var now = worker.now(TimeUnit.NANOSECONDS);
+                var entry = entries.get(key);
+                if (debounce) {
+                    if (entry != null) {
+                        dropped.increment();
+                    }
+                    entry = moveToTail(key, entry);
+                    entry.item = item;
+                } else {
+                    if (entry != null && now < entry.deadline) {
+                        dropped.increment();
+                        return;
+                    }
+                    entry = moveToTail(key, entry);
+                    downstream.onNext(item);
+                }
+                entry.deadline = now + timeoutNanos;
+                if (entries.size() > maxKeys) {
+                    evictHead();
+                }
+                arm(now);
+            }
+        }
+
+        // the deadline of the key changes, it goes after all the others
+        private Entry<T> moveToTail(K key, Entry<T> entry) {
+            if (entry == null) {
+                entry = new Entry<>();
+                liveKeys.incrementAndGet();
+            } else {
+                entries.remove(key);
+            }
+            entries.put(key, entry);
+            return entry;
+        }
+
+        // called with the lock held
+        private void evictHead() {
+            var head = entries.values().iterator();
+            var entry = head.next();
+            head.remove();
+            liveKeys.decrementAndGet();
+            evictions.increment();
+            if (debounce) {
+                downstream.onNext(entry.item);
+            }
+        }
+
+        // called with the lock held
+        private void arm(long now) {
+            if (armed || entries.isEmpty()) {
+                return;
+            }
+            armed = true;
+            var headDeadline = entries.values().iterator().next().deadline;
+            worker.schedule(this, headDeadline - now, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                armed = false;
+                if (done) {
+                    return;
+                }
+                var now = worker.now(TimeUnit.NANOSECONDS);
+                var head = entries.values().iterator();
+                while (head.hasNext()) {
+                    var entry = head.next();
+                    if (entry.deadline > now) {
+                        break;
+                    }
+                    head.remove();
+                    liveKeys.decrementAndGet();
+                    if (debounce) {
+                        downstream.onNext(entry.item);
+                    }
+                }
+                arm(now);
+            }
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                clear();
+                downstream.onError(e);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                if (debounce) {
+                    for (var entry : entries.values()) {
+                        downstream.onNext(entry.item);
+                    }
+                }
+                clear();
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            upstream.dispose();
+            synchronized (this) {
+                done = true;
+                clear();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return upstream.isDisposed();
+        }
+
+        // called with the lock held
+        private void clear() {
+            worker.dispose();
+            liveKeys.addAndGet(-entries.size());
+            entries.clear();
+        }
+    }
+}
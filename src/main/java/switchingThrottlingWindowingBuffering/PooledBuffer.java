@@ -0,0 +1,138 @@
+package switchingThrottlingWindowingBuffering;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.ObservableOperator;
+import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.disposables.Disposable;
+
+/**
+ * Count-based buffer() that fills recyclable {@link Batch} objects from a {@link BatchPool}
+ * instead of allocating a new ArrayList or HashSet per batch like buffer(count),
+ * buffer(count, supplier) and buffer(count, skip) do. Once the consumer calls release(),
+ * the batch is filled again, so a steady stream allocates nothing per batch.
+ * <p>
+ * The consumer owns every emitted batch and must release it exactly once. The batch that is
+ * still open when the source errors is released by the operator, the one open when the
+ * chain is disposed of is left to the garbage collector.
+ */
+public final class PooledBuffer {
+    private PooledBuffer() {
+    }
+
+    /**
+     * Same as buffer(count) with count = pool.batchCapacity().
+     */
+    public static <T> Observable<Batch<T>> buffer(Observable<T> source, BatchPool<T> pool) {
+        return buffer(source, pool, pool.batchCapacity());
+    }
+
+    /**
+     * Same as buffer(count, skip) with count = pool.batchCapacity(). With skip < count several
+     * batches are open at once and every item is stored in each of them.
+     */
+    public static <T> Observable<Batch<T>> buffer(Observable<T> source, BatchPool<T> pool, int skip) {
+        if (skip <= 0) {
+            throw new IllegalArgumentException("skip > 0 required but it was " + skip);
+        }
+        return source.lift(new Operator<>(pool, skip));
+    }
+
+    private static final class Operator<T> implements ObservableOperator<Batch<T>, T> {
+        private final BatchPool<T> pool;
+        private final int skip;
+
+        Operator(BatchPool<T> pool, int skip) {
+            this.pool = pool;
+            this.skip = skip;
+        }
+
+        @Override
+        public Observer<? super T> apply(Observer<? super Batch<T>> observer) {
+            return new PooledBufferObserver<>(observer, pool, skip);
+        }
+    }
+
+    static final class PooledBufferObserver<T> implements Observer<T>, Disposable {
+        private final Observer<? super Batch<T>> downstream;
+        private final BatchPool<T> pool;
+        private final int skip;
+        // the open batches, oldest first, in a ring: at most ceil(count / skip) of them
+        private final Batch<T>[] open;
+        private int head;
+        private int openCount;
+        private Disposable upstream;
+        // items left until the next batch opens
+        private int untilOpen = 1;
+
+        @SuppressWarnings("unchecked")
+        PooledBufferObserver(Observer<? super Batch<T>> downstream, BatchPool<T> pool, int skip) {
+            this.downstream = downstream;
+            this.pool = pool;
+            this.skip = skip;
+            this.open = (Batch<T>[]) new Batch<?>[(pool.batchCapacity() + skip - 1) / skip];
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (--untilOpen == 0) {
+                untilOpen = skip;
+                open[wrap(head + openCount++)] = pool.acquire();
+            }
+            for (int i = 0, j = head; i < openCount; i++, j = wrap(j + 1)) {
+                open[j].add(item);
+            }
+            if (openCount != 0 && open[head].isFull()) {
+                downstream.onNext(poll());
+            }
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            while (openCount != 0) {
+                poll().release();
+            }
+            downstream.onError(e);
+        }
+
+        @Override
+        public void onComplete() {
+            while (openCount != 0) {
+                var batch = poll();
+                if (batch.isEmpty()) {
+                    batch.release();
+                } else {
+                    downstream.onNext(batch);
+                }
+            }
+            downstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            upstream.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return upstream.isDisposed();
+        }
+
+        private Batch<T> poll() {
+            var batch = open[head];
+            open[head] = null;
+            head = wrap(head + 1);
+            openCount--;
+            return batch;
+        }
+
+        private int wrap(int index) {
+            return index < open.length ? index : index - open.length;
+        }
+    }
+}
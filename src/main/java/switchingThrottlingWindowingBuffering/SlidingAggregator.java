@@ -0,0 +1,109 @@
+package switchingThrottlingWindowingBuffering;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * A {@link WindowAggregator} whose accumulators can be combined, what {@link SlidingWindows}
+ * needs to build a window out of the partial aggregates of its panes. combine() must be
+ * associative. It may modify its first argument and return it, but must leave the second one
+ * as it is: a pane is combined into every window that covers it.
+ *
+ * @param <T> the type of the items
+ * @param <A> the type of the accumulator
+ * @param <R> the type of the result
+ */
+public interface SlidingAggregator<T, A, R> extends WindowAggregator<T, A, R> {
+    A combine(A into, A pane);
+
+    static <T, A, R> SlidingAggregator<T, A, R> of(Supplier<A> create, BiFunction<A, ? super T, A> add,
+                                                   BiFunction<A, A, A> combine, Function<? super A, ? extends R> result) {
+        Objects.requireNonNull(create, "create is null");
+        Objects.requireNonNull(add, "add is null");
+        Objects.requireNonNull(combine, "combine is null");
+        Objects.requireNonNull(result, "result is null");
+        return new SlidingAggregator<>() {
+            @Override
+            public A create() {
+                return create.get();
+            }
+
+            @Override
+            public A add(A accumulator, T item) {
+                return add.apply(accumulator, item);
+            }
+
+            @Override
+            public A combine(A into, A pane) {
+                return combine.apply(into, pane);
+            }
+
+            @Override
+            public R result(A accumulator) {
+                return result.apply(accumulator);
+            }
+        };
+    }
+
+    static <T> SlidingAggregator<T, ?, Long> count() {
+        return SlidingAggregator.<T, long[], Long>of(() -> new long[1], (count, item) -> {
+            count[0]++;
+            return count;
+        }, (into, pane) -> {
+            into[0] += pane[0];
+            return into;
+        }, count -> count[0]);
+    }
+
+    static <T> SlidingAggregator<T, ?, Long> sumLong(ToLongFunction<? super T> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        return SlidingAggregator.<T, long[], Long>of(() -> new long[1], (sum, item) -> {
+            sum[0] += mapper.applyAsLong(item);
+            return sum;
+        }, (into, pane) -> {
+            into[0] += pane[0];
+            return into;
+        }, sum -> sum[0]);
+    }
+
+    /**
+     * @return the average of the window, no result for an empty window
+     */
+    static <T> SlidingAggregator<T, ?, Double> average(ToDoubleFunction<? super T> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        // sum and count
+        return SlidingAggregator.<T, double[], Double>of(() -> new double[2], (average, item) -> {
+            average[0] += mapper.applyAsDouble(item);
+            average[1]++;
+            return average;
+        }, (into, pane) -> {
+            into[0] += pane[0];
+            into[1] += pane[1];
+            return into;
+        }, average -> average[1] == 0 ? null : average[0] / average[1]);
+    }
+
+    /**
+     * @return the smallest item of the window, no result for an empty window
+     */
+    static <T> SlidingAggregator<T, ?, T> min(Comparator<? super T> comparator) {
+        Objects.requireNonNull(comparator, "comparator is null");
+        // the accumulator is the smallest item so far
+        BiFunction<T, T, T> min = (left, right) -> left == null || right != null && comparator.compare(right, left) < 0
+                ? right : left;
+        return SlidingAggregator.<T, T, T>of(() -> null, min, min, result -> result);
+    }
+
+    /**
+     * @return the biggest item of the window, no result for an empty window
+     */
+    static <T> SlidingAggregator<T, ?, T> max(Comparator<? super T> comparator) {
+        Objects.requireNonNull(comparator, "comparator is null");
+        return min(comparator.reversed());
+    }
+}
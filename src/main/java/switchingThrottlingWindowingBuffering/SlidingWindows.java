@@ -0,0 +1,354 @@
+package switchingThrottlingWindowingBuffering;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.exceptions.Exceptions;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overlapping windows aggregated pane by pane. window(count, skip) and buffer(count, skip) with
+ * skip &lt; count store every item in count / skip windows at once: a rolling 60 s window updated
+ * every second keeps 60 copies of the stream. Here the stream is cut into panes of skip items
+ * (or timeskip), every item is added to the accumulator of its pane only, and a ring keeps the
+ * partial aggregates of the last count / skip panes. A window is the combination of the panes it
+ * covers, computed with {@link SlidingAggregator#combine} when it is emitted.
+ * <p>
+ * The memory is one accumulator per pane whatever the overlap, and an item costs one add().
+ * Emitting a window costs count / skip combine() calls.
+ */
+public final class SlidingWindows {
+    private SlidingWindows() {
+    }
+
+    /**
+     * Same windows as window(count, skip) with every window aggregated, including the partial
+     * windows still open when the source completes.
+     *
+     * @param count a multiple of skip, the window is made of count / skip panes
+     */
+    public static <T, A, R> Observable<R> count(Observable<T> source, int count, int skip,
+                                                SlidingAggregator<? super T, A, ? extends R> aggregator) {
+        Objects.requireNonNull(source, "source is null");
+        Objects.requireNonNull(aggregator, "aggregator is null");
+        var panes = panes(count, skip);
+        return source.lift(observer -> new CountObserver<T, A, R>(observer, panes, skip, aggregator));
+    }
+
+    /**
+     * Emits, every timeskip, the aggregate of the last timespan. During the first timespan the
+     * windows cover the time elapsed since the subscription only. When the source completes the
+     * window ending at that moment is emitted.
+     *
+     * @param timespan a multiple of timeskip, the window is made of timespan / timeskip panes
+     */
+    public static <T, A, R> Observable<R> time(Observable<T> source, long timespan, long timeskip, TimeUnit unit,
+                                               Scheduler scheduler, SlidingAggregator<? super T, A, ? extends R> aggregator) {
+        Objects.requireNonNull(source, "source is null");
+        Objects.requireNonNull(unit, "unit is null");
+        Objects.requireNonNull(scheduler, "scheduler is null");
+        Objects.requireNonNull(aggregator, "aggregator is null");
+        var panes = panes(timespan, timeskip);
+        return source.lift(observer -> new TimeObserver<T, A, R>(observer, panes, timeskip, unit, scheduler, aggregator));
+    }
+
+    private static int panes(long span, long skip) {
+        if (skip <= 0) {
+            throw new IllegalArgumentException("skip > 0 required but it was " + skip);
+        }
+        if (span < skip || span % skip != 0) {
+            throw new IllegalArgumentException("The span must be a multiple of the skip but it was " + span + " / " + skip);
+        }
+        if (span / skip > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many panes: " + span / skip);
+        }
+        return (int) (span / skip);
+    }
+
+    /**
+     * The ring of the partial aggregates. Pane number p (counting from the first one) lives in
+     * slot p % length, the last pane is the one being filled.
+     */
+    static final class Panes<T, A, R> {
+        private final SlidingAggregator<? super T, A, ? extends R> aggregator;
+        private final Object[] ring;
+        // the number of the pane being filled
+        private long current;
+
+        Panes(int length, SlidingAggregator<? super T, A, ? extends R> aggregator) {
+            this.aggregator = aggregator;
+            ring = new Object[length];
+            ring[0] = aggregator.create();
+        }
+
+        void add(T item) {
+            var slot = slot(current);
+            ring[slot] = aggregator.add(pane(slot), item);
+        }
+
+        /**
+         * Closes the current pane and opens the next one, which takes the slot of the oldest pane.
+         */
+        void advance() {
+            current++;
+            ring[slot(current)] = aggregator.create();
+        }
+
+        long current() {
+            return current;
+        }
+
+        /**
+         * @return the result of the panes from first to the current one, both included
+         */
+        R combine(long first) {
+            var window = aggregator.create();
+            for (long p = Math.max(first, current - ring.length + 1); p <= current; p++) {
+                window = aggregator.combine(window, pane(slot(p)));
+            }
+            return aggregator.result(window);
+        }
+
+        @SuppressWarnings("unchecked")
+        private A pane(int slot) {
+            return (A) ring[slot];
+        }
+
+        private int slot(long pane) {
+            return (int) (pane % ring.length);
+        }
+    }
+
+    static final class CountObserver<T, A, R> implements Observer<T>, Disposable {
+        private final Observer<? super R> downstream;
+        private final int length;
+        private final int skip;
+        private final Panes<T, A, R> panes;
+        // items in the current pane
+        private int size;
+        private Disposable upstream;
+        private boolean done;
+
+        CountObserver(Observer<? super R> downstream, int length, int skip,
+                      SlidingAggregator<? super T, A, ? extends R> aggregator) {
+            this.downstream = downstream;
+            this.length = length;
+            this.skip = skip;
+            panes = new Panes<>(length, aggregator);
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            try {
+                panes.add(item);
+                if (++size == skip) {
+                    // the window made of the last length panes is complete
+                    if (panes.current() >= length - 1) {
+                        emit(panes.combine(panes.current() - length + 1));
+                    }
+                    panes.advance();
+                    size = 0;
+                }
+            } catch (Throwable e) {
+                Exceptions.throwIfFatal(e);
+                upstream.dispose();
+                onError(e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onError(e);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            try {
+                // the windows opened at the start of the recent panes, oldest first
+                var last = size == 0 ? panes.current() - 1 : panes.current();
+                for (long first = Math.max(0, panes.current() - length + 1); first <= last; first++) {
+                    emit(panes.combine(first));
+                }
+            } catch (Throwable e) {
+                Exceptions.throwIfFatal(e);
+                onError(e);
+                return;
+            }
+            done = true;
+            downstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            upstream.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return upstream.isDisposed();
+        }
+
+        private void emit(R result) {
+            if (result != null) {
+                downstream.onNext(result);
+            }
+        }
+    }
+
+    /**
+     * The source thread adds to the current pane, the timer thread emits and advances: both hold
+     * the lock, like {@link WindowedAggregate#timed} does.
+     */
+    static final class TimeObserver<T, A, R> implements Observer<T>, Disposable, Runnable {
+        private final Observer<? super R> downstream;
+        private final int length;
+        private final long timeskip;
+        private final TimeUnit unit;
+        private final Scheduler scheduler;
+        private final SlidingAggregator<? super T, A, ? extends R> aggregator;
+        private Disposable upstream;
+        private Disposable timer;
+        // guarded by this
+        private Panes<T, A, R> panes;
+        private boolean done;
+
+        TimeObserver(Observer<? super R> downstream, int length, long timeskip, TimeUnit unit, Scheduler scheduler,
+                     SlidingAggregator<? super T, A, ? extends R> aggregator) {
+            this.downstream = downstream;
+            this.length = length;
+            this.timeskip = timeskip;
+            this.unit = unit;
+            this.scheduler = scheduler;
+            this.aggregator = aggregator;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            try {
+                panes = new Panes<>(length, aggregator);
+            } catch (Throwable e) {
+                Exceptions.throwIfFatal(e);
+                done = true;
+                d.dispose();
+                downstream.onSubscribe(this);
+                downstream.onError(e);
+                return;
+            }
+            downstream.onSubscribe(this);
+            timer = scheduler.schedulePeriodicallyDirect(this, timeskip, timeskip, unit);
+        }
+
+        @Override
+        public void onNext(T item) {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                try {
+                    panes.add(item);
+                } catch (Throwable e) {
+                    Exceptions.throwIfFatal(e);
+                    fail(e);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                try {
+                    var result = panes.combine(0);
+                    panes.advance();
+                    if (result != null) {
+                        downstream.onNext(result);
+                    }
+                } catch (Throwable e) {
+                    Exceptions.throwIfFatal(e);
+                    fail(e);
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            timer.dispose();
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                panes = null;
+                downstream.onError(e);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            timer.dispose();
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                R result;
+                try {
+                    result = panes.combine(0);
+                } catch (Throwable e) {
+                    Exceptions.throwIfFatal(e);
+                    fail(e);
+                    return;
+                }
+                done = true;
+                panes = null;
+                if (result != null) {
+                    downstream.onNext(result);
+                }
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (timer != null) {
+                timer.dispose();
+            }
+            upstream.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return upstream.isDisposed();
+        }
+
+        // called with the lock held
+        private void fail(Throwable e) {
+            done = true;
+            panes = null;
+            timer.dispose();
+            upstream.dispose();
+            downstream.onError(e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package switchingThrottlingWindowingBuffering;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How {@link CoalescingSwitchMap} switches from an inner source to the next:
+ * <ul>
+ *     <li>coalesce - an outer item is mapped once the outer source has been quiet for that long,
+ *     the items of a burst replace each other and only the last one gets an inner source.</li>
+ *     <li>grace - the inner source in flight when a new outer item is due gets that long to
+ *     complete before it is cancelled. Its items are emitted meanwhile.</li>
+ * </ul>
+ * Both are 0 by default, which is plain switchMap().
+ */
+public final class SwitchConfig {
+    private final long coalesceNanos;
+    private final long graceNanos;
+
+    private SwitchConfig(long coalesceNanos, long graceNanos) {
+        this.coalesceNanos = coalesceNanos;
+        this.graceNanos = graceNanos;
+    }
+
+    /**
+     * No coalescing and no grace: every outer item cancels the inner source in flight.
+     */
+    public static SwitchConfig defaults() {
+        return new SwitchConfig(0, 0);
+    }
+
+    public SwitchConfig withCoalesce(long coalesce, TimeUnit unit) {
+        if (coalesce < 0) {
+            throw new IllegalArgumentException("coalesce >= 0 required but it was " + coalesce);
+        }
+        return new SwitchConfig(unit.toNanos(coalesce), graceNanos);
+    }
+
+    public SwitchConfig withGrace(long grace, TimeUnit unit) {
+        if (grace < 0) {
+            throw new IllegalArgumentException("grace >= 0 required but it was " + grace);
+        }
+        return new SwitchConfig(coalesceNanos, unit.toNanos(grace));
+    }
+
+    public long coalesceNanos() {
+        return coalesceNanos;
+    }
+
+    public long graceNanos() {
+        return graceNanos;
+    }
+}
@@ -47,6 +47,27 @@ public class Switching {
                 .subscribe(System.out::println);
     }
 
+    /**
+     * The autocomplete of groupingKeystrokes() with the cancellations bounded: the keystrokes
+     * of a burst are coalesced into the last one, and a request in flight gets a grace time to
+     * complete before the next keystroke cancels it. The counters tell how many requests were
+     * started, completed and cancelled.
+     */
+    public final void coalescingSwitchMap() {
+        var keystrokes = stringSource.concatMap(s -> Observable.just(s)
+                .delay(randomSleepTime() / 10, TimeUnit.MILLISECONDS));
+        var config = SwitchConfig.defaults()
+                .withCoalesce(150, TimeUnit.MILLISECONDS)
+                .withGrace(100, TimeUnit.MILLISECONDS);
+
+        var switching = CoalescingSwitchMap.switchMap(keystrokes,
+                s -> Observable.just("Suggestions for " + s).delay(randomSleepTime() / 10, TimeUnit.MILLISECONDS),
+                config, Schedulers.computation());
+        switching.doFinally(() -> System.out.println("started: " + switching.started()
+                        + ", completed: " + switching.completed() + ", cancelled: " + switching.cancelled()))
+                .subscribe(System.out::println);
+    }
+
     // private methods
     // returns random sleep time between 0 and 2000 milliseconds
     private int randomSleepTime() {
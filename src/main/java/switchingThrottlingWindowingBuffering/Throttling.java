@@ -1,5 +1,8 @@
 package switchingThrottlingWindowingBuffering;
 
+import backpressure.RateLimit;
+import backpressure.RateLimiter;
+import concurrency.HashedWheelScheduler;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 
@@ -65,4 +68,48 @@ public class Throttling {
                 .throttleWithTimeout(time, unit)
                 .subscribe(System.out::println);
     }
+
+    /**
+     * throttleWithTimeout() cancels its timer and schedules a new one for every emission.
+     * A HashedWheelScheduler does both in O(1), at the resolution of its tick, which pays off
+     * when many streams are debounced at once.
+     */
+    public final void throttleWithTimeoutOnTimerWheel(long time, TimeUnit unit) {
+        var timers = HashedWheelScheduler.create();
+        infiniteSource2.take(10)
+                .throttleWithTimeout(time, unit, timers)
+                .doFinally(timers::shutdown)
+                .subscribe(System.out::println);
+    }
+
+    /**
+     * Shapes the traffic instead of dropping it: every emission waits for a permit of the
+     * rate limiter, so the 100 ms source comes out at permitsPerSecond after a first burst.
+     * The Flowable version also slows the source down through request(n).
+     */
+    public final void rateLimit(double permitsPerSecond, int burst) {
+        RateLimit.observable(infiniteSource1.take(30), RateLimiter.create(permitsPerSecond, burst),
+                        Schedulers.computation())
+                .subscribe(System.out::println);
+    }
+
+    /**
+     * throttleWithTimeout() per key on one merged stream: here 3 devices report every 300 ms
+     * each, and a device's last reading is printed once it has been quiet for the timeout.
+     * The keys share one map and one timer instead of a groupBy() sub-stream and a timer each.
+     */
+    public final void debounceByKey(long time, TimeUnit unit) {
+        KeyedThrottle.debounceByKey(infiniteSource1.take(30), i -> "device-" + i % 3, time, unit, 10_000,
+                        Schedulers.computation())
+                .subscribe(System.out::println);
+    }
+
+    /**
+     * throttleFirst() per key: the first reading of every device in each window.
+     */
+    public final void throttleByKey(long windowDuration, TimeUnit unit) {
+        KeyedThrottle.throttleByKey(infiniteSource1.take(30), i -> "device-" + i % 3, windowDuration, unit, 10_000,
+                        Schedulers.computation())
+                .subscribe(System.out::println);
+    }
 }
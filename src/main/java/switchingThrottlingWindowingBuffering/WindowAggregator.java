@@ -0,0 +1,122 @@
+package switchingThrottlingWindowingBuffering;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * What {@link WindowedAggregate} computes for every window: an accumulator is created when the
+ * window opens, every item of the window is added to it and the result is emitted when the
+ * window closes. It is the fused form of window(...).flatMapSingle(w -> w.reduce(...)).
+ * <p>
+ * add() may mutate the accumulator and return it (count() and sumLong() do, they allocate one
+ * accumulator per window and nothing per item) or return a new one like reduce() does.
+ * A null result means the window has no result (the min() of an empty time window) and
+ * nothing is emitted for it.
+ *
+ * @param <T> the type of the items
+ * @param <A> the type of the accumulator
+ * @param <R> the type of the result
+ */
+public interface WindowAggregator<T, A, R> {
+    A create();
+
+    A add(A accumulator, T item);
+
+    R result(A accumulator);
+
+    static <T, A, R> WindowAggregator<T, A, R> of(Supplier<A> create, BiFunction<A, ? super T, A> add,
+                                                  Function<? super A, ? extends R> result) {
+        Objects.requireNonNull(create, "create is null");
+        Objects.requireNonNull(add, "add is null");
+        Objects.requireNonNull(result, "result is null");
+        return new WindowAggregator<>() {
+            @Override
+            public A create() {
+                return create.get();
+            }
+
+            @Override
+            public A add(A accumulator, T item) {
+                return add.apply(accumulator, item);
+            }
+
+            @Override
+            public R result(A accumulator) {
+                return result.apply(accumulator);
+            }
+        };
+    }
+
+    /**
+     * Same as reduce(seed, reducer) on every window, the accumulator is the running value.
+     */
+    static <T, R> WindowAggregator<T, ?, R> reduce(R seed, BiFunction<R, ? super T, R> reducer) {
+        return of(() -> seed, reducer, accumulator -> accumulator);
+    }
+
+    static <T> WindowAggregator<T, ?, Long> count() {
+        return WindowAggregator.<T, long[], Long>of(() -> new long[1], (count, item) -> {
+            count[0]++;
+            return count;
+        }, count -> count[0]);
+    }
+
+    static <T> WindowAggregator<T, ?, Long> sumLong(ToLongFunction<? super T> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        return WindowAggregator.<T, long[], Long>of(() -> new long[1], (sum, item) -> {
+            sum[0] += mapper.applyAsLong(item);
+            return sum;
+        }, sum -> sum[0]);
+    }
+
+    /**
+     * @return the average of the window, no result for an empty window
+     */
+    static <T> WindowAggregator<T, ?, Double> average(ToDoubleFunction<? super T> mapper) {
+        Objects.requireNonNull(mapper, "mapper is null");
+        // sum and count
+        return WindowAggregator.<T, double[], Double>of(() -> new double[2], (average, item) -> {
+            average[0] += mapper.applyAsDouble(item);
+            average[1]++;
+            return average;
+        }, average -> average[1] == 0 ? null : average[0] / average[1]);
+    }
+
+    /**
+     * @return the smallest item of the window, no result for an empty window
+     */
+    static <T> WindowAggregator<T, ?, T> min(Comparator<? super T> comparator) {
+        Objects.requireNonNull(comparator, "comparator is null");
+        // the accumulator is the smallest item so far
+        return WindowAggregator.<T, T, T>of(() -> null,
+                (min, item) -> min == null || comparator.compare(item, min) < 0 ? item : min,
+                min -> min);
+    }
+
+    /**
+     * @return the biggest item of the window, no result for an empty window
+     */
+    static <T> WindowAggregator<T, ?, T> max(Comparator<? super T> comparator) {
+        Objects.requireNonNull(comparator, "comparator is null");
+        return min(comparator.reversed());
+    }
+
+    /**
+     * The String the Windowing examples build, "1|2|3", in a single StringBuilder per window
+     * instead of one String per item.
+     */
+    static <T> WindowAggregator<T, ?, String> joining(String delimiter) {
+        Objects.requireNonNull(delimiter, "delimiter is null");
+        return WindowAggregator.<T, StringBuilder, String>of(StringBuilder::new, (builder, item) -> {
+            if (builder.length() != 0) {
+                builder.append(delimiter);
+            }
+            return builder.append(item);
+        }, StringBuilder::toString);
+    }
+}
@@ -0,0 +1,338 @@
+package switchingThrottlingWindowingBuffering;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Observer;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.exceptions.Exceptions;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * window() followed by a reduction of every window, fused into one operator. The Windowing
+ * examples create an Observable per window, subscribe to it with flatMapSingle() and build a
+ * new String per item. Here a window is only an accumulator of a {@link WindowAggregator},
+ * created when the window opens and turned into the result when it closes.
+ * <ul>
+ *     <li>tumbling(count) - like window(count).</li>
+ *     <li>sliding(count, skip) - like window(count, skip). With skip &lt; count up to
+ *     ceil(count / skip) windows are open, so every item is added to that many accumulators.</li>
+ *     <li>timed(timespan) - like window(timespan), the accumulator is swapped on every tick.</li>
+ * </ul>
+ * The last window, even if partial, is emitted when the source completes, like window() does.
+ */
+public final class WindowedAggregate {
+    private WindowedAggregate() {
+    }
+
+    /**
+     * Same as window(count) with every window aggregated.
+     */
+    public static <T, A, R> Observable<R> tumbling(Observable<T> source, int count,
+                                                   WindowAggregator<? super T, A, ? extends R> aggregator) {
+        return sliding(source, count, count, aggregator);
+    }
+
+    /**
+     * Same as window(count, skip) with every window aggregated.
+     */
+    public static <T, A, R> Observable<R> sliding(Observable<T> source, int count, int skip,
+                                                  WindowAggregator<? super T, A, ? extends R> aggregator) {
+        Objects.requireNonNull(source, "source is null");
+        Objects.requireNonNull(aggregator, "aggregator is null");
+        if (count <= 0) {
+            throw new IllegalArgumentException("count > 0 required but it was " + count);
+        }
+        if (skip <= 0) {
+            throw new IllegalArgumentException("skip > 0 required but it was " + skip);
+        }
+        return source.lift(observer -> new CountObserver<T, A, R>(observer, count, skip, aggregator));
+    }
+
+    /**
+     * Same as window(timespan, unit, scheduler) with every window aggregated. An empty window
+     * is emitted too unless its result is null.
+     */
+    public static <T, A, R> Observable<R> timed(Observable<T> source, long timespan, TimeUnit unit, Scheduler scheduler,
+                                                WindowAggregator<? super T, A, ? extends R> aggregator) {
+        Objects.requireNonNull(source, "source is null");
+        Objects.requireNonNull(unit, "unit is null");
+        Objects.requireNonNull(scheduler, "scheduler is null");
+        Objects.requireNonNull(aggregator, "aggregator is null");
+        if (timespan <= 0) {
+            throw new IllegalArgumentException("timespan > 0 required but it was " + timespan);
+        }
+        return source.lift(observer -> new TimedObserver<T, A, R>(observer, timespan, unit, scheduler, aggregator));
+    }
+
+    static final class CountObserver<T, A, R> implements Observer<T>, Disposable {
+        private final Observer<? super R> downstream;
+        private final int count;
+        private final int skip;
+        private final WindowAggregator<? super T, A, ? extends R> aggregator;
+        // the open windows, oldest first, in a ring: at most ceil(count / skip) of them
+        private final Object[] accumulators;
+        private final int[] sizes;
+        private int head;
+        private int openCount;
+        // items left until the next window opens
+        private int untilOpen = 1;
+        private Disposable upstream;
+        private boolean done;
+
+        CountObserver(Observer<? super R> downstream, int count, int skip,
+                      WindowAggregator<? super T, A, ? extends R> aggregator) {
+            this.downstream = downstream;
+            this.count = count;
+            this.skip = skip;
+            this.aggregator = aggregator;
+            var maxOpen = (count + skip - 1) / skip;
+            accumulators = new Object[maxOpen];
+            sizes = new int[maxOpen];
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            try {
+                if (--untilOpen == 0) {
+                    untilOpen = skip;
+                    var tail = wrap(head + openCount++);
+                    accumulators[tail] = aggregator.create();
+                    sizes[tail] = 0;
+                }
+                for (int i = 0, j = head; i < openCount; i++, j = wrap(j + 1)) {
+                    accumulators[j] = aggregator.add((A) accumulators[j], item);
+                    sizes[j]++;
+                }
+                if (openCount != 0 && sizes[head] == count) {
+                    emit(poll());
+                }
+            } catch (Throwable e) {
+                Exceptions.throwIfFatal(e);
+                upstream.dispose();
+                onError(e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            if (done) {
+                return;
+            }
+            done = true;
+            while (openCount != 0) {
+                poll();
+            }
+            downstream.onError(e);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            try {
+                while (openCount != 0) {
+                    emit(poll());
+                }
+            } catch (Throwable e) {
+                Exceptions.throwIfFatal(e);
+                onError(e);
+                return;
+            }
+            done = true;
+            downstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            upstream.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return upstream.isDisposed();
+        }
+
+        private void emit(A accumulator) {
+            var result = aggregator.result(accumulator);
+            if (result != null) {
+                downstream.onNext(result);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private A poll() {
+            var accumulator = (A) accumulators[head];
+            accumulators[head] = null;
+            head = wrap(head + 1);
+            openCount--;
+            return accumulator;
+        }
+
+        private int wrap(int index) {
+            return index < accumulators.length ? index : index - accumulators.length;
+        }
+    }
+
+    /**
+     * The source thread adds to the accumulator, the timer thread swaps it: both hold the lock,
+     * like buffer(timespan) does, and emit while holding it so the windows stay in order.
+     */
+    static final class TimedObserver<T, A, R> implements Observer<T>, Disposable, Runnable {
+        private static final Disposable DISPOSED = Disposable.disposed();
+
+        private final Observer<? super R> downstream;
+        private final long timespan;
+        private final TimeUnit unit;
+        private final Scheduler scheduler;
+        private final WindowAggregator<? super T, A, ? extends R> aggregator;
+        private Disposable upstream;
+        // DISPOSED once disposed: a timer scheduled after that is disposed right away
+        private final AtomicReference<Disposable> timer = new AtomicReference<>();
+        // guarded by this
+        private A accumulator;
+        private boolean done;
+
+        TimedObserver(Observer<? super R> downstream, long timespan, TimeUnit unit, Scheduler scheduler,
+                      WindowAggregator<? super T, A, ? extends R> aggregator) {
+            this.downstream = downstream;
+            this.timespan = timespan;
+            this.unit = unit;
+            this.scheduler = scheduler;
+            this.aggregator = aggregator;
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream = d;
+            try {
+                accumulator = aggregator.create();
+            } catch (Throwable e) {
+                Exceptions.throwIfFatal(e);
+                done = true;
+                d.dispose();
+                downstream.onSubscribe(this);
+                downstream.onError(e);
+                return;
+            }
+            downstream.onSubscribe(this);
+            // the downstream may have disposed in onSubscribe()
+            var task = scheduler.schedulePeriodicallyDirect(this, timespan, timespan, unit);
+            if (!timer.compareAndSet(null, task)) {
+                task.dispose();
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                try {
+                    accumulator = aggregator.add(accumulator, item);
+                } catch (Throwable e) {
+                    Exceptions.throwIfFatal(e);
+                    fail(e);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                try {
+                    var result = aggregator.result(accumulator);
+                    accumulator = aggregator.create();
+                    if (result != null) {
+                        downstream.onNext(result);
+                    }
+                } catch (Throwable e) {
+                    Exceptions.throwIfFatal(e);
+                    fail(e);
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            disposeTimer();
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                accumulator = null;
+                downstream.onError(e);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            disposeTimer();
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                R result;
+                try {
+                    result = aggregator.result(accumulator);
+                } catch (Throwable e) {
+                    Exceptions.throwIfFatal(e);
+                    fail(e);
+                    return;
+                }
+                done = true;
+                accumulator = null;
+                if (result != null) {
+                    downstream.onNext(result);
+                }
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            disposeTimer();
+            upstream.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return upstream.isDisposed();
+        }
+
+        // called with the lock held
+        private void fail(Throwable e) {
+            done = true;
+            accumulator = null;
+            disposeTimer();
+            upstream.dispose();
+            downstream.onError(e);
+        }
+
+        // not set yet if aggregator.create() failed or the downstream disposed in onSubscribe()
+        private void disposeTimer() {
+            var task = timer.getAndSet(DISPOSED);
+            if (task != null) {
+                task.dispose();
+            }
+        }
+    }
+}
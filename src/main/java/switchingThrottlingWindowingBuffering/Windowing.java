@@ -1,7 +1,9 @@
 package switchingThrottlingWindowingBuffering;
 
 import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 
+import java.util.Comparator;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -69,4 +71,46 @@ public class Windowing {
                 .flatMapSingle(obs -> obs.reduce("", (total, next) -> total + (total.equals("") ? "" : "|") + next))
                 .subscribe(System.out::println);
     }
+
+    /*
+            Fused windowed aggregation
+     */
+
+    /**
+     * The examples above create an Observable per window and a new String per item. When a
+     * window is only reduced, WindowedAggregate keeps one accumulator per open window instead:
+     * the same joined Strings built in one StringBuilder, then the sum, and the max of the
+     * overlapping windows.
+     */
+    public final void aggregateWithCount(int count, int skip) {
+        WindowedAggregate.tumbling(intSource1, count, WindowAggregator.joining("|"))
+                .subscribe(System.out::println);
+        WindowedAggregate.tumbling(intSource1, count, WindowAggregator.sumLong(Integer::longValue))
+                .subscribe(System.out::println);
+        WindowedAggregate.sliding(intSource1, count, skip, WindowAggregator.max(Comparator.<Integer>naturalOrder()))
+                .subscribe(System.out::println);
+    }
+
+    /**
+     * windowWithTimespan() with the average of every window.
+     */
+    public final void aggregateWithTimespan(long timespan, TimeUnit unit) {
+        WindowedAggregate.timed(infiniteSource2.map(i -> (i + 1) * 300), timespan, unit, Schedulers.computation(),
+                        WindowAggregator.average(Long::doubleValue))
+                .subscribe(System.out::println);
+    }
+
+    /**
+     * Rolling metrics: the number of items and their average over the last 3 seconds, updated
+     * every 300 milliseconds. window(3, 0.3 s) would keep every item in 10 windows at once,
+     * SlidingWindows keeps one partial aggregate per 300 milliseconds.
+     */
+    public final void rollingAggregate() {
+        SlidingWindows.time(infiniteSource2, 3000, 300, TimeUnit.MILLISECONDS, Schedulers.computation(),
+                        SlidingAggregator.count())
+                .subscribe(count -> System.out.println("Count: " + count));
+        SlidingWindows.time(infiniteSource2, 3000, 300, TimeUnit.MILLISECONDS, Schedulers.computation(),
+                        SlidingAggregator.average(Long::doubleValue))
+                .subscribe(average -> System.out.println("Average: " + average));
+    }
 }
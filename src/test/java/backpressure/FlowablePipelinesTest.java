@@ -0,0 +1,87 @@
+package backpressure;
+
+import io.reactivex.rxjava3.core.BackpressureStrategy;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.exceptions.MissingBackpressureException;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import org.junit.Test;
+import pipelines.Sinks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class FlowablePipelinesTest {
+    private final TestScheduler scheduler = new TestScheduler();
+    private final BackpressureConfig config = new BackpressureConfig(BackpressureStrategy.BUFFER, 3, 4, 2);
+
+    @Test
+    public void bufferKeepsTheNewestItems() {
+        var dropped = new AtomicInteger();
+        var o = FlowablePipelines.onBackpressure(Flowable.interval(1, TimeUnit.SECONDS, scheduler), config,
+                        dropped::incrementAndGet)
+                .test(1);
+
+        scheduler.advanceTimeBy(6, TimeUnit.SECONDS);
+        o.assertValuesOnly(0L);
+        assertEquals(2, dropped.get());
+
+        o.requestMore(3);
+        o.assertValuesOnly(0L, 3L, 4L, 5L);
+    }
+
+    @Test
+    public void dropDiscardsWhatWasNotRequested() {
+        var o = FlowablePipelines.interval(1, TimeUnit.SECONDS, scheduler, config.withStrategy(BackpressureStrategy.DROP))
+                .test(2);
+
+        scheduler.advanceTimeBy(5, TimeUnit.SECONDS);
+        o.requestMore(1);
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        o.assertValuesOnly(0L, 1L, 5L);
+    }
+
+    @Test
+    public void latestKeepsTheLastItem() {
+        var o = FlowablePipelines.interval(1, TimeUnit.SECONDS, scheduler, config.withStrategy(BackpressureStrategy.LATEST))
+                .test(1);
+
+        scheduler.advanceTimeBy(5, TimeUnit.SECONDS);
+        o.requestMore(1);
+        o.assertValuesOnly(0L, 4L);
+    }
+
+    @Test
+    public void errorSignalsWhenTheBufferIsFull() {
+        var o = FlowablePipelines.interval(1, TimeUnit.SECONDS, scheduler, config.withStrategy(BackpressureStrategy.ERROR))
+                .test(0);
+
+        scheduler.advanceTimeBy(10, TimeUnit.SECONDS);
+        o.assertError(MissingBackpressureException.class);
+    }
+
+    @Test
+    public void bufferWithTimeSpan() {
+        var o = FlowablePipelines.bufferWithTimeSpan(Flowable.interval(300, TimeUnit.MILLISECONDS, scheduler),
+                        1, TimeUnit.SECONDS, scheduler, config)
+                .test();
+
+        scheduler.advanceTimeBy(2, TimeUnit.SECONDS);
+        o.assertValuesOnly(List.of(0L, 1L, 2L), List.of(3L, 4L, 5L));
+    }
+
+    @Test
+    public void batchedSubscriberRequestsInBatches() {
+        var requests = new AtomicInteger();
+        Sinks.Counting<Integer> sink = Sinks.counting();
+
+        FlowablePipelines.subscribe(Flowable.range(0, 10).doOnRequest(n -> requests.incrementAndGet()), sink,
+                config.withRequestSize(4));
+
+        assertEquals(10, sink.items());
+        assertEquals(1, sink.completions());
+        assertEquals(4, requests.get());
+    }
+}
@@ -0,0 +1,103 @@
+package backpressure;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class RateLimitTest {
+    private final TestScheduler scheduler = new TestScheduler();
+
+    @Test
+    public void limiterSpacesThePermitsAfterTheBurst() {
+        var limiter = RateLimiter.create(10, 3);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), limiter.intervalNanos());
+
+        var now = TimeUnit.SECONDS.toNanos(10);
+        assertEquals(0, limiter.reserve(now));
+        assertEquals(0, limiter.reserve(now));
+        assertEquals(0, limiter.reserve(now));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), limiter.reserve(now));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), limiter.reserve(now));
+        // idle for a second: the burst is back, no more
+        now += TimeUnit.SECONDS.toNanos(1);
+        assertEquals(0, limiter.reserve(now));
+        assertEquals(0, limiter.reserve(now));
+        assertEquals(0, limiter.reserve(now));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), limiter.reserve(now));
+    }
+
+    @Test
+    public void flowableDelaysInsteadOfDropping() {
+        var subscriber = RateLimit.flowable(Flowable.range(1, 5), RateLimiter.create(10, 1, scheduler), scheduler).test();
+
+        subscriber.assertValuesOnly(1);
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        subscriber.assertValuesOnly(1, 2);
+        scheduler.advanceTimeBy(250, TimeUnit.MILLISECONDS);
+        subscriber.assertValuesOnly(1, 2, 3, 4);
+        scheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        subscriber.assertResult(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    public void flowableRequestsFromUpstreamAsTheItemsLeave() {
+        List<Long> requests = new ArrayList<>();
+        var source = Flowable.range(1, 100).doOnRequest(requests::add);
+        var subscriber = RateLimit.flowable(source, RateLimiter.create(10, 2, scheduler), scheduler, 4).test(0);
+
+        assertEquals(List.of(4L), requests);
+        subscriber.assertEmpty();
+
+        subscriber.request(10);
+        subscriber.assertValuesOnly(1, 2);
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        // 3 items out, 3 more requested
+        assertEquals(List.of(4L, 3L), requests);
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        subscriber.assertValuesOnly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        assertEquals(List.of(4L, 3L, 3L, 3L), requests);
+    }
+
+    @Test
+    public void pipelinesShareOneLimiter() {
+        var limiter = RateLimiter.create(10, 1, scheduler);
+        var first = RateLimit.observable(Observable.just("a1", "a2"), limiter, scheduler).test();
+        var second = RateLimit.observable(Observable.just("b1", "b2"), limiter, scheduler).test();
+
+        // a2 reserved the second permit before b1 asked for one
+        first.assertValuesOnly("a1");
+        second.assertEmpty();
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        first.assertResult("a1", "a2");
+        second.assertEmpty();
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        second.assertValuesOnly("b1");
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        second.assertResult("b1", "b2");
+    }
+
+    @Test
+    public void errorIsNotDelayed() {
+        var source = Observable.just(1, 2, 3).concatWith(Observable.error(new IllegalStateException()));
+        var observer = RateLimit.observable(source, RateLimiter.create(10, 1, scheduler), scheduler).test();
+
+        observer.assertFailure(IllegalStateException.class, 1);
+    }
+
+    @Test
+    public void cancelStopsTheTimers() {
+        var subscriber = RateLimit.flowable(Flowable.range(1, 5), RateLimiter.create(10, 1, scheduler), scheduler).test();
+
+        subscriber.cancel();
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        subscriber.assertValuesOnly(1);
+    }
+}
@@ -0,0 +1,69 @@
+package backpressure;
+
+import io.reactivex.rxjava3.core.BackpressureStrategy;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A source ticking every 10 microseconds behind observeOn(Schedulers.io()) and a subscriber
+ * that needs a millisecond per item. The Observable version of this chain queues every tick
+ * in observeOn() and grows without limit, here the number of items held by the pipeline
+ * (produced - consumed - dropped) never exceeds bufferCapacity + prefetch.
+ */
+public class SlowSubscriberStressTest {
+    private static final int BUFFER_CAPACITY = 256;
+    private static final int PREFETCH = 64;
+
+    @Test
+    public void bufferStrategyKeepsMemoryBounded() throws InterruptedException {
+        assertBounded(BackpressureStrategy.BUFFER);
+    }
+
+    @Test
+    public void dropStrategyKeepsMemoryBounded() throws InterruptedException {
+        assertBounded(BackpressureStrategy.DROP);
+    }
+
+    private static void assertBounded(BackpressureStrategy strategy) throws InterruptedException {
+        var config = new BackpressureConfig(strategy, BUFFER_CAPACITY, PREFETCH, 16);
+        var produced = new AtomicLong();
+        var consumed = new AtomicLong();
+        var dropped = new AtomicLong();
+        var maxInFlight = new AtomicLong();
+
+        var source = Flowable.interval(10, TimeUnit.MICROSECONDS)
+                .doOnNext(item -> produced.incrementAndGet());
+        var disposable = FlowablePipelines.subscribe(
+                FlowablePipelines.observeOn(FlowablePipelines.onBackpressure(source, config, dropped::incrementAndGet),
+                        Schedulers.io(), config),
+                item -> {
+                    sleep(1);
+                    var inFlight = produced.get() - consumed.incrementAndGet() - dropped.get();
+                    maxInFlight.accumulateAndGet(inFlight, Math::max);
+                },
+                config);
+
+        Thread.sleep(1000);
+        disposable.dispose();
+
+        assertTrue("the subscriber must be slower than the source", dropped.get() > 0);
+        assertTrue("the subscriber must receive items", consumed.get() > 0);
+        // +1 for the tick counted as produced but not yet buffered or dropped
+        assertTrue("max in flight " + maxInFlight.get(), maxInFlight.get() <= BUFFER_CAPACITY + PREFETCH + 1);
+    }
+
+    private static void sleep(long time) {
+        try {
+            Thread.sleep(time);
+        } catch (InterruptedException e) {
+            // dispose() interrupts the io() worker
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package basicOperators;
+
+import io.reactivex.rxjava3.core.Observable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+
+public class BoundedSortingTest {
+    private Path spillDir;
+
+    @Before
+    public void createSpillDir() throws IOException {
+        spillDir = Files.createTempDirectory("bounded-sorting-test");
+    }
+
+    @After
+    public void deleteSpillDir() throws IOException {
+        try (Stream<Path> files = Files.list(spillDir)) {
+            for (var file : files.collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(spillDir);
+    }
+
+    private long spilledFiles() throws IOException {
+        try (Stream<Path> files = Files.list(spillDir)) {
+            return files.count();
+        }
+    }
+
+    private static Observable<Integer> randomInts(int count) {
+        return Observable.fromIterable(new Random(42).ints(count, 0, 1000).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void topKMatchesSortedTake() {
+        var expected = randomInts(100_000).sorted(Comparator.reverseOrder()).take(100).toList().blockingGet();
+
+        BoundedSorting.topK(randomInts(100_000), 100, Comparator.reverseOrder())
+                .test()
+                .assertResult(expected);
+    }
+
+    @Test
+    public void topKKeepsTheOrderOfEqualItems() {
+        // few distinct keys, every top item ties with many others; the value tells them apart
+        var random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            var items = random.ints(50, 0, 50).map(i -> i * 10 + random.nextInt(4)).boxed().collect(Collectors.toList());
+            Comparator<Integer> byKey = Comparator.comparingInt(i -> i % 4);
+            var expected = Observable.fromIterable(items).sorted(byKey).take(5).toList().blockingGet();
+
+            BoundedSorting.topK(Observable.fromIterable(items), 5, byKey)
+                    .test()
+                    .assertResult(expected);
+        }
+    }
+
+    @Test
+    public void topKOfAShortSource() {
+        BoundedSorting.topK(Observable.just(3, 1, 2), 10)
+                .test()
+                .assertResult(List.of(1, 2, 3));
+    }
+
+    @Test
+    public void sortedSpillingMatchesSorted() throws IOException {
+        var expected = randomInts(10_000).sorted().toList().blockingGet();
+
+        BoundedSorting.sortedSpilling(randomInts(10_000), Comparator.naturalOrder(), 1000, spillDir,
+                        BoundedSorting.SpillCodec.ints())
+                .toList()
+                .test()
+                .assertResult(expected);
+        assertEquals(0, spilledFiles());
+    }
+
+    @Test
+    public void equalItemsKeepTheirOrder() {
+        var words = Observable.range(0, 1000).map(i -> (char) ('a' + i % 7) + "" + i);
+
+        var expected = words.sorted(Comparator.comparing(word -> word.charAt(0))).toList().blockingGet();
+
+        BoundedSorting.sortedSpilling(words, Comparator.comparing(word -> word.charAt(0)), 64, spillDir,
+                        BoundedSorting.SpillCodec.strings())
+                .toList()
+                .test()
+                .assertResult(expected);
+    }
+
+    @Test
+    public void smallSourcesAreNotSpilled() throws IOException {
+        var source = Observable.just(5L, 3L, 9L);
+
+        BoundedSorting.sortedSpilling(source, Comparator.naturalOrder(), 3, spillDir, BoundedSorting.SpillCodec.longs())
+                .test()
+                .assertResult(3L, 5L, 9L);
+        BoundedSorting.sortedSpilling(source.concatWith(Observable.just(1L)), Comparator.naturalOrder(), 3, spillDir,
+                        BoundedSorting.SpillCodec.longs())
+                .test()
+                .assertResult(1L, 3L, 5L, 9L);
+        assertEquals(0, spilledFiles());
+    }
+
+    @Test
+    public void theRunsAreDeletedOnError() throws IOException {
+        BoundedSorting.sortedSpilling(randomInts(100).concatWith(Observable.error(new IllegalStateException())),
+                        Comparator.naturalOrder(), 10, spillDir, BoundedSorting.SpillCodec.ints())
+                .test()
+                .assertFailure(IllegalStateException.class);
+        assertEquals(0, spilledFiles());
+    }
+
+    @Test
+    public void theRunsAreDeletedOnDispose() throws IOException {
+        BoundedSorting.sortedSpilling(randomInts(1000), Comparator.naturalOrder(), 10, spillDir,
+                        BoundedSorting.SpillCodec.ints())
+                .take(5)
+                .test()
+                .assertValueCount(5);
+        assertEquals(0, spilledFiles());
+    }
+}
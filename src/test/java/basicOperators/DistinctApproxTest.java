@@ -0,0 +1,100 @@
+package basicOperators;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DistinctApproxTest {
+
+    @Test
+    public void bloomNeverEmitsAKeyTwice() {
+        DistinctApprox.bloom(Observable.just("Alpha", "Beta", "Gamma", "Beta", "Alpha"), 100, 0.01)
+                .test()
+                .assertResult("Alpha", "Beta", "Gamma");
+    }
+
+    @Test
+    public void bloomKeepsItsFalsePositiveRate() {
+        var keys = 100_000;
+        var emitted = DistinctApprox.bloom(Observable.rangeLong(0, keys).concatWith(Observable.rangeLong(0, keys)),
+                        Long::longValue, keys, 0.01)
+                .count()
+                .blockingGet();
+
+        // about 1.2% of the new keys are dropped, none of the repeated ones is emitted
+        assertTrue(emitted <= keys);
+        assertTrue("emitted " + emitted, emitted > keys * 0.98);
+    }
+
+    @Test
+    public void everySubscriptionHasItsOwnFilter() {
+        var distinct = DistinctApprox.bloom(Observable.just(1, 2, 1), 10, 0.01);
+
+        distinct.test().assertResult(1, 2);
+        distinct.test().assertResult(1, 2);
+    }
+
+    @Test
+    public void expiringForgetsAKeyAfterTheTtl() {
+        var scheduler = new TestScheduler();
+        var subject = PublishSubject.<String>create();
+        var observer = DistinctApprox.expiring(subject, key -> key, 10, TimeUnit.SECONDS, 100, scheduler).test();
+
+        subject.onNext("a");
+        subject.onNext("b");
+        scheduler.advanceTimeBy(5, TimeUnit.SECONDS);
+        subject.onNext("a");
+        scheduler.advanceTimeBy(5, TimeUnit.SECONDS);
+        subject.onNext("a");
+        subject.onNext("b");
+        subject.onNext("b");
+
+        observer.assertValues("a", "b", "a", "b");
+    }
+
+    @Test
+    public void expiringKeepsAtMostMaxKeys() {
+        DistinctApprox.expiring(Observable.just(1, 2, 3, 1, 3), key -> key, 1, TimeUnit.HOURS, 2, new TestScheduler())
+                .test()
+                .assertResult(1, 2, 3, 1);
+    }
+
+    @Test
+    public void countDistinctIsWithinTheStandardError() {
+        var estimate = DistinctApprox.countDistinct(Observable.rangeLong(0, 1_000_000).map(i -> i % 200_000),
+                        Long::longValue, 14)
+                .blockingGet();
+
+        // 0.81% standard error, 4 of them
+        assertEquals(200_000, estimate, 200_000 * 0.0325);
+        DistinctApprox.countDistinct(Observable.just("a", "b", "a")).test().assertResult(2L);
+    }
+
+    @Test
+    public void hyperLogLogsMerge() {
+        var left = new HyperLogLog(12);
+        var right = new HyperLogLog(12);
+        for (long i = 0; i < 50_000; i++) {
+            left.add(BloomFilter.mix(i));
+            right.add(BloomFilter.mix(i + 25_000));
+        }
+        left.merge(right);
+
+        assertEquals(75_000, left.estimate(), 75_000 * 0.07);
+    }
+
+    @Test
+    public void bloomFilterSize() {
+        var filter = BloomFilter.create(10_000_000, 0.01);
+
+        // 9.6 bits per key in blocks of 512, 7 hashes
+        assertEquals(95_850_590, filter.bitSize(), 512);
+        assertEquals(7, filter.hashes());
+    }
+}
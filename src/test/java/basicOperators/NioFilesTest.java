@@ -0,0 +1,122 @@
+package basicOperators;
+
+import io.reactivex.rxjava3.core.Flowable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NioFilesTest {
+    private Path file;
+    private Path copy;
+
+    @Before
+    public void createFiles() throws IOException {
+        file = Files.createTempFile("nio-files-test", ".txt");
+        copy = Files.createTempFile("nio-files-test", ".copy");
+    }
+
+    @After
+    public void deleteFiles() throws IOException {
+        Files.delete(file);
+        Files.delete(copy);
+    }
+
+    private static String text(ByteBuffer buffer) {
+        return StandardCharsets.UTF_8.decode(buffer.duplicate()).toString();
+    }
+
+    private static String lines(int count) {
+        var text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append("line ").append(i).append('\n');
+        }
+        return text.toString();
+    }
+
+    @Test
+    public void chunksAndMappedChunksCoverTheFile() throws IOException {
+        var content = lines(1000);
+        Files.writeString(file, content);
+
+        for (var chunks : List.of(NioFiles.chunks(file, 100), NioFiles.mappedChunks(file, 100))) {
+            var sizes = new ArrayList<Integer>();
+            var read = chunks.doOnNext(chunk -> sizes.add(chunk.remaining()))
+                    .map(NioFilesTest::text)
+                    .reduce("", String::concat)
+                    .blockingGet();
+            assertEquals(content, read);
+            assertTrue(sizes.subList(0, sizes.size() - 1).stream().allMatch(size -> size == 100));
+        }
+    }
+
+    @Test
+    public void recordsAreSplitOnTheDelimiter() throws IOException {
+        Files.writeString(file, "Alpha\nBeta\n\nGamma");
+
+        NioFiles.records(file, (byte) '\n')
+                .map(NioFilesTest::text)
+                .test()
+                .assertResult("Alpha", "Beta", "", "Gamma");
+    }
+
+    @Test
+    public void recordsSpanWindows() throws IOException {
+        Files.writeString(file, lines(1000));
+
+        var records = NioFiles.records(file, (byte) '\n', 64)
+                .map(NioFilesTest::text)
+                .toList()
+                .blockingGet();
+
+        assertEquals(1000, records.size());
+        assertEquals("line 999", records.get(999));
+    }
+
+    @Test
+    public void aRecordLongerThanTheWindowFails() throws IOException {
+        Files.writeString(file, "short\n" + "x".repeat(100) + "\n");
+
+        NioFiles.records(file, (byte) '\n', 64)
+                .map(NioFilesTest::text)
+                .test()
+                .assertFailure(IOException.class, "short");
+    }
+
+    @Test
+    public void readsOnlyWhatIsRequested() throws IOException {
+        Files.writeString(file, lines(100));
+
+        var subscriber = NioFiles.records(file, (byte) '\n').map(NioFilesTest::text).test(0);
+        subscriber.assertEmpty();
+        subscriber.request(2);
+        subscriber.assertValuesOnly("line 0", "line 1");
+        subscriber.cancel();
+    }
+
+    @Test
+    public void writeRecordsRoundTrips() throws IOException {
+        var content = lines(1000);
+        Files.writeString(file, content);
+
+        NioFiles.writeRecords(NioFiles.records(file, (byte) '\n'), copy, (byte) '\n', 64)
+                .test()
+                .assertResult((long) content.length());
+        assertEquals(content, Files.readString(copy));
+
+        NioFiles.write(Flowable.just("ab", "cd", "e").map(s -> ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8))), copy, 2)
+                .test()
+                .assertResult(5L);
+        assertEquals("abcde", Files.readString(copy));
+    }
+}
@@ -0,0 +1,132 @@
+package basicOperators;
+
+import io.reactivex.rxjava3.core.Observable;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelReduceTest {
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final ParallelReduce parallel = ParallelReduce.on(pool).withSequentialThreshold(64);
+
+    @Test
+    public void reduceMatchesTheObservableReduce() {
+        var expected = Observable.range(0, 100_000).reduce(0L, (sum, item) -> sum + item).blockingGet();
+
+        parallel.reduce(ParallelReduce.range(0, 100_000), 0L, (sum, item) -> sum + item, Long::sum)
+                .test()
+                .awaitDone(10, TimeUnit.SECONDS)
+                .assertResult(expected);
+    }
+
+    @Test
+    public void linkedListIsNotIndexedNodeByNode() {
+        var items = new LinkedList<>(ParallelReduce.range(0, 500_000));
+
+        // get(i) per item would walk half a million nodes half a million times
+        parallel.reduce(items, 0L, (sum, item) -> sum + item, Long::sum)
+                .test()
+                .awaitDone(10, TimeUnit.SECONDS)
+                .assertResult(499_999L * 500_000 / 2);
+    }
+
+    @Test
+    public void smallListsAreFoldedOnTheSubscribingThread() {
+        var threads = new ArrayList<Thread>();
+
+        parallel.reduce(ParallelReduce.range(0, 64), 0, (sum, item) -> {
+                    threads.add(Thread.currentThread());
+                    return sum + item;
+                }, Integer::sum)
+                .test()
+                .assertResult(2016);
+        assertEquals(64, threads.size());
+        assertTrue(threads.stream().allMatch(thread -> thread == Thread.currentThread()));
+    }
+
+    @Test
+    public void mergesThePartsInOrder() {
+        var expected = new ArrayList<String>();
+        for (int i = 0; i < 10_000; i++) {
+            expected.add("#" + i);
+        }
+
+        parallel.toList(ParallelReduce.range(0, 10_000), i -> "#" + i)
+                .test()
+                .awaitDone(10, TimeUnit.SECONDS)
+                .assertResult(expected);
+        // a non-commutative combiner
+        parallel.reduce(expected, "", (text, item) -> text + item.charAt(1), String::concat)
+                .map(String::length)
+                .test()
+                .awaitDone(10, TimeUnit.SECONDS)
+                .assertResult(10_000);
+    }
+
+    @Test
+    public void toMapKeepsTheLastItemOfAKey() {
+        Map<Integer, Integer> map = parallel.toMap(ParallelReduce.range(0, 10_000), i -> i % 10).blockingGet();
+        Map<Integer, Integer> expected = Observable.range(0, 10_000).toMap(i -> i % 10).blockingGet();
+        assertEquals(expected, map);
+
+        var multimap = parallel.toMultimap(ParallelReduce.range(0, 10_000), i -> i % 10, i -> i).blockingGet();
+        assertEquals(Observable.range(0, 10_000).toMultimap(i -> i % 10, i -> i).blockingGet(), multimap);
+    }
+
+    @Test
+    public void countAllAnyAndCollect() {
+        var items = ParallelReduce.range(0, 10_000);
+
+        parallel.count(items, i -> i % 3 == 0).test().awaitDone(10, TimeUnit.SECONDS).assertResult(3334L);
+        parallel.all(items, i -> i >= 0).test().awaitDone(10, TimeUnit.SECONDS).assertResult(true);
+        parallel.any(items, i -> i < 0).test().awaitDone(10, TimeUnit.SECONDS).assertResult(false);
+        parallel.<Integer, List<Integer>>collect(items, ArrayList::new, List::add, List::addAll)
+                .map(List::size)
+                .test()
+                .awaitDone(10, TimeUnit.SECONDS)
+                .assertResult(10_000);
+    }
+
+    @Test
+    public void anyStopsTheOtherParts() {
+        var tested = new AtomicLong();
+
+        parallel.any(ParallelReduce.range(0, 10_000_000), i -> {
+                    tested.incrementAndGet();
+                    return i == 5;
+                })
+                .test()
+                .awaitDone(10, TimeUnit.SECONDS)
+                .assertResult(true);
+        assertTrue(tested.get() < 10_000_000);
+    }
+
+    @Test
+    public void anErrorIsSignalledOnce() {
+        var failure = new IllegalStateException();
+
+        parallel.count(ParallelReduce.range(0, 100_000), i -> {
+                    if (i % 1000 == 999) {
+                        throw failure;
+                    }
+                    return true;
+                })
+                .test()
+                .awaitDone(10, TimeUnit.SECONDS)
+                .assertFailure(IllegalStateException.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rangeOverflow() {
+        ParallelReduce.range(Integer.MAX_VALUE, 2);
+    }
+}
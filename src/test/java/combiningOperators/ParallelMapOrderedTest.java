@@ -0,0 +1,96 @@
+package combiningOperators;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelMapOrderedTest {
+
+    @Test
+    public void keepsTheUpstreamOrder() {
+        var expected = new ArrayList<Integer>();
+        for (int i = 0; i < 10_000; i++) {
+            expected.add(i * 2);
+        }
+
+        ParallelMapOrdered.flowable(Flowable.range(0, 10_000), 4, Schedulers.computation(), i -> {
+                    if (ThreadLocalRandom.current().nextInt(100) == 0) {
+                        Thread.sleep(1);
+                    }
+                    return i * 2;
+                }, 16)
+                .test()
+                .awaitDone(10, TimeUnit.SECONDS)
+                .assertValueSequence(expected)
+                .assertComplete();
+    }
+
+    @Test
+    public void mapsOnSeveralWorkers() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        ParallelMapOrdered.observable(Observable.range(0, 1_000), 4, Schedulers.newThread(), i -> {
+                    threads.add(Thread.currentThread().getName());
+                    return i;
+                })
+                .test()
+                .awaitDone(10, TimeUnit.SECONDS)
+                .assertValueCount(1_000)
+                .assertComplete();
+        assertTrue(threads.size() > 1);
+    }
+
+    @Test
+    public void bufferBoundsTheUpstreamRequests() {
+        var outstanding = new AtomicLong();
+        List<Long> requests = new ArrayList<>();
+        var source = Flowable.range(0, 100)
+                .doOnRequest(n -> {
+                    requests.add(n);
+                    outstanding.addAndGet(n);
+                });
+
+        var subscriber = ParallelMapOrdered.flowable(source, 2, Schedulers.computation(), i -> i, 8).test(0);
+
+        // nothing requested downstream: the ring fills and the upstream stops
+        assertEquals(8, outstanding.get());
+        subscriber.request(100);
+        subscriber.awaitDone(10, TimeUnit.SECONDS)
+                .assertValueCount(100)
+                .assertComplete();
+        assertTrue(requests.stream().allMatch(n -> n <= 8));
+    }
+
+    @Test
+    public void mapperErrorIsSignalled() {
+        ParallelMapOrdered.flowable(Flowable.range(0, 100), 4, Schedulers.computation(), i -> {
+                    if (i == 50) {
+                        throw new IllegalStateException();
+                    }
+                    return i;
+                })
+                .test()
+                .awaitDone(10, TimeUnit.SECONDS)
+                .assertError(IllegalStateException.class);
+    }
+
+    @Test
+    public void emptySourceCompletes() {
+        ParallelMapOrdered.flowable(Flowable.<Integer>empty(), 4, Schedulers.computation(), i -> i)
+                .test()
+                .awaitDone(10, TimeUnit.SECONDS)
+                .assertResult();
+    }
+}
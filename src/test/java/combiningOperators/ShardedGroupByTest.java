@@ -0,0 +1,150 @@
+package combiningOperators;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.observables.GroupedObservable;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class ShardedGroupByTest {
+    private final TestScheduler scheduler = new TestScheduler();
+
+    @Test
+    public void groupsKeepTheOrderOfTheirKey() {
+        var grouped = ShardedGroupBy.groupBy(Observable.range(0, 1000), i -> i % 10,
+                ShardingConfig.defaults().withShards(4), scheduler);
+        var observer = grouped.flatMapSingle(GroupedObservable::toList).test();
+
+        scheduler.triggerActions();
+
+        observer.assertComplete().assertValueCount(10);
+        for (var list : observer.values()) {
+            assertEquals(100, list.size());
+            for (int i = 1; i < list.size(); i++) {
+                assertEquals(list.get(i - 1) + 10, (int) list.get(i));
+            }
+        }
+        assertEquals(0, grouped.liveGroups());
+    }
+
+    @Test
+    public void keyedAggregationOnComputation() {
+        var grouped = ShardedGroupBy.groupBy(Observable.range(0, 100_000), i -> i % 100, ShardingConfig.defaults());
+
+        var observer = grouped
+                .flatMapSingle(group -> group.toList().map(list -> Map.entry(group.getKey(), list)))
+                .test()
+                .awaitDone(10, TimeUnit.SECONDS)
+                .assertComplete()
+                .assertValueCount(100);
+        for (var entry : observer.values()) {
+            var list = entry.getValue();
+            assertEquals(1000, list.size());
+            for (int i = 0; i < list.size(); i++) {
+                assertEquals(entry.getKey() + i * 100, (int) list.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void queueDepthCountsTheItemsNotEmittedYet() {
+        var grouped = ShardedGroupBy.groupBy(Observable.range(0, 10), i -> i % 2,
+                ShardingConfig.defaults().withShards(2), scheduler);
+        grouped.flatMap(group -> group).test();
+
+        // 5 items and the completion per shard
+        assertEquals(12, grouped.queueDepth(0) + grouped.queueDepth(1));
+        scheduler.triggerActions();
+        assertArrayEquals(new long[]{0, 0}, grouped.queueDepths());
+    }
+
+    @Test
+    public void leastRecentlyUsedGroupIsEvicted() {
+        var source = PublishSubject.<String>create();
+        var grouped = ShardedGroupBy.groupBy(source, item -> item.substring(0, 1),
+                ShardingConfig.defaults().withShards(1).withMaxGroupsPerShard(2), scheduler);
+        var groups = new ArrayList<TestObserver<String>>();
+        var keys = new ArrayList<String>();
+        grouped.subscribe(group -> {
+            keys.add(group.getKey());
+            groups.add(group.test());
+        });
+
+        source.onNext("a1");
+        source.onNext("b1");
+        source.onNext("a2");
+        source.onNext("c1");
+        source.onNext("b2");
+        scheduler.triggerActions();
+
+        assertEquals(List.of("a", "b", "c", "b"), keys);
+        groups.get(0).assertResult("a1", "a2");
+        groups.get(1).assertResult("b1");
+        groups.get(2).assertValuesOnly("c1");
+        groups.get(3).assertValuesOnly("b2");
+        assertEquals(2, grouped.evictedOverflow());
+        assertEquals(2, grouped.liveGroups());
+    }
+
+    @Test
+    public void idleGroupIsCompleted() {
+        var source = PublishSubject.<String>create();
+        var grouped = ShardedGroupBy.groupBy(source, item -> item,
+                ShardingConfig.defaults().withShards(1).withIdleTimeout(1, TimeUnit.SECONDS), scheduler);
+        var groups = new ArrayList<TestObserver<String>>();
+        grouped.subscribe(group -> groups.add(group.test()));
+
+        source.onNext("a");
+        scheduler.advanceTimeBy(500, TimeUnit.MILLISECONDS);
+        source.onNext("b");
+        scheduler.advanceTimeBy(600, TimeUnit.MILLISECONDS);
+
+        groups.get(0).assertResult("a");
+        groups.get(1).assertValuesOnly("b");
+        assertEquals(1, grouped.evictedIdle());
+        assertEquals(1, grouped.liveGroups());
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        groups.get(1).assertResult("b");
+        assertEquals(0, grouped.liveGroups());
+    }
+
+    @Test
+    public void errorReachesTheGroupsAndTheDownstream() {
+        var source = PublishSubject.<Integer>create();
+        var grouped = ShardedGroupBy.groupBy(source, i -> i % 3, ShardingConfig.defaults().withShards(2), scheduler);
+        var groups = new ArrayList<TestObserver<Integer>>();
+        var observer = grouped.doOnNext(group -> groups.add(group.test())).test();
+
+        source.onNext(1);
+        source.onNext(2);
+        source.onError(new IllegalStateException());
+        scheduler.triggerActions();
+
+        observer.assertError(IllegalStateException.class).assertValueCount(2);
+        for (var group : groups) {
+            group.assertError(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    public void keySelectorFailureStopsTheUpstream() {
+        var source = PublishSubject.<Integer>create();
+        var observer = ShardedGroupBy.groupBy(source, i -> 10 / i, ShardingConfig.defaults().withShards(2), scheduler)
+                .test();
+
+        source.onNext(0);
+        scheduler.triggerActions();
+
+        observer.assertFailure(ArithmeticException.class);
+        assertFalse(source.hasObservers());
+    }
+}
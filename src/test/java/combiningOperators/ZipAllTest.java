@@ -0,0 +1,117 @@
+package combiningOperators;
+
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.subjects.SingleSubject;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ZipAllTest {
+
+    @Test
+    public void valuesAreInTheOrderOfTheSources() {
+        var sources = new ArrayList<Single<Integer>>();
+        for (int i = 0; i < 200; i++) {
+            var value = i;
+            // the later sources succeed first
+            sources.add(Single.timer(200 - i, TimeUnit.MICROSECONDS).map(tick -> value));
+        }
+        var expected = new ArrayList<Integer>();
+        for (int i = 0; i < 200; i++) {
+            expected.add(i);
+        }
+
+        ZipAll.zipAll(sources, 16, Schedulers.computation())
+                .test()
+                .awaitDone(10, TimeUnit.SECONDS)
+                .assertResult(expected);
+    }
+
+    @Test
+    public void atMostMaxConcurrencySourcesRunAtATime() {
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+        var sources = new ArrayList<Single<Integer>>();
+        for (int i = 0; i < 50; i++) {
+            var value = i;
+            sources.add(Single.fromCallable(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(1);
+                running.decrementAndGet();
+                return value;
+            }));
+        }
+
+        ZipAll.zipAll(sources, 4, Schedulers.io())
+                .test()
+                .awaitDone(10, TimeUnit.SECONDS)
+                .assertValue(values -> values.size() == 50);
+        assertTrue(maxRunning.get() <= 4);
+        assertTrue(maxRunning.get() > 1);
+    }
+
+    @Test
+    public void firstErrorDisposesTheOthers() {
+        var slow = SingleSubject.<Integer>create();
+        var failing = SingleSubject.<Integer>create();
+        var subscribed = new AtomicInteger();
+        var waiting = Single.<Integer>never().doOnSubscribe(d -> subscribed.incrementAndGet());
+
+        var observer = ZipAll.zipAll(List.of(slow, failing, waiting), 2, Schedulers.trampoline()).test();
+        assertTrue(slow.hasObservers());
+        failing.onError(new IllegalStateException());
+
+        observer.assertError(IllegalStateException.class);
+        assertTrue(!slow.hasObservers());
+        // the third source was waiting for a free slot, it is never subscribed to
+        assertEquals(0, subscribed.get());
+    }
+
+    @Test
+    public void timeoutDisposesTheRunningSources() throws InterruptedException {
+        var hanging = SingleSubject.<Integer>create();
+
+        ZipAll.zipAll(List.of(Single.just(1), hanging), 2, Schedulers.computation(), 20, TimeUnit.MILLISECONDS)
+                .test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .assertError(TimeoutException.class)
+                .assertError(e -> e.getMessage().contains("1 of 2 sources pending"));
+        // the sources are disposed once the error is signalled, on the timer thread
+        for (int i = 0; i < 500 && hanging.hasObservers(); i++) {
+            Thread.sleep(1);
+        }
+        assertTrue(!hanging.hasObservers());
+    }
+
+    @Test
+    public void reportsTheLatencyOfEverySource() {
+        var sources = List.of(Single.just(1), Single.timer(50, TimeUnit.MILLISECONDS).map(tick -> 2), Single.just(3));
+
+        var zipped = ZipAll.zipAllTimed(sources, 3, Schedulers.io(), 0, TimeUnit.SECONDS)
+                .blockingGet();
+
+        assertEquals(List.of(1, 2, 3), zipped.values());
+        assertEquals(1, zipped.slowest());
+        assertTrue(zipped.latency(1, TimeUnit.MILLISECONDS) >= 50);
+    }
+
+    @Test
+    public void noSourcesSucceedsWithAnEmptyList() {
+        ZipAll.zipAll(List.<Single<Integer>>of(), 4, Schedulers.computation())
+                .test()
+                .assertResult(List.of());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maxConcurrencyMustBePositive() {
+        ZipAll.zipAll(List.of(Single.just(1)), 0, Schedulers.computation());
+    }
+}
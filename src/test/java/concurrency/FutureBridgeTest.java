@@ -0,0 +1,171 @@
+package concurrency;
+
+import io.reactivex.rxjava3.core.SingleObserver;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class FutureBridgeTest {
+    private final FuturePoller poller = FuturePoller.create(1, TimeUnit.MILLISECONDS);
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    @After
+    public void shutdown() {
+        poller.shutdown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void polledFutureEmitsItsResultOnThePollerThread() {
+        var future = executor.schedule(() -> 42, 20, TimeUnit.MILLISECONDS);
+
+        var observer = FutureBridge.fromFuture(future, poller)
+                .map(value -> value + ":" + Thread.currentThread().getName())
+                .test();
+
+        observer.awaitDone(5, TimeUnit.SECONDS);
+        observer.assertComplete();
+        assertTrue(observer.values().get(0).startsWith("42:RxFuturePoller-"));
+        assertEquals(0, poller.watching());
+    }
+
+    @Test
+    public void thousandsOfFuturesShareOneThread() {
+        var futures = new ArrayList<FutureTask<Integer>>();
+        var observers = new ArrayList<TestObserver<Integer>>();
+        for (int i = 0; i < 10_000; i++) {
+            var value = i;
+            var task = new FutureTask<>(() -> value);
+            futures.add(task);
+            observers.add(FutureBridge.fromFuture(task, poller).test());
+        }
+        var threads = Thread.activeCount();
+        for (var task : futures) {
+            task.run();
+        }
+
+        for (int i = 0; i < observers.size(); i++) {
+            observers.get(i).awaitDone(5, TimeUnit.SECONDS).assertResult(i);
+        }
+        assertTrue(Thread.activeCount() <= threads);
+        assertEquals(0, poller.watching());
+    }
+
+    @Test
+    public void throwingDownstreamDoesNotStopThePoller() {
+        var errors = new ArrayList<Throwable>();
+        RxJavaPlugins.setErrorHandler(errors::add);
+        try {
+            var first = new FutureTask<>(() -> 1);
+            FutureBridge.fromFuture(first, poller).subscribe(new SingleObserver<>() {
+                @Override
+                public void onSubscribe(Disposable d) {
+                }
+
+                @Override
+                public void onSuccess(Integer value) {
+                    throw new IllegalStateException("crash");
+                }
+
+                @Override
+                public void onError(Throwable e) {
+                }
+            });
+            first.run();
+            var second = new FutureTask<>(() -> 2);
+            var observer = FutureBridge.fromFuture(second, poller).test();
+            second.run();
+
+            observer.awaitDone(5, TimeUnit.SECONDS).assertResult(2);
+            assertEquals(1, errors.size());
+        } finally {
+            RxJavaPlugins.reset();
+        }
+    }
+
+    @Test
+    public void executionExceptionIsUnwrapped() {
+        var future = executor.submit(() -> {
+            throw new IOException("boom");
+        });
+
+        FutureBridge.fromFuture(future, poller).test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .assertError(IOException.class)
+                .assertError(e -> e.getMessage().equals("boom"));
+    }
+
+    @Test
+    public void cancelledFutureSignalsCancellationException() {
+        var future = executor.schedule(() -> 1, 1, TimeUnit.HOURS);
+        var observer = FutureBridge.fromFuture(future, poller).test();
+
+        future.cancel(false);
+
+        observer.awaitDone(5, TimeUnit.SECONDS).assertError(CancellationException.class);
+    }
+
+    @Test
+    public void disposeStopsWatchingWithoutCancelling() throws InterruptedException {
+        var future = executor.schedule(() -> 1, 1, TimeUnit.HOURS);
+        var observer = FutureBridge.fromFuture(future, poller).test();
+
+        observer.dispose();
+        for (int i = 0; i < 500 && poller.watching() != 0; i++) {
+            Thread.sleep(1);
+        }
+
+        assertEquals(0, poller.watching());
+        assertFalse(future.isCancelled());
+        observer.assertEmpty();
+    }
+
+    @Test
+    public void completableFutureBypassesThePoller() {
+        var future = new CompletableFuture<String>();
+        var observer = FutureBridge.fromFuture(future, poller).test();
+
+        assertEquals(0, poller.watching());
+        future.complete("done");
+
+        // the completing thread emits, synchronously
+        observer.assertResult("done");
+    }
+
+    @Test
+    public void completionStageErrorIsUnwrapped() {
+        var stage = CompletableFuture.supplyAsync(() -> {
+            throw new IllegalStateException("failed");
+        });
+
+        FutureBridge.fromCompletionStage(stage).test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .assertError(IllegalStateException.class);
+    }
+
+    @Test
+    public void watchAfterShutdownFails() {
+        poller.shutdown();
+
+        FutureBridge.fromFuture(new FutureTask<>(() -> 1), poller).test()
+                .assertError(IllegalStateException.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void intervalMustBePositive() {
+        FuturePoller.create(0, TimeUnit.MILLISECONDS);
+    }
+}
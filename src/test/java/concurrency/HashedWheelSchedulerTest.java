@@ -0,0 +1,127 @@
+package concurrency;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class HashedWheelSchedulerTest {
+    private final HashedWheelScheduler scheduler = HashedWheelScheduler.create(1, TimeUnit.MILLISECONDS, 16);
+
+    @After
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void ticksPerWheelIsRoundedToAPowerOfTwo() {
+        var wheel = HashedWheelScheduler.create(10, TimeUnit.MILLISECONDS, 100);
+        try {
+            assertEquals(128, wheel.ticksPerWheel());
+            assertEquals(TimeUnit.MILLISECONDS.toNanos(10), wheel.tickNanos());
+        } finally {
+            wheel.shutdown();
+        }
+    }
+
+    @Test
+    public void delayedTaskRunsAfterItsDelay() throws InterruptedException {
+        var latch = new CountDownLatch(1);
+        var start = System.nanoTime();
+        // 50 ms is more than 3 turns of the 16 ms wheel
+        scheduler.scheduleDirect(latch::countDown, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(0, scheduler.pendingTasks());
+    }
+
+    @Test
+    public void cancelledTaskNeverRuns() throws InterruptedException {
+        var runs = new AtomicInteger();
+        var cancelled = scheduler.scheduleDirect(runs::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+        var latch = new CountDownLatch(1);
+        scheduler.scheduleDirect(latch::countDown, 40, TimeUnit.MILLISECONDS);
+        cancelled.dispose();
+
+        assertTrue(cancelled.isDisposed());
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(0, runs.get());
+        assertEquals(0, scheduler.pendingTasks());
+    }
+
+    @Test
+    public void workerRunsTasksInOrderWithoutOverlap() throws InterruptedException {
+        var worker = scheduler.createWorker();
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        var latch = new CountDownLatch(100);
+        for (int i = 0; i < 100; i++) {
+            int index = i;
+            worker.schedule(() -> {
+                order.add(index);
+                latch.countDown();
+            });
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Integer.valueOf(i), order.get(i));
+        }
+        worker.dispose();
+    }
+
+    @Test
+    public void disposedWorkerCancelsItsTasks() throws InterruptedException {
+        var runs = new AtomicInteger();
+        var worker = scheduler.createWorker();
+        worker.schedule(runs::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+        worker.schedule(runs::incrementAndGet, 30, TimeUnit.MILLISECONDS);
+        worker.dispose();
+
+        assertTrue(worker.isDisposed());
+        assertTrue(worker.schedule(runs::incrementAndGet).isDisposed());
+        Thread.sleep(60);
+        assertEquals(0, runs.get());
+        assertEquals(0, scheduler.pendingTasks());
+    }
+
+    @Test
+    public void debounceEmitsTheLastItemOfABurst() {
+        var source = PublishSubject.<Integer>create();
+        var observer = source.debounce(30, TimeUnit.MILLISECONDS, scheduler).test();
+
+        for (int i = 0; i < 1_000; i++) {
+            source.onNext(i);
+        }
+        source.onComplete();
+
+        observer.awaitDone(5, TimeUnit.SECONDS)
+                .assertResult(999);
+    }
+
+    @Test
+    public void intervalTicksPeriodically() {
+        Observable.interval(5, TimeUnit.MILLISECONDS, scheduler)
+                .take(5)
+                .test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .assertResult(0L, 1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    public void shutdownRejectsNewTasks() {
+        scheduler.shutdown();
+
+        assertTrue(scheduler.scheduleDirect(() -> { }, 1, TimeUnit.MILLISECONDS).isDisposed());
+        assertTrue(scheduler.createWorker().schedule(() -> { }).isDisposed());
+    }
+}
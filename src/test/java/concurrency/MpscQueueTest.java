@@ -0,0 +1,67 @@
+package concurrency;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.*;
+
+public class MpscQueueTest {
+
+    @Test
+    public void fifoForASingleProducer() {
+        var queue = new MpscQueue<Integer>();
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+
+        queue.offer(1);
+        queue.offer(2);
+        assertFalse(queue.isEmpty());
+        assertEquals(Integer.valueOf(1), queue.poll());
+        assertEquals(Integer.valueOf(2), queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void concurrentProducersKeepTheirOwnOrder() throws InterruptedException {
+        var producers = 8;
+        var perProducer = 100_000;
+        var queue = new MpscQueue<long[]>();
+        var start = new CountDownLatch(1);
+        var threads = new ArrayList<Thread>();
+        for (int p = 0; p < producers; p++) {
+            var producer = p;
+            var thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (long i = 0; i < perProducer; i++) {
+                    queue.offer(new long[]{producer, i});
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+
+        var next = new long[producers];
+        var received = 0;
+        while (received < producers * perProducer) {
+            var element = queue.poll();
+            if (element == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            assertEquals(next[(int) element[0]]++, element[1]);
+            received++;
+        }
+        for (var thread : threads) {
+            thread.join();
+        }
+        assertNull(queue.poll());
+    }
+}
@@ -0,0 +1,76 @@
+package concurrency;
+
+import io.reactivex.rxjava3.core.Observable;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class VirtualThreadSchedulerTest {
+
+    @Before
+    public void requireVirtualThreads() {
+        Assume.assumeTrue("needs Java 21+", VirtualThreadScheduler.isSupported());
+    }
+
+    @Test
+    public void observeOnKeepsOrder() {
+        var scheduler = VirtualThreadScheduler.create();
+        try {
+            Observable.range(0, 10_000)
+                    .observeOn(scheduler)
+                    .test()
+                    .awaitDone(10, TimeUnit.SECONDS)
+                    .assertValueCount(10_000)
+                    .assertValueAt(9_999, 9_999)
+                    .assertComplete();
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void workerRunsTasksInOrderWithoutOverlap() throws InterruptedException {
+        var scheduler = VirtualThreadScheduler.create();
+        var worker = scheduler.createWorker();
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        var latch = new CountDownLatch(100);
+        try {
+            for (int i = 0; i < 100; i++) {
+                int index = i;
+                worker.schedule(() -> {
+                    order.add(index);
+                    latch.countDown();
+                });
+            }
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            for (int i = 0; i < 100; i++) {
+                assertEquals(Integer.valueOf(i), order.get(i));
+            }
+        } finally {
+            worker.dispose();
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void runsOnVirtualThreads() {
+        var scheduler = VirtualThreadScheduler.create();
+        try {
+            Observable.fromCallable(() -> Thread.currentThread().toString())
+                    .subscribeOn(scheduler)
+                    .test()
+                    .awaitDone(10, TimeUnit.SECONDS)
+                    .assertValue(name -> name.startsWith("VirtualThread"));
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+}
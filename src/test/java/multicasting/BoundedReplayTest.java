@@ -0,0 +1,149 @@
+package multicasting;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class BoundedReplayTest {
+    private final TestScheduler scheduler = new TestScheduler();
+
+    @Test
+    public void unboundedBehavesLikeCache() {
+        var source = BoundedReplay.cache(Observable.range(1, 5), ReplayLimits.unbounded(), scheduler);
+
+        source.test().assertResult(1, 2, 3, 4, 5);
+        source.test().assertResult(1, 2, 3, 4, 5);
+        assertEquals(5, source.hits());
+        assertEquals(0, source.evictions());
+    }
+
+    @Test
+    public void maxItemsKeepsTheLatest() {
+        var subject = PublishSubject.<Integer>create();
+        var source = BoundedReplay.cache(subject, ReplayLimits.unbounded().withMaxItems(2), scheduler);
+        var early = source.test();
+
+        subject.onNext(1);
+        subject.onNext(2);
+        subject.onNext(3);
+        var late = source.test();
+        subject.onNext(4);
+
+        early.assertValuesOnly(1, 2, 3, 4);
+        late.assertValuesOnly(2, 3, 4);
+        assertEquals(2, source.size());
+        assertEquals(2, source.evictedByCount());
+        assertEquals(2, source.hits());
+    }
+
+    @Test
+    public void maxAgeDoesNotReplayExpiredItems() {
+        var source = BoundedReplay.cache(Observable.interval(300, TimeUnit.MILLISECONDS, scheduler),
+                ReplayLimits.unbounded().withMaxAge(1, TimeUnit.SECONDS), scheduler);
+        source.test();
+
+        scheduler.advanceTimeBy(3, TimeUnit.SECONDS);
+        source.test().assertValuesOnly(6L, 7L, 8L, 9L);
+        assertEquals(4, source.size());
+        assertEquals(6, source.evictedByAge());
+
+        // nothing is emitted meanwhile, the expired items are skipped anyway
+        scheduler.advanceTimeBy(250, TimeUnit.MILLISECONDS);
+        source.test().assertValuesOnly(7L, 8L, 9L);
+    }
+
+    @Test
+    public void maxWeightAccountsTheWeigher() {
+        var subject = PublishSubject.<String>create();
+        var source = BoundedReplay.cache(subject, ReplayLimits.<String>unbounded().withMaxWeight(10, String::length),
+                scheduler);
+        source.test();
+
+        subject.onNext("Alpha");
+        subject.onNext("Beta");
+        assertEquals(9, source.weight());
+        subject.onNext("Gamma");
+
+        source.test().assertValuesOnly("Beta", "Gamma");
+        assertEquals(9, source.weight());
+        assertEquals(1, source.evictedByWeight());
+    }
+
+    @Test
+    public void evictedItemsCanBeCollected() throws InterruptedException {
+        var subject = PublishSubject.<Object>create();
+        // a String weighs 3, anything else 1
+        var source = BoundedReplay.cache(subject,
+                ReplayLimits.unbounded().withMaxWeight(3, item -> item instanceof String ? 3 : 1), scheduler);
+        source.test().dispose();
+
+        var item = new Object();
+        var evicted = new WeakReference<>(item);
+        subject.onNext(item);
+        item = null;
+        subject.onNext(1);
+        subject.onNext(2);
+        // evicts the three items at once, then the head moves past the node of 2 as well
+        subject.onNext("abc");
+        subject.onNext("def");
+        for (int i = 0; i < 50 && evicted.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertNull(evicted.get());
+        assertEquals(1, source.size());
+    }
+
+    @Test
+    public void itemHeavierThanMaxWeightDoesNotCutOffLaterItems() {
+        var subject = PublishSubject.<String>create();
+        var source = BoundedReplay.cache(subject, ReplayLimits.<String>unbounded().withMaxWeight(5, String::length),
+                scheduler);
+        var early = source.test();
+
+        subject.onNext("toolongitem");
+        subject.onNext("ok");
+        subject.onNext("ok2");
+        var late = source.test();
+        subject.onNext("live");
+
+        early.assertValuesOnly("toolongitem", "ok", "ok2", "live");
+        late.assertValuesOnly("ok", "ok2", "live");
+        assertEquals(1, source.size());
+        assertEquals(4, source.weight());
+    }
+
+    @Test
+    public void replaysTheTerminalEvent() {
+        var subject = PublishSubject.<Integer>create();
+        var source = BoundedReplay.cache(subject, ReplayLimits.unbounded().withMaxItems(1), scheduler);
+        source.test();
+
+        subject.onNext(1);
+        subject.onNext(2);
+        subject.onError(new IllegalStateException());
+
+        source.test().assertFailure(IllegalStateException.class, 2);
+    }
+
+    @Test
+    public void disposedObserverStopsReceiving() {
+        var subject = PublishSubject.<Integer>create();
+        var source = BoundedReplay.cache(subject, ReplayLimits.unbounded(), scheduler);
+        var o = source.test();
+
+        subject.onNext(1);
+        o.dispose();
+        subject.onNext(2);
+
+        o.assertValuesOnly(1);
+    }
+}
@@ -0,0 +1,129 @@
+package multicasting;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+
+public class MappedReplaySubjectTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void lateObserversReplayTheHistory() throws IOException {
+        try (var subject = MappedReplaySubject.open(file(), 1024, Codec.utf8())) {
+            var early = subject.test();
+            subject.onNext("Alpha");
+            subject.onNext("Beta");
+            var late = subject.test();
+            subject.onNext("Gamma");
+            subject.onComplete();
+
+            early.assertResult("Alpha", "Beta", "Gamma");
+            late.assertResult("Alpha", "Beta", "Gamma");
+            subject.test().assertResult("Alpha", "Beta", "Gamma");
+        }
+    }
+
+    @Test
+    public void fullRingOverwritesTheOldestItems() throws IOException {
+        // 12 bytes per record, 2 records per segment, 4 segments
+        try (var subject = MappedReplaySubject.open(file(), 4 * 28, 28, Codec.longs())) {
+            for (long i = 0; i < 20; i++) {
+                subject.onNext(i);
+            }
+            subject.onComplete();
+
+            subject.test().assertResult(12L, 13L, 14L, 15L, 16L, 17L, 18L, 19L);
+            assertEquals(8, subject.size());
+        }
+    }
+
+    @Test
+    public void historySurvivesAReopen() throws IOException {
+        var file = file();
+        try (var subject = MappedReplaySubject.open(file, 4 * 28, 28, Codec.longs())) {
+            for (long i = 0; i < 10; i++) {
+                subject.onNext(i);
+            }
+        }
+        try (var subject = MappedReplaySubject.open(file, 4 * 28, 28, Codec.longs())) {
+            subject.onNext(10L);
+            subject.onComplete();
+
+            subject.test().assertResult(3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+            assertEquals(8, subject.size());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void reopenWithAnotherCapacityFails() throws IOException {
+        var file = file();
+        MappedReplaySubject.open(file, 1024, Codec.longs()).close();
+        MappedReplaySubject.open(file, 2048, Codec.longs()).close();
+    }
+
+    @Test
+    public void nonAsciiStrings() throws IOException {
+        try (var subject = MappedReplaySubject.open(file(), 1024, Codec.utf8())) {
+            subject.onNext("Альфа");
+            subject.onNext("");
+            subject.onNext("€ 1 \uD83D\uDE00");
+            subject.onNext("broken \uD83D");
+            subject.onComplete();
+
+            subject.test().assertResult("Альфа", "", "€ 1 \uD83D\uDE00", "broken ?");
+        }
+    }
+
+    @Test
+    public void utf8SizeMatchesGetBytes() {
+        var codec = Codec.utf8();
+        for (var value : new String[]{"Beta", "Альфа", "€", "\uD83D\uDE00", "\uDE00\uD83D", "é\uD83D"}) {
+            assertEquals(value.getBytes(StandardCharsets.UTF_8).length + 1, codec.sizeOf(value));
+        }
+    }
+
+    @Test
+    public void decodingErrorTerminatesTheObserver() throws IOException {
+        var failing = new Codec<Integer>() {
+            @Override
+            public int sizeOf(Integer value) {
+                return Integer.BYTES;
+            }
+
+            @Override
+            public void encode(Integer value, ByteBuffer buffer, int offset) {
+                buffer.putInt(offset, value);
+            }
+
+            @Override
+            public Integer decode(ByteBuffer buffer, int offset, int length) {
+                throw new IllegalStateException("corrupted");
+            }
+        };
+        try (var subject = MappedReplaySubject.open(file(), 1024, failing)) {
+            subject.onNext(1);
+
+            subject.test().assertFailure(IllegalStateException.class);
+            assertEquals(false, subject.hasObservers());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void itemBiggerThanASegmentIsRejected() throws IOException {
+        try (var subject = MappedReplaySubject.open(file(), 64, 16, Codec.utf8())) {
+            subject.onNext("more than twelve bytes");
+        }
+    }
+
+    private Path file() throws IOException {
+        return folder.newFile().toPath();
+    }
+}
@@ -0,0 +1,97 @@
+package multicasting;
+
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.subjects.ReplaySubject;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class MpscSubjectTest {
+
+    @Test
+    public void behavesLikePublishSubject() {
+        var subject = MpscSubject.<String>create();
+        subject.onNext("missed");
+        var observer = subject.test();
+
+        subject.onNext("Alpha");
+        subject.onNext("Beta");
+        subject.onComplete();
+        subject.onNext("ignored");
+
+        observer.assertResult("Alpha", "Beta");
+        assertTrue(subject.hasComplete());
+        assertFalse(subject.hasObservers());
+    }
+
+    @Test
+    public void wrapsAnySubject() {
+        var subject = MpscSubject.wrap(ReplaySubject.<Integer>create());
+        subject.onNext(1);
+        subject.onNext(2);
+        subject.onError(new IllegalStateException());
+
+        subject.test().assertFailure(IllegalStateException.class, 1, 2);
+        assertTrue(subject.getThrowable() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void upstreamAfterTheTerminalEventIsDisposed() {
+        var subject = MpscSubject.<Integer>create();
+        subject.onComplete();
+        var upstream = Disposable.empty();
+
+        subject.onSubscribe(upstream);
+
+        assertTrue(upstream.isDisposed());
+    }
+
+    @Test
+    public void concurrentProducersAreSerialized() throws InterruptedException {
+        var producers = 16;
+        var perProducer = 10_000;
+        var subject = MpscSubject.<Integer>create();
+        var inside = new AtomicInteger();
+        var overlaps = new AtomicInteger();
+        var observer = subject
+                .doOnNext(item -> {
+                    if (inside.getAndIncrement() != 0) {
+                        overlaps.incrementAndGet();
+                    }
+                    inside.decrementAndGet();
+                })
+                .test();
+
+        var start = new CountDownLatch(1);
+        var threads = new ArrayList<Thread>();
+        for (int p = 0; p < producers; p++) {
+            var thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    subject.onNext(i);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (var thread : threads) {
+            thread.join();
+        }
+        subject.onComplete();
+
+        observer.awaitDone(10, TimeUnit.SECONDS)
+                .assertValueCount(producers * perProducer)
+                .assertComplete();
+        assertEquals(0, overlaps.get());
+    }
+}
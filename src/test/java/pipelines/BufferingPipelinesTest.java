@@ -0,0 +1,50 @@
+package pipelines;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class BufferingPipelinesTest {
+
+    @Test
+    public void buffer() {
+        BufferingPipelines.buffer(Observable.range(1, 5), 2)
+                .test()
+                .assertResult(List.of(1, 2), List.of(3, 4), List.of(5));
+    }
+
+    @Test
+    public void bufferWithSkip() {
+        BufferingPipelines.bufferWithSkip(Observable.range(1, 7), 2, 3)
+                .test()
+                .assertResult(List.of(1, 2), List.of(4, 5), List.of(7));
+    }
+
+    @Test
+    public void bufferWithTimeSpan() {
+        var scheduler = new TestScheduler();
+        var o = BufferingPipelines.bufferWithTimeSpan(BufferingPipelines.elapsedTime(300, scheduler),
+                        1, TimeUnit.SECONDS, scheduler)
+                .test();
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        o.assertValuesOnly(List.of(300L, 600L, 900L));
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        o.assertValuesOnly(List.of(300L, 600L, 900L), List.of(1200L, 1500L, 1800L));
+    }
+
+    @Test
+    public void bufferWithBoundary() {
+        var scheduler = new TestScheduler();
+        var o = BufferingPipelines.bufferWithBoundary(BufferingPipelines.elapsedTime(300, scheduler),
+                        Observable.interval(1, TimeUnit.SECONDS, scheduler))
+                .test();
+
+        scheduler.advanceTimeBy(2, TimeUnit.SECONDS);
+        o.assertValuesOnly(List.of(300L, 600L, 900L), List.of(1200L, 1500L, 1800L));
+    }
+}
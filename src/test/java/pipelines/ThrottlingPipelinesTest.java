@@ -0,0 +1,46 @@
+package pipelines;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class ThrottlingPipelinesTest {
+
+    @Test
+    public void throttleFirst() {
+        var scheduler = new TestScheduler();
+        var o = ThrottlingPipelines.throttleFirst(Observable.interval(300, TimeUnit.MILLISECONDS, scheduler).take(10),
+                        1, TimeUnit.SECONDS, scheduler)
+                .test();
+
+        scheduler.advanceTimeBy(3, TimeUnit.SECONDS);
+        o.assertResult(0L, 4L, 8L);
+    }
+
+    @Test
+    public void throttleWithTimeout() {
+        var scheduler = new TestScheduler();
+        var o = ThrottlingPipelines.throttleWithTimeout(Observable.interval(300, TimeUnit.MILLISECONDS, scheduler).take(10),
+                        500, TimeUnit.MILLISECONDS, scheduler)
+                .test();
+
+        scheduler.advanceTimeBy(3, TimeUnit.SECONDS);
+        o.assertResult(9L);
+    }
+
+    @Test
+    public void sinkReceivesAllEvents() {
+        var scheduler = new TestScheduler();
+        Sinks.Counting<Long> sink = Sinks.counting();
+        Sinks.subscribe(ThrottlingPipelines.throttleLast(Observable.interval(300, TimeUnit.MILLISECONDS, scheduler).take(10),
+                1, TimeUnit.SECONDS, scheduler), sink);
+
+        scheduler.advanceTimeBy(5, TimeUnit.SECONDS);
+        assertEquals(3, sink.items());
+        assertEquals(1, sink.completions());
+    }
+}
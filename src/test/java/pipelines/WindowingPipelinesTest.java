@@ -0,0 +1,28 @@
+package pipelines;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class WindowingPipelinesTest {
+
+    @Test
+    public void windowWithCount() {
+        WindowingPipelines.windowWithCount(Observable.range(1, 5), 2)
+                .test()
+                .assertResult("1|2", "3|4", "5");
+    }
+
+    @Test
+    public void windowWithTimespan() {
+        var scheduler = new TestScheduler();
+        var o = WindowingPipelines.windowWithTimespan(BufferingPipelines.elapsedTime(300, scheduler),
+                        1, TimeUnit.SECONDS, scheduler)
+                .test();
+
+        scheduler.advanceTimeBy(2, TimeUnit.SECONDS);
+        o.assertValuesOnly("300|600|900", "1200|1500|1800");
+    }
+}
@@ -0,0 +1,86 @@
+package primitiveStreams;
+
+import io.reactivex.rxjava3.core.Observable;
+import org.junit.Test;
+
+public class IntObservableTest {
+
+    @Test
+    public void mapLikeRiddle2() {
+        IntObservable.fromArray(-1, 0, 5)
+                .map(item -> item + 1)
+                .boxed()
+                .test()
+                .assertResult(0, 1, 6);
+    }
+
+    @Test
+    public void filterLikeRiddle3() {
+        IntObservable.range(0, 10)
+                .filter(item -> item % 2 == 0)
+                .boxed()
+                .test()
+                .assertResult(0, 2, 4, 6, 8);
+    }
+
+    @Test
+    public void scan() {
+        IntObservable.from(Observable.just(2, 5, 7))
+                .scan(Integer::sum)
+                .boxed()
+                .test()
+                .assertResult(2, 7, 14);
+    }
+
+    @Test
+    public void reduceAndSum() {
+        IntObservable.fromArray(15, 2, 371, 232, 1, 1000, 312)
+                .sum()
+                .test()
+                .assertResult(1933);
+        IntObservable.range(1, 5)
+                .reduce((total, item) -> total * item)
+                .test()
+                .assertResult(120);
+        IntObservable.range(1, 0)
+                .reduce(Integer::sum)
+                .test()
+                .assertResult();
+    }
+
+    @Test
+    public void count() {
+        IntObservable.range(0, 1000)
+                .filter(item -> item % 10 == 0)
+                .count()
+                .test()
+                .assertResult(100L);
+    }
+
+    @Test
+    public void sumAsLongDoesNotOverflow() {
+        IntObservable.fromArray(Integer.MAX_VALUE, Integer.MAX_VALUE)
+                .asLongObservable()
+                .sum()
+                .test()
+                .assertResult(2L * Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void crashingMapperSignalsError() {
+        IntObservable.range(0, 10)
+                .map(item -> 10 / (5 - item))
+                .boxed()
+                .test()
+                .assertFailure(ArithmeticException.class, 2, 2, 3, 5, 10);
+    }
+
+    @Test
+    public void disposingStopsTheSource() {
+        IntObservable.range(0, Integer.MAX_VALUE)
+                .boxed()
+                .take(3)
+                .test()
+                .assertResult(0, 1, 2);
+    }
+}
@@ -0,0 +1,38 @@
+package primitiveStreams;
+
+import io.reactivex.rxjava3.core.Observable;
+import org.junit.Test;
+
+public class LongObservableTest {
+
+    @Test
+    public void mapFilterScan() {
+        LongObservable.range(1, 6)
+                .map(item -> item * 10)
+                .filter(item -> item != 30)
+                .scan(Long::sum)
+                .boxed()
+                .test()
+                .assertResult(10L, 30L, 70L, 120L, 180L);
+    }
+
+    @Test
+    public void fromObservable() {
+        LongObservable.from(Observable.rangeLong(1, 100))
+                .sum()
+                .test()
+                .assertResult(5050L);
+    }
+
+    @Test
+    public void reduceAndCount() {
+        LongObservable.fromArray(3, 9, 4)
+                .reduce(Math::max)
+                .test()
+                .assertResult(9L);
+        LongObservable.fromArray()
+                .count()
+                .test()
+                .assertResult(0L);
+    }
+}
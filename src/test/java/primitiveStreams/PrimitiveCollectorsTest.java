@@ -0,0 +1,93 @@
+package primitiveStreams;
+
+import io.reactivex.rxjava3.core.Observable;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PrimitiveCollectorsTest {
+
+    @Test
+    public void toIntMapKeepsTheLastItemOfAKey() {
+        var map = PrimitiveCollectors.toIntMap(Observable.just("Alpha", "Beta", "Gamma", "Delta"), String::length)
+                .blockingGet();
+
+        assertEquals(2, map.size());
+        assertEquals("Delta", map.get(5));
+        assertEquals("Beta", map.get(4));
+        assertNull(map.get(6));
+    }
+
+    @Test
+    public void matchesToMapOverManyKeys() {
+        var map = PrimitiveCollectors.toIntMap(Observable.range(-50_000, 100_000), i -> i * 7, i -> i, 0)
+                .blockingGet();
+        var expected = Observable.range(-50_000, 100_000).toMap(i -> i * 7).blockingGet();
+
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+        assertEquals(0, (int) map.get(0));
+        assertFalse(map.containsKey(1));
+    }
+
+    @Test
+    public void expectedKeysAvoidResizing() {
+        var map = new IntObjectMap<String>(1000);
+        var capacity = map.capacity();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "#" + i);
+        }
+        assertEquals(capacity, map.capacity());
+        map.put(1000, "#1000");
+        map.put(1001, "#1001");
+        assertTrue(map.capacity() >= capacity);
+        assertEquals(1002, map.keys().length);
+    }
+
+    @Test
+    public void toLongLongMapAndCountByKey() {
+        var map = PrimitiveCollectors.toLongLongMap(Observable.rangeLong(0, 10_000), i -> i << 33, i -> -i, 10_000)
+                .blockingGet();
+        assertEquals(10_000, map.size());
+        assertEquals(-9_999, map.get(9_999L << 33, 1));
+        assertEquals(1, map.get(7, 1));
+        assertEquals(0, map.get(0, 1));
+        // presized, never resized
+        assertEquals(new LongLongMap(10_000).capacity(), map.capacity());
+
+        var counts = PrimitiveCollectors.countByKey(Observable.range(0, 1_000), i -> i % 3, 3).blockingGet();
+        assertEquals(334, counts.get(0, -1));
+        assertEquals(333, counts.get(2, -1));
+    }
+
+    @Test
+    public void toIntMultimapKeepsTheOrderOfTheValues() {
+        var map = PrimitiveCollectors.toIntMultimap(Observable.range(0, 10), i -> i % 3, i -> i * 10, 3)
+                .blockingGet();
+
+        assertEquals(3, map.size());
+        assertArrayEquals(new int[]{0, 30, 60, 90}, map.get(0).toArray());
+        assertArrayEquals(new int[]{20, 50, 80}, map.get(2).toArray());
+        var keys = map.keys();
+        Arrays.sort(keys);
+        assertArrayEquals(new int[]{0, 1, 2}, keys);
+    }
+
+    @Test
+    public void aCrashingSelectorEndsWithOnError() {
+        PrimitiveCollectors.toIntMap(Observable.just("a", "b"), str -> {
+                    throw new IllegalStateException();
+                })
+                .test()
+                .assertFailure(IllegalStateException.class);
+        PrimitiveCollectors.toIntMap(Observable.just("a"), String::length, str -> null, 1)
+                .test()
+                .assertFailure(NullPointerException.class);
+    }
+}
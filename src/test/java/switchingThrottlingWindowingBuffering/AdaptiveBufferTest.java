@@ -0,0 +1,102 @@
+package switchingThrottlingWindowingBuffering;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class AdaptiveBufferTest {
+    private final TestScheduler scheduler = new TestScheduler();
+    private final AdaptiveBatching batching = AdaptiveBatching.maxLatency(100, TimeUnit.MILLISECONDS).withMaxBatchSize(8);
+
+    @Test
+    public void batchSizeGrowsUnderLoad() {
+        var buffer = AdaptiveBuffer.buffer(Observable.range(1, 30), batching, scheduler);
+
+        buffer.map(List::size)
+                .test()
+                .assertResult(1, 2, 4, 8, 8, 7);
+        assertEquals(8, buffer.currentBatchSize());
+        assertEquals(0, buffer.cutByTimer());
+        assertEquals(5.0, buffer.averageBatchSize(), 0.0);
+    }
+
+    @Test
+    public void batchSizeShrinksWhenTheSourceSlowsDown() {
+        var source = PublishSubject.<Integer>create();
+        var buffer = AdaptiveBuffer.buffer(source, batching.withMinBatchSize(2), scheduler);
+        var observer = buffer.test();
+
+        for (int i = 0; i < 14; i++) {
+            source.onNext(i);
+        }
+        assertEquals(8, buffer.currentBatchSize());
+
+        // 3 items in 100 ms, the timer cuts the batch
+        source.onNext(100);
+        source.onNext(101);
+        source.onNext(102);
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        assertEquals(3, buffer.currentBatchSize());
+        assertEquals(100, buffer.lastLatencyMillis());
+
+        source.onNext(200);
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        assertEquals(2, buffer.currentBatchSize());
+
+        observer.assertValuesOnly(List.of(0, 1), List.of(2, 3, 4, 5), List.of(6, 7, 8, 9, 10, 11, 12, 13),
+                List.of(100, 101, 102), List.of(200));
+        assertEquals(2, buffer.cutByTimer());
+    }
+
+    @Test
+    public void idleSourceEmitsNoEmptyBatch() {
+        var source = PublishSubject.<Integer>create();
+        var observer = AdaptiveBuffer.buffer(source, batching.withMinBatchSize(4), scheduler).test();
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        source.onNext(1);
+        scheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        source.onNext(2);
+        scheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        observer.assertValuesOnly(List.of(1, 2));
+    }
+
+    @Test
+    public void timerOfAnEmittedBatchDoesNotCutTheNextOne() {
+        var source = PublishSubject.<Integer>create();
+        var buffer = AdaptiveBuffer.buffer(source, batching.withMinBatchSize(2), scheduler);
+        var observer = buffer.test();
+
+        source.onNext(1);
+        scheduler.advanceTimeBy(60, TimeUnit.MILLISECONDS);
+        source.onNext(2);
+        source.onNext(3);
+        scheduler.advanceTimeBy(60, TimeUnit.MILLISECONDS);
+
+        // the second batch started at 60 ms, its deadline is 160 ms
+        observer.assertValuesOnly(List.of(1, 2));
+        scheduler.advanceTimeBy(40, TimeUnit.MILLISECONDS);
+        observer.assertValuesOnly(List.of(1, 2), List.of(3));
+        assertEquals(100, buffer.maxLatencyMillis());
+    }
+
+    @Test
+    public void completionEmitsThePartialBatch() {
+        var source = PublishSubject.<Integer>create();
+        var observer = AdaptiveBuffer.buffer(source, batching.withMinBatchSize(4), scheduler).test();
+
+        source.onNext(1);
+        source.onComplete();
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        observer.assertResult(List.of(1));
+    }
+}
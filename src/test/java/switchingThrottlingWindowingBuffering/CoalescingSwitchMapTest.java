@@ -0,0 +1,145 @@
+package switchingThrottlingWindowingBuffering;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CoalescingSwitchMapTest {
+    private final TestScheduler scheduler = new TestScheduler();
+    private final PublishSubject<String> outer = PublishSubject.create();
+    // the inner source of every outer item
+    private final Map<String, PublishSubject<String>> inners = new HashMap<>();
+
+    private CoalescingSwitchMap<String, String> switchMap(SwitchConfig config) {
+        return CoalescingSwitchMap.switchMap(outer, query -> inners.computeIfAbsent(query, q -> PublishSubject.create()),
+                config, scheduler);
+    }
+
+    private PublishSubject<String> inner(String query) {
+        return inners.get(query);
+    }
+
+    @Test
+    public void defaultsCancelTheInnerInFlightLikeSwitchMap() {
+        var switching = switchMap(SwitchConfig.defaults());
+        var observer = switching.test();
+
+        outer.onNext("a");
+        inner("a").onNext("a1");
+        outer.onNext("b");
+        assertFalse(inner("a").hasObservers());
+        inner("b").onNext("b1");
+        inner("b").onComplete();
+        outer.onComplete();
+
+        observer.assertResult("a1", "b1");
+        assertEquals(2, switching.started());
+        assertEquals(1, switching.cancelled());
+        assertEquals(1, switching.completed());
+        assertEquals(0, switching.inFlight());
+    }
+
+    @Test
+    public void burstIsCoalescedIntoTheLastItem() {
+        var switching = switchMap(SwitchConfig.defaults().withCoalesce(100, TimeUnit.MILLISECONDS));
+        var observer = switching.test();
+
+        outer.onNext("h");
+        scheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        outer.onNext("he");
+        scheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        outer.onNext("hel");
+        scheduler.advanceTimeBy(99, TimeUnit.MILLISECONDS);
+        assertTrue(inners.isEmpty());
+
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        assertEquals(Map.of("hel", inner("hel")), inners);
+        inner("hel").onNext("hello");
+        inner("hel").onComplete();
+
+        observer.assertValuesOnly("hello");
+        assertEquals(1, switching.started());
+        assertEquals(2, switching.coalesced());
+        assertEquals(0, switching.cancelled());
+    }
+
+    @Test
+    public void completionMapsThePendingItemRightAway() {
+        var observer = switchMap(SwitchConfig.defaults().withCoalesce(100, TimeUnit.MILLISECONDS)).test();
+
+        outer.onNext("a");
+        outer.onComplete();
+        inner("a").onNext("a1");
+        observer.assertValuesOnly("a1");
+        inner("a").onComplete();
+
+        observer.assertResult("a1");
+    }
+
+    @Test
+    public void innerCompletingWithinTheGraceIsNotCancelled() {
+        var switching = switchMap(SwitchConfig.defaults().withGrace(100, TimeUnit.MILLISECONDS));
+        var observer = switching.test();
+
+        outer.onNext("a");
+        outer.onNext("b");
+        outer.onNext("c");
+        scheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        inner("a").onNext("a1");
+        assertNull(inner("c"));
+        inner("a").onComplete();
+        inner("c").onNext("c1");
+
+        observer.assertValuesOnly("a1", "c1");
+        assertNull(inner("b"));
+        assertEquals(1, switching.completedInGrace());
+        assertEquals(0, switching.cancelled());
+        assertEquals(1, switching.coalesced());
+    }
+
+    @Test
+    public void innerIsCancelledWhenTheGraceElapses() {
+        var switching = switchMap(SwitchConfig.defaults().withGrace(100, TimeUnit.MILLISECONDS));
+        var observer = switching.test();
+
+        outer.onNext("a");
+        outer.onNext("b");
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        assertFalse(inner("a").hasObservers());
+        inner("b").onNext("b1");
+
+        observer.assertValuesOnly("b1");
+        assertEquals(1, switching.cancelled());
+        assertEquals(1, switching.inFlight());
+        assertTrue(switching.maxCancelLatencyNanos() > 0);
+    }
+
+    @Test
+    public void innerErrorIsSignalled() {
+        var observer = switchMap(SwitchConfig.defaults()).test();
+
+        outer.onNext("a");
+        inner("a").onError(new IllegalStateException());
+
+        observer.assertError(IllegalStateException.class);
+        assertFalse(outer.hasObservers());
+    }
+
+    @Test
+    public void synchronousInnersComplete() {
+        CoalescingSwitchMap.switchMap(Observable.just(1, 2, 3), i -> Observable.range(i * 10, 2),
+                        SwitchConfig.defaults(), scheduler)
+                .test()
+                .assertResult(10, 11, 20, 21, 30, 31);
+    }
+}
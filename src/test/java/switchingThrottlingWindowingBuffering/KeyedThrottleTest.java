@@ -0,0 +1,116 @@
+package switchingThrottlingWindowingBuffering;
+
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class KeyedThrottleTest {
+    private final TestScheduler scheduler = new TestScheduler();
+    private final PublishSubject<String> source = PublishSubject.create();
+
+    // "a1" has the key "a"
+    private static String key(String item) {
+        return item.substring(0, 1);
+    }
+
+    @Test
+    public void debounceEmitsTheLastItemOfEveryKeyOnceItIsQuiet() {
+        var debounced = KeyedThrottle.debounceByKey(source, KeyedThrottleTest::key, 100, TimeUnit.MILLISECONDS,
+                1_000, scheduler);
+        var observer = debounced.test();
+
+        source.onNext("a1");
+        source.onNext("b1");
+        scheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        source.onNext("a2");
+        scheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        observer.assertValuesOnly("b1");
+        assertEquals(1, debounced.liveKeys());
+
+        scheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        observer.assertValuesOnly("b1", "a2");
+        assertEquals(0, debounced.liveKeys());
+        assertEquals(1, debounced.dropped());
+    }
+
+    @Test
+    public void debounceEmitsThePendingItemsOnCompletion() {
+        var observer = KeyedThrottle.debounceByKey(source, KeyedThrottleTest::key, 100, TimeUnit.MILLISECONDS,
+                1_000, scheduler).test();
+
+        source.onNext("a1");
+        source.onNext("b1");
+        source.onNext("a2");
+        source.onComplete();
+
+        observer.assertResult("b1", "a2");
+    }
+
+    @Test
+    public void debounceEmitsTheEvictedKeyEarly() {
+        var debounced = KeyedThrottle.debounceByKey(source, KeyedThrottleTest::key, 100, TimeUnit.MILLISECONDS,
+                2, scheduler);
+        var observer = debounced.test();
+
+        source.onNext("a1");
+        source.onNext("b1");
+        source.onNext("c1");
+        observer.assertValuesOnly("a1");
+        assertEquals(2, debounced.liveKeys());
+        assertEquals(1, debounced.evictions());
+
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        observer.assertValuesOnly("a1", "b1", "c1");
+    }
+
+    @Test
+    public void throttleEmitsTheFirstItemOfEveryKeyPerWindow() {
+        var throttled = KeyedThrottle.throttleByKey(source, KeyedThrottleTest::key, 100, TimeUnit.MILLISECONDS,
+                1_000, scheduler);
+        var observer = throttled.test();
+
+        source.onNext("a1");
+        source.onNext("b1");
+        source.onNext("a2");
+        scheduler.advanceTimeBy(60, TimeUnit.MILLISECONDS);
+        source.onNext("b2");
+        scheduler.advanceTimeBy(40, TimeUnit.MILLISECONDS);
+        assertEquals(0, throttled.liveKeys());
+        source.onNext("a3");
+        source.onNext("b3");
+        source.onComplete();
+
+        observer.assertResult("a1", "b1", "a3", "b3");
+        assertEquals(2, throttled.dropped());
+    }
+
+    @Test
+    public void throttleEvictionEndsTheOldestWindow() {
+        var observer = KeyedThrottle.throttleByKey(source, KeyedThrottleTest::key, 100, TimeUnit.MILLISECONDS,
+                1, scheduler).test();
+
+        source.onNext("a1");
+        source.onNext("b1");
+        source.onNext("a2");
+        source.onNext("b2");
+
+        observer.assertValuesOnly("a1", "b1", "a2", "b2");
+    }
+
+    @Test
+    public void keySelectorErrorIsSignalled() {
+        var observer = KeyedThrottle.debounceByKey(source, item -> {
+            throw new IllegalStateException(item);
+        }, 100, TimeUnit.MILLISECONDS, 1_000, scheduler).test();
+
+        source.onNext("a1");
+
+        observer.assertError(IllegalStateException.class);
+        assertFalse(source.hasObservers());
+    }
+}
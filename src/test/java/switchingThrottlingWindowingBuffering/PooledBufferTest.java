@@ -0,0 +1,106 @@
+package switchingThrottlingWindowingBuffering;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PooledBufferTest {
+
+    @Test
+    public void buffersLikeBufferCount() {
+        var pool = new BatchPool<Integer>(3, 2, true);
+        List<List<Integer>> batches = new ArrayList<>();
+
+        PooledBuffer.buffer(Observable.range(1, 8), pool)
+                .subscribe(batch -> {
+                    batches.add(batch.toList());
+                    batch.release();
+                });
+
+        assertEquals(List.of(List.of(1, 2, 3), List.of(4, 5, 6), List.of(7, 8)), batches);
+        assertEquals(0, pool.misses());
+        assertEquals(0, pool.outstanding());
+    }
+
+    @Test
+    public void reusesTheSameBatches() {
+        var pool = new BatchPool<Integer>(2, 1, true);
+        List<Batch<Integer>> instances = new ArrayList<>();
+
+        PooledBuffer.buffer(Observable.range(1, 10), pool)
+                .subscribe(batch -> {
+                    instances.add(batch);
+                    batch.release();
+                });
+
+        assertEquals(5, instances.size());
+        assertTrue(instances.stream().allMatch(batch -> batch == instances.get(0)));
+    }
+
+    @Test
+    public void buffersLikeBufferCountAndSkip() {
+        var gaps = new ArrayList<List<Integer>>();
+        PooledBuffer.buffer(Observable.range(1, 7), new BatchPool<>(2, 2, true), 3)
+                .subscribe(batch -> {
+                    gaps.add(batch.toList());
+                    batch.release();
+                });
+        assertEquals(List.of(List.of(1, 2), List.of(4, 5), List.of(7)), gaps);
+
+        var overlapping = new ArrayList<List<Integer>>();
+        var pool = new BatchPool<Integer>(3, 4, true);
+        PooledBuffer.buffer(Observable.range(1, 5), pool, 1)
+                .subscribe(batch -> {
+                    overlapping.add(batch.toList());
+                    batch.release();
+                });
+        assertEquals(Observable.range(1, 5).buffer(3, 1).toList().blockingGet(), overlapping);
+        assertEquals(0, pool.misses());
+    }
+
+    @Test
+    public void allocatesWhenTheConsumerKeepsTheBatches() {
+        var pool = new BatchPool<Integer>(2, 1, true);
+        var kept = PooledBuffer.buffer(Observable.range(1, 6), pool)
+                .toList()
+                .blockingGet();
+
+        assertEquals(3, kept.size());
+        assertEquals(2, pool.misses());
+        assertEquals(3, pool.outstanding());
+        kept.forEach(Batch::release);
+        assertEquals(0, pool.outstanding());
+    }
+
+    @Test
+    public void releasesTheOpenBatchOnError() {
+        var pool = new BatchPool<Integer>(3, 1, true);
+        var subject = PublishSubject.<Integer>create();
+        var o = PooledBuffer.buffer(subject, pool).test();
+
+        subject.onNext(1);
+        subject.onError(new IllegalStateException());
+
+        o.assertFailure(IllegalStateException.class);
+        assertEquals(0, pool.outstanding());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void debugModeDetectsUseAfterRelease() {
+        var batch = new BatchPool<Integer>(2, 1, true).acquire();
+        batch.release();
+        batch.get(0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void debugModeDetectsDoubleRelease() {
+        var batch = new BatchPool<Integer>(2, 1, true).acquire();
+        batch.release();
+        batch.release();
+    }
+}
@@ -0,0 +1,98 @@
+package switchingThrottlingWindowingBuffering;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class SlidingWindowsTest {
+    private final TestScheduler scheduler = new TestScheduler();
+
+    @Test
+    public void countWindowsMatchWindowWithCountAndSkip() {
+        for (var size : new int[]{0, 1, 7, 12, 13}) {
+            var source = Observable.range(1, size);
+            for (var skip : new int[]{1, 2, 3, 6}) {
+                var expected = source.window(6, skip)
+                        .flatMapSingle(window -> window.reduce(0L, (total, next) -> total + next))
+                        .toList().blockingGet();
+
+                var actual = SlidingWindows.count(source, 6, skip, SlidingAggregator.sumLong(Integer::longValue))
+                        .toList().blockingGet();
+
+                assertEquals("size " + size + ", skip " + skip, expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void customAggregatorCombinesThePanes() {
+        // the items of a window as a list, to check which panes are combined
+        SlidingAggregator<Integer, List<Integer>, List<Integer>> items = SlidingAggregator.of(ArrayList::new,
+                (list, item) -> {
+                    list.add(item);
+                    return list;
+                }, (into, pane) -> {
+                    into.addAll(pane);
+                    return into;
+                }, List::copyOf);
+
+        SlidingWindows.count(Observable.range(1, 7), 4, 2, items)
+                .test()
+                .assertResult(List.of(1, 2, 3, 4), List.of(3, 4, 5, 6), List.of(5, 6, 7), List.of(7));
+    }
+
+    @Test
+    public void timeWindowsRollEveryTimeskip() {
+        var source = PublishSubject.<Integer>create();
+        var observer = SlidingWindows.time(source, 3, 1, TimeUnit.SECONDS, scheduler,
+                SlidingAggregator.sumLong(Integer::longValue)).test();
+
+        // one item per second: 1, 2, 3, 4, 5
+        for (int i = 1; i <= 5; i++) {
+            source.onNext(i);
+            scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        }
+        source.onNext(100);
+        source.onComplete();
+
+        // the first windows cover less than 3 seconds
+        observer.assertResult(1L, 3L, 6L, 9L, 12L, 109L);
+    }
+
+    @Test
+    public void emptyTimeWindowWithoutResultIsSkipped() {
+        var source = PublishSubject.<Integer>create();
+        var observer = SlidingWindows.time(source, 2, 1, TimeUnit.SECONDS, scheduler,
+                SlidingAggregator.max(Comparator.<Integer>naturalOrder())).test();
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        source.onNext(3);
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        source.onNext(1);
+        scheduler.advanceTimeBy(2, TimeUnit.SECONDS);
+
+        observer.assertValuesOnly(3, 3, 1);
+    }
+
+    @Test
+    public void averageAndCountOverPanes() {
+        var source = Observable.range(1, 6);
+
+        SlidingWindows.count(source, 4, 2, SlidingAggregator.count()).test().assertResult(4L, 4L, 2L);
+        SlidingWindows.count(source, 4, 2, SlidingAggregator.average(Integer::doubleValue))
+                .test().assertResult(2.5, 4.5, 5.5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void spanMustBeAMultipleOfTheSkip() {
+        SlidingWindows.count(Observable.range(1, 6), 5, 2, SlidingAggregator.count());
+    }
+}
@@ -0,0 +1,135 @@
+package switchingThrottlingWindowingBuffering;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import org.junit.Test;
+import pipelines.WindowingPipelines;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class WindowedAggregateTest {
+    private final TestScheduler scheduler = new TestScheduler();
+
+    @Test
+    public void tumblingJoinMatchesWindowAndReduce() {
+        var source = Observable.range(1, 10);
+
+        var expected = WindowingPipelines.windowWithCount(source, 4).toList().blockingGet();
+
+        WindowedAggregate.tumbling(source, 4, WindowAggregator.joining("|"))
+                .test()
+                .assertResult(expected.toArray(new String[0]));
+    }
+
+    @Test
+    public void slidingJoinMatchesWindowAndReduce() {
+        var source = Observable.range(1, 10);
+        for (var skip : new int[]{1, 2, 3, 4, 6}) {
+            var expected = WindowingPipelines.windowWithCountAndSkip(source, 4, skip).toList().blockingGet();
+
+            WindowedAggregate.sliding(source, 4, skip, WindowAggregator.joining("|"))
+                    .test()
+                    .assertResult(expected.toArray(new String[0]));
+        }
+    }
+
+    @Test
+    public void builtInAggregators() {
+        var source = Observable.just(3, 1, 4, 1, 5, 9, 2);
+
+        WindowedAggregate.tumbling(source, 3, WindowAggregator.count()).test().assertResult(3L, 3L, 1L);
+        WindowedAggregate.tumbling(source, 3, WindowAggregator.sumLong(Integer::longValue)).test().assertResult(8L, 15L, 2L);
+        WindowedAggregate.tumbling(source, 3, WindowAggregator.min(Comparator.<Integer>naturalOrder()))
+                .test().assertResult(1, 1, 2);
+        WindowedAggregate.tumbling(source, 3, WindowAggregator.max(Comparator.<Integer>naturalOrder()))
+                .test().assertResult(4, 9, 2);
+        WindowedAggregate.tumbling(source, 2, WindowAggregator.average(Integer::doubleValue))
+                .test().assertResult(2.0, 2.5, 7.0, 2.0);
+        WindowedAggregate.tumbling(source, 3, WindowAggregator.reduce(0, (total, item) -> total * 10 + item))
+                .test().assertResult(314, 159, 2);
+    }
+
+    @Test
+    public void timedWindowsFollowTheTicks() {
+        var source = PublishSubject.<Integer>create();
+        var observer = WindowedAggregate.timed(source, 1, TimeUnit.SECONDS, scheduler,
+                WindowAggregator.sumLong(Integer::longValue)).test();
+
+        source.onNext(1);
+        source.onNext(2);
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        source.onNext(5);
+        source.onComplete();
+
+        // the empty second window sums to 0
+        observer.assertResult(3L, 0L, 5L);
+    }
+
+    @Test
+    public void emptyTimedWindowWithoutResultIsSkipped() {
+        var source = PublishSubject.<Integer>create();
+        var observer = WindowedAggregate.timed(source, 1, TimeUnit.SECONDS, scheduler,
+                WindowAggregator.max(Comparator.<Integer>naturalOrder())).test();
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        source.onNext(7);
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        source.onComplete();
+
+        observer.assertResult(7);
+    }
+
+    @Test
+    public void disposedInOnSubscribeStartsNoTimer() {
+        var windows = new AtomicInteger();
+        var aggregator = WindowAggregator.<Integer, Integer, Integer>of(() -> {
+            windows.incrementAndGet();
+            return 0;
+        }, Integer::sum, total -> total);
+
+        WindowedAggregate.timed(PublishSubject.<Integer>create(), 1, TimeUnit.SECONDS, scheduler, aggregator)
+                .test(true);
+        scheduler.advanceTimeBy(5, TimeUnit.SECONDS);
+
+        // only the first window, no tick ever ran
+        assertEquals(1, windows.get());
+    }
+
+    @Test
+    public void failingCreateThenCompletingSourceSignalsTheErrorOnly() {
+        // ignores the dispose of the failed onSubscribe() and completes anyway
+        Observable<Integer> source = Observable.wrap(observer -> {
+            observer.onSubscribe(Disposable.empty());
+            observer.onComplete();
+        });
+        var aggregator = WindowAggregator.<Integer, Integer, Integer>of(() -> {
+            throw new IllegalStateException();
+        }, Integer::sum, total -> total);
+
+        WindowedAggregate.timed(source, 1, TimeUnit.SECONDS, scheduler, aggregator)
+                .test()
+                .assertFailure(IllegalStateException.class);
+    }
+
+    @Test
+    public void failingAccumulatorStopsTheUpstream() {
+        var source = PublishSubject.<Integer>create();
+        var observer = WindowedAggregate.tumbling(source, 2,
+                WindowAggregator.<Integer, Integer>reduce(0, (total, item) -> total / item)).test();
+
+        source.onNext(1);
+        source.onNext(0);
+
+        observer.assertFailure(ArithmeticException.class);
+        observer.assertNoValues();
+        assertFalse(source.hasObservers());
+    }
+}